@@ -2,6 +2,7 @@ plugins {
     java
     id("org.springframework.boot") version "3.5.6"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.back"
@@ -9,7 +10,8 @@ version = "0.0.1-SNAPSHOT"
 
 java {
     toolchain {
-        languageVersion = JavaLanguageVersion.of(17)
+        // 가상 스레드 실행 모드(app.websocket.execution-mode=virtual)는 -PjavaVersion=21 로 빌드/실행
+        languageVersion = JavaLanguageVersion.of(providers.gradleProperty("javaVersion").getOrElse("17").toInt())
     }
 }
 
@@ -27,6 +29,9 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-websocket")
     implementation("org.springframework.boot:spring-boot-starter-json")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
 
     compileOnly("org.projectlombok:lombok")
     annotationProcessor("org.projectlombok:lombok")
@@ -41,3 +46,19 @@ dependencies {
 tasks.withType<Test> {
     useJUnitPlatform()
 }
+
+// 시그널링 핫패스 벤치마크: ./gradlew jmh
+// 결과: build/results/jmh/results.json (커밋 간 비교용)
+// 특정 벤치마크만: ./gradlew jmh -Pjmh.includes=RoomServiceBenchmark
+jmh {
+    jmhVersion.set("1.37")
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+    profilers.set(listOf("gc"))
+    fork.set(1)
+    warmupIterations.set(3)
+    warmup.set("2s")
+    iterations.set(5)
+    timeOnIteration.set("2s")
+    (findProperty("jmh.includes") as String?)?.let { includes.set(listOf(it)) }
+}
@@ -0,0 +1,45 @@
+plugins {
+    java
+    application
+    id("io.spring.dependency-management")
+}
+
+group = "com.back"
+version = "0.0.1-SNAPSHOT"
+
+java {
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(17)
+    }
+}
+
+repositories {
+    mavenCentral()
+}
+
+dependencyManagement {
+    imports {
+        mavenBom("org.springframework.boot:spring-boot-dependencies:3.5.6")
+    }
+}
+
+dependencies {
+    implementation("org.springframework:spring-websocket")
+    implementation("org.springframework:spring-messaging")
+    implementation("com.fasterxml.jackson.core:jackson-databind")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor")
+    implementation("org.apache.tomcat.embed:tomcat-embed-websocket")
+}
+
+// 로컬 서버 대상 부하 생성: ./gradlew :loadgen:run --args="--rooms=200 --users-per-room=6"
+application {
+    mainClass.set("com.back.loadgen.LoadGenerator")
+}
+
+// 두 보고 비교: ./gradlew :loadgen:compareReports --args="build/platform.json build/virtual.json"
+tasks.register<JavaExec>("compareReports") {
+    group = "application"
+    description = "loadgen 보고 두 개의 처리량/지연 백분위 비교"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("com.back.loadgen.ReportComparison")
+}
@@ -0,0 +1,59 @@
+package com.back.loadgen;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 지연시간 샘플 수집 및 백분위 계산 (나노초 기록, 밀리초 보고)
+final class LatencyRecorder {
+
+    private long[] samples = new long[4096];
+    private int count;
+
+    synchronized void record(long nanos) {
+        if (nanos < 0) {
+            return;
+        }
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, samples.length * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    synchronized int count() {
+        return count;
+    }
+
+    synchronized Map<String, Object> summarize() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", count);
+        if (count == 0) {
+            return summary;
+        }
+
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+
+        long total = 0;
+        for (long sample : sorted) {
+            total += sample;
+        }
+
+        summary.put("meanMs", toMillis(total / count));
+        summary.put("p50Ms", toMillis(percentile(sorted, 0.50)));
+        summary.put("p90Ms", toMillis(percentile(sorted, 0.90)));
+        summary.put("p99Ms", toMillis(percentile(sorted, 0.99)));
+        summary.put("p999Ms", toMillis(percentile(sorted, 0.999)));
+        summary.put("maxMs", toMillis(sorted[count - 1]));
+        return summary;
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
@@ -0,0 +1,152 @@
+package com.back.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import jakarta.websocket.ContainerProvider;
+import jakarta.websocket.WebSocketContainer;
+import org.springframework.messaging.converter.CompositeMessageConverter;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.WebSocketClient;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// 합성 피어 부하 생성기
+// 로컬 서버의 /ws-native 에 STOMP 세션을 다수 열고 실제 입장/offer/answer/ICE 흐름을 구동한 뒤
+// 입장 지연, 시그널 중계 지연 백분위, 초당 메시지 수를 보고
+// --transport=sockjs 로 SockJS 경로(/ws)의 연결 지연/중계 지연을 같은 조건에서 비교
+//
+// 실행: ./gradlew :loadgen:run --args="--rooms=500 --users-per-room=6 --duration=60 --report=build/loadgen.json"
+public class LoadGenerator {
+
+    private static final int MAX_MESSAGE_BYTES = 512 * 1024;
+
+    private final LoadGeneratorOptions options;
+    private final LoadMetrics metrics = new LoadMetrics();
+    private final String sdpTemplate = loadSdpTemplate();
+
+    LoadGenerator(LoadGeneratorOptions options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadGeneratorOptions options = LoadGeneratorOptions.parse(args);
+        Map<String, Object> report = new LoadGenerator(options).run();
+
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        String json = objectMapper.writeValueAsString(report);
+        System.out.println(json);
+
+        if (options.reportFile() != null) {
+            Files.writeString(Path.of(options.reportFile()), json, StandardCharsets.UTF_8);
+        }
+    }
+
+    Map<String, Object> run() throws InterruptedException {
+        WebSocketContainer container = ContainerProvider.getWebSocketContainer();
+        container.setDefaultMaxTextMessageBufferSize(MAX_MESSAGE_BYTES);
+        container.setDefaultMaxBinaryMessageBufferSize(MAX_MESSAGE_BYTES);
+
+        WebSocketClient webSocketClient = new StandardWebSocketClient(container);
+        if (options.sockJs()) {
+            // 브라우저 SockJS와 같은 순서: /info 요청 후 websocket 전송
+            webSocketClient = new SockJsClient(List.of(new WebSocketTransport(webSocketClient)));
+        }
+
+        // 서버가 heart-beat를 요구하므로 통화 중(시그널 없음)에도 세션 유지
+        ThreadPoolTaskScheduler heartbeatScheduler = new ThreadPoolTaskScheduler();
+        heartbeatScheduler.setPoolSize(2);
+        heartbeatScheduler.setThreadNamePrefix("loadgen-heartbeat-");
+        heartbeatScheduler.setDaemon(true);
+        heartbeatScheduler.initialize();
+
+        WebSocketStompClient stompClient = new WebSocketStompClient(webSocketClient);
+        stompClient.setMessageConverter(messageConverter());
+        stompClient.setInboundMessageSizeLimit(MAX_MESSAGE_BYTES);
+        stompClient.setTaskScheduler(heartbeatScheduler);
+
+        System.out.printf("▶ 부하 시작 - %s (%s, %s), 방 %d개 x %d명 = 세션 %d개%n",
+                options.url(), options.transport(), options.format(), options.rooms(), options.usersPerRoom(),
+                options.totalSessions());
+
+        List<SyntheticPeer> peers = new ArrayList<>(options.totalSessions());
+        long startedAt = System.nanoTime();
+
+        // 방마다 참여자가 한 명씩 차례로 입장 (브라우저 탭을 순서대로 여는 상황)
+        for (int user = 0; user < options.usersPerRoom(); user++) {
+            for (int room = 0; room < options.rooms(); room++) {
+                String roomId = "load-room-" + room;
+                String userId = "load-user-" + room + "-" + user;
+                SyntheticPeer peer = new SyntheticPeer(userId, roomId, sdpTemplate, options.candidatesPerPeer(),
+                        options.cbor(), options.offerToAll(), metrics);
+                peers.add(peer);
+
+                StompHeaders connectHeaders = new StompHeaders();
+                connectHeaders.add("userId", userId);
+                connectHeaders.add("roomId", roomId);
+                if (options.cbor()) {
+                    connectHeaders.add("signal-format", "cbor");
+                }
+
+                stompClient.connectAsync(options.url().toString(), new WebSocketHttpHeaders(), connectHeaders, peer)
+                        .exceptionally(error -> {
+                            metrics.connectFailures.increment();
+                            return null;
+                        });
+
+                if (options.joinIntervalMs() > 0) {
+                    TimeUnit.MILLISECONDS.sleep(options.joinIntervalMs());
+                }
+            }
+        }
+
+        long deadline = startedAt + TimeUnit.SECONDS.toNanos(options.durationSeconds());
+        while (System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(Math.min(1000, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()) + 1));
+        }
+
+        double elapsedSeconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+        peers.forEach(SyntheticPeer::disconnect);
+        stompClient.stop();
+        heartbeatScheduler.shutdown();
+
+        return metrics.toReport(options, elapsedSeconds);
+    }
+
+    // application/json 프레임은 JSON, application/octet-stream 프레임은 CBOR로 읽고 씀
+    private static CompositeMessageConverter messageConverter() {
+        MappingJackson2MessageConverter cbor = new MappingJackson2MessageConverter(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+        cbor.setObjectMapper(new CBORMapper());
+        cbor.setStrictContentTypeMatch(true);
+        return new CompositeMessageConverter(List.of(new MappingJackson2MessageConverter(), cbor));
+    }
+
+    // 실제 브라우저 offer 크기의 SDP (타임스탬프 줄은 전송 시 추가)
+    private static String loadSdpTemplate() {
+        try (InputStream in = LoadGenerator.class.getResourceAsStream("/sdp/chrome-offer.sdp")) {
+            if (in == null) {
+                throw new IllegalStateException("SDP 템플릿 없음: /sdp/chrome-offer.sdp");
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.back.loadgen;
+
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.util.HashMap;
+import java.util.Map;
+
+// 명령행 옵션 (--key=value)
+record LoadGeneratorOptions(
+        URI url,
+        int rooms,
+        int usersPerRoom,
+        long joinIntervalMs,
+        int candidatesPerPeer,
+        long durationSeconds,
+        String format,
+        String offerMode,
+        String transport,
+        String reportFile) {
+
+    static LoadGeneratorOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("옵션 형식은 --key=value 입니다: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        // --transport=websocket: 순수 WebSocket(/ws-native), sockjs: SockJS 경로(/ws, websocket 전송)
+        String transport = values.getOrDefault("transport", "websocket");
+        String defaultUrl = "sockjs".equalsIgnoreCase(transport)
+                ? "http://127.0.0.1:8080/ws"
+                : "ws://127.0.0.1:8080/ws-native";
+
+        LoadGeneratorOptions options = new LoadGeneratorOptions(
+                URI.create(values.getOrDefault("url", defaultUrl)),
+                Integer.parseInt(values.getOrDefault("rooms", "100")),
+                Integer.parseInt(values.getOrDefault("users-per-room", "6")),
+                Long.parseLong(values.getOrDefault("join-interval-ms", "5")),
+                Integer.parseInt(values.getOrDefault("candidates", "12")),
+                Long.parseLong(values.getOrDefault("duration", "30")),
+                values.getOrDefault("format", "json"),
+                values.getOrDefault("offer-mode", "server"),
+                transport,
+                values.get("report"));
+
+        options.requireLoopback();
+        return options;
+    }
+
+    // --format=cbor: CONNECT 헤더 signal-format: cbor 로 바이너리 프레임 협상
+    boolean cbor() {
+        return "cbor".equalsIgnoreCase(format);
+    }
+
+    // --offer-mode=all: 서버 지정(offerers)과 무관하게 user-joined를 받은 쪽이 모두 offer (glare 재현용 이전 동작)
+    boolean offerToAll() {
+        return "all".equalsIgnoreCase(offerMode);
+    }
+
+    boolean sockJs() {
+        return "sockjs".equalsIgnoreCase(transport);
+    }
+
+    int totalSessions() {
+        return rooms * usersPerRoom;
+    }
+
+    // 로컬에서 띄운 서버만 대상으로 함
+    private void requireLoopback() {
+        try {
+            if (!InetAddress.getByName(url.getHost()).isLoopbackAddress()) {
+                throw new IllegalArgumentException("루프백 주소만 허용됩니다: " + url.getHost());
+            }
+        } catch (UnknownHostException e) {
+            throw new IllegalArgumentException("알 수 없는 호스트: " + url.getHost(), e);
+        }
+    }
+}
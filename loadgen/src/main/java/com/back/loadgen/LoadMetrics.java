@@ -0,0 +1,66 @@
+package com.back.loadgen;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// 부하 테스트 집계 지표
+final class LoadMetrics {
+
+    final LatencyRecorder connectLatency = new LatencyRecorder();
+    final LatencyRecorder joinLatency = new LatencyRecorder();
+    final LatencyRecorder offerRelayLatency = new LatencyRecorder();
+    final LatencyRecorder answerRelayLatency = new LatencyRecorder();
+    final LatencyRecorder candidateRelayLatency = new LatencyRecorder();
+    // 피어 쌍별 첫 offer 전송 ~ answer 수신 (offer 보낸 쪽에서 측정)
+    final LatencyRecorder negotiationLatency = new LatencyRecorder();
+    // 입장 요청 ~ 첫 offer 수신 (나중에 입장한 쪽에서 측정)
+    final LatencyRecorder joinToFirstOfferLatency = new LatencyRecorder();
+
+    final LongAdder framesSent = new LongAdder();
+    final LongAdder framesReceived = new LongAdder();
+    final LongAdder connectFailures = new LongAdder();
+    final LongAdder serverErrors = new LongAdder();
+    final LongAdder joinRetries = new LongAdder();
+    final LongAdder transportErrors = new LongAdder();
+    final LongAdder offersSent = new LongAdder();
+    final LongAdder offersReceived = new LongAdder();
+    final LongAdder offersDeferred = new LongAdder();
+    final LongAdder offersRejectedGlare = new LongAdder();
+
+    Map<String, Object> toReport(LoadGeneratorOptions options, double elapsedSeconds) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("url", options.url().toString());
+        report.put("transport", options.transport());
+        report.put("format", options.format());
+        report.put("offerMode", options.offerMode());
+        report.put("rooms", options.rooms());
+        report.put("usersPerRoom", options.usersPerRoom());
+        report.put("sessions", options.totalSessions());
+        report.put("elapsedSeconds", Math.round(elapsedSeconds * 100) / 100.0);
+
+        report.put("framesSent", framesSent.sum());
+        report.put("framesReceived", framesReceived.sum());
+        report.put("sentPerSecond", Math.round(framesSent.sum() / elapsedSeconds));
+        report.put("receivedPerSecond", Math.round(framesReceived.sum() / elapsedSeconds));
+
+        report.put("connectFailures", connectFailures.sum());
+        report.put("serverErrors", serverErrors.sum());
+        report.put("joinRetries", joinRetries.sum());
+        report.put("transportErrors", transportErrors.sum());
+
+        report.put("offersSent", offersSent.sum());
+        report.put("offersReceived", offersReceived.sum());
+        report.put("offersDeferred", offersDeferred.sum());
+        report.put("offersRejectedGlare", offersRejectedGlare.sum());
+
+        report.put("connectLatency", connectLatency.summarize());
+        report.put("joinLatency", joinLatency.summarize());
+        report.put("offerRelayLatency", offerRelayLatency.summarize());
+        report.put("answerRelayLatency", answerRelayLatency.summarize());
+        report.put("candidateRelayLatency", candidateRelayLatency.summarize());
+        report.put("negotiationLatency", negotiationLatency.summarize());
+        report.put("joinToFirstOfferLatency", joinToFirstOfferLatency.summarize());
+        return report;
+    }
+}
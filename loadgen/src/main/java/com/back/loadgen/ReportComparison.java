@@ -0,0 +1,74 @@
+package com.back.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+// 같은 옵션으로 두 번 실행한 loadgen 보고(JSON)를 나란히 비교 (예: execution-mode platform vs virtual)
+// 처리량(초당 송수신)과 중계 지연 p50/p99/p99.9, 오류 수를 기준 대비 변화율과 함께 출력
+//
+// 실행: ./gradlew :loadgen:compareReports --args="build/platform.json build/virtual.json"
+public final class ReportComparison {
+
+    private static final List<String> THROUGHPUT = List.of("sentPerSecond", "receivedPerSecond");
+
+    private static final List<String> ERRORS = List.of("connectFailures", "serverErrors", "joinRetries", "transportErrors");
+
+    private static final List<String> LATENCIES = List.of(
+            "connectLatency", "joinLatency", "offerRelayLatency", "answerRelayLatency",
+            "candidateRelayLatency", "negotiationLatency", "joinToFirstOfferLatency");
+
+    private static final List<String> PERCENTILES = List.of("p50Ms", "p99Ms", "p999Ms");
+
+    private ReportComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("사용법: compareReports <기준 보고.json> <비교 보고.json>");
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonNode baseline = objectMapper.readTree(Path.of(args[0]).toFile());
+        JsonNode candidate = objectMapper.readTree(Path.of(args[1]).toFile());
+
+        if (baseline.path("sessions").asInt() != candidate.path("sessions").asInt()) {
+            System.out.println("⚠ 세션 수가 다름 - 같은 옵션으로 실행한 보고인지 확인하세요.");
+        }
+
+        System.out.printf("%-36s %14s %14s %9s%n", "", args[0], args[1], "변화");
+        row("sessions", baseline.path("sessions"), candidate.path("sessions"));
+        row("elapsedSeconds", baseline.path("elapsedSeconds"), candidate.path("elapsedSeconds"));
+
+        for (String key : THROUGHPUT) {
+            row(key, baseline.path(key), candidate.path(key));
+        }
+        for (String latency : LATENCIES) {
+            for (String percentile : PERCENTILES) {
+                row(latency + "." + percentile,
+                        baseline.path(latency).path(percentile), candidate.path(latency).path(percentile));
+            }
+        }
+        for (String key : ERRORS) {
+            row(key, baseline.path(key), candidate.path(key));
+        }
+    }
+
+    private static void row(String name, JsonNode baseline, JsonNode candidate) {
+        if (baseline.isMissingNode() && candidate.isMissingNode()) {
+            return;
+        }
+
+        double before = baseline.asDouble();
+        double after = candidate.asDouble();
+        String change = before != 0 ? String.format("%+.1f%%", (after - before) / before * 100) : "-";
+        System.out.printf("%-36s %14s %14s %9s%n", name, format(baseline), format(candidate), change);
+    }
+
+    private static String format(JsonNode value) {
+        return value.isMissingNode() ? "-" : value.asText();
+    }
+}
@@ -0,0 +1,288 @@
+package com.back.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.messaging.simp.stomp.*;
+import org.springframework.util.MimeTypeUtils;
+
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 브라우저 클라이언트(websocket-client.js / webrtc-client.js)의 시그널링 흐름을 흉내내는 합성 피어
+// - user-joined의 offerers에 포함된 참여자(먼저 입장한 쪽)가 새 참여자에게 offer 전송 (offerToAll이면 받은 쪽 모두)
+// - negotiation-role(offerer)을 받으면 그 상대에게 offer 전송
+// - offer 수신 측은 answer 전송, 양쪽 모두 candidate 전송 후 연결 완료 알림 (/app/webrtc/connected)
+// 중계 지연은 페이로드에 심은 송신 시각(System.nanoTime)으로 측정 (같은 JVM이라 비교 가능)
+final class SyntheticPeer extends StompSessionHandlerAdapter {
+
+    private static final String TIMESTAMP_ATTRIBUTE = "a=x-loadgen-ts:";
+
+    private final String userId;
+    private final String roomId;
+    private final String sdpTemplate;
+    private final int candidatesPerPeer;
+    private final boolean cbor;
+    private final boolean offerToAll;
+    private final LoadMetrics metrics;
+
+    // 상대별 첫 offer 전송 시각 (answer 수신 시 협상 시간 기록)
+    private final Map<String, Long> offerStartedAt = new ConcurrentHashMap<>();
+
+    private final long connectStartedAt = System.nanoTime();
+    private volatile long joinSentAt;
+    private final AtomicBoolean firstOfferReceived = new AtomicBoolean();
+    private volatile StompSession session;
+
+    SyntheticPeer(String userId, String roomId, String sdpTemplate, int candidatesPerPeer, boolean cbor,
+                  boolean offerToAll, LoadMetrics metrics) {
+        this.userId = userId;
+        this.roomId = roomId;
+        this.sdpTemplate = sdpTemplate;
+        this.candidatesPerPeer = candidatesPerPeer;
+        this.cbor = cbor;
+        this.offerToAll = offerToAll;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void afterConnected(StompSession session, StompHeaders connectedHeaders) {
+        this.session = session;
+        metrics.connectLatency.record(System.nanoTime() - connectStartedAt);
+
+        session.subscribe("/user/queue/webrtc", new JsonFrameHandler());
+        session.subscribe("/user/queue/room", new JsonFrameHandler());
+        session.subscribe("/user/queue/error", new JsonFrameHandler());
+        session.subscribe("/topic/room/" + roomId, new JsonFrameHandler());
+
+        joinSentAt = System.nanoTime();
+        sendJoin();
+    }
+
+    @Override
+    public void handleException(StompSession session, StompCommand command, StompHeaders headers,
+                                byte[] payload, Throwable exception) {
+        metrics.transportErrors.increment();
+    }
+
+    @Override
+    public void handleTransportError(StompSession session, Throwable exception) {
+        metrics.transportErrors.increment();
+    }
+
+    void disconnect() {
+        StompSession current = session;
+        if (current != null && current.isConnected()) {
+            current.disconnect();
+        }
+    }
+
+    private void onMessage(JsonNode message) {
+        metrics.framesReceived.increment();
+
+        String type = message.path("type").asText();
+        String fromUserId = message.path("fromUserId").asText(null);
+        JsonNode data = message.path("data");
+
+        switch (type) {
+            case "room-state" -> metrics.joinLatency.record(System.nanoTime() - joinSentAt);
+            case "user-joined" -> {
+                if (fromUserId != null && !fromUserId.equals(userId) && shouldOffer(data)) {
+                    sendOffer(fromUserId);
+                }
+            }
+            case "negotiation-role" -> onNegotiationRole(data);
+            case "webrtc-signal" -> onSignal(fromUserId, data);
+            case "error" -> onError(data.path("error"));
+            default -> {
+                // user-left, user-disconnected 등은 부하 측정 대상 아님
+            }
+        }
+    }
+
+    private boolean shouldOffer(JsonNode userJoined) {
+        if (offerToAll || !userJoined.has("offerers")) {
+            return true;
+        }
+        for (JsonNode offerer : userJoined.path("offerers")) {
+            if (userId.equals(offerer.asText())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // answerer: 보낸 offer가 보류됨 (상대 offer를 기다림, 상대가 보내지 않으면 보류분이 늦게 전달), offerer: 상대의 보류된 offer 대신 offer 전송
+    private void onNegotiationRole(JsonNode role) {
+        String peerUserId = role.path("peerUserId").asText();
+        if ("offerer".equals(role.path("role").asText())) {
+            sendOffer(peerUserId);
+            return;
+        }
+
+        offerStartedAt.remove(peerUserId);
+        if ("glare".equals(role.path("reason").asText())) {
+            metrics.offersRejectedGlare.increment();
+        } else {
+            metrics.offersDeferred.increment();
+        }
+    }
+
+    private void sendOffer(String toUserId) {
+        offerStartedAt.putIfAbsent(toUserId, System.nanoTime());
+        metrics.offersSent.increment();
+        sendSdp("/app/webrtc/offer", toUserId, "actpass");
+    }
+
+    // 입장 속도 제한은 서버가 알려준 시점 뒤에 재시도 (joinLatency는 첫 요청부터 측정)
+    private void onError(JsonNode error) {
+        if (!"JOIN_RATE_LIMITED".equals(error.path("code").asText())) {
+            metrics.serverErrors.increment();
+            return;
+        }
+
+        metrics.joinRetries.increment();
+        long delayMs = error.path("retryAfterMs").asLong(1000) + ThreadLocalRandom.current().nextLong(100);
+        CompletableFuture.runAsync(this::sendJoin, CompletableFuture.delayedExecutor(delayMs, TimeUnit.MILLISECONDS));
+    }
+
+    private void sendJoin() {
+        Map<String, Object> join = new HashMap<>();
+        join.put("userId", userId);
+        join.put("roomId", roomId);
+        join.put("userAgent", "loadgen");
+        send("/app/room/join", join);
+    }
+
+    private void onSignal(String fromUserId, JsonNode data) {
+        switch (data.path("signalType").asText()) {
+            case "offer" -> {
+                metrics.offersReceived.increment();
+                if (firstOfferReceived.compareAndSet(false, true)) {
+                    metrics.joinToFirstOfferLatency.record(System.nanoTime() - joinSentAt);
+                }
+                metrics.offerRelayLatency.record(System.nanoTime() - sdpTimestamp(data.path("sdp").asText()));
+                sendSdp("/app/webrtc/answer", fromUserId, "active");
+                sendCandidates(fromUserId);
+                sendConnected(fromUserId);
+            }
+            case "answer" -> {
+                metrics.answerRelayLatency.record(System.nanoTime() - sdpTimestamp(data.path("sdp").asText()));
+                Long startedAt = offerStartedAt.remove(fromUserId);
+                if (startedAt != null) {
+                    metrics.negotiationLatency.record(System.nanoTime() - startedAt);
+                }
+                sendCandidates(fromUserId);
+                sendConnected(fromUserId);
+            }
+            case "ice-candidate" -> recordCandidate(data.path("candidate").asText());
+            case "ice-candidates" -> data.path("candidates").forEach(item -> recordCandidate(item.path("candidate").asText()));
+            default -> {
+            }
+        }
+    }
+
+    private void sendSdp(String destination, String toUserId, String setupRole) {
+        String sdp = sdpTemplate.replace("a=setup:actpass", "a=setup:" + setupRole)
+                + TIMESTAMP_ATTRIBUTE + System.nanoTime() + "\r\n";
+
+        Map<String, Object> message = new HashMap<>();
+        message.put("fromUserId", userId);
+        message.put("toUserId", toUserId);
+        message.put("roomId", roomId);
+        message.put("sdp", sdp);
+        send(destination, message);
+    }
+
+    private void sendCandidates(String toUserId) {
+        for (int i = 0; i < candidatesPerPeer; i++) {
+            // foundation 자리에 송신 시각 기록, 크기는 실제 srflx candidate와 비슷하게 유지
+            String candidate = "candidate:" + System.nanoTime() + " 1 udp 1677729535 203.0.113." + (i % 250)
+                    + " " + (49152 + i) + " typ srflx raddr 192.168.0.10 rport " + (49152 + i)
+                    + " generation 0 ufrag Qv1x network-cost 999";
+
+            Map<String, Object> message = new HashMap<>();
+            message.put("fromUserId", userId);
+            message.put("toUserId", toUserId);
+            message.put("roomId", roomId);
+            message.put("candidate", candidate);
+            message.put("sdpMid", String.valueOf(i % 2));
+            message.put("sdpMLineIndex", i % 2);
+            send("/app/webrtc/ice-candidate", message);
+        }
+
+        // end-of-candidates
+        Map<String, Object> end = new HashMap<>();
+        end.put("fromUserId", userId);
+        end.put("toUserId", toUserId);
+        end.put("roomId", roomId);
+        end.put("candidate", "");
+        send("/app/webrtc/ice-candidate", end);
+    }
+
+    // 실제 ICE 연결은 없으므로 candidate 전송 직후를 연결 완료로 간주
+    private void sendConnected(String toUserId) {
+        Map<String, Object> message = new HashMap<>();
+        message.put("fromUserId", userId);
+        message.put("toUserId", toUserId);
+        message.put("roomId", roomId);
+        send("/app/webrtc/connected", message);
+    }
+
+    private void recordCandidate(String candidate) {
+        int start = "candidate:".length();
+        int end = candidate.indexOf(' ', start);
+        if (candidate.startsWith("candidate:") && end > start) {
+            metrics.candidateRelayLatency.record(System.nanoTime() - Long.parseLong(candidate.substring(start, end)));
+        }
+    }
+
+    private void send(String destination, Object payload) {
+        StompSession current = session;
+        if (current == null || !current.isConnected()) {
+            return;
+        }
+
+        try {
+            if (cbor) {
+                // octet-stream -> 바이너리 프레임 + CBOR 본문 (서버가 application/cbor로 읽음)
+                StompHeaders headers = new StompHeaders();
+                headers.setDestination(destination);
+                headers.setContentType(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+                current.send(headers, payload);
+            } else {
+                current.send(destination, payload);
+            }
+            metrics.framesSent.increment();
+        } catch (RuntimeException e) {
+            metrics.transportErrors.increment();
+        }
+    }
+
+    private static long sdpTimestamp(String sdp) {
+        int start = sdp.lastIndexOf(TIMESTAMP_ATTRIBUTE);
+        if (start < 0) {
+            return Long.MAX_VALUE;  // 음수 지연 -> 기록 안 됨
+        }
+        start += TIMESTAMP_ATTRIBUTE.length();
+        int end = sdp.indexOf('\r', start);
+        return Long.parseLong(sdp.substring(start, end < 0 ? sdp.length() : end).trim());
+    }
+
+    private final class JsonFrameHandler implements StompFrameHandler {
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return JsonNode.class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            onMessage((JsonNode) payload);
+        }
+    }
+}
@@ -1 +1,4 @@
 rootProject.name = "studyroomPoc"
+
+// 합성 피어 부하 생성기 (루프백 전용)
+include("loadgen")
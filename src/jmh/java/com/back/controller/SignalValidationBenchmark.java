@@ -0,0 +1,84 @@
+package com.back.controller;
+
+import com.back.cluster.ClusterCoordinator;
+import com.back.config.SignalingScheduler;
+import com.back.config.StompPrincipal;
+import com.back.dto.PeerConnectedMessage;
+import com.back.limit.SignalRateLimiter;
+import com.back.metrics.ConnectionSetupTracker;
+import com.back.metrics.SignalingMetrics;
+import com.back.sdp.SdpGuard;
+import com.back.service.IceCandidateCoalescer;
+import com.back.service.IceConfigService;
+import com.back.service.MediaPolicyService;
+import com.back.service.NegotiationCoordinator;
+import com.back.service.RoomJournal;
+import com.back.service.RoomService;
+import com.back.service.RtcStatsService;
+import com.back.service.SessionResumeService;
+import com.back.service.SignalRouter;
+import com.back.support.BenchmarkFixtures;
+import com.back.trace.SignalTrace;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.back.support.BenchmarkFixtures.absent;
+
+// 시그널 중계 전 유효성 검증 (발신자 Principal 대조 + 사용자 -> 방 조회 2회)
+// peer-connected 핸들러로 호출 - 클러스터 비활성(담당 노드 확인만), 이벤트 기록/연결 준비 추적은 꺼 둬서 검증 비용만 남김
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class SignalValidationBenchmark {
+
+    @Param({"10000"})
+    public int roomCount;
+
+    private WebRTCController controller;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        RoomService roomService = BenchmarkFixtures.roomService(6);
+        for (int i = 0; i < roomCount; i++) {
+            for (int p = 0; p < 6; p++) {
+                roomService.addUserToRoom("room-" + i, "user-" + i + "-" + p);
+            }
+        }
+
+        SignalingMetrics signalingMetrics = BenchmarkFixtures.signalingMetrics();
+        ClusterCoordinator clusterCoordinator = BenchmarkFixtures.newBean(ClusterCoordinator.class,
+                roomService, BenchmarkFixtures.objectMapper(), absent(ObjectProvider.class));
+        SignalTrace signalTrace = BenchmarkFixtures.newBean(SignalTrace.class, absent(SignalingScheduler.class));
+        BenchmarkFixtures.setField(signalTrace, "enabled", false);
+        ConnectionSetupTracker connectionSetupTracker = BenchmarkFixtures.newBean(ConnectionSetupTracker.class,
+                roomService, signalingMetrics);
+        BenchmarkFixtures.setField(connectionSetupTracker, "enabled", false);
+
+        controller = BenchmarkFixtures.newBean(WebRTCController.class,
+                roomService, signalingMetrics, clusterCoordinator, signalTrace, connectionSetupTracker,
+                absent(SignalRouter.class), absent(IceCandidateCoalescer.class), absent(RtcStatsService.class),
+                absent(MediaPolicyService.class), absent(SessionResumeService.class), absent(SdpGuard.class),
+                absent(RoomJournal.class), absent(NegotiationCoordinator.class), absent(IceConfigService.class),
+                absent(SignalRateLimiter.class));
+    }
+
+    @Benchmark
+    public void validSameRoom() {
+        int room = ThreadLocalRandom.current().nextInt(roomCount);
+        String fromUserId = "user-" + room + "-0";
+        controller.handlePeerConnected(new PeerConnectedMessage(fromUserId, "user-" + room + "-1", "room-" + room),
+                new StompPrincipal(fromUserId));
+    }
+
+    @Benchmark
+    public void rejectedCrossRoom() {
+        int room = ThreadLocalRandom.current().nextInt(roomCount - 1);
+        String fromUserId = "user-" + room + "-0";
+        controller.handlePeerConnected(new PeerConnectedMessage(fromUserId, "user-" + (room + 1) + "-0", "room-" + room),
+                new StompPrincipal(fromUserId));
+    }
+}
@@ -0,0 +1,161 @@
+package com.back.ice;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 내장 TURN 릴레이 처리량 (루프백)
+// 클라이언트가 실제 브라우저와 같은 순서(401 -> 인증 Allocate -> ChannelBind)로 할당을 만든 뒤
+// ChannelData <-> 상대 UDP 중계를 BATCH개씩 왕복. 결과 ops/s = 초당 중계 패킷 수
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TurnRelayBenchmark {
+
+    private static final int BATCH = 32;
+    private static final int CHANNEL = 0x4000;
+    private static final String REALM = "bench";
+    private static final String USERNAME = "bench-user";
+    private static final String PASSWORD = "bench-pass";
+
+    // 오디오 프레임 / MTU 근처 영상 패킷
+    @Param({"200", "1200"})
+    public int payloadBytes;
+
+    private TurnServer server;
+    private DatagramSocket client;
+    private DatagramSocket peer;
+    private InetSocketAddress serverAddress;
+    private InetSocketAddress relayedAddress;
+
+    private DatagramPacket channelDataPacket;
+    private DatagramPacket peerPacket;
+    private DatagramPacket receivePacket;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+
+        server = new TurnServer(new InetSocketAddress(loopback, 0), loopback, REALM,
+                TurnCredentialStore.fixed(USERNAME, PASSWORD), TurnPeerPolicy.allowing(List.of("127.0.0.0/8", "::1")), 16);
+        server.start();
+        serverAddress = new InetSocketAddress(loopback, server.getPort());
+
+        client = socket(loopback);
+        peer = socket(loopback);
+
+        byte[] key = StunMessage.longTermKey(USERNAME, REALM, PASSWORD);
+
+        // 1) 자격 증명 없이 Allocate -> 401 + NONCE
+        StunMessage challenge = request(new StunMessageBuilder(Stun.ALLOCATE, transactionId())
+                .uint32(Stun.ATTR_REQUESTED_TRANSPORT, (long) Stun.TRANSPORT_UDP << 24)
+                .build(null));
+        String nonce = challenge.string(Stun.ATTR_NONCE);
+
+        // 2) 인증 Allocate
+        StunMessage allocated = request(new StunMessageBuilder(Stun.ALLOCATE, transactionId())
+                .uint32(Stun.ATTR_REQUESTED_TRANSPORT, (long) Stun.TRANSPORT_UDP << 24)
+                .string(Stun.ATTR_USERNAME, USERNAME)
+                .string(Stun.ATTR_REALM, REALM)
+                .string(Stun.ATTR_NONCE, nonce)
+                .build(key));
+        relayedAddress = allocated.xorAddress(Stun.ATTR_XOR_RELAYED_ADDRESS);
+        if (allocated.getType() != (Stun.ALLOCATE | Stun.SUCCESS_RESPONSE) || relayedAddress == null) {
+            throw new IllegalStateException("TURN Allocate 실패 - Type: " + Integer.toHexString(allocated.getType()));
+        }
+
+        // 3) 상대 주소에 채널 바인딩 (권한도 함께 생성)
+        StunMessage bound = request(new StunMessageBuilder(Stun.CHANNEL_BIND, transactionId())
+                .uint32(Stun.ATTR_CHANNEL_NUMBER, (long) CHANNEL << 16)
+                .xorAddress(Stun.ATTR_XOR_PEER_ADDRESS, new InetSocketAddress(loopback, peer.getLocalPort()))
+                .string(Stun.ATTR_USERNAME, USERNAME)
+                .string(Stun.ATTR_REALM, REALM)
+                .string(Stun.ATTR_NONCE, nonce)
+                .build(key));
+        if (bound.getType() != (Stun.CHANNEL_BIND | Stun.SUCCESS_RESPONSE)) {
+            throw new IllegalStateException("TURN ChannelBind 실패 - Type: " + Integer.toHexString(bound.getType()));
+        }
+
+        byte[] channelData = new byte[Stun.CHANNEL_DATA_HEADER_LENGTH + payloadBytes];
+        ByteBuffer.wrap(channelData).putShort((short) CHANNEL).putShort((short) payloadBytes);
+        channelDataPacket = new DatagramPacket(channelData, channelData.length, serverAddress);
+
+        peerPacket = new DatagramPacket(new byte[payloadBytes], payloadBytes, relayedAddress);
+        receivePacket = new DatagramPacket(new byte[2048], 2048);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        peer.close();
+        server.close();
+    }
+
+    // 클라이언트 ChannelData -> 릴레이 -> 상대
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int clientToPeer() throws IOException {
+        for (int i = 0; i < BATCH; i++) {
+            client.send(channelDataPacket);
+        }
+        return receive(peer);
+    }
+
+    // 상대 UDP -> 릴레이 소켓 -> 클라이언트 ChannelData
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int peerToClient() throws IOException {
+        for (int i = 0; i < BATCH; i++) {
+            peer.send(peerPacket);
+        }
+        return receive(client);
+    }
+
+    // 받은 패킷 수 (루프백에서도 소켓 버퍼가 넘치면 유실될 수 있어 타임아웃으로 끊음)
+    private int receive(DatagramSocket socket) throws IOException {
+        int received = 0;
+        try {
+            while (received < BATCH) {
+                receivePacket.setLength(receivePacket.getData().length);
+                socket.receive(receivePacket);
+                received++;
+            }
+        } catch (SocketTimeoutException e) {
+            // 유실분은 처리량에서 빠짐
+        }
+        return received;
+    }
+
+    private StunMessage request(ByteBuffer message) throws IOException {
+        byte[] bytes = new byte[message.remaining()];
+        message.get(bytes);
+        client.send(new DatagramPacket(bytes, bytes.length, serverAddress));
+
+        DatagramPacket response = new DatagramPacket(new byte[2048], 2048);
+        client.receive(response);
+        return StunMessage.parse(ByteBuffer.wrap(response.getData(), 0, response.getLength()));
+    }
+
+    private static DatagramSocket socket(InetAddress address) throws IOException {
+        DatagramSocket socket = new DatagramSocket(new InetSocketAddress(address, 0));
+        socket.setReceiveBufferSize(4 * 1024 * 1024);
+        socket.setSendBufferSize(4 * 1024 * 1024);
+        socket.setSoTimeout(1000);
+        return socket;
+    }
+
+    private static byte[] transactionId() {
+        byte[] transactionId = new byte[12];
+        ThreadLocalRandom.current().nextBytes(transactionId);
+        return transactionId;
+    }
+}
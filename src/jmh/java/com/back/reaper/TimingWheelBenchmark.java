@@ -0,0 +1,60 @@
+package com.back.reaper;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 타이머 등록/취소 비용 - 이미 timers개가 걸려 있는 상태에서 하나 등록 후 취소
+// wheel: TimingWheel (O(1)), executor: 항목마다 ScheduledThreadPoolExecutor 작업 (힙, O(log n))
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TimingWheelBenchmark {
+
+    private static final long TICK_MS = 1000;
+    private static final long MAX_DELAY_MS = 600_000;
+
+    @Param({"10000", "1000000"})
+    public int timers;
+
+    private long now;
+    private TimingWheel<Object> wheel;
+    private ScheduledThreadPoolExecutor executor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        now = System.currentTimeMillis();
+
+        wheel = new TimingWheel<>(TICK_MS, now);
+        executor = new ScheduledThreadPoolExecutor(1);
+        executor.setRemoveOnCancelPolicy(true);
+
+        for (int i = 0; i < timers; i++) {
+            long delay = random.nextLong(MAX_DELAY_MS);
+            wheel.schedule(i, now + delay);
+            executor.schedule(() -> { }, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public boolean wheelScheduleAndCancel() {
+        TimingWheel.Timer<Object> timer = wheel.schedule(this, now + ThreadLocalRandom.current().nextLong(MAX_DELAY_MS));
+        return wheel.cancel(timer);
+    }
+
+    @Benchmark
+    public boolean executorScheduleAndCancel() {
+        ScheduledFuture<?> future = executor.schedule(() -> { },
+                ThreadLocalRandom.current().nextLong(MAX_DELAY_MS), TimeUnit.MILLISECONDS);
+        return future.cancel(false);
+    }
+}
@@ -0,0 +1,45 @@
+package com.back.sdp;
+
+import com.back.support.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// offer/answer 중계 경로의 SDP 검사 비용 (Chrome/Firefox 실제 offer)
+// - validate: 형식/한도 검사만 (정책 없음, 할당 없음)
+// - trimVp8Opus: 검사 + opus/vp8만 남기도록 정리 (정리 후 크기는 측정 전에 한 번 출력)
+// 할당량은 gc 프로파일러 항목(gc.alloc.rate.norm) 참고
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SdpParserBenchmark {
+
+    @Param({"chrome-offer", "firefox-offer"})
+    public String fixture;
+
+    private SdpParser parser;
+    private SdpPolicy vp8Opus;
+    private String sdp;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        parser = new SdpParser(32768, 1024, 32);
+        vp8Opus = SdpPolicy.of(List.of("opus", "vp8"), List.of());
+        sdp = BenchmarkFixtures.sdp(fixture + ".sdp");
+
+        SdpResult trimmed = parser.process(sdp, vp8Opus);
+        System.out.printf("%n[sdp] %s: %d -> %d chars (코덱 %d개 제거)%n",
+                fixture, sdp.length(), trimmed.sdp().length(), trimmed.removedCodecs());
+    }
+
+    @Benchmark
+    public String validate() {
+        return parser.validate(sdp);
+    }
+
+    @Benchmark
+    public SdpResult trimVp8Opus() {
+        return parser.process(sdp, vp8Opus);
+    }
+}
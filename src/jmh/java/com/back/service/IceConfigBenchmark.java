@@ -0,0 +1,48 @@
+package com.back.service;
+
+import com.back.ice.EmbeddedIceServer;
+import com.back.ice.TurnRestCredentials;
+import com.back.support.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// ICE 서버 설정 응답 - 캐시 적중(같은 사용자 재입장) vs 매번 자격 증명 발급 + 직렬화
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class IceConfigBenchmark {
+
+    @Param({"true", "false"})
+    public boolean cached;
+
+    private IceConfigService iceConfigService;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        TurnRestCredentials credentials = new TurnRestCredentials();
+        BenchmarkFixtures.setField(credentials, "ttlSeconds", 3600L);
+        BenchmarkFixtures.setField(credentials, "rotationSeconds", 600L);
+        BenchmarkFixtures.setField(credentials, "secretKey", "bench-secret".getBytes(StandardCharsets.UTF_8));
+
+        // 내장 서버는 띄우지 않고 외부 TURN URL로 자격 증명 발급 경로를 태움
+        EmbeddedIceServer embeddedIceServer = BenchmarkFixtures.newBean(EmbeddedIceServer.class, credentials);
+
+        iceConfigService = BenchmarkFixtures.newBean(IceConfigService.class,
+                embeddedIceServer, credentials, BenchmarkFixtures.objectMapper());
+        BenchmarkFixtures.setField(iceConfigService, "stunUrls", List.of("stun:stun.l.google.com:19302"));
+        BenchmarkFixtures.setField(iceConfigService, "turnUrls", List.of("turn:127.0.0.1:3478?transport=udp"));
+        BenchmarkFixtures.setField(iceConfigService, "publicStunUrls", List.of());
+        BenchmarkFixtures.setField(iceConfigService, "maxCachedResponses", cached ? 10_000 : 0);
+    }
+
+    @Benchmark
+    public byte[] getIceServers() {
+        int user = ThreadLocalRandom.current().nextInt(1000);
+        return iceConfigService.getIceServersJson("bench-user-" + user, "room-" + user / 6);
+    }
+}
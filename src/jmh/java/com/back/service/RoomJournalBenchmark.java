@@ -0,0 +1,88 @@
+package com.back.service;
+
+import com.back.config.SignalingScheduler;
+import com.back.support.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// 재시작 복구 시간 - 10만 방(방당 4명) 스냅샷 + 그 뒤 저널 기록 재생
+// journalEvents=0 은 정상 종료 후(스냅샷만), 그 외는 스냅샷 이후 퇴장/재입장 기록이 남은 채 비정상 종료된 경우
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RoomJournalBenchmark {
+
+    private static final int ROOMS = 100_000;
+    private static final int USERS_PER_ROOM = 4;
+
+    @Param({"0", "100000"})
+    public int journalEvents;
+
+    private Path directory;
+
+    // start()의 스냅샷 주기 작업 등록용 (데몬 스레드)
+    private final SignalingScheduler signalingScheduler = new SignalingScheduler();
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("room-journal-bench");
+
+        RoomService roomService = BenchmarkFixtures.roomService(Integer.MAX_VALUE);
+        RoomJournal journal = journal(roomService);
+        journal.start();
+        for (int room = 0; room < ROOMS; room++) {
+            for (int user = 0; user < USERS_PER_ROOM; user++) {
+                roomService.addUserToRoom("room-" + room, "user-" + room + "-" + user);
+            }
+        }
+        journal.stop();
+
+        if (journalEvents > 0) {
+            // 복구 후 퇴장/재입장 기록만 남기고 stop() 없이 종료
+            RoomService restarted = BenchmarkFixtures.roomService(Integer.MAX_VALUE);
+            journal(restarted).start();
+            for (int i = 0; i < journalEvents / 2; i++) {
+                String roomId = "room-" + (i % ROOMS);
+                String userId = "user-" + (i % ROOMS) + "-0";
+                restarted.removeUserFromRoom(roomId, userId);
+                restarted.addUserToRoom(roomId, userId);
+            }
+        }
+
+        System.out.printf("%n[journal] %s%n", journal(BenchmarkFixtures.roomService(Integer.MAX_VALUE)).restore());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    // 스냅샷 읽기 + 저널 재생으로 RoomService 상태 복구 (파일은 건드리지 않음)
+    @Benchmark
+    public int recover() throws IOException {
+        RoomService roomService = BenchmarkFixtures.roomService(Integer.MAX_VALUE);
+        journal(roomService).restore();
+        return roomService.getParticipantCount();
+    }
+
+    private RoomJournal journal(RoomService roomService) {
+        // 복구 유예 만료(WebSocketEventListener)는 restoreGraceSeconds 안에 오지 않음
+        RoomJournal journal = BenchmarkFixtures.newBean(RoomJournal.class, roomService, signalingScheduler,
+                BenchmarkFixtures.absent(ObjectProvider.class));
+        BenchmarkFixtures.setField(journal, "enabled", true);
+        BenchmarkFixtures.setField(journal, "directory", directory.toString());
+        BenchmarkFixtures.setField(journal, "segmentSizeMb", 64);
+        BenchmarkFixtures.setField(journal, "snapshotIntervalSeconds", 3600L);
+        BenchmarkFixtures.setField(journal, "restoreGraceSeconds", 3600L);
+        return journal;
+    }
+}
@@ -0,0 +1,93 @@
+package com.back.service;
+
+import com.back.support.BenchmarkFixtures;
+import com.back.dto.RoomPage;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 방 입장/퇴장 경합 - rooms=1 은 한 방에 몰리는 경우, 나머지는 서로 다른 방이 동시에 바뀌는 경우
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class RoomServiceBenchmark {
+
+    @Param({"1", "1000", "100000"})
+    public int rooms;
+
+    private RoomService roomService;
+
+    @State(Scope.Thread)
+    public static class UserState {
+        private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+        String userId;
+
+        @Setup
+        public void setup() {
+            userId = "bench-user-" + SEQUENCE.incrementAndGet();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // 정원 초과 예외가 처리량을 왜곡하지 않도록 정원 제한 해제
+        roomService = BenchmarkFixtures.roomService(Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public int joinAndLeave(UserState user) {
+        String roomId = "room-" + ThreadLocalRandom.current().nextInt(rooms);
+        int size = roomService.addUserToRoom(roomId, user.userId).size();
+        roomService.removeUserFromRoom(roomId, user.userId);
+        return size;
+    }
+
+    // 다른 방으로 이동 (기존 방 퇴장 + 새 방 입장)
+    @Benchmark
+    public int moveBetweenRooms(UserState user) {
+        String roomId = "room-" + ThreadLocalRandom.current().nextInt(rooms);
+        return roomService.addUserToRoom(roomId, user.userId).size();
+    }
+
+    // 10만 개 방에 대한 통계 조회 (/api/webrtc/stats)
+    @State(Scope.Benchmark)
+    public static class PopulatedRooms {
+        @Param({"100000"})
+        public int roomCount;
+
+        RoomService roomService;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            roomService = BenchmarkFixtures.roomService(6);
+            for (int i = 0; i < roomCount; i++) {
+                int participants = 1 + (i % 6);
+                for (int p = 0; p < participants; p++) {
+                    roomService.addUserToRoom("room-" + i, "user-" + i + "-" + p);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Map<String, Object> roomStats(PopulatedRooms state) {
+        return state.roomService.getRoomStats();
+    }
+
+    // 10만 개 방 목록의 한 페이지 (GET /api/webrtc/rooms/page?limit=100)
+    @Benchmark
+    @Threads(1)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public RoomPage listRoomsPage(PopulatedRooms state) {
+        return state.roomService.listRooms("room-" + ThreadLocalRandom.current().nextInt(state.roomCount), 100);
+    }
+}
@@ -0,0 +1,116 @@
+package com.back.service;
+
+import com.back.dto.SignalMessage;
+import com.back.dto.SignalPayloads;
+import com.back.support.BenchmarkFixtures;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// 시그널 직렬화 비용 비교
+// - legacy*: HashMap 페이로드 + LocalDateTime + 메시지 컨버터 (기존 convertAndSend 경로)
+// - typed*: SignalPayloads 레코드 + 캐시된 ObjectWriter (SignalMessageEncoder)
+// 할당량은 JSON 결과의 gc 프로파일러 항목(gc.alloc.rate.norm) 참고
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SignalSerializationBenchmark {
+
+    @Param({"offer-chrome", "offer-firefox", "ice-candidate"})
+    public String payload;
+
+    // user-joined 등 fan-out 수신자 수 (6인 방 기준 5명)
+    @Param({"5"})
+    public int recipients;
+
+    private MappingJackson2MessageConverter converter;
+    private SignalMessageEncoder encoder;
+
+    private String sdp;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ObjectMapper objectMapper = BenchmarkFixtures.objectMapper();
+        converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(objectMapper);
+        encoder = new SignalMessageEncoder(objectMapper);
+
+        sdp = switch (payload) {
+            case "offer-chrome" -> BenchmarkFixtures.sdp("chrome-offer.sdp");
+            case "offer-firefox" -> BenchmarkFixtures.sdp("firefox-offer.sdp");
+            default -> null;
+        };
+    }
+
+    @Benchmark
+    public Message<?> legacyConvert() {
+        return converter.toMessage(legacyMessage(), null);
+    }
+
+    @Benchmark
+    public byte[] typedEncode() {
+        return encoder.encode(typedMessage());
+    }
+
+    // 방 토픽으로 한 번 변환해 브로드캐스트 (기존 convertAndSend("/topic/room/..."))
+    @Benchmark
+    public void legacyFanOut(Blackhole blackhole) {
+        Message<?> converted = converter.toMessage(legacyMessage(), null);
+        for (int i = 0; i < recipients; i++) {
+            blackhole.consume(converted);
+        }
+    }
+
+    // 한 번 직렬화 후 같은 버퍼 공유 (SignalRouter.sendToUsers)
+    @Benchmark
+    public void typedFanOut(Blackhole blackhole) {
+        byte[] encoded = encoder.encode(typedMessage());
+        for (int i = 0; i < recipients; i++) {
+            blackhole.consume(encoded);
+        }
+    }
+
+    private Map<String, Object> legacyMessage() {
+        Map<String, Object> data = new HashMap<>();
+        if (sdp != null) {
+            data.put("signalType", "offer");
+            data.put("targetUserId", "user-2");
+            data.put("sdp", sdp);
+        } else {
+            data.put("signalType", "ice-candidate");
+            data.put("targetUserId", "user-2");
+            data.put("candidate", "candidate:842163049 1 udp 1677729535 203.0.113.7 49203 typ srflx raddr 192.168.0.10 rport 49203 generation 0 ufrag Qv1x network-cost 999");
+            data.put("sdpMid", "0");
+            data.put("sdpMLineIndex", 0);
+        }
+
+        Map<String, Object> message = new HashMap<>();
+        message.put("type", "webrtc-signal");
+        message.put("fromUserId", "user-1");
+        message.put("toUserId", null);
+        message.put("data", data);
+        message.put("timestamp", LocalDateTime.now());
+        return message;
+    }
+
+    private SignalMessage typedMessage() {
+        Object data = sdp != null
+                ? SignalPayloads.Offer.of("user-2", sdp)
+                : SignalPayloads.IceCandidate.of("user-2",
+                "candidate:842163049 1 udp 1677729535 203.0.113.7 49203 typ srflx raddr 192.168.0.10 rport 49203 generation 0 ufrag Qv1x network-cost 999",
+                "0", 0);
+
+        return SignalMessage.builder()
+                .type("webrtc-signal")
+                .fromUserId("user-1")
+                .data(data)
+                .build();
+    }
+}
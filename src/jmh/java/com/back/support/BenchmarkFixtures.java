@@ -0,0 +1,120 @@
+package com.back.support;
+
+import com.back.metrics.SignalingMetrics;
+import com.back.service.RoomService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+
+// 벤치마크 공용 픽스처 (Spring 컨텍스트 없이 빈 생성)
+public final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    // @Value 주입 필드 설정
+    public static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("필드 설정 실패: " + name, e);
+        }
+    }
+
+    // 벤치마크 경로에서 쓰지 않는 의존성 자리 - newBean에 넘기면 해당 타입 파라미터를 null로 채움
+    public record Absent(Class<?> type) {
+    }
+
+    public static Absent absent(Class<?> type) {
+        return new Absent(type);
+    }
+
+    // 생성자 주입 빈 생성 - 모든 파라미터는 전달한 의존성(또는 absent)과 정확히 하나씩 맞아야 함
+    // 맞는 게 없거나 둘 이상이거나, 어디에도 쓰이지 않은 의존성이 있으면 실패
+    public static <T> T newBean(Class<T> type, Object... dependencies) {
+        Constructor<?>[] constructors = type.getDeclaredConstructors();
+        if (constructors.length != 1) {
+            throw new IllegalStateException("생성자가 하나가 아님: " + type.getSimpleName());
+        }
+
+        Constructor<?> constructor = constructors[0];
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+        Object[] args = new Object[parameterTypes.length];
+        boolean[] used = new boolean[dependencies.length];
+
+        for (int i = 0; i < parameterTypes.length; i++) {
+            int matched = -1;
+            for (int d = 0; d < dependencies.length; d++) {
+                boolean fits = dependencies[d] instanceof Absent absent
+                        ? parameterTypes[i].equals(absent.type())
+                        : parameterTypes[i].isInstance(dependencies[d]);
+                if (!fits) {
+                    continue;
+                }
+                if (matched >= 0) {
+                    throw new IllegalStateException("의존성 중복: " + type.getSimpleName()
+                            + " <- " + parameterTypes[i].getSimpleName());
+                }
+                matched = d;
+            }
+
+            if (matched < 0) {
+                throw new IllegalStateException("의존성 없음: " + type.getSimpleName()
+                        + " <- " + parameterTypes[i].getSimpleName());
+            }
+            used[matched] = true;
+            args[i] = dependencies[matched] instanceof Absent ? null : dependencies[matched];
+        }
+
+        for (int d = 0; d < dependencies.length; d++) {
+            if (!used[d]) {
+                throw new IllegalStateException("쓰이지 않는 의존성: " + type.getSimpleName()
+                        + " <- " + dependencies[d]);
+            }
+        }
+
+        try {
+            constructor.setAccessible(true);
+            return type.cast(constructor.newInstance(args));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("빈 생성 실패: " + type.getSimpleName(), e);
+        }
+    }
+
+    public static RoomService roomService(int maxParticipants) {
+        RoomService roomService = new RoomService();
+        setField(roomService, "maxParticipants", maxParticipants);
+        return roomService;
+    }
+
+    // 메트릭 기록 비용까지 포함해 측정 (인메모리 레지스트리)
+    public static SignalingMetrics signalingMetrics() {
+        return new SignalingMetrics(new SimpleMeterRegistry());
+    }
+
+    // Spring Boot 기본 설정과 같은 모듈 구성
+    public static ObjectMapper objectMapper() {
+        return JsonMapper.builder().findAndAddModules().build();
+    }
+
+    // src/jmh/resources/sdp/*.sdp
+    public static String sdp(String name) {
+        try (InputStream in = BenchmarkFixtures.class.getResourceAsStream("/sdp/" + name)) {
+            if (in == null) {
+                throw new IllegalArgumentException("SDP 픽스처 없음: " + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
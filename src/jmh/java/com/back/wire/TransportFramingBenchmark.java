@@ -0,0 +1,76 @@
+package com.back.wire;
+
+import com.back.dto.SignalMessage;
+import com.back.dto.SignalPayloads;
+import com.back.service.SignalMessageEncoder;
+import com.back.support.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.sockjs.frame.Jackson2SockJsMessageCodec;
+import org.springframework.web.socket.sockjs.frame.SockJsMessageCodec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// 전송 경로별 메시지당 프레이밍 비용 (서버 -> 클라이언트 STOMP MESSAGE 프레임)
+// - websocket: STOMP 프레임 그대로 WebSocket 텍스트 메시지 (/ws-native)
+// - sockjs: 같은 프레임을 문자열로 만든 뒤 SockJS 배열 프레임 a["..."]로 JSON 인용 (/ws, websocket 전송 기준)
+// 전송 크기는 측정 전에 한 번 출력. 연결 지연은 loadgen --transport=websocket|sockjs 로 비교
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TransportFramingBenchmark {
+
+    private static final String CANDIDATE =
+            "candidate:842163049 1 udp 1677729535 203.0.113.7 49203 typ srflx raddr 192.168.0.10 rport 49203 generation 0 ufrag Qv1x network-cost 999";
+
+    @Param({"offer-chrome", "ice-candidate"})
+    public String payload;
+
+    @Param({"websocket", "sockjs"})
+    public String transport;
+
+    private final StompEncoder stompEncoder = new StompEncoder();
+    private final SockJsMessageCodec sockJsCodec = new Jackson2SockJsMessageCodec(BenchmarkFixtures.objectMapper());
+
+    private Map<String, Object> headers;
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Object data = "offer-chrome".equals(payload)
+                ? SignalPayloads.Offer.of("user-2", BenchmarkFixtures.sdp("chrome-offer.sdp"))
+                : SignalPayloads.IceCandidate.of("user-2", CANDIDATE, "0", 0);
+        SignalMessage message = SignalMessage.builder()
+                .type("webrtc-signal")
+                .fromUserId("user-1")
+                .data(data)
+                .build();
+        body = new SignalMessageEncoder(BenchmarkFixtures.objectMapper()).encode(message);
+
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.MESSAGE);
+        accessor.setDestination("/user/queue/webrtc");
+        accessor.setSubscriptionId("sub-0");
+        accessor.setMessageId("3f2a9c1e-0b7d-4e55-9a61-2c8f0d4b7e13-42");
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        headers = accessor.getMessageHeaders();
+
+        System.out.printf("%n[framing] %s/%s: 본문 %d bytes, 전송 프레임 %d bytes%n",
+                payload, transport, body.length, frame().length);
+    }
+
+    // STOMP 인코딩 (+ SockJS 인용)
+    @Benchmark
+    public byte[] frame() {
+        byte[] stompFrame = stompEncoder.encode(headers, body);
+        if (!"sockjs".equals(transport)) {
+            return stompFrame;
+        }
+        String sockJsFrame = sockJsCodec.encode(new String(stompFrame, StandardCharsets.UTF_8));
+        return sockJsFrame.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,105 @@
+package com.back.wire;
+
+import com.back.dto.SignalMessage;
+import com.back.dto.SignalPayloads;
+import com.back.metrics.SessionBacklogTracker;
+import com.back.service.SignalMessageEncoder;
+import com.back.support.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+// 시그널 프레임 전송 크기와 메시지당 CPU 비교
+// - format: json(SignalMessageEncoder 그대로) / cbor(CborWireFormat.transcode 추가)
+// - deflate: permessage-deflate와 같은 방식 (raw deflate, 메시지마다 SYNC_FLUSH, 압축 컨텍스트 유지)
+// 전송 크기는 측정 전에 한 번 출력 (첫 메시지 / 같은 연결로 재협상 offer를 반복 보낸 뒤)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WireFormatBenchmark {
+
+    private static final String CANDIDATE =
+            "candidate:842163049 1 udp 1677729535 203.0.113.7 49203 typ srflx raddr 192.168.0.10 rport 49203 generation 0 ufrag Qv1x network-cost 999";
+
+    @Param({"offer-chrome", "offer-firefox", "ice-candidate"})
+    public String payload;
+
+    @Param({"json", "cbor"})
+    public String format;
+
+    private SignalMessageEncoder encoder;
+    private CborWireFormat wireFormat;
+    private SignalMessage message;
+
+    private Deflater deflater;
+    private final byte[] deflateBuffer = new byte[64 * 1024];
+
+    @Setup(Level.Trial)
+    public void setup() {
+        encoder = new SignalMessageEncoder(BenchmarkFixtures.objectMapper());
+        // transcode만 측정하므로 세션별 협상(SessionBacklogTracker)은 쓰지 않음
+        wireFormat = BenchmarkFixtures.newBean(CborWireFormat.class, BenchmarkFixtures.absent(SessionBacklogTracker.class));
+        deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+
+        Object data = switch (payload) {
+            case "offer-chrome" -> SignalPayloads.Offer.of("user-2", BenchmarkFixtures.sdp("chrome-offer.sdp"));
+            case "offer-firefox" -> SignalPayloads.Offer.of("user-2", BenchmarkFixtures.sdp("firefox-offer.sdp"));
+            default -> SignalPayloads.IceCandidate.of("user-2", CANDIDATE, "0", 0);
+        };
+        message = SignalMessage.builder()
+                .type("webrtc-signal")
+                .fromUserId("user-1")
+                .data(data)
+                .build();
+
+        printWireSizes();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        deflater.end();
+    }
+
+    // 직렬화 (+ CBOR 변환)
+    @Benchmark
+    public byte[] encode() {
+        return encodeFrame();
+    }
+
+    // 직렬화 + permessage-deflate 압축
+    @Benchmark
+    public int encodeAndDeflate() {
+        return deflate(encodeFrame());
+    }
+
+    private byte[] encodeFrame() {
+        byte[] json = encoder.encode(message);
+        return "cbor".equals(format) ? wireFormat.transcode(json) : json;
+    }
+
+    // RFC 7692: 메시지 끝의 00 00 ff ff는 전송하지 않음
+    private int deflate(byte[] input) {
+        deflater.setInput(input);
+        int length = 0;
+        int written;
+        do {
+            written = deflater.deflate(deflateBuffer, 0, deflateBuffer.length, Deflater.SYNC_FLUSH);
+            length += written;
+        } while (written == deflateBuffer.length);
+        return length - 4;
+    }
+
+    private void printWireSizes() {
+        byte[] frame = encodeFrame();
+        int first = deflate(frame);
+        int repeated = first;
+        for (int i = 0; i < 10; i++) {
+            repeated = deflate(frame);
+        }
+        deflater.reset();
+
+        System.out.printf("%n[wire] %s/%s: 본문 %d bytes, deflate 첫 메시지 %d bytes, 반복 후 %d bytes%n",
+                payload, format, frame.length, first, repeated);
+    }
+}
@@ -11,7 +11,7 @@ public class BackApplication {
 
         System.out.println("\n" +
                 "🚀 WebRTC 시그널링 서버 시작\n" +
-                "WebSocket URL: ws://localhost:8080/ws\n" +
+                "WebSocket URL: ws://localhost:8080/ws (SockJS), ws://localhost:8080/ws-native\n" +
                 "테스트 페이지: http://localhost:8000\n" +
                 "로그 레벨: DEBUG\n" +
                 "=======================================\n");
@@ -0,0 +1,228 @@
+package com.back.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+// 노드 간 TCP 버스 - [길이(int)][HMAC-SHA256(32)][JSON] 프레임, 피어당 단일 연결로 전송 순서 보장
+// 버스 포트에 접속할 수 있으면 누구나 JOIN/DELIVER를 보낼 수 있으므로 공유 비밀로 프레임마다 서명하고,
+// 서명이 맞지 않는 프레임이 오면 그 연결을 끊음
+// Spring 의존성이 없어 여러 인스턴스를 루프백에서 바로 띄워 테스트할 수 있음
+@Slf4j
+public class ClusterBus implements AutoCloseable {
+
+    private static final int MAX_FRAME_BYTES = 4 * 1024 * 1024;
+    private static final int CONNECT_TIMEOUT_MS = 2000;
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final int MAC_BYTES = 32;
+    private static final int MIN_SECRET_BYTES = 16;
+
+    private final ClusterNode localNode;
+    private final Map<String, ClusterNode> peers;
+    private final ObjectMapper objectMapper;
+    private final Consumer<ClusterEnvelope> handler;
+    private final SecretKeySpec secretKey;
+
+    private final Map<String, PeerConnection> connections = new ConcurrentHashMap<>();
+    private final ExecutorService readers;
+
+    private ServerSocket serverSocket;
+    private volatile boolean running;
+
+    public ClusterBus(ClusterNode localNode, Map<String, ClusterNode> peers,
+                      ObjectMapper objectMapper, String secret, Consumer<ClusterEnvelope> handler) {
+        if (secret == null || secret.getBytes(StandardCharsets.UTF_8).length < MIN_SECRET_BYTES) {
+            throw new IllegalArgumentException("클러스터 버스 공유 비밀은 " + MIN_SECRET_BYTES + "바이트 이상이어야 합니다.");
+        }
+
+        this.localNode = localNode;
+        this.peers = peers;
+        this.objectMapper = objectMapper;
+        this.handler = handler;
+        this.secretKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), MAC_ALGORITHM);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.readers = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "cluster-bus-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start() throws IOException {
+        serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        serverSocket.bind(new InetSocketAddress(localNode.host(), localNode.port()));
+        running = true;
+
+        readers.execute(this::acceptLoop);
+        log.info("✅ 클러스터 버스 시작 - Node: {}, Listen: {}:{}", localNode.id(), localNode.host(), getLocalPort());
+    }
+
+    // 실제 수신 포트 (포트 0으로 띄운 경우 OS가 고른 포트)
+    public int getLocalPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    // 피어 노드로 전송. 연결 실패 시 한 번 재연결 후 포기
+    public boolean send(String nodeId, ClusterEnvelope envelope) {
+        ClusterNode peer = peers.get(nodeId);
+        if (peer == null) {
+            log.warn("알 수 없는 클러스터 노드 - Node: {}", nodeId);
+            return false;
+        }
+
+        byte[] frame;
+        try {
+            frame = objectMapper.writeValueAsBytes(envelope);
+        } catch (IOException e) {
+            log.error("클러스터 메시지 직렬화 실패 - Type: {}, Error: {}", envelope.getType(), e.getMessage());
+            return false;
+        }
+
+        return connections.computeIfAbsent(nodeId, id -> new PeerConnection(peer, newMac())).write(frame);
+    }
+
+    @Override
+    public void close() {
+        running = false;
+
+        try {
+            if (serverSocket != null) {
+                serverSocket.close();
+            }
+        } catch (IOException ignored) {
+        }
+
+        connections.values().forEach(PeerConnection::close);
+        connections.clear();
+        readers.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                readers.execute(() -> readLoop(socket));
+            } catch (IOException e) {
+                if (running) {
+                    log.warn("클러스터 버스 연결 수락 실패 - Error: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void readLoop(Socket socket) {
+        Mac mac = newMac();
+        byte[] signature = new byte[MAC_BYTES];
+
+        try (socket; DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()))) {
+            while (running) {
+                int length = in.readInt();
+                if (length <= 0 || length > MAX_FRAME_BYTES) {
+                    throw new IOException("잘못된 프레임 길이: " + length);
+                }
+
+                in.readFully(signature);
+                byte[] frame = new byte[length];
+                in.readFully(frame);
+
+                if (!MessageDigest.isEqual(signature, mac.doFinal(frame))) {
+                    throw new IOException("프레임 서명 불일치");
+                }
+
+                ClusterEnvelope envelope = objectMapper.readValue(frame, ClusterEnvelope.class);
+                try {
+                    handler.accept(envelope);
+                } catch (Exception e) {
+                    log.error("클러스터 메시지 처리 실패 - Type: {}, From: {}, Error: {}",
+                            envelope.getType(), envelope.getOriginNodeId(), e.getMessage());
+                }
+            }
+        } catch (EOFException | SocketException e) {
+            log.debug("클러스터 버스 연결 종료 - Remote: {}", socket.getRemoteSocketAddress());
+        } catch (IOException e) {
+            log.warn("클러스터 버스 수신 오류 - Remote: {}, Error: {}", socket.getRemoteSocketAddress(), e.getMessage());
+        }
+    }
+
+    // Mac은 스레드 안전하지 않으므로 수신 연결/송신 연결마다 하나씩
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(secretKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 피어 한 곳으로의 송신 연결 (쓰기는 직렬화됨)
+    private static final class PeerConnection {
+
+        private final ClusterNode peer;
+        private final Mac mac;
+        private Socket socket;
+        private DataOutputStream out;
+
+        private PeerConnection(ClusterNode peer, Mac mac) {
+            this.peer = peer;
+            this.mac = mac;
+        }
+
+        private synchronized boolean write(byte[] frame) {
+            byte[] signature = mac.doFinal(frame);
+
+            for (int attempt = 0; attempt < 2; attempt++) {
+                try {
+                    if (socket == null) {
+                        socket = new Socket();
+                        socket.setTcpNoDelay(true);
+                        socket.connect(new InetSocketAddress(peer.host(), peer.port()), CONNECT_TIMEOUT_MS);
+                        out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                    }
+
+                    out.writeInt(frame.length);
+                    out.write(signature);
+                    out.write(frame);
+                    out.flush();
+                    return true;
+
+                } catch (IOException e) {
+                    log.warn("클러스터 노드 전송 실패 - Node: {}, Attempt: {}, Error: {}",
+                            peer.id(), attempt + 1, e.getMessage());
+                    close();
+                }
+            }
+            return false;
+        }
+
+        private synchronized void close() {
+            try {
+                if (socket != null) {
+                    socket.close();
+                }
+            } catch (IOException ignored) {
+            }
+            socket = null;
+            out = null;
+        }
+    }
+}
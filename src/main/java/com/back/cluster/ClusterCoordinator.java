@@ -0,0 +1,330 @@
+package com.back.cluster;
+
+import com.back.config.StompPrincipal;
+import com.back.config.WebSocketEventListener;
+import com.back.controller.WebRTCController;
+import com.back.dto.*;
+import com.back.service.RoomService;
+import com.back.service.SignalRouter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+// 클러스터 모드 조정자
+// - 방은 일관된 해싱으로 담당 노드가 정해지고, 방 멤버십(RoomService)은 담당 노드만 가짐
+// - 다른 노드에 접속한 클라이언트의 시그널링 요청은 담당 노드로 전달되어 처리됨
+// - 담당 노드는 원격 사용자에게 보낼 메시지를 해당 사용자의 접속 노드로만 전달 (전체 브로드캐스트 없음)
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ClusterCoordinator {
+
+    private final RoomService roomService;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<WebRTCController> controllerProvider;
+    private final ObjectProvider<WebSocketEventListener> eventListenerProvider;
+    private final ObjectProvider<SignalRouter> signalRouterProvider;
+
+    @Value("${app.cluster.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.cluster.node-id:node-1}")
+    private String nodeId;
+
+    // nodeId@host:port 목록 (자기 자신 포함)
+    @Value("${app.cluster.nodes:}")
+    private List<String> nodeSpecs;
+
+    @Value("${app.cluster.virtual-nodes:128}")
+    private int virtualNodes;
+
+    // 노드 간 버스 프레임 서명용 공유 비밀 (모든 노드가 같은 값, 16바이트 이상)
+    @Value("${app.cluster.secret:}")
+    private String secret;
+
+    // 담당 방 참여자 중 다른 노드에 접속한 사용자 (userId -> nodeId)
+    private final Map<String, String> remoteUserNodes = new ConcurrentHashMap<>();
+
+    // 담당 노드로 보낸 입장 중 결과를 기다리는 것 (userId -> 요청한 세션)
+    private final Map<String, PendingJoin> pendingJoins = new ConcurrentHashMap<>();
+
+    private ConsistentHashRing ring;
+    private ClusterBus bus;
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        Map<String, ClusterNode> nodes = new LinkedHashMap<>();
+        nodeSpecs.stream()
+                .filter(spec -> !spec.isBlank())
+                .map(ClusterNode::parse)
+                .forEach(node -> nodes.put(node.id(), node));
+
+        ClusterNode localNode = nodes.remove(nodeId);
+        if (localNode == null) {
+            throw new IllegalStateException("app.cluster.nodes에 현재 노드가 없습니다: " + nodeId);
+        }
+
+        List<String> allNodeIds = new ArrayList<>(nodes.keySet());
+        allNodeIds.add(nodeId);
+        ring = new ConsistentHashRing(allNodeIds, virtualNodes);
+
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("클러스터 모드에는 app.cluster.secret이 필요합니다.");
+        }
+
+        bus = new ClusterBus(localNode, nodes, objectMapper, secret, this::handleEnvelope);
+        bus.start();
+
+        log.info("✅ 클러스터 모드 활성화 - Node: {}, Cluster: {}", nodeId, ring.getNodeIds());
+    }
+
+    @PreDestroy
+    void stop() {
+        if (bus != null) {
+            bus.close();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    // 방 담당 노드 ID
+    public String ownerOf(String roomId) {
+        return enabled ? ring.nodeFor(roomId) : nodeId;
+    }
+
+    public boolean isLocalRoom(String roomId) {
+        return !enabled || roomId == null || nodeId.equals(ring.nodeFor(roomId));
+    }
+
+    // 다른 노드가 담당하는 방이면 요청을 담당 노드로 전달하고 true 반환
+    public boolean forwardToOwner(String roomId, String userId, ClusterMessageType type, Object request) {
+        if (isLocalRoom(roomId)) {
+            return false;
+        }
+
+        send(ring.nodeFor(roomId), roomId, userId, type, request);
+        return true;
+    }
+
+    private boolean send(String targetNodeId, String roomId, String userId, ClusterMessageType type, Object request) {
+        try {
+            ClusterEnvelope envelope = ClusterEnvelope.builder()
+                    .type(type)
+                    .originNodeId(nodeId)
+                    .roomId(roomId)
+                    .userId(userId)
+                    .body(request != null ? objectMapper.writeValueAsString(request) : null)
+                    .build();
+
+            if (bus.send(targetNodeId, envelope)) {
+                return true;
+            }
+            log.error("클러스터 노드로 요청 전달 실패 - Type: {}, Room: {}, Node: {}", type, roomId, targetNodeId);
+        } catch (JsonProcessingException e) {
+            log.error("클러스터 요청 직렬화 실패 - Type: {}, Error: {}", type, e.getMessage());
+        }
+        return false;
+    }
+
+    // 다른 노드가 담당하는 방 입장이면 담당 노드로 전달하고 true 반환
+    // 입장 여부는 담당 노드가 정하므로 결과(JOIN_ACCEPTED/JOIN_REJECTED)가 오면 onResult 호출
+    // (정원 초과로 거절된 세션에 방 정보가 남으면 끊길 때 남의 자리를 퇴장시키게 됨)
+    public boolean forwardJoin(JoinRoomRequest request, String sessionId, Consumer<Boolean> onResult) {
+        String roomId = request.getRoomId();
+        if (isLocalRoom(roomId)) {
+            return false;
+        }
+
+        PendingJoin pending = new PendingJoin(sessionId, roomId, onResult);
+        pendingJoins.put(request.getUserId(), pending);
+
+        if (!send(ring.nodeFor(roomId), roomId, request.getUserId(), ClusterMessageType.JOIN, request)
+                && pendingJoins.remove(request.getUserId(), pending)) {
+            onResult.accept(false);
+        }
+        return true;
+    }
+
+    // 결과를 받기 전에 끊긴 세션의 입장 대기 취소 - 거절과 같게 처리 (늦게 온 JOIN_ACCEPTED는 담당 노드 자리 정리)
+    public boolean cancelPendingJoin(String sessionId) {
+        if (!enabled || sessionId == null) {
+            return false;
+        }
+
+        boolean cancelled = false;
+        for (Map.Entry<String, PendingJoin> entry : pendingJoins.entrySet()) {
+            PendingJoin pending = entry.getValue();
+            if (sessionId.equals(pending.sessionId()) && pendingJoins.remove(entry.getKey(), pending)) {
+                pending.onResult().accept(false);
+                cancelled = true;
+            }
+        }
+        return cancelled;
+    }
+
+    // 담당 방 참여자 중 다른 노드에 접속한 사용자인지
+    public boolean isRemoteUser(String userId) {
+        return enabled && remoteUserNodes.containsKey(userId);
+    }
+
+    // 사용자가 다른 노드에 접속해 있으면 해당 노드로 전달하고 true 반환
+    public boolean deliverRemote(String userId, String destination, byte[] payload) {
+        if (!enabled) {
+            return false;
+        }
+
+        String userNode = remoteUserNodes.get(userId);
+        if (userNode == null) {
+            return false;
+        }
+
+        bus.send(userNode, deliverEnvelope(destination, payload));
+        return true;
+    }
+
+    // 방 토픽 메시지를 방 참여자가 접속한 원격 노드들에만 전달
+    public void broadcastRemote(String roomId, String destination, byte[] payload) {
+        if (!enabled) {
+            return;
+        }
+
+        Set<String> targetNodes = new HashSet<>();
+        for (String participant : roomService.getRoomParticipants(roomId)) {
+            String userNode = remoteUserNodes.get(participant);
+            if (userNode != null) {
+                targetNodes.add(userNode);
+            }
+        }
+
+        if (targetNodes.isEmpty()) {
+            return;
+        }
+
+        ClusterEnvelope envelope = deliverEnvelope(destination, payload);
+        targetNodes.forEach(target -> bus.send(target, envelope));
+    }
+
+    public Map<String, Object> getClusterInfo() {
+        Map<String, Object> info = new HashMap<>();
+        info.put("enabled", enabled);
+        info.put("nodeId", nodeId);
+        if (enabled) {
+            info.put("nodes", ring.getNodeIds());
+            info.put("remoteUsers", remoteUserNodes.size());
+            info.put("pendingJoins", pendingJoins.size());
+        }
+        return info;
+    }
+
+    // 버스 수신 처리 (버스 연결별 수신 스레드에서 순서대로 호출됨)
+    private void handleEnvelope(ClusterEnvelope envelope) {
+        log.debug("클러스터 메시지 수신 - Type: {}, From: {}, Room: {}, User: {}",
+                envelope.getType(), envelope.getOriginNodeId(), envelope.getRoomId(), envelope.getUserId());
+
+        WebRTCController controller = controllerProvider.getObject();
+        String userId = envelope.getUserId();
+
+        // 접속 노드가 Principal과 대조한 뒤 전달한 사용자 (envelope의 userId는 그 요청의 발신자)
+        StompPrincipal sender = userId != null ? new StompPrincipal(userId) : null;
+
+        switch (envelope.getType()) {
+            case JOIN -> {
+                remoteUserNodes.put(userId, envelope.getOriginNodeId());
+                controller.handleJoinRoom(read(envelope, JoinRoomRequest.class), remoteHeaderAccessor(userId));
+
+                // 입장 실패 (에러는 이미 전달됨)
+                boolean joined = envelope.getRoomId().equals(roomService.getUserRoom(userId));
+                if (!joined) {
+                    remoteUserNodes.remove(userId, envelope.getOriginNodeId());
+                }
+
+                send(envelope.getOriginNodeId(), envelope.getRoomId(), userId,
+                        joined ? ClusterMessageType.JOIN_ACCEPTED : ClusterMessageType.JOIN_REJECTED, null);
+            }
+            case JOIN_ACCEPTED -> completeJoin(envelope.getRoomId(), userId, true);
+            case JOIN_REJECTED -> completeJoin(envelope.getRoomId(), userId, false);
+            case LEAVE -> {
+                controller.handleLeaveRoom(read(envelope, LeaveRoomRequest.class), remoteHeaderAccessor(userId));
+                remoteUserNodes.remove(userId, envelope.getOriginNodeId());
+            }
+            case DISCONNECT -> {
+                // 그 사이 다른 노드로 다시 입장했으면 이전 노드의 늦은 끊김은 무시
+                if (remoteUserNodes.remove(userId, envelope.getOriginNodeId())) {
+                    eventListenerProvider.getObject().disconnectUser(userId, envelope.getRoomId());
+                }
+            }
+            case OFFER -> controller.handleOffer(read(envelope, OfferMessage.class), sender);
+            case ANSWER -> controller.handleAnswer(read(envelope, AnswerMessage.class), sender);
+            case ICE_CANDIDATE -> controller.handleIceCandidate(read(envelope, IceCandidateMessage.class), sender);
+            case RTC_STATS -> controller.handleStatsReport(read(envelope, RtcStatsReport.class), sender);
+            case PEER_CONNECTED -> controller.handlePeerConnected(read(envelope, PeerConnectedMessage.class), sender);
+            case DELIVER -> signalRouterProvider.getObject().deliverLocal(envelope.getDestination(), envelope.getPayload());
+        }
+    }
+
+    private void completeJoin(String roomId, String userId, boolean accepted) {
+        PendingJoin pending = pendingJoins.get(userId);
+        if (pending != null && pending.roomId().equals(roomId) && pendingJoins.remove(userId, pending)) {
+            pending.onResult().accept(accepted);
+            return;
+        }
+
+        // 요청한 세션이 이미 끊김 - 담당 노드에 남은 자리 정리
+        if (accepted) {
+            log.debug("입장 결과 전에 끊긴 세션 - Room: {}, User: {}", roomId, userId);
+            send(ring.nodeFor(roomId), roomId, userId, ClusterMessageType.DISCONNECT, new LeaveRoomRequest(userId, roomId));
+        }
+    }
+
+    private ClusterEnvelope deliverEnvelope(String destination, byte[] payload) {
+        return ClusterEnvelope.builder()
+                .type(ClusterMessageType.DELIVER)
+                .originNodeId(nodeId)
+                .destination(destination)
+                .payload(payload)
+                .build();
+    }
+
+    private <T> T read(ClusterEnvelope envelope, Class<T> type) {
+        try {
+            return objectMapper.readValue(envelope.getBody(), type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("클러스터 요청 역직렬화 실패: " + envelope.getType(), e);
+        }
+    }
+
+    private record PendingJoin(String sessionId, String roomId, Consumer<Boolean> onResult) {
+    }
+
+    // 원격 요청 처리용 헤더 (세션 속성은 클라이언트 접속 노드에서 관리)
+    private static SimpMessageHeaderAccessor remoteHeaderAccessor(String userId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create();
+        accessor.setSessionAttributes(new HashMap<>());
+        if (userId != null) {
+            accessor.setUser(new StompPrincipal(userId));
+        }
+        return accessor;
+    }
+}
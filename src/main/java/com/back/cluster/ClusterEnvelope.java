@@ -0,0 +1,21 @@
+package com.back.cluster;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 노드 간 버스 메시지
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClusterEnvelope {
+    private ClusterMessageType type;
+    private String originNodeId;
+    private String roomId;
+    private String userId;
+    private String body;         // 요청 전달용 DTO JSON (JOIN, OFFER 등)
+    private String destination;  // DELIVER 대상 STOMP 목적지
+    private byte[] payload;      // DELIVER용 직렬화된 SignalMessage
+}
@@ -0,0 +1,18 @@
+package com.back.cluster;
+
+public enum ClusterMessageType {
+    // 클라이언트 접속 노드 -> 방 담당 노드 (시그널링 요청 전달)
+    JOIN,
+    LEAVE,
+    OFFER,
+    ANSWER,
+    ICE_CANDIDATE,
+    DISCONNECT,
+    RTC_STATS,
+    PEER_CONNECTED,
+
+    // 방 담당 노드 -> 클라이언트 접속 노드
+    JOIN_ACCEPTED,  // 전달된 입장 결과 (접속 노드는 이때 세션 속성 설정)
+    JOIN_REJECTED,
+    DELIVER         // 직렬화된 메시지 전달
+}
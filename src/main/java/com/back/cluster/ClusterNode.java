@@ -0,0 +1,20 @@
+package com.back.cluster;
+
+// 클러스터 노드 주소 ("nodeId@host:port" 형식, port는 노드 간 버스 포트)
+public record ClusterNode(String id, String host, int port) {
+
+    public static ClusterNode parse(String spec) {
+        String trimmed = spec.trim();
+        int at = trimmed.indexOf('@');
+        int colon = trimmed.lastIndexOf(':');
+
+        if (at <= 0 || colon <= at + 1 || colon == trimmed.length() - 1) {
+            throw new IllegalArgumentException("잘못된 클러스터 노드 형식: " + spec + " (nodeId@host:port)");
+        }
+
+        return new ClusterNode(
+                trimmed.substring(0, at),
+                trimmed.substring(at + 1, colon),
+                Integer.parseInt(trimmed.substring(colon + 1)));
+    }
+}
@@ -0,0 +1,70 @@
+package com.back.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ConcurrentTaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 시그널링 서버 공용 타이머 스레드
+// 유휴 정리 tick, 저널 스냅샷, 세션 재개 만료, candidate 묶음 전송, 보류 offer 전달, 이벤트 기록, 느린 세션 점검,
+// STOMP heart-beat가 모두 여기서 돌므로 작업은 짧게 유지 (오래 걸리는 일은 호출자 스레드에서)
+// 컴포넌트는 자기 작업의 ScheduledFuture만 취소하고, 스레드 종료는 이 빈이 마지막에 함
+@Component
+@Slf4j
+public class SignalingScheduler {
+
+    // 저널 스냅샷처럼 디스크를 쓰는 작업이 도는 동안에도 다른 타이머가 밀리지 않도록 기본 2
+    @Value("${app.scheduler.pool-size:2}")
+    private int poolSize;
+
+    private final ScheduledThreadPoolExecutor executor;
+
+    public SignalingScheduler() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "signaling-scheduler-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+    }
+
+    @PostConstruct
+    void start() {
+        executor.setCorePoolSize(Math.max(1, poolSize));
+        log.info("✅ 공용 스케줄러 - Threads: {}", executor.getCorePoolSize());
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    public ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit unit) {
+        return executor.schedule(task, delay, unit);
+    }
+
+    // 주기 작업. ScheduledThreadPoolExecutor는 예외가 한 번 나면 이후 실행을 모두 취소하므로 여기서 잡아 기록만 함
+    public ScheduledFuture<?> scheduleWithFixedDelay(String name, Runnable task, long delay, TimeUnit unit) {
+        return executor.scheduleWithFixedDelay(() -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                log.error("주기 작업 실패 - Task: {}, Error: {}", name, e.getMessage(), e);
+            }
+        }, delay, delay, unit);
+    }
+
+    // STOMP heart-beat 등 Spring TaskScheduler가 필요한 곳에 같은 스레드를 넘김
+    public TaskScheduler taskScheduler() {
+        return new ConcurrentTaskScheduler(executor);
+    }
+}
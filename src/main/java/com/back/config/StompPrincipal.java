@@ -0,0 +1,24 @@
+package com.back.config;
+
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+
+import java.security.Principal;
+
+// STOMP 세션에 바인딩되는 사용자 식별자 (convertAndSendToUser 대상 이름)
+@RequiredArgsConstructor
+@EqualsAndHashCode
+public class StompPrincipal implements Principal {
+
+    private final String name;
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return "StompPrincipal[" + name + "]";
+    }
+}
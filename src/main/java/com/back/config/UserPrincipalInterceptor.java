@@ -0,0 +1,33 @@
+package com.back.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+// STOMP CONNECT 시점에 userId 헤더로 Principal 바인딩
+// -> /user/{userId}/queue/** 목적지가 해당 세션으로 실제 라우팅됨
+@Component
+@Slf4j
+public class UserPrincipalInterceptor implements ChannelInterceptor {
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+
+        if (accessor != null && StompCommand.CONNECT.equals(accessor.getCommand()) && accessor.getUser() == null) {
+            String userId = accessor.getFirstNativeHeader("userId");
+
+            if (userId != null && !userId.isBlank()) {
+                accessor.setUser(new StompPrincipal(userId));
+                log.debug("Principal 바인딩 - Session: {}, User: {}", accessor.getSessionId(), userId);
+            }
+        }
+
+        return message;
+    }
+}
@@ -1,24 +1,120 @@
 package com.back.config;
 
+import com.back.limit.SignalRateLimiter;
+import com.back.metrics.SessionBacklogTracker;
+import com.back.metrics.SignalTimingInterceptor;
+import com.back.reaper.IdleReaper;
+import com.back.wire.CborWireFormat;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.SimpleBrokerRegistration;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.server.standard.ServletServerContainerFactoryBean;
 
 import java.util.List;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 @Slf4j
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final UserPrincipalInterceptor userPrincipalInterceptor;
+    private final SignalTimingInterceptor signalTimingInterceptor;
+    private final SessionBacklogTracker sessionBacklogTracker;
+    private final SignalRateLimiter signalRateLimiter;
+    private final CborWireFormat cborWireFormat;
+    private final IdleReaper idleReaper;
+    private final SignalingScheduler signalingScheduler;
+
+    // platform: 기본 스레드 풀, virtual: 가상 스레드 (JDK 21 필요, 미지원 시 platform으로 동작)
+    @Value("${app.websocket.execution-mode:platform}")
+    private String executionMode;
+
+    // 세션별 수신/발신 메시지 순서 보장 (offer -> answer -> candidate 순서 유지)
+    @Value("${app.websocket.preserve-order:true}")
+    private boolean preserveOrder;
+
+    // platform 모드 풀 크기 (0이면 Spring 기본값)
+    @Value("${app.websocket.inbound-pool-size:0}")
+    private int inboundPoolSize;
+
+    @Value("${app.websocket.outbound-pool-size:0}")
+    private int outboundPoolSize;
+
+    // 세션 전송 한도 - 한 메시지 쓰기가 이 시간을 넘기거나 버퍼가 이 크기를 넘으면 Spring이 세션을 닫음
+    @Value("${app.websocket.send-time-limit-ms:10000}")
+    private int sendTimeLimitMs;
+
+    @Value("${app.websocket.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    // 수신 메시지 최대 크기 (SDP 포함 시그널 기준)
+    @Value("${app.websocket.message-size-limit:65536}")
+    private int messageSizeLimit;
+
+    // permessage-deflate 협상 허용 (Tomcat 기본 지원, 끄면 압축 없이 연결)
+    @Value("${app.websocket.compression.permessage-deflate:true}")
+    private boolean permessageDeflate;
+
+    // 연결 후 첫 메시지(CONNECT)를 기다리는 시간
+    @Value("${app.websocket.time-to-first-message-ms:30000}")
+    private int timeToFirstMessageMs;
+
+    // STOMP heart-beat 간격 (서버 송신 / 클라이언트에 기대하는 송신, 0이면 끔)
+    // 통화 중에는 시그널이 없으므로 컨테이너 유휴 종료(idle-timeout-ms)보다 짧아야 함
+    @Value("${app.websocket.heartbeat-ms:10000}")
+    private long heartbeatMs;
+
+    // SockJS 프레이밍 없는 순수 WebSocket 경로 (/ws-native), 기존 /ws(SockJS)는 그대로 유지
+    @Value("${app.websocket.native.enabled:true}")
+    private boolean nativeEnabled;
+
+    // 컨테이너 수신 버퍼 - 작으면 큰 SDP가 부분 메시지로 나뉘어 들어와 다시 이어 붙임
+    @Value("${app.websocket.container.max-text-buffer-size:65536}")
+    private int maxTextBufferSize;
+
+    @Value("${app.websocket.container.max-binary-buffer-size:65536}")
+    private int maxBinaryBufferSize;
+
+    // 이 시간 동안 아무 프레임(heart-beat 포함)도 없으면 컨테이너가 세션을 닫음 (끊긴 TCP 연결 정리)
+    @Value("${app.websocket.container.idle-timeout-ms:60000}")
+    private long idleTimeoutMs;
+
+    @Value("${app.websocket.container.async-send-timeout-ms:10000}")
+    private long asyncSendTimeoutMs;
+
+    // 순수 WebSocket 세션(/ws-native, SockJS websocket 전송)에 적용되는 Tomcat 컨테이너 설정
+    @Bean
+    public ServletServerContainerFactoryBean createWebSocketContainer() {
+        ServletServerContainerFactoryBean container = new ServletServerContainerFactoryBean();
+        container.setMaxTextMessageBufferSize(maxTextBufferSize);
+        container.setMaxBinaryMessageBufferSize(maxBinaryBufferSize);
+        container.setMaxSessionIdleTimeout(idleTimeoutMs);
+        container.setAsyncSendTimeout(asyncSendTimeoutMs);
+        return container;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         // 메시지 브로커 설정 (인메모리 브로커)
-        config.enableSimpleBroker("/topic", "/queue");
+        SimpleBrokerRegistration broker = config.enableSimpleBroker("/topic", "/queue");
+
+        // heart-beat - 응답 없는 클라이언트는 브로커가, 끊긴 연결은 컨테이너 유휴 종료가 정리
+        if (heartbeatMs > 0) {
+            broker.setHeartbeatValue(new long[]{heartbeatMs, heartbeatMs})
+                    .setTaskScheduler(signalingScheduler.taskScheduler());
+        }
 
         // 클라이언트에서 서버로 메시지를 보낼 때 사용할 prefix
         config.setApplicationDestinationPrefixes("/app");
@@ -26,18 +122,91 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         // 사용자별 개별 메시지를 위한 prefix
         config.setUserDestinationPrefix("/user");
 
-        log.info("✅ Message Broker 설정 완료 - SimpleBroker: /topic, /queue");
+        // 같은 세션으로 나가는 메시지는 발행 순서대로 전송
+        config.setPreservePublishOrder(preserveOrder);
+
+        log.info("✅ Message Broker 설정 완료 - SimpleBroker: /topic, /queue (heart-beat: {}ms)", heartbeatMs);
     }
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
-        // WebSocket endpoint 등록
+        // 같은 세션에서 들어온 메시지는 수신 순서대로 처리
+        registry.setPreserveReceiveOrder(preserveOrder);
+
+        // WebSocket endpoint 등록 (기존 클라이언트 호환 - SockJS)
         registry.addEndpoint("/ws")
+                .setHandshakeHandler(new CompressionHandshakeHandler(permessageDeflate))  // 확장(permessage-deflate) 협상
                 .setAllowedOriginPatterns("*")  // 모든 Origin 허용
                 .withSockJS()  // SockJS fallback 옵션 활성화
                 .setHeartbeatTime(25000)  // heartbeat 간격 설정
                 .setDisconnectDelay(5000);  // 연결 해제 대기 시간
 
-        log.info("✅ STOMP Endpoint 등록 완료 - /ws (모든 Origin 허용)");
+        // 순수 WebSocket 경로 (SockJS 정보 요청/a["..."] 프레이밍 없음)
+        // /ws 아래에 두면 SockJS 경로 매핑(/ws/**)에 걸리므로 별도 경로 사용
+        if (nativeEnabled) {
+            registry.addEndpoint("/ws-native")
+                    .setHandshakeHandler(new CompressionHandshakeHandler(permessageDeflate))
+                    .setAllowedOriginPatterns("*");
+        }
+
+        log.info("✅ STOMP Endpoint 등록 완료 - /ws (SockJS){} (모든 Origin 허용, permessage-deflate: {})",
+                nativeEnabled ? ", /ws-native (WebSocket)" : "", permessageDeflate);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // CONNECT 프레임의 userId로 Principal 바인딩 (사용자 큐 라우팅용)
+        // 속도 제한 초과분은 실행기 큐에 넣기 전에 거름
+        // CBOR 협상 세션의 바이너리 본문 타입 지정
+        // 이어서 수신 시각 기록 (시그널 처리 지연 메트릭), 사용자/방 마지막 활동 기록 (유휴 정리)
+        registration.interceptors(userPrincipalInterceptor, signalRateLimiter, cborWireFormat.inbound(),
+                signalTimingInterceptor, idleReaper);
+        configureExecutor(registration, "stomp-inbound-", inboundPoolSize);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        // 세션별 미전송 메시지 수 집계, CBOR 협상 세션은 JSON -> CBOR 변환
+        registration.interceptors(sessionBacklogTracker, cborWireFormat.outbound());
+        configureExecutor(registration, "stomp-outbound-", outboundPoolSize);
+    }
+
+    @Override
+    public boolean configureMessageConverters(List<MessageConverter> messageConverters) {
+        // application/cbor 본문만 처리 - 나머지는 기본 컨버터(JSON 등)
+        messageConverters.add(cborWireFormat.converter());
+        return true;
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // 실제 소켓 쓰기 완료 시점 추적 (SessionBacklogTracker와 짝)
+        registration.addDecoratorFactory(sessionBacklogTracker::decorate);
+
+        // 느린 소비자 한도 (적체 기준 선제 종료는 SlowConsumerEvictor)
+        registration.setSendTimeLimit(sendTimeLimitMs)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setMessageSizeLimit(messageSizeLimit)
+                .setTimeToFirstMessage(timeToFirstMessageMs);
+    }
+
+    private void configureExecutor(ChannelRegistration registration, String threadNamePrefix, int poolSize) {
+        if ("virtual".equalsIgnoreCase(executionMode)) {
+            try {
+                // 메시지마다 가상 스레드 - 느린 세션 전송/로깅이 다른 방 처리를 막지 않음
+                registration.executor(new VirtualThreadTaskExecutor(threadNamePrefix));
+                log.info("✅ {} 채널 실행 모드 - virtual", threadNamePrefix);
+                return;
+            } catch (UnsupportedOperationException e) {
+                log.warn("가상 스레드 미지원 JDK ({}) - platform 모드로 동작", System.getProperty("java.version"));
+            }
+        }
+
+        if (poolSize > 0) {
+            registration.taskExecutor()
+                    .corePoolSize(poolSize)
+                    .maxPoolSize(poolSize);
+        }
+        log.info("✅ {} 채널 실행 모드 - platform (pool: {})", threadNamePrefix, poolSize > 0 ? poolSize : "default");
     }
 }
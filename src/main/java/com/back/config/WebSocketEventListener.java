@@ -1,11 +1,20 @@
 package com.back.config;
 
+import com.back.cluster.ClusterCoordinator;
+import com.back.cluster.ClusterMessageType;
+import com.back.dto.LeaveRoomRequest;
 import com.back.dto.SignalMessage;
+import com.back.dto.SignalPayloads;
+import com.back.service.IceCandidateCoalescer;
+import com.back.service.MediaPolicyService;
 import com.back.service.RoomService;
+import com.back.service.RtcStatsService;
+import com.back.service.SessionResumeService;
+import com.back.service.SignalRouter;
+import com.back.trace.SignalTrace;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.messaging.SessionConnectedEvent;
@@ -13,15 +22,19 @@ import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 import org.springframework.web.socket.messaging.SessionSubscribeEvent;
 import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
 
-import java.util.Map;
-
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class WebSocketEventListener {
 
     private final RoomService roomService;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final SignalRouter signalRouter;
+    private final IceCandidateCoalescer iceCandidateCoalescer;
+    private final ClusterCoordinator clusterCoordinator;
+    private final RtcStatsService rtcStatsService;
+    private final MediaPolicyService mediaPolicyService;
+    private final SessionResumeService sessionResumeService;
+    private final SignalTrace signalTrace;
 
     // WebSocket 연결 이벤트
     @EventListener
@@ -37,10 +50,10 @@ public class WebSocketEventListener {
         if (userId != null && roomId != null) {
             headerAccessor.getSessionAttributes().put("userId", userId);
             headerAccessor.getSessionAttributes().put("roomId", roomId);
-            log.info("WebSocket 연결 성공 - Session: {}, User: {}, Room: {}",
+            log.debug("WebSocket 연결 성공 - Session: {}, User: {}, Room: {}",
                     sessionId, userId, roomId);
         } else {
-            log.info("WebSocket 연결 성공 - Session: {}", sessionId);
+            log.debug("WebSocket 연결 성공 - Session: {}", sessionId);
         }
     }
 
@@ -53,32 +66,71 @@ public class WebSocketEventListener {
         String userId = (String) headerAccessor.getSessionAttributes().get("userId");
         String roomId = (String) headerAccessor.getSessionAttributes().get("roomId");
 
-        log.info("WebSocket 연결 해제 - Session: {}, User: {}, Room: {}",
+        log.debug("WebSocket 연결 해제 - Session: {}, User: {}, Room: {}",
                 sessionId, userId, roomId);
 
+        // 다른 노드로 보낸 입장 결과를 기다리던 세션 (세션 속성은 아직 없음)
+        if (userId == null && clusterCoordinator.cancelPendingJoin(sessionId)) {
+            log.debug("입장 결과 전 연결 해제 - Session: {}", sessionId);
+            return;
+        }
+
         // 사용자가 방에 있었다면 자동으로 퇴장 처리
         if (userId != null && roomId != null) {
-            try {
-                roomService.removeUserFromRoom(roomId, userId);
-
-                // 방의 다른 사용자들에게 퇴장 알림
-                SignalMessage disconnectMessage = SignalMessage.builder()
-                        .type("user-disconnected")
-                        .fromUserId(userId)
-                        .data(Map.of(
-                                "userId", userId,
-                                "reason", "connection-lost"
-                        ))
-                        .build();
-
-                messagingTemplate.convertAndSend("/topic/room/" + roomId, disconnectMessage);
-
-                log.info("연결 해제로 인한 자동 방 퇴장 처리 완료 - User: {}, Room: {}", userId, roomId);
-
-            } catch (Exception e) {
-                log.error("연결 해제 처리 실패 - User: {}, Room: {}, Error: {}",
-                        userId, roomId, e.getMessage());
+            // 이미 새 세션으로 다시 붙은 사용자의 이전 세션이 늦게 끊긴 경우 - 새 세션의 자리를 지우면 안 됨
+            if (sessionResumeService.isStaleDisconnect(userId, sessionId)) {
+                log.debug("이전 세션 연결 해제 무시 - Session: {}, User: {}", sessionId, userId);
+                return;
+            }
+
+            // 유예 동안 자리를 유지하고 재접속을 기다림 (만료되면 그때 퇴장 처리)
+            if (sessionResumeService.suspend(userId, sessionId, () -> releaseUser(userId, roomId))) {
+                return;
             }
+
+            releaseUser(userId, roomId);
+        }
+    }
+
+    private void releaseUser(String userId, String roomId) {
+        // 클러스터 모드: 방 담당 노드에서 퇴장 처리
+        if (clusterCoordinator.forwardToOwner(roomId, userId, ClusterMessageType.DISCONNECT,
+                new LeaveRoomRequest(userId, roomId))) {
+            return;
+        }
+
+        disconnectUser(userId, roomId);
+    }
+
+    // 연결 끊긴 사용자 퇴장 처리 + 방 참여자들에게 알림
+    public void disconnectUser(String userId, String roomId) {
+        disconnectUser(userId, roomId, "connection-lost");
+    }
+
+    // reason: connection-lost / idle-timeout / room-expired (user-disconnected로 전달)
+    public void disconnectUser(String userId, String roomId, String reason) {
+        try {
+            roomService.removeUserFromRoom(roomId, userId);
+            iceCandidateCoalescer.removeUser(userId);
+            rtcStatsService.removeUser(roomId, userId);
+
+            // 방의 다른 사용자들에게 퇴장 알림
+            SignalMessage disconnectMessage = SignalMessage.builder()
+                    .type("user-disconnected")
+                    .fromUserId(userId)
+                    .data(new SignalPayloads.UserDisconnected(userId, reason))
+                    .build();
+
+            signalRouter.broadcastToRoom(roomId, disconnectMessage);
+
+            mediaPolicyService.onRoomChanged(roomId, userId);
+
+            signalTrace.record("disconnect", roomId, userId, null, reason);
+            log.debug("연결 해제로 인한 자동 방 퇴장 처리 완료 - User: {}, Room: {}, Reason: {}", userId, roomId, reason);
+
+        } catch (Exception e) {
+            log.error("연결 해제 처리 실패 - User: {}, Room: {}, Error: {}",
+                    userId, roomId, e.getMessage());
         }
     }
 
@@ -97,7 +149,7 @@ public class WebSocketEventListener {
         // 방 토픽 구독 시 추가 로직 (필요시)
         if (destination != null && destination.startsWith("/topic/room/")) {
             String roomId = destination.substring("/topic/room/".length());
-            log.info("방 토픽 구독 - User: {}, Room: {}", userId, roomId);
+            log.debug("방 토픽 구독 - User: {}, Room: {}", userId, roomId);
         }
     }
 
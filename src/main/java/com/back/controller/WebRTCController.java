@@ -1,16 +1,37 @@
 package com.back.controller;
 
+import com.back.cluster.ClusterCoordinator;
+import com.back.cluster.ClusterMessageType;
 import com.back.dto.*;
+import com.back.limit.SignalRateLimiter;
+import com.back.metrics.ConnectionSetupTracker;
+import com.back.metrics.ConnectionSetupTracker.Phase;
+import com.back.metrics.SignalingMetrics;
+import com.back.sdp.SdpGuard;
+import com.back.sdp.SdpResult;
+import com.back.service.IceCandidateCoalescer;
+import com.back.service.IceConfigService;
+import com.back.service.MediaPolicyService;
+import com.back.service.NegotiationCoordinator;
+import com.back.service.NegotiationCoordinator.Decision;
+import com.back.service.NegotiationCoordinator.HeldOffer;
+import com.back.service.NegotiationCoordinator.OfferResult;
+import com.back.service.RoomJournal;
 import com.back.service.RoomService;
+import com.back.service.RtcStatsService;
+import com.back.service.SessionResumeService;
+import com.back.service.SessionResumeService.ResumeResult;
+import com.back.service.SignalRouter;
+import com.back.trace.SignalTrace;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Controller;
 
-import java.util.HashMap;
+import java.security.Principal;
 import java.util.List;
 import java.util.Map;
 
@@ -19,8 +40,27 @@ import java.util.Map;
 @Slf4j
 public class WebRTCController { // WebRTC 시그널링 컨트롤러
 
-    private final SimpMessagingTemplate messagingTemplate;
+    private final SignalRouter signalRouter;
     private final RoomService roomService;
+    private final IceCandidateCoalescer iceCandidateCoalescer;
+    private final ClusterCoordinator clusterCoordinator;
+    private final SignalingMetrics signalingMetrics;
+    private final RtcStatsService rtcStatsService;
+    private final MediaPolicyService mediaPolicyService;
+    private final SessionResumeService sessionResumeService;
+    private final SdpGuard sdpGuard;
+    private final RoomJournal roomJournal;
+    private final SignalTrace signalTrace;
+    private final NegotiationCoordinator negotiationCoordinator;
+    private final ConnectionSetupTracker connectionSetupTracker;
+    private final IceConfigService iceConfigService;
+    private final SignalRateLimiter signalRateLimiter;
+
+    @PostConstruct
+    void init() {
+        // 보류 후 역할이 정리되지 않은 offer는 일반 offer와 같은 경로로 중계
+        negotiationCoordinator.setHeldOfferRelay(this::relayHeldOffer);
+    }
 
     // 방 입장 처리
     @MessageMapping("/room/join")
@@ -28,51 +68,96 @@ public class WebRTCController { // WebRTC 시그널링 컨트롤러
                                SimpMessageHeaderAccessor headerAccessor) {
 
         String sessionId = headerAccessor.getSessionId();
-        log.info("방 입장 요청 - Room: {}, User: {}, Session: {}",
+        log.debug("방 입장 요청 - Room: {}, User: {}, Session: {}",
                 request.getRoomId(), request.getUserId(), sessionId);
 
+        if (!isSender(headerAccessor.getUser(), request.getUserId(), "join", sessionId)) {
+            return;
+        }
+
+        // 클러스터 모드: 방 담당 노드가 처리 (세션 정보와 재접속 토큰은 접속 노드에 유지)
+        if (!clusterCoordinator.isLocalRoom(request.getRoomId())) {
+            request.setResumeToken(sessionResumeService.register(request.getUserId(), request.getRoomId(), sessionId));
+        }
+
+        // 세션 속성은 담당 노드가 입장을 받아들인 뒤에만 설정 (거절된 세션이 끊길 때 남의 자리를 퇴장시키지 않도록)
+        Map<String, Object> sessionAttributes = headerAccessor.getSessionAttributes();
+        if (clusterCoordinator.forwardJoin(request, sessionId, accepted -> {
+            if (accepted) {
+                sessionAttributes.put("userId", request.getUserId());
+                sessionAttributes.put("roomId", request.getRoomId());
+            } else {
+                sessionResumeService.release(request.getUserId());
+            }
+        })) {
+            return;
+        }
+
+        // 방별 입장 한도 (요청한 방 기준이라 담당 노드에서 판단, 거절 시 재시도 시점은 limiter가 전송)
+        if (!signalRateLimiter.admitRoomJoin(request.getRoomId(), request.getUserId(), sessionId)) {
+            return;
+        }
+
         try {
-            // 방 참여 가능 여부 확인
-            if (!roomService.canJoinRoom(request.getRoomId())) {
+            // 사용자를 방에 추가 (정원 확인과 입장은 RoomService에서 원자적으로 처리)
+            List<String> participants;
+            try {
+                participants = roomService.addUserToRoom(request.getRoomId(), request.getUserId());
+            } catch (IllegalStateException e) {
+                signalRateLimiter.refundRoomJoin(request.getRoomId());
+                signalTrace.record("join-rejected", request.getRoomId(), request.getUserId(), null, "ROOM_FULL");
                 sendErrorToUser(request.getUserId(), "ROOM_FULL",
                         "방 인원이 가득 찼습니다.", sessionId);
                 return;
             }
 
-            // 사용자를 방에 추가
-            List<String> participants = roomService.addUserToRoom(request.getRoomId(), request.getUserId());
+            // 재시작 전 자리로 돌아온 사용자 (복구 유예 대상에서 제외)
+            roomJournal.releaseRestored(request.getUserId(), request.getRoomId());
 
             // 세션에 사용자 정보 저장
             headerAccessor.getSessionAttributes().put("userId", request.getUserId());
             headerAccessor.getSessionAttributes().put("roomId", request.getRoomId());
 
-            // 방의 다른 사용자들에게 새 사용자 입장 알림
-            Map<String, Object> joinData = new HashMap<>();
-            joinData.put("participants", participants);
-            joinData.put("newUserId", request.getUserId());
-            joinData.put("userAgent", request.getUserAgent());
+            // 다른 노드에서 전달된 입장이면 접속 노드가 발급한 토큰 사용
+            String resumeToken = sessionId != null
+                    ? sessionResumeService.register(request.getUserId(), request.getRoomId(), sessionId)
+                    : request.getResumeToken();
+            roomJournal.recordResumeToken(request.getRoomId(), request.getUserId(), resumeToken);
+
+            // 먼저 입장한 참여자들이 새 사용자에게 offer (새 사용자는 기다림)
+            List<String> offerers = NegotiationCoordinator.offerersFor(participants, request.getUserId());
+
+            // 입장한 사용자에게 피어 연결에 필요한 값을 한 번에 전송 (ICE 설정/참여자/offer 담당/정책)
+            // user-joined보다 먼저 보내 기존 참여자의 offer가 ICE 설정보다 먼저 도착하지 않게 함
+            SignalMessage welcomeMessage = SignalMessage.builder()
+                    .type("room-state")
+                    .data(new SignalPayloads.RoomState(participants, request.getRoomId(), request.getUserId(), resumeToken,
+                            offerers,
+                            iceConfigService.getIceServers(request.getUserId(), request.getRoomId()),
+                            mediaPolicyService.bootstrapPolicy(request.getRoomId(), request.getUserId()),
+                            sdpGuard.getPolicy(request.getRoomId()).getCodecs(),
+                            roomService.getMaxParticipants()))
+                    .build();
 
+            signalRouter.sendToUser(request.getUserId(), "/queue/room", welcomeMessage);
+
+            // 방의 다른 사용자들에게 새 사용자 입장 알림
             SignalMessage joinMessage = SignalMessage.builder()
                     .type("user-joined")
                     .fromUserId(request.getUserId())
-                    .data(joinData)
+                    .data(new SignalPayloads.UserJoined(participants, request.getUserId(), request.getUserAgent(), offerers))
                     .build();
 
-            messagingTemplate.convertAndSend("/topic/room/" + request.getRoomId(), joinMessage);
+            signalRouter.broadcastToRoom(request.getRoomId(), joinMessage);
 
-            // 입장한 사용자에게 현재 참여자 목록 전송
-            SignalMessage welcomeMessage = SignalMessage.builder()
-                    .type("room-state")
-                    .data(Map.of(
-                            "participants", participants,
-                            "roomId", request.getRoomId(),
-                            "yourUserId", request.getUserId()
-                    ))
-                    .build();
+            signalingMetrics.recordJoin(participants.size());
+            signalTrace.record("join", request.getRoomId(), request.getUserId(), null,
+                    "participants=" + participants.size());
 
-            messagingTemplate.convertAndSendToUser(request.getUserId(), "/queue/room", welcomeMessage);
+            // 인원 변화에 맞춰 참여자별 송신 제약 재계산
+            mediaPolicyService.onRoomChanged(request.getRoomId(), null);
 
-            log.info("방 입장 처리 완료 - Room: {}, User: {}, Total: {}",
+            log.debug("방 입장 처리 완료 - Room: {}, User: {}, Total: {}",
                     request.getRoomId(), request.getUserId(), participants.size());
 
         } catch (Exception e) {
@@ -89,13 +174,30 @@ public class WebRTCController { // WebRTC 시그널링 컨트롤러
                                 SimpMessageHeaderAccessor headerAccessor) {
 
         String sessionId = headerAccessor.getSessionId();
-        log.info("방 퇴장 요청 - Room: {}, User: {}, Session: {}",
+        log.debug("방 퇴장 요청 - Room: {}, User: {}, Session: {}",
                 request.getRoomId(), request.getUserId(), sessionId);
 
+        if (!isSender(headerAccessor.getUser(), request.getUserId(), "leave", sessionId)) {
+            return;
+        }
+
+        if (sessionId != null) {
+            sessionResumeService.release(request.getUserId());
+        }
+
+        if (clusterCoordinator.forwardToOwner(request.getRoomId(), request.getUserId(), ClusterMessageType.LEAVE, request)) {
+            headerAccessor.getSessionAttributes().remove("userId");
+            headerAccessor.getSessionAttributes().remove("roomId");
+            return;
+        }
+
         try {
             // 사용자를 방에서 제거
             roomService.removeUserFromRoom(request.getRoomId(), request.getUserId());
 
+            iceCandidateCoalescer.removeUser(request.getUserId());
+            rtcStatsService.removeUser(request.getRoomId(), request.getUserId());
+
             // 세션 정보 정리
             headerAccessor.getSessionAttributes().remove("userId");
             headerAccessor.getSessionAttributes().remove("roomId");
@@ -104,12 +206,15 @@ public class WebRTCController { // WebRTC 시그널링 컨트롤러
             SignalMessage leaveMessage = SignalMessage.builder()
                     .type("user-left")
                     .fromUserId(request.getUserId())
-                    .data(Map.of("leftUserId", request.getUserId()))
+                    .data(new SignalPayloads.UserLeft(request.getUserId()))
                     .build();
 
-            messagingTemplate.convertAndSend("/topic/room/" + request.getRoomId(), leaveMessage);
+            signalRouter.broadcastToRoom(request.getRoomId(), leaveMessage);
 
-            log.info("방 퇴장 처리 완료 - Room: {}, User: {}",
+            mediaPolicyService.onRoomChanged(request.getRoomId(), request.getUserId());
+
+            signalTrace.record("leave", request.getRoomId(), request.getUserId(), null, null);
+            log.debug("방 퇴장 처리 완료 - Room: {}, User: {}",
                     request.getRoomId(), request.getUserId());
 
         } catch (Exception e) {
@@ -118,10 +223,81 @@ public class WebRTCController { // WebRTC 시그널링 컨트롤러
         }
     }
 
+    // 연결이 잠깐 끊겼다 다시 붙은 세션의 자리 되찾기 (room-state로 받은 재접속 토큰 사용)
+    // 유예 중 보관한 시그널을 먼저 전달하고 session-resumed로 현재 참여자 목록을 알려줌
+    // 접속 노드에서 처리 (유예 동안 담당 노드에는 퇴장이 전달되지 않으므로 자리는 그대로 남아 있음)
+    @MessageMapping("/room/resume")
+    public void handleResumeSession(@Payload ResumeSessionRequest request,
+                                    SimpMessageHeaderAccessor headerAccessor) {
+
+        String sessionId = headerAccessor.getSessionId();
+        if (request.getUserId() == null || request.getRoomId() == null
+                || !isSender(headerAccessor.getUser(), request.getUserId(), "resume", sessionId)) {
+            return;
+        }
+
+        ResumeResult result = sessionResumeService.resume(request.getUserId(), request.getRoomId(),
+                request.getResumeToken(), sessionId);
+
+        // 서버 재시작으로 세션이 사라졌지만 저널에서 자리를 복구한 사용자 (재시작 전 토큰 확인) - 피어 연결을 그대로 이어감
+        if (!result.resumed() && clusterCoordinator.isLocalRoom(request.getRoomId())
+                && roomJournal.claimRestored(request.getUserId(), request.getRoomId(), request.getResumeToken())) {
+            result = sessionResumeService.adopt(request.getUserId(), request.getRoomId(), sessionId);
+        }
+
+        if (!result.resumed()) {
+            signalTrace.record("resume-failed", request.getRoomId(), request.getUserId(), null, result.reason());
+            log.debug("세션 재개 실패 - Room: {}, User: {}, Reason: {}",
+                    request.getRoomId(), request.getUserId(), result.reason());
+
+            SignalMessage failedMessage = SignalMessage.builder()
+                    .type("resume-failed")
+                    .data(new SignalPayloads.ResumeFailed(request.getRoomId(), result.reason()))
+                    .build();
+
+            signalRouter.sendToUser(request.getUserId(), "/queue/room", failedMessage);
+            return;
+        }
+
+        headerAccessor.getSessionAttributes().put("userId", request.getUserId());
+        headerAccessor.getSessionAttributes().put("roomId", request.getRoomId());
+
+        // 재개하며 바뀐 토큰 (담당 노드일 때만 - 저널은 담당 노드에 있음)
+        if (clusterCoordinator.isLocalRoom(request.getRoomId())) {
+            roomJournal.recordResumeToken(request.getRoomId(), request.getUserId(), result.resumeToken());
+        }
+
+        // 끊긴 동안 놓친 방 토픽 알림(입장/퇴장)은 참여자 목록으로 맞춤
+        List<String> participants = clusterCoordinator.isLocalRoom(request.getRoomId())
+                ? roomService.getRoomParticipants(request.getRoomId())
+                : null;
+
+        SignalMessage resumedMessage = SignalMessage.builder()
+                .type("session-resumed")
+                .data(new SignalPayloads.SessionResumed(request.getRoomId(), participants,
+                        result.resumeToken(), result.bufferedSignals()))
+                .build();
+
+        signalRouter.sendToUser(request.getUserId(), "/queue/room", resumedMessage);
+
+        signalTrace.record("resume", request.getRoomId(), request.getUserId(), null,
+                "buffered=" + result.bufferedSignals());
+        log.debug("세션 재개 완료 - Room: {}, User: {}, Session: {}, Buffered: {}",
+                request.getRoomId(), request.getUserId(), sessionId, result.bufferedSignals());
+    }
+
     // WebRTC Offer 처리
     @MessageMapping("/webrtc/offer")
-    public void handleOffer(@Payload OfferMessage offer) {
-        log.info("Offer 중계 - From: {} To: {}", offer.getFromUserId(), offer.getToUserId());
+    public void handleOffer(@Payload OfferMessage offer, Principal principal) {
+        log.debug("Offer 중계 - From: {} To: {}", offer.getFromUserId(), offer.getToUserId());
+
+        if (!isSender(principal, offer.getFromUserId(), "offer", null)) {
+            return;
+        }
+
+        if (clusterCoordinator.forwardToOwner(offer.getRoomId(), offer.getFromUserId(), ClusterMessageType.OFFER, offer)) {
+            return;
+        }
 
         try {
             // 유효성 검증
@@ -129,21 +305,23 @@ public class WebRTCController { // WebRTC 시그널링 컨트롤러
                 return;
             }
 
-            // 방 토픽으로 WebRTC 시그널 전송
-            Map<String, Object> signalData = new HashMap<>();
-            signalData.put("signalType", "offer");
-            signalData.put("targetUserId", offer.getToUserId());
-            signalData.put("sdp", offer.getSdp());
-
-            SignalMessage signalMessage = SignalMessage.builder()
-                    .type("webrtc-signal")
-                    .fromUserId(offer.getFromUserId())
-                    .data(signalData)
-                    .build();
+            // SDP 형식/크기 검사 + 방 정책에 따른 코덱/확장 정리
+            SdpResult sdp = sdpGuard.inspect(offer.getRoomId(), offer.getSdp());
+            if (sdp.isRejected()) {
+                rejectSdp(offer.getRoomId(), offer.getFromUserId(), offer.getToUserId(), "offer", sdp.rejectReason());
+                return;
+            }
 
-            messagingTemplate.convertAndSend("/topic/room/" + offer.getRoomId(), signalMessage);
+            // 쌍별 offer 순서 확인 - 지정되지 않은 쪽의 첫 offer / glare offer는 바로 중계하지 않고 보류
+            OfferResult negotiation = negotiationCoordinator.onOffer(offer.getRoomId(), offer.getFromUserId(),
+                    offer.getToUserId(), sdp.sdp());
+            if (negotiation.decision() != Decision.RELAY) {
+                holdOffer(offer, negotiation);
+                return;
+            }
+            signalingMetrics.recordOffer("relayed");
 
-            log.debug("Offer 중계 완료 - From: {} To: {}", offer.getFromUserId(), offer.getToUserId());
+            relayOffer(offer.getRoomId(), offer.getFromUserId(), offer.getToUserId(), sdp.sdp());
 
         } catch (Exception e) {
             log.error("Offer 중계 실패 - From: {} To: {}, Error: {}",
@@ -153,8 +331,16 @@ public class WebRTCController { // WebRTC 시그널링 컨트롤러
 
     // WebRTC Answer 처리
     @MessageMapping("/webrtc/answer")
-    public void handleAnswer(@Payload AnswerMessage answer) {
-        log.info("Answer 중계 - From: {} To: {}", answer.getFromUserId(), answer.getToUserId());
+    public void handleAnswer(@Payload AnswerMessage answer, Principal principal) {
+        log.debug("Answer 중계 - From: {} To: {}", answer.getFromUserId(), answer.getToUserId());
+
+        if (!isSender(principal, answer.getFromUserId(), "answer", null)) {
+            return;
+        }
+
+        if (clusterCoordinator.forwardToOwner(answer.getRoomId(), answer.getFromUserId(), ClusterMessageType.ANSWER, answer)) {
+            return;
+        }
 
         try {
             // 유효성 검증
@@ -162,19 +348,29 @@ public class WebRTCController { // WebRTC 시그널링 컨트롤러
                 return;
             }
 
-            // 방 토픽으로 WebRTC 시그널 전송
-            Map<String, Object> signalData = new HashMap<>();
-            signalData.put("signalType", "answer");
-            signalData.put("targetUserId", answer.getToUserId());
-            signalData.put("sdp", answer.getSdp());
+            SdpResult sdp = sdpGuard.inspect(answer.getRoomId(), answer.getSdp());
+            if (sdp.isRejected()) {
+                rejectSdp(answer.getRoomId(), answer.getFromUserId(), answer.getToUserId(), "answer", sdp.rejectReason());
+                return;
+            }
 
+            // 대상 사용자 큐로 WebRTC 시그널 전송
             SignalMessage signalMessage = SignalMessage.builder()
                     .type("webrtc-signal")
                     .fromUserId(answer.getFromUserId())
-                    .data(signalData)
+                    .data(SignalPayloads.Answer.of(answer.getToUserId(), sdp.sdp()))
                     .build();
 
-            messagingTemplate.convertAndSend("/topic/room/" + answer.getRoomId(), signalMessage);
+            signalRouter.sendSignal(answer.getRoomId(), answer.getToUserId(), signalMessage);
+            signalTrace.record("answer", answer.getRoomId(), answer.getFromUserId(), answer.getToUserId(),
+                    "sdp=" + sdp.sdp().length());
+            connectionSetupTracker.record(answer.getRoomId(), answer.getFromUserId(), answer.getToUserId(), Phase.ANSWER);
+
+            long negotiationNanos = negotiationCoordinator.onAnswer(answer.getRoomId(), answer.getFromUserId(),
+                    answer.getToUserId());
+            if (negotiationNanos >= 0) {
+                signalingMetrics.recordNegotiation(negotiationNanos);
+            }
 
             log.debug("Answer 중계 완료 - From: {} To: {}", answer.getFromUserId(), answer.getToUserId());
 
@@ -186,31 +382,51 @@ public class WebRTCController { // WebRTC 시그널링 컨트롤러
 
     // ICE Candidate 처리
     @MessageMapping("/webrtc/ice-candidate")
-    public void handleIceCandidate(@Payload IceCandidateMessage candidate) {
+    public void handleIceCandidate(@Payload IceCandidateMessage candidate, Principal principal) {
         log.debug("ICE Candidate 중계 - From: {} To: {}",
                 candidate.getFromUserId(), candidate.getToUserId());
 
+        if (!isSender(principal, candidate.getFromUserId(), "ice-candidate", null)) {
+            return;
+        }
+
+        if (clusterCoordinator.forwardToOwner(candidate.getRoomId(), candidate.getFromUserId(),
+                ClusterMessageType.ICE_CANDIDATE, candidate)) {
+            return;
+        }
+
         try {
             // 유효성 검증
             if (!isValidWebRTCMessage(candidate.getFromUserId(), candidate.getToUserId(), candidate.getRoomId())) {
                 return;
             }
 
-            // 방 토픽으로 WebRTC 시그널 전송
-            Map<String, Object> signalData = new HashMap<>();
-            signalData.put("signalType", "ice-candidate");
-            signalData.put("targetUserId", candidate.getToUserId());
-            signalData.put("candidate", candidate.getCandidate());
-            signalData.put("sdpMid", candidate.getSdpMid());
-            signalData.put("sdpMLineIndex", candidate.getSdpMLineIndex());
+            signalTrace.record("ice-candidate", candidate.getRoomId(), candidate.getFromUserId(),
+                    candidate.getToUserId(), candidateType(candidate.getCandidate()));
+            if (candidate.getCandidate() != null && !candidate.getCandidate().isBlank()) {
+                connectionSetupTracker.record(candidate.getRoomId(), candidate.getFromUserId(),
+                        candidate.getToUserId(), Phase.CANDIDATE);
+            }
+
+            // 묶음 전송 활성화 시 버퍼링 후 ice-candidates로 일괄 전달
+            if (iceCandidateCoalescer.submit(candidate)) {
+                return;
+            }
+
+            // end-of-candidates 표시는 묶음 전송에서만 의미가 있음
+            if (candidate.getCandidate() == null || candidate.getCandidate().isBlank()) {
+                return;
+            }
 
+            // 대상 사용자 큐로 WebRTC 시그널 전송
             SignalMessage signalMessage = SignalMessage.builder()
                     .type("webrtc-signal")
                     .fromUserId(candidate.getFromUserId())
-                    .data(signalData)
+                    .data(SignalPayloads.IceCandidate.of(candidate.getToUserId(), candidate.getCandidate(),
+                            candidate.getSdpMid(), candidate.getSdpMLineIndex()))
                     .build();
 
-            messagingTemplate.convertAndSend("/topic/room/" + candidate.getRoomId(), signalMessage);
+            signalRouter.sendSignal(candidate.getRoomId(), candidate.getToUserId(), signalMessage);
 
         } catch (Exception e) {
             log.error("ICE Candidate 중계 실패 - From: {} To: {}, Error: {}",
@@ -218,15 +434,75 @@ public class WebRTCController { // WebRTC 시그널링 컨트롤러
         }
     }
 
+    // 피어 연결 완료 알림 (클라이언트 connectionState == connected) - 연결 준비 시간 기록용
+    @MessageMapping("/webrtc/connected")
+    public void handlePeerConnected(@Payload PeerConnectedMessage connected, Principal principal) {
+        if (!isSender(principal, connected.getFromUserId(), "connected", null)) {
+            return;
+        }
+
+        if (clusterCoordinator.forwardToOwner(connected.getRoomId(), connected.getFromUserId(),
+                ClusterMessageType.PEER_CONNECTED, connected)) {
+            return;
+        }
+
+        if (!isValidWebRTCMessage(connected.getFromUserId(), connected.getToUserId(), connected.getRoomId())) {
+            return;
+        }
+
+        signalTrace.record("connected", connected.getRoomId(), connected.getFromUserId(), connected.getToUserId(), null);
+        connectionSetupTracker.record(connected.getRoomId(), connected.getFromUserId(), connected.getToUserId(),
+                Phase.CONNECTED);
+    }
+
+    // 클라이언트 RTC 통계 샘플 수집 (performance-monitor.js가 주기적으로 전송)
+    @MessageMapping("/stats/report")
+    public void handleStatsReport(@Payload RtcStatsReport report, Principal principal) {
+        if (!isSender(principal, report.getUserId(), "stats", null)) {
+            return;
+        }
+
+        if (clusterCoordinator.forwardToOwner(report.getRoomId(), report.getUserId(), ClusterMessageType.RTC_STATS, report)) {
+            return;
+        }
+
+        if (!rtcStatsService.ingest(report)) {
+            log.debug("RTC 통계 무시 (방 참여자 아님) - Room: {}, User: {}", report.getRoomId(), report.getUserId());
+            return;
+        }
+
+        // 품질 저하/회복 시 송신 제약 조정
+        mediaPolicyService.onStatsReported(report.getRoomId(), report.getUserId());
+    }
+
+    // 페이로드의 사용자 ID가 CONNECT 때 바인딩된 Principal과 같은지 (다른 사용자로 보내는 시그널/퇴장 차단)
+    // 클러스터 모드에서 전달된 요청은 접속 노드가 확인한 사용자 Principal로 호출됨
+    private boolean isSender(Principal principal, String userId, String signalType, String sessionId) {
+        if (principal != null && principal.getName().equals(userId)) {
+            return true;
+        }
+
+        String principalName = principal != null ? principal.getName() : null;
+        log.warn("발신자 불일치 - Type: {}, Principal: {}, Payload user: {}", signalType, principalName, userId);
+        signalingMetrics.recordRejected("sender-mismatch");
+        if (principalName != null) {
+            sendErrorToUser(principalName, "SENDER_MISMATCH",
+                    "연결한 사용자와 메시지의 사용자 ID가 다릅니다.", sessionId);
+        }
+        return false;
+    }
+
     // WebRTC 메시지 유효성 검증
     private boolean isValidWebRTCMessage(String fromUserId, String toUserId, String roomId) {
         if (fromUserId == null || toUserId == null) {
             log.warn("유효하지 않은 사용자 ID - From: {}, To: {}", fromUserId, toUserId);
+            signalingMetrics.recordRejected("missing-user");
             return false;
         }
 
         if (fromUserId.equals(toUserId)) {
             log.warn("자기 자신에게 메시지 전송 시도 - User: {}", fromUserId);
+            signalingMetrics.recordRejected("self-target");
             return false;
         }
 
@@ -237,17 +513,93 @@ public class WebRTCController { // WebRTC 시그널링 컨트롤러
         if (fromUserRoom == null || !fromUserRoom.equals(toUserRoom)) {
             log.warn("다른 방의 사용자 간 통신 시도 - From: {} (Room: {}), To: {} (Room: {})",
                     fromUserId, fromUserRoom, toUserId, toUserRoom);
+            signalingMetrics.recordRejected("not-same-room");
             return false;
         }
 
         if (roomId != null && !roomId.equals(fromUserRoom)) {
             log.warn("방 ID 불일치 - Expected: {}, Actual: {}", fromUserRoom, roomId);
+            signalingMetrics.recordRejected("room-mismatch");
             return false;
         }
 
         return true;
     }
 
+    // 보류 시간(offer-timeout-ms) 동안 역할이 정리되지 않아 NegotiationCoordinator가 내놓은 offer
+    private void relayHeldOffer(HeldOffer offer) {
+        signalingMetrics.recordOffer("held-released");
+        signalTrace.record("offer-released", offer.roomId(), offer.fromUserId(), offer.toUserId(), null);
+        relayOffer(offer.roomId(), offer.fromUserId(), offer.toUserId(), offer.sdp());
+    }
+
+    private void relayOffer(String roomId, String fromUserId, String toUserId, String sdp) {
+        // 재협상 시 이전 candidate 중복 판정 기록 초기화
+        iceCandidateCoalescer.resetPair(fromUserId, toUserId);
+
+        // 대상 사용자 큐로 WebRTC 시그널 전송
+        SignalMessage signalMessage = SignalMessage.builder()
+                .type("webrtc-signal")
+                .fromUserId(fromUserId)
+                .data(SignalPayloads.Offer.of(toUserId, sdp))
+                .build();
+
+        signalRouter.sendSignal(roomId, toUserId, signalMessage);
+        signalTrace.record("offer", roomId, fromUserId, toUserId, "sdp=" + sdp.length());
+        connectionSetupTracker.record(roomId, fromUserId, toUserId, Phase.OFFER);
+
+        log.debug("Offer 중계 완료 - From: {} To: {}", fromUserId, toUserId);
+    }
+
+    // 바로 중계하지 않은 offer - 보낸 쪽은 상대 offer를 기다리고, 보류(deferred)면 지정된 쪽에 offer 요청
+    // SDP는 NegotiationCoordinator가 보관했다가 상대 offer로 대체되지 않으면 offer-timeout-ms 후 전달
+    private void holdOffer(OfferMessage offer, OfferResult negotiation) {
+        boolean glare = negotiation.decision() == Decision.REJECT_GLARE;
+        String reason = glare ? "glare" : "deferred";
+
+        signalingMetrics.recordOffer(glare ? "glare-rejected" : "deferred");
+        signalTrace.record("offer-" + reason, offer.getRoomId(), offer.getFromUserId(), offer.getToUserId(),
+                "offerer=" + negotiation.offerer());
+        log.debug("Offer 보류 - From: {} To: {}, Reason: {}, Offerer: {}",
+                offer.getFromUserId(), offer.getToUserId(), reason, negotiation.offerer());
+
+        sendNegotiationRole(offer.getFromUserId(), offer.getToUserId(), "answerer", reason);
+        if (!glare) {
+            sendNegotiationRole(negotiation.offerer(), offer.getFromUserId(), "offerer", reason);
+        }
+    }
+
+    private void sendNegotiationRole(String userId, String peerUserId, String role, String reason) {
+        SignalMessage roleMessage = SignalMessage.builder()
+                .type("negotiation-role")
+                .toUserId(userId)
+                .data(new SignalPayloads.NegotiationRole(peerUserId, role, reason))
+                .build();
+
+        signalRouter.sendToUser(userId, "/queue/webrtc", roleMessage);
+    }
+
+    // 잘못된 SDP는 상대에게 전달하지 않고 보낸 사용자에게 알림
+    private void rejectSdp(String roomId, String fromUserId, String toUserId, String signalType, String reason) {
+        log.warn("SDP 거절 - Type: {}, From: {} To: {}, Reason: {}", signalType, fromUserId, toUserId, reason);
+        signalTrace.record("sdp-rejected", roomId, fromUserId, toUserId, signalType + ": " + reason);
+        sendErrorToUser(fromUserId, "INVALID_SDP", "SDP가 올바르지 않습니다 (" + signalType + ": " + reason + ")", null);
+    }
+
+    // 타임라인 표시용 candidate 종류 (host/srflx/relay, end-of-candidates는 "end")
+    private static String candidateType(String candidate) {
+        if (candidate == null || candidate.isBlank()) {
+            return "end";
+        }
+        int typ = candidate.indexOf(" typ ");
+        if (typ < 0) {
+            return null;
+        }
+        int start = typ + 5;
+        int end = candidate.indexOf(' ', start);
+        return candidate.substring(start, end < 0 ? candidate.length() : end);
+    }
+
     // 사용자에게 에러 메시지 전송
     private void sendErrorToUser(String userId, String errorCode, String message, String sessionId) {
         ErrorMessage errorMessage = ErrorMessage.of("ROOM_ERROR", message, errorCode);
@@ -255,14 +607,11 @@ public class WebRTCController { // WebRTC 시그널링 컨트롤러
         SignalMessage signalMessage = SignalMessage.builder()
                 .type("error")
                 .toUserId(userId)
-                .data(Map.of(
-                        "error", errorMessage,
-                        "sessionId", sessionId
-                ))
+                .data(new SignalPayloads.ErrorPayload(errorMessage, sessionId))
                 .build();
 
-        messagingTemplate.convertAndSendToUser(userId, "/queue/error", signalMessage);
+        signalRouter.sendToUser(userId, "/queue/error", signalMessage);
 
-        log.info("에러 메시지 전송 - User: {}, Code: {}, Message: {}", userId, errorCode, message);
+        log.debug("에러 메시지 전송 - User: {}, Code: {}, Message: {}", userId, errorCode, message);
     }
 }
@@ -1,15 +1,45 @@
 package com.back.controller;
 
-import com.back.config.IceServerConfig;
-import com.back.dto.IceServer;
+import com.back.cluster.ClusterCoordinator;
+import com.back.dto.RoomPage;
+import com.back.dto.RoomSummary;
+import com.back.dto.SdpPolicyRequest;
+import com.back.ice.EmbeddedIceServer;
+import com.back.limit.SignalRateLimiter;
+import com.back.limit.SlowConsumerEvictor;
+import com.back.metrics.ConnectionSetupTracker;
+import com.back.metrics.SessionBacklogTracker;
+import com.back.metrics.SignalingMetrics;
+import com.back.reaper.IdleReaper;
+import com.back.sdp.SdpGuard;
+import com.back.sdp.SdpPolicy;
+import com.back.service.IceCandidateCoalescer;
+import com.back.service.IceConfigService;
+import com.back.service.MediaPolicyService;
+import com.back.service.NegotiationCoordinator;
+import com.back.service.RoomJournal;
 import com.back.service.RoomService;
+import com.back.service.RtcStatsService;
+import com.back.service.SessionResumeService;
+import com.back.trace.SignalEvent;
+import com.back.trace.SignalTrace;
+import com.back.wire.CborWireFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/webrtc")
@@ -18,41 +48,48 @@ import java.util.Map;
 @CrossOrigin(origins = {"http://localhost:8000", "http://127.0.0.1:8000", "http://localhost:3000"})
 public class WebRTCRestController { // WebRTC 관련 REST API 컨트롤러
 
+    // 방 목록 페이지 최대 크기 (NDJSON 스트리밍의 내부 페이지 크기)
+    private static final int MAX_ROOM_PAGE = 1000;
+
     private final RoomService roomService;
+    private final IceCandidateCoalescer iceCandidateCoalescer;
+    private final ClusterCoordinator clusterCoordinator;
+    private final SessionBacklogTracker sessionBacklogTracker;
+    private final RtcStatsService rtcStatsService;
+    private final MediaPolicyService mediaPolicyService;
+    private final EmbeddedIceServer embeddedIceServer;
+    private final IceConfigService iceConfigService;
+    private final SessionResumeService sessionResumeService;
+    private final SignalRateLimiter signalRateLimiter;
+    private final SlowConsumerEvictor slowConsumerEvictor;
+    private final CborWireFormat cborWireFormat;
+    private final SdpGuard sdpGuard;
+    private final RoomJournal roomJournal;
+    private final IdleReaper idleReaper;
+    private final SignalTrace signalTrace;
+    private final ObjectMapper objectMapper;
+    private final NegotiationCoordinator negotiationCoordinator;
+    private final ConnectionSetupTracker connectionSetupTracker;
+    private final SignalingMetrics signalingMetrics;
+
+    // 방 설정 변경 API 허용 여부 (인증 없이 누구나 호출할 수 있으므로 기본은 끔 - 운영 도구/내부망에서만 켤 것)
+    @Value("${app.webrtc.admin.enabled:false}")
+    private boolean adminEnabled;
 
-    // ICE 서버 설정 제공 (STUN/TURN 서버 정보)
+    // ICE 서버 설정 제공 (STUN/TURN 서버 정보 + 사용자/방별 시간 제한 TURN 자격 증명)
+    // 직렬화된 응답을 캐시에서 바로 반환 (자격 증명 교체 시점까지 클라이언트 캐시 허용)
     @GetMapping("/ice-servers")
-    public ResponseEntity<IceServerConfig> getIceServers(
+    public ResponseEntity<byte[]> getIceServers(
             @RequestParam(required = false) String userId,
             @RequestParam(required = false) String roomId) {
 
-        log.info("ICE 서버 설정 요청 - User: {}, Room: {}", userId, roomId);
+        log.debug("ICE 서버 설정 요청 - User: {}, Room: {}", userId, roomId);
 
         try {
-            IceServerConfig config = IceServerConfig.builder()
-                    .iceServers(Arrays.asList(
-                            // Google STUN 서버들
-                            IceServer.builder()
-                                    .urls("stun:stun.l.google.com:19302")
-                                    .build(),
-                            IceServer.builder()
-                                    .urls("stun:stun1.l.google.com:19302")
-                                    .build(),
-                            IceServer.builder()
-                                    .urls("stun:stun2.l.google.com:19302")
-                                    .build()
-
-                            // 필요시 TURN 서버 추가 (현재는 STUN만 사용)
-                            // IceServer.builder()
-                            //         .urls("turn:your-turn-server:3478")
-                            //         .username("username")
-                            //         .credential("password")
-                            //         .build()
-                    ))
-                    .build();
-
-            log.info("ICE 서버 설정 제공 완료 - STUN 서버 {} 개", config.getIceServers().size());
-            return ResponseEntity.ok(config);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .cacheControl(CacheControl.maxAge(iceConfigService.getMaxAgeSeconds(), TimeUnit.SECONDS).cachePrivate())
+                    .body(iceConfigService.getIceServersJson(userId, roomId));
 
         } catch (Exception e) {
             log.error("ICE 서버 설정 제공 실패 - Error: {}", e.getMessage());
@@ -60,10 +97,49 @@ public class WebRTCRestController { // WebRTC 관련 REST API 컨트롤러
         }
     }
 
+    // 모든 방 정보 조회 (방 ID -> 참여자 목록) - 방이 많으면 /rooms/page 또는 /rooms/stream 사용
+    @GetMapping("/rooms")
+    public ResponseEntity<Map<String, Set<String>>> getAllRooms() {
+        return ResponseEntity.ok(roomService.getAllRooms());
+    }
+
+    // 방 목록 (방 ID 순 페이지 - 응답의 nextCursor를 다음 요청의 after로)
+    @GetMapping("/rooms/page")
+    public ResponseEntity<RoomPage> listRooms(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "100") int limit) {
+
+        return ResponseEntity.ok(roomService.listRooms(after, Math.max(1, Math.min(limit, MAX_ROOM_PAGE))));
+    }
+
+    // 방 목록 전체를 한 줄에 방 하나씩 스트리밍 (application/x-ndjson)
+    // 내부적으로 페이지 단위로 읽어 바로 써 보내므로 전체 목록을 메모리에 만들지 않음
+    @GetMapping(value = "/rooms/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamRooms(@RequestParam(required = false) String after) {
+        ObjectWriter writer = objectMapper.writerFor(RoomSummary.class);
+
+        StreamingResponseBody body = out -> {
+            String cursor = after;
+            do {
+                RoomPage page = roomService.listRooms(cursor, MAX_ROOM_PAGE);
+                for (RoomSummary room : page.rooms()) {
+                    out.write(writer.writeValueAsBytes(room));
+                    out.write('\n');
+                }
+                out.flush();
+                cursor = page.nextCursor();
+            } while (cursor != null);
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     // 방 상태 조회
     @GetMapping("/rooms/{roomId}/state")
     public ResponseEntity<?> getRoomState(@PathVariable String roomId) {
-        log.info("방 상태 조회 - Room: {}", roomId);
+        log.debug("방 상태 조회 - Room: {}", roomId);
 
         try {
             var roomState = roomService.getRoomState(roomId);
@@ -75,10 +151,98 @@ public class WebRTCRestController { // WebRTC 관련 REST API 컨트롤러
         }
     }
 
+    // 방 담당 노드 조회 (클러스터 모드에서 클라이언트/로드밸런서가 방 단위로 접속 노드를 고를 때 사용)
+    @GetMapping("/rooms/{roomId}/node")
+    public ResponseEntity<Map<String, Object>> getRoomNode(@PathVariable String roomId) {
+        Map<String, Object> response = Map.of(
+                "roomId", roomId,
+                "nodeId", clusterCoordinator.ownerOf(roomId),
+                "local", clusterCoordinator.isLocalRoom(roomId)
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    // 방 통화 품질 집계 (최근 window 구간의 방 전체 / 쌍별 RTT 백분위, 전송률, 프레임률)
+    // 클러스터 모드에서는 방 담당 노드에서 조회 (/rooms/{roomId}/node)
+    @GetMapping("/rooms/{roomId}/quality")
+    public ResponseEntity<Map<String, Object>> getRoomQuality(@PathVariable String roomId) {
+        Map<String, Object> quality = rtcStatsService.getRoomQuality(roomId);
+        return quality != null ? ResponseEntity.ok(quality) : ResponseEntity.notFound().build();
+    }
+
+    // 방 SDP 정책 조회 (지정하지 않았으면 기본 정책)
+    @GetMapping("/rooms/{roomId}/sdp-policy")
+    public ResponseEntity<SdpPolicy> getSdpPolicy(@PathVariable String roomId) {
+        return ResponseEntity.ok(sdpGuard.getPolicy(roomId));
+    }
+
+    // 방 SDP 정책 지정 - 이후 중계되는 offer/answer에서 허용하지 않은 코덱/확장을 제거 (예: opus, vp8만 유지)
+    // 클러스터 모드에서는 방 담당 노드에서 지정 (/rooms/{roomId}/node). app.webrtc.admin.enabled가 꺼져 있으면 403
+    @PutMapping("/rooms/{roomId}/sdp-policy")
+    public ResponseEntity<SdpPolicy> setSdpPolicy(@PathVariable String roomId, @RequestBody SdpPolicyRequest request) {
+        if (!adminEnabled) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        SdpPolicy policy = SdpPolicy.of(request.getCodecs(), request.getBlockedExtensions());
+        if (!sdpGuard.setRoomPolicy(roomId, policy)) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+        return ResponseEntity.ok(sdpGuard.getPolicy(roomId));
+    }
+
+    @DeleteMapping("/rooms/{roomId}/sdp-policy")
+    public ResponseEntity<Void> clearSdpPolicy(@PathVariable String roomId) {
+        if (!adminEnabled) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        sdpGuard.clearRoomPolicy(roomId);
+        return ResponseEntity.noContent().build();
+    }
+
+    // 방 시그널링 타임라인 (오래된 것부터 최근 limit개)
+    // userId만 주면 그 사용자가 보내거나 받은 이벤트, peerId까지 주면 두 사용자 사이 이벤트 (입장/퇴장 포함)
+    // 최근 drain-interval-ms 이내 이벤트는 아직 빠져 있을 수 있음. 클러스터 모드에서는 방 담당 노드에서 조회
+    @GetMapping("/rooms/{roomId}/timeline")
+    public ResponseEntity<List<SignalEvent>> getRoomTimeline(
+            @PathVariable String roomId,
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) String peerId,
+            @RequestParam(defaultValue = "200") int limit) {
+
+        if (peerId != null && userId == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(signalTrace.getTimeline(roomId, userId, peerId, Math.max(1, Math.min(limit, 10_000))));
+    }
+
+    // 샘플링 비율과 무관하게 방 기록 (문제 재현용). app.webrtc.admin.enabled가 꺼져 있으면 403
+    @PutMapping("/rooms/{roomId}/trace")
+    public ResponseEntity<Void> traceRoom(@PathVariable String roomId) {
+        if (!adminEnabled) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        signalTrace.setForced(roomId, true);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/rooms/{roomId}/trace")
+    public ResponseEntity<Void> untraceRoom(@PathVariable String roomId) {
+        if (!adminEnabled) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        signalTrace.setForced(roomId, false);
+        return ResponseEntity.noContent().build();
+    }
+
     // 방 참여 가능 여부 확인
     @GetMapping("/rooms/{roomId}/can-join")
     public ResponseEntity<Map<String, Object>> canJoinRoom(@PathVariable String roomId) {
-        log.info("방 참여 가능 여부 확인 - Room: {}", roomId);
+        log.debug("방 참여 가능 여부 확인 - Room: {}", roomId);
 
         try {
             boolean canJoin = roomService.canJoinRoom(roomId);
@@ -87,7 +251,7 @@ public class WebRTCRestController { // WebRTC 관련 REST API 컨트롤러
             Map<String, Object> response = Map.of(
                     "canJoin", canJoin,
                     "currentParticipants", participants.size(),
-                    "maxParticipants", 6,  // TODO: 설정값에서 가져오기
+                    "maxParticipants", roomService.getMaxParticipants(),
                     "participants", participants
             );
 
@@ -99,6 +263,13 @@ public class WebRTCRestController { // WebRTC 관련 REST API 컨트롤러
         }
     }
 
+    // 통화 연결 준비 시간 - 방 인원별, 단계(offer/answer/candidate/connected)별 최근 백분위
+    // 기준은 두 사용자가 같은 방에 모인 시점. 클러스터 모드에서는 노드별 (방 담당 노드에서 기록)
+    @GetMapping("/setup-times")
+    public ResponseEntity<Map<Integer, Map<String, Object>>> getSetupTimes() {
+        return ResponseEntity.ok(signalingMetrics.getSetupTimes());
+    }
+
     // 서버 통계 조회
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getServerStats() {
@@ -106,6 +277,29 @@ public class WebRTCRestController { // WebRTC 관련 REST API 컨트롤러
 
         try {
             Map<String, Object> stats = roomService.getRoomStats();
+            stats.put("iceCoalescing", iceCandidateCoalescer.getStats());
+            stats.put("cluster", clusterCoordinator.getClusterInfo());
+            stats.put("rtcStats", rtcStatsService.getStats());
+            stats.put("mediaPolicy", mediaPolicyService.getStats());
+            stats.put("turn", embeddedIceServer.getStats());
+            stats.put("iceConfig", iceConfigService.getStats());
+            stats.put("resume", sessionResumeService.getStats());
+            stats.put("wireFormat", cborWireFormat.getStats());
+            stats.put("sdp", sdpGuard.getStats());
+            stats.put("journal", roomJournal.getStats());
+            stats.put("reaper", idleReaper.getStats());
+            stats.put("trace", signalTrace.getStats());
+            stats.put("negotiation", negotiationCoordinator.getStats());
+            stats.put("setup", connectionSetupTracker.getStats());
+            stats.put("limits", Map.of(
+                    "rateLimiter", signalRateLimiter.getStats(),
+                    "eviction", slowConsumerEvictor.getStats()
+            ));
+            stats.put("sendBacklog", Map.of(
+                    "trackedSessions", sessionBacklogTracker.getTrackedSessionCount(),
+                    "totalPending", sessionBacklogTracker.getTotalPending(),
+                    "top", sessionBacklogTracker.getTopBacklogs(10)
+            ));
 
             // 런타임 정보 추가
             Runtime runtime = Runtime.getRuntime();
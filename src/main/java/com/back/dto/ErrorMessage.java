@@ -5,8 +5,6 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.time.LocalDateTime;
-
 @Data
 @Builder
 @NoArgsConstructor
@@ -15,14 +13,15 @@ public class ErrorMessage {
     private String type;
     private String message;
     private String code;
-    private LocalDateTime timestamp;
+    private long timestamp;  // epoch millis
+    private Long retryAfterMs;  // 속도 제한 시 재시도까지 기다릴 시간 (그 외 null)
 
     public static ErrorMessage of(String type, String message, String code) {
         return ErrorMessage.builder()
                 .type(type)
                 .message(message)
                 .code(code)
-                .timestamp(LocalDateTime.now())
+                .timestamp(System.currentTimeMillis())
                 .build();
     }
 }
@@ -11,4 +11,5 @@ public class JoinRoomRequest {
     private String userId;
     private String roomId;
     private String userAgent;  // 디버깅용
+    private String resumeToken;  // 접속 노드가 발급해 채움 (클라이언트 값은 무시)
 }
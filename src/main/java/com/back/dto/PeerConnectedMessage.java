@@ -0,0 +1,15 @@
+package com.back.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 피어 연결 완료 알림 (RTCPeerConnection connectionState가 connected가 된 쪽이 전송)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PeerConnectedMessage {
+    private String fromUserId;
+    private String toUserId;
+    private String roomId;
+}
@@ -0,0 +1,14 @@
+package com.back.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumeSessionRequest {
+    private String userId;
+    private String roomId;
+    private String resumeToken;  // room-state로 받은 재접속 토큰
+}
@@ -0,0 +1,7 @@
+package com.back.dto;
+
+import java.util.List;
+
+// 방 목록 한 페이지 - nextCursor를 다음 요청의 after로 넘김 (마지막 페이지면 null)
+public record RoomPage(List<RoomSummary> rooms, String nextCursor) {
+}
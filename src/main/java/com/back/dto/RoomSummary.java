@@ -0,0 +1,8 @@
+package com.back.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 방 목록 조회 항목 (GET /api/webrtc/rooms)
+public record RoomSummary(String roomId, int participantCount, List<String> participants, LocalDateTime createdAt) {
+}
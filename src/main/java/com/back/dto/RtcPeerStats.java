@@ -0,0 +1,21 @@
+package com.back.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 피어 연결 하나의 RTCPeerConnection.getStats() 요약 (webrtc-client.js parseRTCStats)
+// 바이트/패킷/프레임은 누적값 - 전송률은 서버가 직전 샘플과의 차이로 계산
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RtcPeerStats {
+    private String peerId;
+    private double roundTripTime;  // 초 (candidate-pair currentRoundTripTime)
+    private long bytesSent;
+    private long bytesReceived;
+    private long packetsReceived;
+    private long packetsLost;
+    private long videoFramesDecoded;
+    private long videoFramesEncoded;
+}
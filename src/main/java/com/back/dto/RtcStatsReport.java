@@ -0,0 +1,17 @@
+package com.back.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// 클라이언트가 주기적으로 보내는 RTC 통계 샘플 (상대 피어별 누적 카운터)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RtcStatsReport {
+    private String userId;
+    private String roomId;
+    private List<RtcPeerStats> peers;
+}
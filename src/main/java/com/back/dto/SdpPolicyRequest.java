@@ -0,0 +1,15 @@
+package com.back.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SdpPolicyRequest {
+    private List<String> codecs;             // 남길 코덱 (예: opus, vp8) - 비우면 코덱은 그대로
+    private List<String> blockedExtensions;  // 제거할 RTP 헤더 확장 URI
+}
@@ -5,9 +5,6 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.time.LocalDateTime;
-import java.util.Map;
-
 @Data
 @Builder
 @NoArgsConstructor
@@ -16,8 +13,8 @@ public class SignalMessage {
     private String type;
     private String fromUserId;
     private String toUserId;
-    private Map<String, Object> data;
+    private Object data;  // SignalPayloads 레코드
 
     @Builder.Default
-    private LocalDateTime timestamp = LocalDateTime.now();
+    private long timestamp = System.currentTimeMillis();  // epoch millis
 }
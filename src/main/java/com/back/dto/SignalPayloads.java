@@ -0,0 +1,84 @@
+package com.back.dto;
+
+import java.util.List;
+
+// SignalMessage.data 타입별 페이로드 (JSON 필드 구성은 기존 Map 기반 메시지와 동일)
+public final class SignalPayloads {
+
+    private SignalPayloads() {
+    }
+
+    public record Offer(String signalType, String targetUserId, String sdp) {
+        public static Offer of(String targetUserId, String sdp) {
+            return new Offer("offer", targetUserId, sdp);
+        }
+    }
+
+    public record Answer(String signalType, String targetUserId, String sdp) {
+        public static Answer of(String targetUserId, String sdp) {
+            return new Answer("answer", targetUserId, sdp);
+        }
+    }
+
+    public record IceCandidate(String signalType, String targetUserId,
+                               String candidate, String sdpMid, Integer sdpMLineIndex) {
+        public static IceCandidate of(String targetUserId, String candidate, String sdpMid, Integer sdpMLineIndex) {
+            return new IceCandidate("ice-candidate", targetUserId, candidate, sdpMid, sdpMLineIndex);
+        }
+    }
+
+    // 묶음 전송용 (IceCandidateCoalescer)
+    public record IceCandidates(String signalType, String targetUserId, List<Candidate> candidates) {
+        public static IceCandidates of(String targetUserId, List<Candidate> candidates) {
+            return new IceCandidates("ice-candidates", targetUserId, candidates);
+        }
+    }
+
+    public record Candidate(String candidate, String sdpMid, Integer sdpMLineIndex) {
+    }
+
+    // offerers: newUserId에게 offer를 보낼 참여자 (먼저 입장한 쪽이 offer - glare 방지)
+    public record UserJoined(List<String> participants, String newUserId, String userAgent, List<String> offerers) {
+    }
+
+    public record UserLeft(String leftUserId) {
+    }
+
+    public record UserDisconnected(String userId, String reason) {
+    }
+
+    // resumeToken: 연결이 잠깐 끊겼을 때 /app/room/resume으로 자리를 되찾는 토큰 (비활성화 시 null)
+    // offerers: 입장한 사용자에게 offer를 보낼 참여자 (입장한 쪽은 offer를 먼저 보내지 않고 기다림)
+    // 나머지는 입장 전 REST 조회 없이 바로 피어 연결을 만들 수 있도록 함께 보내는 값
+    // - iceServers: GET /api/webrtc/ice-servers와 같은 설정 (TURN 자격 증명 포함)
+    // - mediaPolicy: 현재 송신 제약 (비활성화 시 null), codecs: 방 SDP 정책의 허용 코덱 (비어 있으면 제한 없음)
+    public record RoomState(List<String> participants, String roomId, String yourUserId, String resumeToken,
+                            List<String> offerers, List<IceServer> iceServers, MediaPolicy mediaPolicy,
+                            List<String> codecs, int maxParticipants) {
+    }
+
+    // participants: 끊긴 동안 바뀐 참여자 확인용 (클러스터 모드에서 다른 노드 담당 방이면 null)
+    public record SessionResumed(String roomId, List<String> participants, String resumeToken, int bufferedSignals) {
+    }
+
+    public record ResumeFailed(String roomId, String reason) {
+    }
+
+    // reason: idle-timeout(살아 있는 참여자 없음) / room-expired(최대 유지 시간 초과)
+    public record RoomClosed(String roomId, String reason) {
+    }
+
+    public record ErrorPayload(ErrorMessage error, String sessionId) {
+    }
+
+    // 피어 쌍의 협상 역할 (NegotiationCoordinator)
+    // role: offerer(peerUserId에게 offer를 보낼 것) / answerer(보낸 offer는 전달되지 않음 - 상대 offer를 기다릴 것)
+    // reason: deferred(첫 협상은 먼저 입장한 쪽이 시작) / glare(상대 offer가 응답 대기 중)
+    public record NegotiationRole(String peerUserId, String role, String reason) {
+    }
+
+    // 서버가 정한 송신 제약 (MediaPolicyService) - audioOnly면 영상 관련 값은 null
+    public record MediaPolicy(int roomSize, boolean audioOnly, Integer maxBitrateKbps,
+                              Integer maxWidth, Integer maxHeight, Integer maxFramerate, String reason) {
+    }
+}
@@ -0,0 +1,138 @@
+package com.back.ice;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 앱과 함께 뜨는 STUN/TURN 서버 (TurnServer 수명 관리 + 클라이언트에 알릴 URL)
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmbeddedIceServer {
+
+    private final TurnRestCredentials turnRestCredentials;
+
+    @Value("${app.ice.embedded.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.ice.embedded.bind-host:0.0.0.0}")
+    private String bindHost;
+
+    @Value("${app.ice.embedded.port:3478}")
+    private int port;
+
+    // 클라이언트가 접속할 주소 (relay candidate 주소로도 사용) - 외부 배포 시 공인 IP
+    // 비어 있거나 루프백/와일드카드면 클라이언트에 알리지 않음 (원격 피어가 쓸 수 없는 주소)
+    @Value("${app.ice.embedded.advertised-host:}")
+    private String advertisedHost;
+
+    @Value("${app.ice.embedded.realm:webrtc-poc}")
+    private String realm;
+
+    @Value("${app.ice.embedded.max-allocations:1000}")
+    private int maxAllocations;
+
+    // 특수 용도 대역(사설/루프백 등) 중 릴레이를 허용할 CIDR - 기본은 공인 주소만
+    @Value("${app.ice.embedded.allowed-peer-cidrs:}")
+    private List<String> allowedPeerCidrs;
+
+    private TurnServer turnServer;
+    private boolean advertised;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            InetSocketAddress bindAddress = new InetSocketAddress(bindHost, port);
+            InetAddress advertisedAddress = advertisedAddress(bindAddress);
+
+            TurnServer server = new TurnServer(
+                    bindAddress,
+                    advertisedAddress != null ? advertisedAddress : InetAddress.getLoopbackAddress(),
+                    realm,
+                    turnRestCredentials,
+                    TurnPeerPolicy.allowing(allowedPeerCidrs),
+                    maxAllocations);
+            server.start();
+            turnServer = server;
+            advertised = advertisedAddress != null;
+        } catch (IOException e) {
+            // 포트 충돌 등 - 시그널링은 계속 동작하고 외부 STUN으로 대체
+            log.error("STUN/TURN 서버 시작 실패 - Port: {}, Error: {}", port, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (turnServer != null) {
+            turnServer.close();
+        }
+    }
+
+    public boolean isRunning() {
+        return turnServer != null;
+    }
+
+    // 클라이언트에 알릴 수 있는 상태 (실행 중 + 원격에서 닿는 advertised-host)
+    public boolean isAdvertised() {
+        return turnServer != null && advertised;
+    }
+
+    // 알릴 수 없으면 빈 목록
+    public List<String> getStunUrls() {
+        return isAdvertised() ? List.of("stun:" + address()) : List.of();
+    }
+
+    // 자격 증명은 TurnRestCredentials 발급분 사용
+    public List<String> getTurnUrls() {
+        return isAdvertised() ? List.of("turn:" + address() + "?transport=udp") : List.of();
+    }
+
+    // 원격 피어가 닿을 수 있는 advertised-host, 아니면 경고 후 null
+    private InetAddress advertisedAddress(InetSocketAddress bindAddress) throws IOException {
+        if (advertisedHost == null || advertisedHost.isBlank()) {
+            log.warn("STUN/TURN advertised-host 미설정 - 내장 서버를 ICE 설정에 넣지 않음 (app.ice.embedded.advertised-host에 공인 주소 지정)");
+            return null;
+        }
+
+        InetAddress address = InetAddress.getByName(advertisedHost);
+        if (address.isLoopbackAddress() || address.isAnyLocalAddress()) {
+            if (bindAddress.getAddress().isAnyLocalAddress()) {
+                log.warn("STUN/TURN advertised-host가 {}인데 모든 인터페이스({})에서 수신 중 - 원격 피어는 이 주소로 접속할 수 없어 ICE 설정에 넣지 않음",
+                        advertisedHost, bindHost);
+            } else {
+                log.warn("STUN/TURN advertised-host가 {} - 원격 피어가 쓸 수 없어 ICE 설정에 넣지 않음", advertisedHost);
+            }
+            return null;
+        }
+        return address;
+    }
+
+    private String address() {
+        return advertisedHost + ":" + turnServer.getPort();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("running", turnServer != null);
+        stats.put("advertised", isAdvertised());
+        if (turnServer != null) {
+            stats.put("port", turnServer.getPort());
+            stats.putAll(turnServer.getStats());
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,75 @@
+package com.back.ice;
+
+// STUN/TURN 상수 (RFC 5389, RFC 5766)
+final class Stun {
+
+    private Stun() {
+    }
+
+    static final int HEADER_LENGTH = 20;
+    static final int MAGIC_COOKIE = 0x2112A442;
+
+    // 메서드 (요청 타입 = 메서드, 성공 응답 = | 0x0100, 에러 응답 = | 0x0110)
+    static final int BINDING = 0x0001;
+    static final int ALLOCATE = 0x0003;
+    static final int REFRESH = 0x0004;
+    static final int CREATE_PERMISSION = 0x0008;
+    static final int CHANNEL_BIND = 0x0009;
+
+    // 인디케이션
+    static final int SEND_INDICATION = 0x0016;
+    static final int DATA_INDICATION = 0x0017;
+
+    static final int SUCCESS_RESPONSE = 0x0100;
+    static final int ERROR_RESPONSE = 0x0110;
+
+    // 속성
+    static final int ATTR_USERNAME = 0x0006;
+    static final int ATTR_MESSAGE_INTEGRITY = 0x0008;
+    static final int ATTR_ERROR_CODE = 0x0009;
+    static final int ATTR_CHANNEL_NUMBER = 0x000C;
+    static final int ATTR_LIFETIME = 0x000D;
+    static final int ATTR_XOR_PEER_ADDRESS = 0x0012;
+    static final int ATTR_DATA = 0x0013;
+    static final int ATTR_REALM = 0x0014;
+    static final int ATTR_NONCE = 0x0015;
+    static final int ATTR_XOR_RELAYED_ADDRESS = 0x0016;
+    static final int ATTR_REQUESTED_TRANSPORT = 0x0019;
+    static final int ATTR_XOR_MAPPED_ADDRESS = 0x0020;
+    static final int ATTR_SOFTWARE = 0x8022;
+    static final int ATTR_FINGERPRINT = 0x8028;
+
+    static final int TRANSPORT_UDP = 17;
+
+    // FINGERPRINT = CRC32 ^ "STUN"
+    static final long FINGERPRINT_XOR = 0x5354554EL;
+
+    // ChannelData 채널 번호 범위
+    static final int MIN_CHANNEL = 0x4000;
+    static final int MAX_CHANNEL = 0x7FFF;
+
+    static final int CHANNEL_DATA_HEADER_LENGTH = 4;
+
+    static final int ERROR_BAD_REQUEST = 400;
+    static final int ERROR_UNAUTHORIZED = 401;
+    static final int ERROR_FORBIDDEN = 403;
+    static final int ERROR_ALLOCATION_MISMATCH = 437;
+    static final int ERROR_STALE_NONCE = 438;
+    static final int ERROR_WRONG_CREDENTIALS = 441;
+    static final int ERROR_UNSUPPORTED_TRANSPORT = 442;
+    static final int ERROR_ALLOCATION_QUOTA = 486;
+    static final int ERROR_INSUFFICIENT_CAPACITY = 508;
+
+    // 첫 바이트 상위 2비트: 00 = STUN, 01 = ChannelData
+    static boolean isStun(int firstByte) {
+        return (firstByte & 0xC0) == 0;
+    }
+
+    static boolean isChannelData(int firstByte) {
+        return (firstByte & 0xC0) == 0x40;
+    }
+
+    static int padded(int length) {
+        return (length + 3) & ~3;
+    }
+}
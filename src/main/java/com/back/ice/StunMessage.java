@@ -0,0 +1,256 @@
+package com.back.ice;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+// 수신한 STUN 메시지 (제어 경로용 - 패킷을 복사해 속성 위치만 색인)
+final class StunMessage {
+
+    private final byte[] raw;
+    private final int type;
+    private final byte[] transactionId;
+    private final List<int[]> attributes;  // {type, valueOffset, length}
+
+    private StunMessage(byte[] raw, int type, byte[] transactionId, List<int[]> attributes) {
+        this.raw = raw;
+        this.type = type;
+        this.transactionId = transactionId;
+        this.attributes = attributes;
+    }
+
+    // 형식이 맞지 않으면 null
+    static StunMessage parse(ByteBuffer packet) {
+        int size = packet.remaining();
+        if (size < Stun.HEADER_LENGTH) {
+            return null;
+        }
+
+        byte[] raw = new byte[size];
+        packet.get(raw);
+        ByteBuffer buffer = ByteBuffer.wrap(raw);
+
+        int type = buffer.getShort() & 0xFFFF;
+        int length = buffer.getShort() & 0xFFFF;
+        int cookie = buffer.getInt();
+
+        if ((type & 0xC000) != 0 || cookie != Stun.MAGIC_COOKIE
+                || length % 4 != 0 || Stun.HEADER_LENGTH + length > size) {
+            return null;
+        }
+
+        byte[] transactionId = new byte[12];
+        buffer.get(transactionId);
+
+        List<int[]> attributes = new ArrayList<>();
+        int end = Stun.HEADER_LENGTH + length;
+        while (buffer.position() + 4 <= end) {
+            int attributeType = buffer.getShort() & 0xFFFF;
+            int attributeLength = buffer.getShort() & 0xFFFF;
+            int valueOffset = buffer.position();
+
+            if (valueOffset + attributeLength > end) {
+                return null;
+            }
+
+            attributes.add(new int[]{attributeType, valueOffset, attributeLength});
+            buffer.position(valueOffset + Stun.padded(attributeLength));
+        }
+
+        return new StunMessage(raw, type, transactionId, attributes);
+    }
+
+    int getType() {
+        return type;
+    }
+
+    // 클래스 비트를 뺀 메서드
+    int getMethod() {
+        return type & ~0x0110;
+    }
+
+    boolean isRequest() {
+        return (type & 0x0110) == 0;
+    }
+
+    byte[] getTransactionId() {
+        return transactionId;
+    }
+
+    boolean has(int attributeType) {
+        return find(attributeType) != null;
+    }
+
+    byte[] bytes(int attributeType) {
+        int[] attribute = find(attributeType);
+        return attribute == null ? null : Arrays.copyOfRange(raw, attribute[1], attribute[1] + attribute[2]);
+    }
+
+    String string(int attributeType) {
+        int[] attribute = find(attributeType);
+        return attribute == null ? null : new String(raw, attribute[1], attribute[2], StandardCharsets.UTF_8);
+    }
+
+    // 32비트 값 (LIFETIME, REQUESTED-TRANSPORT 등). 없으면 -1
+    long uint32(int attributeType) {
+        int[] attribute = find(attributeType);
+        if (attribute == null || attribute[2] < 4) {
+            return -1;
+        }
+        return ByteBuffer.wrap(raw, attribute[1], 4).getInt() & 0xFFFFFFFFL;
+    }
+
+    // CHANNEL-NUMBER 상위 16비트. 없으면 -1
+    int channelNumber() {
+        int[] attribute = find(Stun.ATTR_CHANNEL_NUMBER);
+        if (attribute == null || attribute[2] < 4) {
+            return -1;
+        }
+        return ByteBuffer.wrap(raw, attribute[1], 2).getShort() & 0xFFFF;
+    }
+
+    // REQUESTED-TRANSPORT 프로토콜 번호 (상위 8비트)
+    int requestedTransport() {
+        int[] attribute = find(Stun.ATTR_REQUESTED_TRANSPORT);
+        return attribute == null || attribute[2] < 4 ? -1 : raw[attribute[1]] & 0xFF;
+    }
+
+    InetSocketAddress xorAddress(int attributeType) {
+        int[] attribute = find(attributeType);
+        return attribute == null ? null : decodeXorAddress(raw, attribute[1], attribute[2], transactionId);
+    }
+
+    // 같은 타입 속성 전부 (CreatePermission은 XOR-PEER-ADDRESS 여러 개 가능)
+    List<InetSocketAddress> xorAddresses(int attributeType) {
+        List<InetSocketAddress> addresses = new ArrayList<>();
+        for (int[] attribute : attributes) {
+            if (attribute[0] == attributeType) {
+                InetSocketAddress address = decodeXorAddress(raw, attribute[1], attribute[2], transactionId);
+                if (address != null) {
+                    addresses.add(address);
+                }
+            }
+        }
+        return addresses;
+    }
+
+    // MESSAGE-INTEGRITY 검증 (RFC 5389 15.4)
+    // 헤더 길이 필드를 MESSAGE-INTEGRITY 끝까지로 바꾼 뒤 그 앞부분의 HMAC-SHA1과 비교
+    boolean verifyIntegrity(byte[] key) {
+        int[] integrity = find(Stun.ATTR_MESSAGE_INTEGRITY);
+        if (integrity == null || integrity[2] != 20 || key == null) {
+            return false;
+        }
+
+        int attributeStart = integrity[1] - 4;
+        byte[] signed = Arrays.copyOf(raw, attributeStart);
+        int adjustedLength = attributeStart + 24 - Stun.HEADER_LENGTH;
+        signed[2] = (byte) (adjustedLength >> 8);
+        signed[3] = (byte) adjustedLength;
+
+        byte[] expected = hmacSha1(key, signed, 0, signed.length);
+        byte[] actual = Arrays.copyOfRange(raw, integrity[1], integrity[1] + 20);
+        return MessageDigest.isEqual(expected, actual);
+    }
+
+    // FINGERPRINT 검증 (RFC 5389 15.5) - 없으면 통과, 있으면 마지막 속성이어야 하고 앞부분 CRC32 ^ 0x5354554E와 같아야 함
+    boolean hasValidFingerprint() {
+        int[] fingerprint = null;
+        for (int[] attribute : attributes) {
+            if (attribute[0] == Stun.ATTR_FINGERPRINT) {
+                fingerprint = attribute;
+            }
+        }
+        if (fingerprint == null) {
+            return true;
+        }
+        if (fingerprint != attributes.get(attributes.size() - 1) || fingerprint[2] != 4) {
+            return false;
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(raw, 0, fingerprint[1] - 4);
+        long actual = ByteBuffer.wrap(raw, fingerprint[1], 4).getInt() & 0xFFFFFFFFL;
+        return actual == (crc.getValue() ^ Stun.FINGERPRINT_XOR);
+    }
+
+    private int[] find(int attributeType) {
+        for (int[] attribute : attributes) {
+            if (attribute[0] == attributeType) {
+                return attribute;
+            }
+            // MESSAGE-INTEGRITY 뒤에는 FINGERPRINT만 올 수 있고 나머지는 무시해야 함
+            if (attribute[0] == Stun.ATTR_MESSAGE_INTEGRITY && attributeType != Stun.ATTR_FINGERPRINT) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    static InetSocketAddress decodeXorAddress(byte[] data, int offset, int length, byte[] transactionId) {
+        if (length < 8) {
+            return null;
+        }
+
+        int family = data[offset + 1] & 0xFF;
+        int port = (((data[offset + 2] & 0xFF) << 8) | (data[offset + 3] & 0xFF)) ^ (Stun.MAGIC_COOKIE >>> 16);
+
+        byte[] address;
+        if (family == 0x01) {
+            address = Arrays.copyOfRange(data, offset + 4, offset + 8);
+        } else if (family == 0x02 && length >= 20) {
+            address = Arrays.copyOfRange(data, offset + 4, offset + 20);
+        } else {
+            return null;
+        }
+
+        byte[] mask = xorMask(transactionId);
+        for (int i = 0; i < address.length; i++) {
+            address[i] ^= mask[i];
+        }
+
+        try {
+            return new InetSocketAddress(InetAddress.getByAddress(address), port);
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    // XOR 마스크: magic cookie (+ IPv6면 transaction id)
+    static byte[] xorMask(byte[] transactionId) {
+        byte[] mask = new byte[16];
+        ByteBuffer.wrap(mask).putInt(Stun.MAGIC_COOKIE).put(transactionId);
+        return mask;
+    }
+
+    static byte[] hmacSha1(byte[] key, byte[] data, int offset, int length) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA1");
+            mac.init(new SecretKeySpec(key, "HmacSHA1"));
+            mac.update(data, offset, length);
+            return mac.doFinal();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA1 사용 불가", e);
+        }
+    }
+
+    // 장기 자격 증명 키 = MD5(username:realm:password) (RFC 5389 15.4)
+    static byte[] longTermKey(String username, String realm, String password) {
+        try {
+            return MessageDigest.getInstance("MD5")
+                    .digest((username + ":" + realm + ":" + password).getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("MD5 사용 불가", e);
+        }
+    }
+}
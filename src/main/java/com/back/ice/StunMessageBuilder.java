@@ -0,0 +1,116 @@
+package com.back.ice;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+// 송신용 STUN 메시지 작성기
+final class StunMessageBuilder {
+
+    private final ByteBuffer buffer;
+    private final byte[] transactionId;
+
+    StunMessageBuilder(int type, byte[] transactionId, int capacity) {
+        this.buffer = ByteBuffer.allocate(capacity);
+        this.transactionId = transactionId;
+
+        buffer.putShort((short) type);
+        buffer.putShort((short) 0);  // 길이는 build에서 채움
+        buffer.putInt(Stun.MAGIC_COOKIE);
+        buffer.put(transactionId);
+    }
+
+    StunMessageBuilder(int type, byte[] transactionId) {
+        this(type, transactionId, 512);
+    }
+
+    StunMessageBuilder xorAddress(int attributeType, InetSocketAddress address) {
+        byte[] ip = address.getAddress().getAddress();
+        byte[] mask = StunMessage.xorMask(transactionId);
+
+        header(attributeType, 4 + ip.length);
+        buffer.put((byte) 0);
+        buffer.put((byte) (ip.length == 4 ? 0x01 : 0x02));
+        buffer.putShort((short) (address.getPort() ^ (Stun.MAGIC_COOKIE >>> 16)));
+        for (int i = 0; i < ip.length; i++) {
+            buffer.put((byte) (ip[i] ^ mask[i]));
+        }
+        return this;
+    }
+
+    StunMessageBuilder uint32(int attributeType, long value) {
+        header(attributeType, 4);
+        buffer.putInt((int) value);
+        return this;
+    }
+
+    StunMessageBuilder string(int attributeType, String value) {
+        return bytes(attributeType, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    StunMessageBuilder bytes(int attributeType, byte[] value) {
+        return bytes(attributeType, value, 0, value.length);
+    }
+
+    StunMessageBuilder bytes(int attributeType, byte[] value, int offset, int length) {
+        header(attributeType, length);
+        buffer.put(value, offset, length);
+        pad(length);
+        return this;
+    }
+
+    // DATA 속성 - 수신 버퍼에서 바로 복사
+    StunMessageBuilder data(ByteBuffer payload) {
+        int length = payload.remaining();
+        header(Stun.ATTR_DATA, length);
+        buffer.put(payload);
+        pad(length);
+        return this;
+    }
+
+    StunMessageBuilder errorCode(int code, String reason) {
+        byte[] reasonBytes = reason.getBytes(StandardCharsets.UTF_8);
+        header(Stun.ATTR_ERROR_CODE, 4 + reasonBytes.length);
+        buffer.putShort((short) 0);
+        buffer.put((byte) (code / 100));
+        buffer.put((byte) (code % 100));
+        buffer.put(reasonBytes);
+        pad(4 + reasonBytes.length);
+        return this;
+    }
+
+    // integrityKey가 있으면 MESSAGE-INTEGRITY, 항상 FINGERPRINT를 붙여 완성 (읽기 모드로 반환)
+    ByteBuffer build(byte[] integrityKey) {
+        if (integrityKey != null) {
+            int integrityStart = buffer.position();
+            setLength(integrityStart + 24 - Stun.HEADER_LENGTH);
+            byte[] hmac = StunMessage.hmacSha1(integrityKey, buffer.array(), 0, integrityStart);
+            bytes(Stun.ATTR_MESSAGE_INTEGRITY, hmac);
+        }
+
+        int fingerprintStart = buffer.position();
+        setLength(fingerprintStart + 8 - Stun.HEADER_LENGTH);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, fingerprintStart);
+        uint32(Stun.ATTR_FINGERPRINT, crc.getValue() ^ Stun.FINGERPRINT_XOR);
+
+        buffer.flip();
+        return buffer;
+    }
+
+    private void header(int attributeType, int length) {
+        buffer.putShort((short) attributeType);
+        buffer.putShort((short) length);
+    }
+
+    private void pad(int length) {
+        for (int i = length; i < Stun.padded(length); i++) {
+            buffer.put((byte) 0);
+        }
+    }
+
+    private void setLength(int length) {
+        buffer.putShort(2, (short) length);
+    }
+}
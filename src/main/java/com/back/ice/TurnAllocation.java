@@ -0,0 +1,95 @@
+package com.back.ice;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+// TURN 할당 하나 (클라이언트 5-tuple 당 하나, TurnServer 셀렉터 스레드에서만 접근)
+final class TurnAllocation {
+
+    static final long PERMISSION_LIFETIME_MS = 300_000;
+    static final long CHANNEL_LIFETIME_MS = 600_000;
+
+    final InetSocketAddress client;
+    final String username;
+    final byte[] key;
+    final byte[] allocateTransactionId;
+    final DatagramChannel relay;
+    final InetSocketAddress relayedAddress;
+
+    SelectionKey selectionKey;
+    long expiresAt;
+
+    // 상대 IP -> 만료 시각 (권한은 포트 무관, IP 단위)
+    private final Map<InetAddress, Long> permissions = new HashMap<>();
+
+    // 채널 번호 <-> 상대 주소
+    private final Map<Integer, ChannelBinding> channels = new HashMap<>();
+    private final Map<InetSocketAddress, ChannelBinding> channelsByPeer = new HashMap<>();
+
+    TurnAllocation(InetSocketAddress client, String username, byte[] key, byte[] allocateTransactionId,
+                   DatagramChannel relay, InetSocketAddress relayedAddress, long expiresAt) {
+        this.client = client;
+        this.username = username;
+        this.key = key;
+        this.allocateTransactionId = allocateTransactionId;
+        this.relay = relay;
+        this.relayedAddress = relayedAddress;
+        this.expiresAt = expiresAt;
+    }
+
+    void permit(InetAddress peer, long now) {
+        permissions.put(peer, now + PERMISSION_LIFETIME_MS);
+    }
+
+    boolean isPermitted(InetAddress peer, long now) {
+        Long expiresAt = permissions.get(peer);
+        return expiresAt != null && expiresAt > now;
+    }
+
+    // 채널은 한 상대에만, 상대는 한 채널에만 묶일 수 있음 (같은 조합 재바인딩은 갱신)
+    boolean canBind(int channel, InetSocketAddress peer) {
+        ChannelBinding byChannel = channels.get(channel);
+        ChannelBinding byPeer = channelsByPeer.get(peer);
+        return (byChannel == null || byChannel.peer.equals(peer))
+                && (byPeer == null || byPeer.channel == channel);
+    }
+
+    void bind(int channel, InetSocketAddress peer, long now) {
+        ChannelBinding binding = new ChannelBinding(channel, peer, now + CHANNEL_LIFETIME_MS);
+        channels.put(channel, binding);
+        channelsByPeer.put(peer, binding);
+        permit(peer.getAddress(), now);
+    }
+
+    InetSocketAddress peerForChannel(int channel) {
+        ChannelBinding binding = channels.get(channel);
+        return binding != null ? binding.peer : null;
+    }
+
+    // 묶인 채널 번호, 없으면 -1
+    int channelForPeer(InetSocketAddress peer) {
+        ChannelBinding binding = channelsByPeer.get(peer);
+        return binding != null ? binding.channel : -1;
+    }
+
+    void expire(long now) {
+        permissions.values().removeIf(expiresAt -> expiresAt <= now);
+
+        Iterator<ChannelBinding> iterator = channels.values().iterator();
+        while (iterator.hasNext()) {
+            ChannelBinding binding = iterator.next();
+            if (binding.expiresAt <= now) {
+                iterator.remove();
+                channelsByPeer.remove(binding.peer);
+            }
+        }
+    }
+
+    private record ChannelBinding(int channel, InetSocketAddress peer, long expiresAt) {
+    }
+}
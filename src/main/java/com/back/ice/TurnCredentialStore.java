@@ -0,0 +1,15 @@
+package com.back.ice;
+
+// TURN 장기 자격 증명 조회 - 사용자 이름에 대한 MD5(username:realm:password) 키, 모르는 사용자면 null
+@FunctionalInterface
+public interface TurnCredentialStore {
+
+    byte[] longTermKey(String username, String realm);
+
+    // 고정 계정 하나
+    static TurnCredentialStore fixed(String username, String password) {
+        return (requested, realm) -> username.equals(requested)
+                ? StunMessage.longTermKey(username, realm, password)
+                : null;
+    }
+}
@@ -0,0 +1,132 @@
+package com.back.ice;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+
+// TURN 릴레이 대상(peer) 주소 제한
+// 자격 증명은 누구나 /api/webrtc/ice-servers에서 받을 수 있으므로, 제한이 없으면 서버 내부망으로 가는 열린 릴레이가 됨.
+// 특수 용도 대역(루프백, 사설, 링크 로컬, CGNAT, 멀티캐스트, 예약 등)은 allowedCidrs에 든 경우만 허용
+public final class TurnPeerPolicy {
+
+    // RFC 6890 특수 용도 주소 + 멀티캐스트 (IPv4-mapped IPv6는 InetAddress가 IPv4로 바꿔 주므로 따로 없음)
+    private static final List<Cidr> SPECIAL_PURPOSE = parseAll(List.of(
+            "0.0.0.0/8",          // "this network"
+            "10.0.0.0/8",         // 사설
+            "100.64.0.0/10",      // CGNAT
+            "127.0.0.0/8",        // 루프백
+            "169.254.0.0/16",     // 링크 로컬 (클라우드 메타데이터 포함)
+            "172.16.0.0/12",      // 사설
+            "192.0.0.0/24",       // IETF 프로토콜 할당
+            "192.0.2.0/24",       // 문서용
+            "192.168.0.0/16",     // 사설
+            "198.18.0.0/15",      // 벤치마크
+            "198.51.100.0/24",    // 문서용
+            "203.0.113.0/24",     // 문서용
+            "224.0.0.0/4",        // 멀티캐스트
+            "240.0.0.0/4",        // 예약 + 브로드캐스트
+            "::/128",             // 미지정
+            "::1/128",            // 루프백
+            "64:ff9b::/96",       // NAT64 (내부 IPv4로 변환될 수 있음)
+            "100::/64",           // discard
+            "2001:db8::/32",      // 문서용
+            "fc00::/7",           // ULA
+            "fe80::/10",          // 링크 로컬
+            "ff00::/8"            // 멀티캐스트
+    ));
+
+    private final List<Cidr> allowed;
+
+    private TurnPeerPolicy(List<Cidr> allowed) {
+        this.allowed = allowed;
+    }
+
+    // 공인 주소만 허용
+    public static TurnPeerPolicy publicOnly() {
+        return new TurnPeerPolicy(List.of());
+    }
+
+    // 특수 용도 대역 중 예외로 허용할 CIDR (예: 사내 테스트망 10.1.0.0/16, 루프백 벤치마크 127.0.0.0/8)
+    public static TurnPeerPolicy allowing(List<String> allowedCidrs) {
+        return new TurnPeerPolicy(parseAll(allowedCidrs));
+    }
+
+    public boolean isAllowed(InetAddress peer) {
+        for (Cidr cidr : allowed) {
+            if (cidr.contains(peer)) {
+                return true;
+            }
+        }
+        for (Cidr cidr : SPECIAL_PURPOSE) {
+            if (cidr.contains(peer)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<Cidr> parseAll(List<String> values) {
+        List<Cidr> cidrs = new ArrayList<>();
+        for (String value : values) {
+            if (value != null && !value.isBlank()) {
+                cidrs.add(Cidr.parse(value.trim()));
+            }
+        }
+        return List.copyOf(cidrs);
+    }
+
+    private record Cidr(byte[] network, int prefixLength) {
+
+        // "a.b.c.d/n" 또는 "x::y/n" (접두 길이가 없으면 단일 주소)
+        static Cidr parse(String value) {
+            int slash = value.indexOf('/');
+            String host = slash < 0 ? value : value.substring(0, slash);
+
+            byte[] network;
+            try {
+                // 리터럴 주소만 (호스트 이름 조회 방지)
+                if (!host.contains(":") && !host.matches("[0-9.]+")) {
+                    throw new IllegalArgumentException("CIDR 주소 형식 오류: " + value);
+                }
+                network = InetAddress.getByName(host).getAddress();
+            } catch (UnknownHostException e) {
+                throw new IllegalArgumentException("CIDR 주소 형식 오류: " + value, e);
+            }
+
+            int prefixLength = network.length * 8;
+            if (slash >= 0) {
+                try {
+                    prefixLength = Integer.parseInt(value.substring(slash + 1));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("CIDR 접두 길이 오류: " + value, e);
+                }
+                if (prefixLength < 0 || prefixLength > network.length * 8) {
+                    throw new IllegalArgumentException("CIDR 접두 길이 오류: " + value);
+                }
+            }
+            return new Cidr(network, prefixLength);
+        }
+
+        boolean contains(InetAddress address) {
+            byte[] bytes = address.getAddress();
+            if (bytes.length != network.length) {
+                return false;
+            }
+
+            int fullBytes = prefixLength / 8;
+            for (int i = 0; i < fullBytes; i++) {
+                if (bytes[i] != network[i]) {
+                    return false;
+                }
+            }
+
+            int remainingBits = prefixLength % 8;
+            if (remainingBits == 0) {
+                return true;
+            }
+            int mask = 0xFF << (8 - remainingBits);
+            return (bytes[fullBytes] & mask) == (network[fullBytes] & mask);
+        }
+    }
+}
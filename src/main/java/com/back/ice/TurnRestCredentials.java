@@ -0,0 +1,90 @@
+package com.back.ice;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+
+// 시간 제한 TURN 자격 증명 (TURN REST API 방식, coturn use-auth-secret 호환)
+// username = "<만료 epoch 초>:<식별자>", credential = base64(HMAC-SHA1(secret, username))
+// 서버는 공유 비밀만 알면 되므로 발급 내역을 저장하지 않음.
+// 만료 시각을 rotation 구간 단위로 맞춰 같은 구간 안의 같은 식별자에는 같은 자격 증명이 나감 (응답 캐시 가능)
+@Component
+public class TurnRestCredentials implements TurnCredentialStore {
+
+    // 비어 있으면 기동 시 임의 생성 (외부 TURN 서버와 공유하려면 지정)
+    @Value("${app.ice.credentials.secret:}")
+    private String secret;
+
+    // 최소 유효 시간 - 실제로는 ttl ~ ttl + rotation 사이
+    @Value("${app.ice.credentials.ttl-seconds:3600}")
+    private long ttlSeconds;
+
+    @Value("${app.ice.credentials.rotation-seconds:600}")
+    private long rotationSeconds;
+
+    private byte[] secretKey;
+
+    @PostConstruct
+    void init() {
+        if (secret == null || secret.isBlank()) {
+            byte[] bytes = new byte[32];
+            new SecureRandom().nextBytes(bytes);
+            secret = HexFormat.of().formatHex(bytes);
+        }
+        secretKey = secret.getBytes(StandardCharsets.UTF_8);
+        rotationSeconds = Math.max(1, rotationSeconds);
+    }
+
+    // 현재 rotation 구간 번호 (바뀌면 발급되는 자격 증명도 바뀜)
+    public long currentEpoch() {
+        return System.currentTimeMillis() / 1000 / rotationSeconds;
+    }
+
+    // 다음 rotation 시각까지 남은 초 (응답 캐시 max-age)
+    public long secondsUntilRotation() {
+        long nowSeconds = System.currentTimeMillis() / 1000;
+        return rotationSeconds - nowSeconds % rotationSeconds;
+    }
+
+    public TurnCredential mint(String identity, long epoch) {
+        long expiresAt = (epoch + 1) * rotationSeconds + ttlSeconds;
+        String username = expiresAt + ":" + identity;
+        return new TurnCredential(username, password(username), expiresAt);
+    }
+
+    // TurnServer 인증용 - 형식이 틀렸거나 만료된 username은 null (401)
+    @Override
+    public byte[] longTermKey(String username, String realm) {
+        int separator = username.indexOf(':');
+        if (separator <= 0) {
+            return null;
+        }
+
+        long expiresAt;
+        try {
+            expiresAt = Long.parseLong(username, 0, separator, 10);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+
+        if (expiresAt < System.currentTimeMillis() / 1000) {
+            return null;
+        }
+
+        return StunMessage.longTermKey(username, realm, password(username));
+    }
+
+    private String password(String username) {
+        byte[] data = username.getBytes(StandardCharsets.UTF_8);
+        return Base64.getEncoder().encodeToString(StunMessage.hmacSha1(secretKey, data, 0, data.length));
+    }
+
+    // expiresAt: epoch 초
+    public record TurnCredential(String username, String credential, long expiresAt) {
+    }
+}
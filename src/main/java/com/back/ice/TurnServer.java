@@ -0,0 +1,573 @@
+package com.back.ice;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.security.SecureRandom;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+// 내장 STUN 바인딩 응답기 + TURN 릴레이 (UDP, RFC 5389 / RFC 5766 중 브라우저가 쓰는 부분)
+// - Binding: 인증 없이 XOR-MAPPED-ADDRESS 응답 (srflx candidate)
+// - Allocate / Refresh / CreatePermission / ChannelBind: 장기 자격 증명(MESSAGE-INTEGRITY) 필요
+// - Send/Data 인디케이션, ChannelData 중계
+// - 릴레이 대상은 TurnPeerPolicy로 제한 (CreatePermission/ChannelBind 시점에 403, Send는 버림).
+//   ChannelData와 상대 -> 클라이언트 방향은 권한/채널이 있어야 통과하므로 같은 제한을 따름
+// 셀렉터 스레드 하나가 수신 소켓과 모든 릴레이 소켓을 처리하므로 할당 상태에 락이 없음.
+// Spring 의존성이 없어 루프백에서 바로 띄워 테스트/벤치마크할 수 있음
+@Slf4j
+public class TurnServer implements AutoCloseable {
+
+    private static final int MAX_PACKET_BYTES = 65_536;
+    private static final int MAX_READS_PER_WAKEUP = 64;
+
+    private static final long DEFAULT_LIFETIME_SECONDS = 600;
+    private static final long MAX_LIFETIME_SECONDS = 3600;
+    private static final long NONCE_ROTATION_MS = 600_000;
+    private static final long SWEEP_INTERVAL_MS = 1000;
+
+    private final InetSocketAddress bindAddress;
+    private final InetAddress advertisedAddress;
+    private final String realm;
+    private final TurnCredentialStore credentials;
+    private final TurnPeerPolicy peerPolicy;
+    private final int maxAllocations;
+
+    // 클라이언트 주소 -> 할당 (쓰기는 셀렉터 스레드, size는 통계 조회 스레드에서도 읽음)
+    private final Map<InetSocketAddress, TurnAllocation> allocations = new ConcurrentHashMap<>();
+
+    private final ByteBuffer receiveBuffer = ByteBuffer.allocateDirect(MAX_PACKET_BYTES);
+    private final SecureRandom random = new SecureRandom();
+
+    private Selector selector;
+    private DatagramChannel listener;
+    private Thread thread;
+    private volatile boolean running;
+
+    private String nonce;
+    private String previousNonce;
+    private long nonceRotatedAt;
+    private long lastSweepAt;
+
+    // 통계
+    private final LongAdder bindingRequests = new LongAdder();
+    private final LongAdder allocationsCreated = new LongAdder();
+    private final LongAdder authFailures = new LongAdder();
+    private final LongAdder packetsToPeer = new LongAdder();
+    private final LongAdder bytesToPeer = new LongAdder();
+    private final LongAdder packetsToClient = new LongAdder();
+    private final LongAdder bytesToClient = new LongAdder();
+    private final LongAdder packetsDropped = new LongAdder();
+    private final LongAdder forbiddenPeers = new LongAdder();
+
+    public TurnServer(InetSocketAddress bindAddress, InetAddress advertisedAddress, String realm,
+                      TurnCredentialStore credentials, TurnPeerPolicy peerPolicy, int maxAllocations) {
+        this.bindAddress = bindAddress;
+        this.advertisedAddress = advertisedAddress;
+        this.realm = realm;
+        this.credentials = credentials;
+        this.peerPolicy = peerPolicy;
+        this.maxAllocations = maxAllocations;
+    }
+
+    public void start() throws IOException {
+        selector = Selector.open();
+        listener = DatagramChannel.open(family(bindAddress.getAddress()));
+        listener.bind(bindAddress);
+        listener.configureBlocking(false);
+        listener.register(selector, SelectionKey.OP_READ);
+
+        rotateNonce(System.currentTimeMillis());
+        running = true;
+
+        thread = new Thread(this::selectLoop, "turn-server");
+        thread.setDaemon(true);
+        thread.start();
+
+        log.info("✅ STUN/TURN 서버 시작 - Listen: {}, Advertised: {}, Realm: {}",
+                listener.getLocalAddress(), advertisedAddress.getHostAddress(), realm);
+    }
+
+    // 실제 바인딩 포트 (설정 포트 0이면 임의 포트)
+    public int getPort() {
+        try {
+            return ((InetSocketAddress) listener.getLocalAddress()).getPort();
+        } catch (IOException e) {
+            return bindAddress.getPort();
+        }
+    }
+
+    public long getPacketsRelayed() {
+        return packetsToPeer.sum() + packetsToClient.sum();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("activeAllocations", allocations.size());
+        stats.put("allocationsCreated", allocationsCreated.sum());
+        stats.put("bindingRequests", bindingRequests.sum());
+        stats.put("authFailures", authFailures.sum());
+        stats.put("packetsToPeer", packetsToPeer.sum());
+        stats.put("bytesToPeer", bytesToPeer.sum());
+        stats.put("packetsToClient", packetsToClient.sum());
+        stats.put("bytesToClient", bytesToClient.sum());
+        stats.put("packetsDropped", packetsDropped.sum());
+        stats.put("forbiddenPeers", forbiddenPeers.sum());
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        if (selector != null) {
+            selector.wakeup();
+        }
+        if (thread != null) {
+            try {
+                thread.join(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void selectLoop() {
+        try {
+            while (running) {
+                selector.select(SWEEP_INTERVAL_MS);
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+
+                    if (!key.isValid()) {
+                        continue;
+                    }
+
+                    try {
+                        if (key.attachment() instanceof TurnAllocation allocation) {
+                            readRelay(allocation);
+                        } else {
+                            readListener();
+                        }
+                    } catch (IOException e) {
+                        log.debug("TURN 소켓 처리 오류 - Error: {}", e.getMessage());
+                    }
+                }
+
+                long now = System.currentTimeMillis();
+                if (now - lastSweepAt >= SWEEP_INTERVAL_MS) {
+                    sweep(now);
+                    lastSweepAt = now;
+                }
+            }
+        } catch (IOException e) {
+            log.error("TURN 셀렉터 종료 - Error: {}", e.getMessage());
+        } finally {
+            shutdown();
+        }
+    }
+
+    // 클라이언트 -> 서버 (STUN 요청 / Send 인디케이션 / ChannelData)
+    private void readListener() throws IOException {
+        for (int i = 0; i < MAX_READS_PER_WAKEUP; i++) {
+            receiveBuffer.clear();
+            InetSocketAddress from = (InetSocketAddress) listener.receive(receiveBuffer);
+            if (from == null) {
+                return;
+            }
+            receiveBuffer.flip();
+            if (!receiveBuffer.hasRemaining()) {
+                continue;
+            }
+
+            int firstByte = receiveBuffer.get(0) & 0xFF;
+            if (Stun.isChannelData(firstByte)) {
+                relayChannelData(from);
+            } else if (Stun.isStun(firstByte)) {
+                StunMessage message = StunMessage.parse(receiveBuffer);
+                if (message != null && message.hasValidFingerprint()) {
+                    handleStun(from, message);
+                }
+            }
+        }
+    }
+
+    // 상대 -> 릴레이 소켓 -> 클라이언트 (채널이 묶여 있으면 ChannelData, 아니면 Data 인디케이션)
+    private void readRelay(TurnAllocation allocation) throws IOException {
+        long now = System.currentTimeMillis();
+
+        for (int i = 0; i < MAX_READS_PER_WAKEUP; i++) {
+            receiveBuffer.clear();
+            receiveBuffer.position(Stun.CHANNEL_DATA_HEADER_LENGTH);  // ChannelData 헤더 자리 확보 (복사 없이 전달)
+            InetSocketAddress from = (InetSocketAddress) allocation.relay.receive(receiveBuffer);
+            if (from == null) {
+                return;
+            }
+            int length = receiveBuffer.position() - Stun.CHANNEL_DATA_HEADER_LENGTH;
+
+            if (!allocation.isPermitted(from.getAddress(), now)) {
+                packetsDropped.increment();
+                continue;
+            }
+
+            int channel = allocation.channelForPeer(from);
+            if (channel >= 0) {
+                receiveBuffer.putShort(0, (short) channel);
+                receiveBuffer.putShort(2, (short) length);
+                receiveBuffer.limit(Stun.CHANNEL_DATA_HEADER_LENGTH + length).position(0);
+                listener.send(receiveBuffer, allocation.client);
+            } else {
+                ByteBuffer payload = receiveBuffer.duplicate();
+                payload.limit(Stun.CHANNEL_DATA_HEADER_LENGTH + length).position(Stun.CHANNEL_DATA_HEADER_LENGTH);
+
+                ByteBuffer indication = new StunMessageBuilder(Stun.DATA_INDICATION, randomTransactionId(), length + 64)
+                        .xorAddress(Stun.ATTR_XOR_PEER_ADDRESS, from)
+                        .data(payload)
+                        .build(null);
+                listener.send(indication, allocation.client);
+            }
+
+            packetsToClient.increment();
+            bytesToClient.add(length);
+        }
+    }
+
+    private void relayChannelData(InetSocketAddress from) throws IOException {
+        TurnAllocation allocation = allocations.get(from);
+        if (allocation == null || receiveBuffer.remaining() < Stun.CHANNEL_DATA_HEADER_LENGTH) {
+            packetsDropped.increment();
+            return;
+        }
+
+        int channel = receiveBuffer.getShort(0) & 0xFFFF;
+        int length = receiveBuffer.getShort(2) & 0xFFFF;
+        InetSocketAddress peer = allocation.peerForChannel(channel);
+
+        if (peer == null || receiveBuffer.limit() < Stun.CHANNEL_DATA_HEADER_LENGTH + length
+                || !allocation.isPermitted(peer.getAddress(), System.currentTimeMillis())) {
+            packetsDropped.increment();
+            return;
+        }
+
+        receiveBuffer.limit(Stun.CHANNEL_DATA_HEADER_LENGTH + length).position(Stun.CHANNEL_DATA_HEADER_LENGTH);
+        allocation.relay.send(receiveBuffer, peer);
+
+        packetsToPeer.increment();
+        bytesToPeer.add(length);
+    }
+
+    private void handleStun(InetSocketAddress from, StunMessage message) throws IOException {
+        if (!message.isRequest()) {
+            if (message.getType() == Stun.SEND_INDICATION) {
+                relaySendIndication(from, message);
+            }
+            return;
+        }
+
+        switch (message.getMethod()) {
+            case Stun.BINDING -> {
+                bindingRequests.increment();
+                send(from, success(message)
+                        .xorAddress(Stun.ATTR_XOR_MAPPED_ADDRESS, from)
+                        .build(null));
+            }
+            case Stun.ALLOCATE, Stun.REFRESH, Stun.CREATE_PERMISSION, Stun.CHANNEL_BIND -> {
+                Auth auth = authenticate(from, message);
+                if (auth != null) {
+                    handleTurnRequest(from, message, auth);
+                }
+            }
+            default -> sendError(from, message, Stun.ERROR_BAD_REQUEST, "Bad Request", null);
+        }
+    }
+
+    private void handleTurnRequest(InetSocketAddress from, StunMessage message, Auth auth) throws IOException {
+        if (message.getMethod() == Stun.ALLOCATE) {
+            allocate(from, message, auth);
+            return;
+        }
+
+        TurnAllocation allocation = allocations.get(from);
+        if (allocation == null) {
+            sendError(from, message, Stun.ERROR_ALLOCATION_MISMATCH, "Allocation Mismatch", auth.key);
+            return;
+        }
+        if (!allocation.username.equals(auth.username)) {
+            sendError(from, message, Stun.ERROR_WRONG_CREDENTIALS, "Wrong Credentials", auth.key);
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+
+        switch (message.getMethod()) {
+            case Stun.REFRESH -> {
+                long lifetime = lifetime(message);
+                if (lifetime == 0) {
+                    release(allocation);
+                } else {
+                    allocation.expiresAt = now + lifetime * 1000;
+                }
+                send(from, success(message)
+                        .uint32(Stun.ATTR_LIFETIME, lifetime)
+                        .build(auth.key));
+            }
+            case Stun.CREATE_PERMISSION -> {
+                List<InetSocketAddress> peers = message.xorAddresses(Stun.ATTR_XOR_PEER_ADDRESS);
+                if (peers.isEmpty()) {
+                    sendError(from, message, Stun.ERROR_BAD_REQUEST, "Bad Request", auth.key);
+                    return;
+                }
+                // 하나라도 막힌 주소면 요청 전체 거부 (RFC 5766 9.2 - 일부만 설치하지 않음)
+                if (!peers.stream().allMatch(this::isAllowedPeer)) {
+                    sendError(from, message, Stun.ERROR_FORBIDDEN, "Forbidden", auth.key);
+                    return;
+                }
+                peers.forEach(peer -> allocation.permit(peer.getAddress(), now));
+                send(from, success(message).build(auth.key));
+            }
+            case Stun.CHANNEL_BIND -> {
+                int channel = message.channelNumber();
+                InetSocketAddress peer = message.xorAddress(Stun.ATTR_XOR_PEER_ADDRESS);
+                if (channel < Stun.MIN_CHANNEL || channel > Stun.MAX_CHANNEL || peer == null
+                        || !allocation.canBind(channel, peer)) {
+                    sendError(from, message, Stun.ERROR_BAD_REQUEST, "Bad Request", auth.key);
+                    return;
+                }
+                if (!isAllowedPeer(peer)) {
+                    sendError(from, message, Stun.ERROR_FORBIDDEN, "Forbidden", auth.key);
+                    return;
+                }
+                allocation.bind(channel, peer, now);
+                send(from, success(message).build(auth.key));
+            }
+            default -> sendError(from, message, Stun.ERROR_BAD_REQUEST, "Bad Request", auth.key);
+        }
+    }
+
+    private void allocate(InetSocketAddress from, StunMessage message, Auth auth) throws IOException {
+        TurnAllocation existing = allocations.get(from);
+        if (existing != null) {
+            // 같은 트랜잭션 재전송이면 성공 응답 재전송
+            if (Arrays.equals(existing.allocateTransactionId, message.getTransactionId())) {
+                sendAllocateSuccess(message, existing);
+            } else {
+                sendError(from, message, Stun.ERROR_ALLOCATION_MISMATCH, "Allocation Mismatch", auth.key);
+            }
+            return;
+        }
+
+        int transport = message.requestedTransport();
+        if (transport < 0) {
+            sendError(from, message, Stun.ERROR_BAD_REQUEST, "Bad Request", auth.key);
+            return;
+        }
+        if (transport != Stun.TRANSPORT_UDP) {
+            sendError(from, message, Stun.ERROR_UNSUPPORTED_TRANSPORT, "Unsupported Transport Protocol", auth.key);
+            return;
+        }
+        if (allocations.size() >= maxAllocations) {
+            sendError(from, message, Stun.ERROR_ALLOCATION_QUOTA, "Allocation Quota Reached", auth.key);
+            return;
+        }
+
+        DatagramChannel relay;
+        try {
+            relay = DatagramChannel.open(family(bindAddress.getAddress()));
+            relay.bind(new InetSocketAddress(bindAddress.getAddress(), 0));
+            relay.configureBlocking(false);
+        } catch (IOException e) {
+            log.warn("TURN 릴레이 소켓 생성 실패 - Client: {}, Error: {}", from, e.getMessage());
+            sendError(from, message, Stun.ERROR_INSUFFICIENT_CAPACITY, "Insufficient Capacity", auth.key);
+            return;
+        }
+
+        int relayPort = ((InetSocketAddress) relay.getLocalAddress()).getPort();
+        long now = System.currentTimeMillis();
+
+        TurnAllocation allocation = new TurnAllocation(from, auth.username, auth.key, message.getTransactionId(),
+                relay, new InetSocketAddress(advertisedAddress, relayPort), now + lifetime(message) * 1000);
+        allocation.selectionKey = relay.register(selector, SelectionKey.OP_READ, allocation);
+        allocations.put(from, allocation);
+        allocationsCreated.increment();
+
+        log.debug("TURN 할당 - Client: {}, User: {}, Relay: {}", from, auth.username, allocation.relayedAddress);
+        sendAllocateSuccess(message, allocation);
+    }
+
+    private void sendAllocateSuccess(StunMessage request, TurnAllocation allocation) throws IOException {
+        long remaining = Math.max(0, (allocation.expiresAt - System.currentTimeMillis()) / 1000);
+        send(allocation.client, success(request)
+                .xorAddress(Stun.ATTR_XOR_RELAYED_ADDRESS, allocation.relayedAddress)
+                .uint32(Stun.ATTR_LIFETIME, remaining)
+                .xorAddress(Stun.ATTR_XOR_MAPPED_ADDRESS, allocation.client)
+                .build(allocation.key));
+    }
+
+    private void relaySendIndication(InetSocketAddress from, StunMessage message) throws IOException {
+        TurnAllocation allocation = allocations.get(from);
+        InetSocketAddress peer = message.xorAddress(Stun.ATTR_XOR_PEER_ADDRESS);
+        byte[] data = message.bytes(Stun.ATTR_DATA);
+
+        if (allocation == null || peer == null || data == null
+                || !allocation.isPermitted(peer.getAddress(), System.currentTimeMillis())) {
+            packetsDropped.increment();
+            return;
+        }
+        if (!isAllowedPeer(peer)) {
+            packetsDropped.increment();
+            return;
+        }
+
+        allocation.relay.send(ByteBuffer.wrap(data), peer);
+        packetsToPeer.increment();
+        bytesToPeer.add(data.length);
+    }
+
+    private boolean isAllowedPeer(InetSocketAddress peer) {
+        if (peerPolicy.isAllowed(peer.getAddress())) {
+            return true;
+        }
+        forbiddenPeers.increment();
+        log.debug("TURN 릴레이 대상 거부 - Peer: {}", peer);
+        return false;
+    }
+
+    // 인증 실패 시 에러 응답을 보내고 null
+    private Auth authenticate(InetSocketAddress from, StunMessage message) throws IOException {
+        if (!message.has(Stun.ATTR_MESSAGE_INTEGRITY)) {
+            // 첫 요청은 보통 자격 증명 없이 옴 -> realm/nonce 안내
+            sendChallenge(from, message, Stun.ERROR_UNAUTHORIZED, "Unauthorized");
+            return null;
+        }
+
+        String username = message.string(Stun.ATTR_USERNAME);
+        String requestRealm = message.string(Stun.ATTR_REALM);
+        String requestNonce = message.string(Stun.ATTR_NONCE);
+
+        if (username == null || requestRealm == null || requestNonce == null) {
+            sendError(from, message, Stun.ERROR_BAD_REQUEST, "Bad Request", null);
+            return null;
+        }
+
+        if (!requestNonce.equals(nonce) && !requestNonce.equals(previousNonce)) {
+            sendChallenge(from, message, Stun.ERROR_STALE_NONCE, "Stale Nonce");
+            return null;
+        }
+
+        byte[] key = realm.equals(requestRealm) ? credentials.longTermKey(username, realm) : null;
+        if (key == null || !message.verifyIntegrity(key)) {
+            authFailures.increment();
+            sendChallenge(from, message, Stun.ERROR_UNAUTHORIZED, "Unauthorized");
+            return null;
+        }
+
+        return new Auth(username, key);
+    }
+
+    private void sendChallenge(InetSocketAddress to, StunMessage request, int code, String reason) throws IOException {
+        send(to, new StunMessageBuilder(request.getMethod() | Stun.ERROR_RESPONSE, request.getTransactionId())
+                .errorCode(code, reason)
+                .string(Stun.ATTR_REALM, realm)
+                .string(Stun.ATTR_NONCE, nonce)
+                .build(null));
+    }
+
+    private void sendError(InetSocketAddress to, StunMessage request, int code, String reason, byte[] key) throws IOException {
+        send(to, new StunMessageBuilder(request.getMethod() | Stun.ERROR_RESPONSE, request.getTransactionId())
+                .errorCode(code, reason)
+                .build(key));
+    }
+
+    private StunMessageBuilder success(StunMessage request) {
+        return new StunMessageBuilder(request.getMethod() | Stun.SUCCESS_RESPONSE, request.getTransactionId());
+    }
+
+    private void send(InetSocketAddress to, ByteBuffer message) throws IOException {
+        listener.send(message, to);
+    }
+
+    private long lifetime(StunMessage message) {
+        long requested = message.uint32(Stun.ATTR_LIFETIME);
+        if (requested < 0) {
+            return DEFAULT_LIFETIME_SECONDS;
+        }
+        return requested == 0 ? 0 : Math.max(DEFAULT_LIFETIME_SECONDS, Math.min(requested, MAX_LIFETIME_SECONDS));
+    }
+
+    private void sweep(long now) {
+        Iterator<TurnAllocation> iterator = allocations.values().iterator();
+        while (iterator.hasNext()) {
+            TurnAllocation allocation = iterator.next();
+            if (allocation.expiresAt <= now) {
+                iterator.remove();
+                closeRelay(allocation);
+            } else {
+                allocation.expire(now);
+            }
+        }
+
+        if (now - nonceRotatedAt >= NONCE_ROTATION_MS) {
+            rotateNonce(now);
+        }
+    }
+
+    private void release(TurnAllocation allocation) {
+        allocations.remove(allocation.client, allocation);
+        closeRelay(allocation);
+    }
+
+    private void closeRelay(TurnAllocation allocation) {
+        if (allocation.selectionKey != null) {
+            allocation.selectionKey.cancel();
+        }
+        try {
+            allocation.relay.close();
+        } catch (IOException e) {
+            log.debug("TURN 릴레이 소켓 종료 실패 - Error: {}", e.getMessage());
+        }
+    }
+
+    private void shutdown() {
+        allocations.values().forEach(this::closeRelay);
+        allocations.clear();
+        try {
+            listener.close();
+            selector.close();
+        } catch (IOException e) {
+            log.debug("TURN 서버 종료 중 오류 - Error: {}", e.getMessage());
+        }
+        log.info("STUN/TURN 서버 종료");
+    }
+
+    private void rotateNonce(long now) {
+        byte[] bytes = new byte[12];
+        random.nextBytes(bytes);
+        previousNonce = nonce;
+        nonce = HexFormat.of().formatHex(bytes);
+        nonceRotatedAt = now;
+    }
+
+    private static byte[] randomTransactionId() {
+        byte[] transactionId = new byte[12];
+        ThreadLocalRandom.current().nextBytes(transactionId);
+        return transactionId;
+    }
+
+    private static StandardProtocolFamily family(InetAddress address) {
+        return address.getAddress().length == 4 ? StandardProtocolFamily.INET : StandardProtocolFamily.INET6;
+    }
+
+    private record Auth(String username, byte[] key) {
+    }
+}
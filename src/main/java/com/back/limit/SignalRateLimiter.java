@@ -0,0 +1,325 @@
+package com.back.limit;
+
+import com.back.dto.ErrorMessage;
+import com.back.dto.SignalMessage;
+import com.back.dto.SignalPayloads;
+import com.back.metrics.SignalingMetrics;
+import com.back.service.RoomEventSink;
+import com.back.service.RoomService;
+import com.back.service.SignalRouter;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// inbound 시그널 속도 제한 (clientInboundChannel 인터셉터 - 실행기 큐에 넣기 전에 판단)
+// - 입장: 세션별 / 방별 / 전체(입장 폭주 시 admission control) 토큰 버킷, 초과 시 retryAfterMs와 함께 거절
+// - offer/answer/candidate/통계: 세션별 / 방별 토큰 버킷, 초과분은 조용히 버림
+// 방은 서버가 확인한 값만 사용 (클라이언트가 보낸 CONNECT 헤더 roomId로 남의 방 버킷을 비우지 못하게)
+// - 시그널: 사용자의 현재 방 (RoomService 멤버십) - 클러스터 모드에서 다른 노드 담당 방이면 방 한도 없이 세션 한도만
+// - 입장: 입장을 실제로 처리하는 곳(방 담당 노드 컨트롤러)에서 요청한 방 기준으로 admitRoomJoin
+// 방 버킷은 방이 닫히면 제거하고, 남은 것도 가득 차면 주기 정리에서 버림
+// 여러 버킷 중 하나라도 거절하면 앞서 쓴 토큰은 돌려줌 (거절된 요청이 다른 한도를 깎지 않도록)
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SignalRateLimiter implements ChannelInterceptor, RoomEventSink {
+
+    private static final String JOIN_DESTINATION = "/app/room/join";
+
+    // 입장 외에 제한하는 목적지 (퇴장/재개는 제한하지 않음)
+    private static final Set<String> SIGNAL_DESTINATIONS = Set.of(
+            "/app/webrtc/offer",
+            "/app/webrtc/answer",
+            "/app/webrtc/ice-candidate",
+            "/app/webrtc/connected",
+            "/app/stats/report"
+    );
+
+    private final SignalingMetrics signalingMetrics;
+    private final RoomService roomService;
+
+    // 브로커 설정(WebSocketConfig)보다 늦게 만들어지는 빈이라 지연 조회
+    private final ObjectProvider<SignalRouter> signalRouterProvider;
+
+    @Value("${app.websocket.limits.enabled:true}")
+    private boolean enabled;
+
+    // 세션당 시그널 - ICE 수집 직후 candidate 몰림을 burst로 흡수
+    @Value("${app.websocket.limits.signal-rate-per-session:50}")
+    private double signalRatePerSession;
+
+    @Value("${app.websocket.limits.signal-burst-per-session:200}")
+    private double signalBurstPerSession;
+
+    @Value("${app.websocket.limits.signal-rate-per-room:300}")
+    private double signalRatePerRoom;
+
+    @Value("${app.websocket.limits.signal-burst-per-room:1000}")
+    private double signalBurstPerRoom;
+
+    @Value("${app.websocket.limits.join-rate-per-session:1}")
+    private double joinRatePerSession;
+
+    @Value("${app.websocket.limits.join-burst-per-session:3}")
+    private double joinBurstPerSession;
+
+    @Value("${app.websocket.limits.join-rate-per-room:5}")
+    private double joinRatePerRoom;
+
+    @Value("${app.websocket.limits.join-burst-per-room:10}")
+    private double joinBurstPerRoom;
+
+    // 노드 전체 입장 처리량 (입장 폭주 시 브로커 보호)
+    @Value("${app.websocket.limits.join-rate-global:200}")
+    private double joinRateGlobal;
+
+    @Value("${app.websocket.limits.join-burst-global:400}")
+    private double joinBurstGlobal;
+
+    private final Map<String, SessionBuckets> sessions = new ConcurrentHashMap<>();
+    private final Map<String, RoomBuckets> rooms = new ConcurrentHashMap<>();
+    private volatile TokenBucket globalJoins;
+
+    private final LongAdder throttledJoins = new LongAdder();
+    private final LongAdder throttledSignals = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        roomService.addEventSink(this);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (!enabled) {
+            return message;
+        }
+
+        // 핫패스라 접근자를 만들지 않고 헤더에서 바로 읽음
+        MessageHeaders headers = message.getHeaders();
+        SimpMessageType messageType = SimpMessageHeaderAccessor.getMessageType(headers);
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(headers);
+        if (sessionId == null) {
+            return message;
+        }
+
+        if (messageType == SimpMessageType.DISCONNECT) {
+            sessions.remove(sessionId);
+            return message;
+        }
+
+        if (messageType != SimpMessageType.MESSAGE) {
+            return message;
+        }
+
+        String destination = SimpMessageHeaderAccessor.getDestination(headers);
+        boolean join = JOIN_DESTINATION.equals(destination);
+        if (!join && !SIGNAL_DESTINATIONS.contains(destination)) {
+            return message;
+        }
+
+        long now = System.nanoTime();
+        SessionBuckets session = sessions.computeIfAbsent(sessionId, id -> new SessionBuckets(now));
+        Principal user = SimpMessageHeaderAccessor.getUser(headers);
+
+        return join
+                ? admitJoin(message, sessionId, user, session, now)
+                : admitSignal(message, sessionId, session, memberRoom(user, now), now);
+    }
+
+    // 방별 입장 제한 - 요청의 방 ID로 판단하므로 입장을 처리하는 곳에서 호출 (클러스터 모드에서는 담당 노드)
+    // 거절하면 preSend에서 쓴 세션/전체 토큰을 돌려주고 재시도 시점을 보낸 뒤 false
+    public boolean admitRoomJoin(String roomId, String userId, String sessionId) {
+        if (!enabled || roomId == null) {
+            return true;
+        }
+
+        long now = System.nanoTime();
+        long retryAfterMs = rooms.computeIfAbsent(roomId, id -> new RoomBuckets(now)).joins.tryAcquire(now);
+        if (retryAfterMs == 0) {
+            return true;
+        }
+
+        // 세션이 이 노드에 있을 때만 (다른 노드에서 전달된 입장은 sessionId가 없고, 토큰도 접속 노드가 씀)
+        SessionBuckets session = sessionId != null ? sessions.get(sessionId) : null;
+        if (session != null) {
+            session.joins.refund();
+            globalJoins(now).refund();
+        }
+
+        rejectJoin(userId, sessionId, "room", retryAfterMs);
+        return false;
+    }
+
+    // 정원 초과로 입장하지 못한 경우 방 입장 토큰 반환 (가득 찬 방에 몰린 재시도가 자리가 난 뒤의 입장을 막지 않도록)
+    // 세션/전체 토큰은 그대로 둠 - 같은 클라이언트의 반복 재시도는 계속 제한
+    public void refundRoomJoin(String roomId) {
+        if (!enabled || roomId == null) {
+            return;
+        }
+
+        RoomBuckets room = rooms.get(roomId);
+        if (room != null) {
+            room.joins.refund();
+        }
+    }
+
+    @Override
+    public void joined(String roomId, String userId, LocalDateTime roomCreatedAt) {
+    }
+
+    @Override
+    public void left(String roomId, String userId) {
+    }
+
+    @Override
+    public void closed(String roomId) {
+        rooms.remove(roomId);
+    }
+
+    // 방 버킷 정리 (SlowConsumerEvictor 주기 작업에서 호출) - 가득 찬 버킷은 새로 만든 것과 같으므로 버림
+    // 세션 버킷은 DISCONNECT 때 제거
+    void pruneIdle() {
+        long now = System.nanoTime();
+        rooms.entrySet().removeIf(entry -> entry.getValue().isIdle(now));
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("trackedSessions", sessions.size());
+        stats.put("trackedRooms", rooms.size());
+        stats.put("throttledJoins", throttledJoins.sum());
+        stats.put("throttledSignals", throttledSignals.sum());
+        return stats;
+    }
+
+    // 서버가 확인한 사용자의 현재 방 버킷 (방에 없거나 다른 노드 담당 방이면 null)
+    private RoomBuckets memberRoom(Principal user, long now) {
+        String roomId = user != null ? roomService.getUserRoom(user.getName()) : null;
+        return roomId != null ? rooms.computeIfAbsent(roomId, id -> new RoomBuckets(now)) : null;
+    }
+
+    private Message<?> admitJoin(Message<?> message, String sessionId, Principal user,
+                                 SessionBuckets session, long now) {
+        long retryAfterMs = session.joins.tryAcquire(now);
+        if (retryAfterMs != 0) {
+            rejectJoin(user != null ? user.getName() : null, sessionId, "session", retryAfterMs);
+            return null;
+        }
+
+        retryAfterMs = globalJoins(now).tryAcquire(now);
+        if (retryAfterMs != 0) {
+            session.joins.refund();
+            rejectJoin(user != null ? user.getName() : null, sessionId, "global", retryAfterMs);
+            return null;
+        }
+
+        return message;
+    }
+
+    private Message<?> admitSignal(Message<?> message, String sessionId,
+                                   SessionBuckets session, RoomBuckets room, long now) {
+        String scope = null;
+        if (session.signals.tryAcquire(now) != 0) {
+            scope = "session";
+        } else if (room != null && room.signals.tryAcquire(now) != 0) {
+            session.signals.refund();
+            scope = "room";
+        }
+
+        if (scope == null) {
+            return message;
+        }
+
+        throttledSignals.increment();
+        signalingMetrics.recordThrottled("signal", scope);
+        log.debug("시그널 제한 - Session: {}, Scope: {}", sessionId, scope);
+        return null;
+    }
+
+    private void rejectJoin(String userId, String sessionId, String scope, long retryAfterMs) {
+        throttledJoins.increment();
+        signalingMetrics.recordThrottled("join", scope);
+        log.debug("입장 요청 제한 - Session: {}, Scope: {}, Retry after: {}ms", sessionId, scope, retryAfterMs);
+
+        sendRetryHint(userId, sessionId, retryAfterMs);
+    }
+
+    // 입장 거절은 재시도 시점을 알려줘 클라이언트가 바로 다시 몰리지 않게 함
+    private void sendRetryHint(String userId, String sessionId, long retryAfterMs) {
+        if (userId == null) {
+            return;
+        }
+
+        ErrorMessage error = ErrorMessage.builder()
+                .type("ROOM_ERROR")
+                .message("입장 요청이 많습니다. 잠시 후 다시 시도하세요.")
+                .code("JOIN_RATE_LIMITED")
+                .timestamp(System.currentTimeMillis())
+                .retryAfterMs(retryAfterMs)
+                .build();
+
+        SignalMessage signalMessage = SignalMessage.builder()
+                .type("error")
+                .toUserId(userId)
+                .data(new SignalPayloads.ErrorPayload(error, sessionId))
+                .build();
+
+        signalRouterProvider.getObject().sendToUser(userId, "/queue/error", signalMessage);
+    }
+
+    private TokenBucket globalJoins(long now) {
+        TokenBucket bucket = globalJoins;
+        if (bucket == null) {
+            synchronized (this) {
+                bucket = globalJoins;
+                if (bucket == null) {
+                    bucket = new TokenBucket(joinRateGlobal, joinBurstGlobal, now);
+                    globalJoins = bucket;
+                }
+            }
+        }
+        return bucket;
+    }
+
+    private final class SessionBuckets {
+        final TokenBucket signals;
+        final TokenBucket joins;
+
+        SessionBuckets(long now) {
+            this.signals = new TokenBucket(signalRatePerSession, signalBurstPerSession, now);
+            this.joins = new TokenBucket(joinRatePerSession, joinBurstPerSession, now);
+        }
+    }
+
+    private final class RoomBuckets {
+        final TokenBucket signals;
+        final TokenBucket joins;
+
+        RoomBuckets(long now) {
+            this.signals = new TokenBucket(signalRatePerRoom, signalBurstPerRoom, now);
+            this.joins = new TokenBucket(joinRatePerRoom, joinBurstPerRoom, now);
+        }
+
+        boolean isIdle(long now) {
+            return signals.isFull(now) && joins.isFull(now);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.back.limit;
+
+import com.back.config.SignalingScheduler;
+import com.back.metrics.SessionBacklogTracker;
+import com.back.metrics.SignalingMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// 느린 소비자 강제 종료
+// Spring 기본 한도(send-time-limit / send-buffer-size-limit)는 다음 메시지를 보낼 때만 검사하므로,
+// 주기적으로 SessionBacklogTracker를 보고 적체가 한도를 넘었거나 쓰기가 멈춘 세션을 먼저 닫음.
+// 닫힌 세션은 일반 연결 해제와 같이 처리됨 (세션 재개 유예 포함)
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SlowConsumerEvictor {
+
+    private final SessionBacklogTracker sessionBacklogTracker;
+    private final SignalRateLimiter signalRateLimiter;
+    private final SignalingMetrics signalingMetrics;
+    private final SignalingScheduler signalingScheduler;
+
+    @Value("${app.websocket.eviction.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.websocket.eviction.max-pending-messages:1000}")
+    private int maxPendingMessages;
+
+    @Value("${app.websocket.eviction.max-write-ms:5000}")
+    private long maxWriteMillis;
+
+    @Value("${app.websocket.eviction.check-interval-ms:1000}")
+    private long checkIntervalMs;
+
+    private ScheduledFuture<?> sweepTask;
+
+    private final LongAdder evicted = new LongAdder();
+
+    @PostConstruct
+    void start() {
+        sweepTask = signalingScheduler.scheduleWithFixedDelay("slow-consumer-evictor", this::sweep,
+                checkIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (sweepTask != null) {
+            sweepTask.cancel(false);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("maxPendingMessages", maxPendingMessages);
+        stats.put("maxWriteMs", maxWriteMillis);
+        stats.put("evicted", evicted.sum());
+        return stats;
+    }
+
+    private void sweep() {
+        signalRateLimiter.pruneIdle();
+
+        if (!enabled) {
+            return;
+        }
+
+        sessionBacklogTracker.findSlowConsumers(maxPendingMessages, maxWriteMillis).forEach((sessionId, reason) -> {
+            if (sessionBacklogTracker.closeSession(sessionId, CloseStatus.SESSION_NOT_RELIABLE)) {
+                evicted.increment();
+                signalingMetrics.recordEvicted(reason);
+                log.warn("느린 세션 강제 종료 - Session: {}, Reason: {}, Pending: {}",
+                        sessionId, reason, sessionBacklogTracker.getPendingMessages(sessionId));
+            }
+        });
+    }
+}
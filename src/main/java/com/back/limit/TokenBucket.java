@@ -0,0 +1,53 @@
+package com.back.limit;
+
+// 토큰 버킷 (초당 ratePerSecond개 충전, 최대 burst개 보관)
+// 세션/방 단위라 경합이 작아 객체 락으로 충분
+final class TokenBucket {
+
+    private final double tokensPerNano;
+    private final double capacity;
+
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(double ratePerSecond, double burst, long now) {
+        this.tokensPerNano = ratePerSecond / 1_000_000_000d;
+        this.capacity = Math.max(1, burst);
+        this.tokens = capacity;
+        this.refilledAt = now;
+    }
+
+    // 토큰 하나 사용. 성공하면 0, 부족하면 다음 토큰까지 남은 ms (1 이상)
+    synchronized long tryAcquire(long now) {
+        refill(now);
+
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+
+        if (tokensPerNano <= 0) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(1, (long) Math.ceil((1 - tokens) / tokensPerNano / 1_000_000d));
+    }
+
+    // 사용한 토큰 하나 되돌림 (함께 검사한 다른 버킷이 거절한 경우)
+    synchronized void refund() {
+        tokens = Math.min(capacity, tokens + 1);
+    }
+
+    // 가득 찬 버킷은 새 버킷과 같으므로 버려도 됨
+    synchronized boolean isFull(long now) {
+        refill(now);
+        return tokens >= capacity;
+    }
+
+    private void refill(long now) {
+        long elapsed = now - refilledAt;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed * tokensPerNano);
+            refilledAt = now;
+        }
+    }
+}
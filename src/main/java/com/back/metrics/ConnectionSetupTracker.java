@@ -0,0 +1,154 @@
+package com.back.metrics;
+
+import com.back.service.PeerPair;
+import com.back.service.RoomEventSink;
+import com.back.service.RoomService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// 피어 쌍별 통화 연결 준비 시간
+// 기준 시각은 두 사용자가 같은 방에 모인 시점(늦게 입장한 쪽의 입장), 단계별로 처음 도달한 시각만 기록
+// - offer / answer: 첫 중계, candidate: 어느 쪽이든 첫 candidate 중계, connected: 클라이언트의 /app/webrtc/connected
+// 결과는 webrtc.setup.time{phase, roomSize} (방 인원은 기록 시점 기준) - 조회 GET /api/webrtc/setup-times
+// 입장 시각은 RoomEventSink로 받으므로 Room 모니터 안에서 호출됨 - 방 단위 짧은 락만 사용
+@Component
+@RequiredArgsConstructor
+public class ConnectionSetupTracker implements RoomEventSink {
+
+    public enum Phase {
+        OFFER("offer"),
+        ANSWER("answer"),
+        CANDIDATE("candidate"),
+        CONNECTED("connected");
+
+        private final String tag;
+
+        Phase(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final RoomService roomService;
+    private final SignalingMetrics signalingMetrics;
+
+    @Value("${app.webrtc.setup-tracking.enabled:true}")
+    private boolean enabled;
+
+    private final Map<String, RoomSetups> rooms = new ConcurrentHashMap<>();
+
+    private final LongAdder pairsConnected = new LongAdder();
+    // 연결 알림 없이 한쪽이 나간 쌍
+    private final LongAdder pairsAbandoned = new LongAdder();
+
+    @PostConstruct
+    void start() {
+        if (enabled) {
+            roomService.addEventSink(this);
+        }
+    }
+
+    // 중계/알림 처리 시 호출. 이 쌍에서 처음 도달한 단계만 기록
+    public void record(String roomId, String fromUserId, String toUserId, Phase phase) {
+        if (!enabled || roomId == null || fromUserId == null || toUserId == null) {
+            return;
+        }
+
+        RoomSetups room = rooms.get(roomId);
+        if (room == null) {
+            // 입장 시각을 모르는 방 (재시작 복구, 다른 노드 담당 방)
+            return;
+        }
+
+        long now = System.nanoTime();
+        long elapsed;
+        synchronized (room) {
+            Long joinedFrom = room.joinedAt.get(fromUserId);
+            Long joinedTo = room.joinedAt.get(toUserId);
+            if (joinedFrom == null || joinedTo == null) {
+                return;
+            }
+
+            PairSetup pair = room.pairs.computeIfAbsent(PeerPair.of(fromUserId, toUserId),
+                    key -> new PairSetup(Math.max(joinedFrom, joinedTo)));
+            int bit = 1 << phase.ordinal();
+            if ((pair.reached & bit) != 0) {
+                return;
+            }
+            pair.reached |= bit;
+            elapsed = now - pair.startedAt;
+        }
+
+        if (phase == Phase.CONNECTED) {
+            pairsConnected.increment();
+        }
+        signalingMetrics.recordSetupPhase(phase.tag, roomService.getRoomSize(roomId), elapsed);
+    }
+
+    @Override
+    public void joined(String roomId, String userId, LocalDateTime roomCreatedAt) {
+        long now = System.nanoTime();
+        rooms.compute(roomId, (id, room) -> {
+            RoomSetups target = room != null ? room : new RoomSetups();
+            synchronized (target) {
+                target.joinedAt.put(userId, now);
+            }
+            return target;
+        });
+    }
+
+    @Override
+    public void left(String roomId, String userId) {
+        rooms.computeIfPresent(roomId, (id, room) -> {
+            synchronized (room) {
+                room.joinedAt.remove(userId);
+
+                Iterator<Map.Entry<PeerPair, PairSetup>> pairs = room.pairs.entrySet().iterator();
+                while (pairs.hasNext()) {
+                    Map.Entry<PeerPair, PairSetup> entry = pairs.next();
+                    if (entry.getKey().contains(userId)) {
+                        if ((entry.getValue().reached & (1 << Phase.CONNECTED.ordinal())) == 0) {
+                            pairsAbandoned.increment();
+                        }
+                        pairs.remove();
+                    }
+                }
+                return room.joinedAt.isEmpty() ? null : room;
+            }
+        });
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("pairsConnected", pairsConnected.sum());
+        stats.put("pairsAbandoned", pairsAbandoned.sum());
+        stats.put("trackedRooms", rooms.size());
+        return stats;
+    }
+
+    // 방 단위 상태 (이 객체의 모니터로 보호)
+    private static final class RoomSetups {
+        final Map<String, Long> joinedAt = new HashMap<>();
+        final Map<PeerPair, PairSetup> pairs = new HashMap<>();
+    }
+
+    private static final class PairSetup {
+        final long startedAt;
+        // 도달한 단계 (Phase.ordinal 비트)
+        int reached;
+
+        PairSetup(long startedAt) {
+            this.startedAt = startedAt;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.back.metrics;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+import org.springframework.web.socket.sockjs.transport.SockJsSession;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 세션별 전송 적체 추적
+// - clientOutboundChannel에 들어온 메시지: +1
+// - 실제 소켓 쓰기(sendMessage) 완료: -1
+// 차이 = outbound 큐 + ConcurrentWebSocketSessionDecorator 버퍼에 쌓여 아직 나가지 못한 메시지 수
+@Component
+public class SessionBacklogTracker implements ChannelInterceptor {
+
+    private final Map<String, SessionBacklog> backlogs = new ConcurrentHashMap<>();
+
+    // outbound 채널 인터셉터
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (sessionId != null) {
+            SessionBacklog backlog = backlogs.get(sessionId);
+            if (backlog != null) {
+                backlog.pending.incrementAndGet();
+            }
+        }
+        return message;
+    }
+
+    // WebSocketTransportRegistration.addDecoratorFactory 용 - 원본 세션을 쓰기 추적 세션으로 감쌈
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                SessionBacklog backlog = new SessionBacklog();
+                WebSocketSession tracked = backlog.track(session);
+                backlogs.put(session.getId(), backlog);
+                super.afterConnectionEstablished(tracked);
+            }
+
+            @Override
+            public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) throws Exception {
+                super.handleMessage(tracked(session), message);
+            }
+
+            @Override
+            public void handleTransportError(WebSocketSession session, Throwable exception) throws Exception {
+                super.handleTransportError(tracked(session), exception);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                WebSocketSession tracked = tracked(session);
+                try {
+                    super.afterConnectionClosed(tracked, closeStatus);
+                } finally {
+                    backlogs.remove(session.getId());
+                }
+            }
+        };
+    }
+
+    // 연결 수립 때와 같은 세션 객체를 넘겨야 하위 핸들러의 세션 통계가 맞음
+    private WebSocketSession tracked(WebSocketSession session) {
+        SessionBacklog backlog = backlogs.get(session.getId());
+        return backlog != null && backlog.session != null ? backlog.session : session;
+    }
+
+    public int getPendingMessages(String sessionId) {
+        SessionBacklog backlog = backlogs.get(sessionId);
+        return backlog != null ? backlog.pending.get() : 0;
+    }
+
+    // 진행 중인 소켓 쓰기가 시작된 지 몇 ms 지났는지 (쓰기 중이 아니면 0)
+    public long getWriteInProgressMillis(String sessionId) {
+        SessionBacklog backlog = backlogs.get(sessionId);
+        return backlog != null ? backlog.writeInProgressMillis() : 0;
+    }
+
+    // 순수 WebSocket 세션인지 (SockJS 세션은 바이너리 프레임을 보낼 수 없음)
+    public boolean isNativeWebSocket(String sessionId) {
+        SessionBacklog backlog = backlogs.get(sessionId);
+        WebSocketSession session = backlog != null ? backlog.session : null;
+        return session != null && !(WebSocketSessionDecorator.unwrap(session) instanceof SockJsSession);
+    }
+
+    public int getTrackedSessionCount() {
+        return backlogs.size();
+    }
+
+    public int getTotalPending() {
+        int total = 0;
+        for (SessionBacklog backlog : backlogs.values()) {
+            total += backlog.pending.get();
+        }
+        return total;
+    }
+
+    public int getMaxPending() {
+        int max = 0;
+        for (SessionBacklog backlog : backlogs.values()) {
+            max = Math.max(max, backlog.pending.get());
+        }
+        return max;
+    }
+
+    // 쓰기 한 건이 thresholdMillis 이상 걸리고 있는 세션 수
+    public int getSlowSessionCount(long thresholdMillis) {
+        int slow = 0;
+        for (SessionBacklog backlog : backlogs.values()) {
+            if (backlog.writeInProgressMillis() >= thresholdMillis) {
+                slow++;
+            }
+        }
+        return slow;
+    }
+
+    // 미전송 메시지가 maxPending을 넘었거나 쓰기 한 건이 maxWriteMillis 이상 걸리고 있는 세션 -> 사유
+    public Map<String, String> findSlowConsumers(int maxPending, long maxWriteMillis) {
+        Map<String, String> slow = new LinkedHashMap<>();
+        backlogs.forEach((sessionId, backlog) -> {
+            if (backlog.writeInProgressMillis() >= maxWriteMillis) {
+                slow.put(sessionId, "stalled-write");
+            } else if (backlog.pending.get() > maxPending) {
+                slow.put(sessionId, "backlog");
+            }
+        });
+        return slow;
+    }
+
+    // 세션 강제 종료 (이후 정리는 일반 연결 해제와 같은 경로)
+    public boolean closeSession(String sessionId, CloseStatus status) {
+        SessionBacklog backlog = backlogs.get(sessionId);
+        WebSocketSession session = backlog != null ? backlog.session : null;
+        if (session == null || !session.isOpen()) {
+            return false;
+        }
+
+        try {
+            session.close(status);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    // 적체가 큰 세션 상위 limit개 (/api/webrtc/stats 용)
+    public List<Map<String, Object>> getTopBacklogs(int limit) {
+        List<Map.Entry<String, SessionBacklog>> entries = new ArrayList<>(backlogs.entrySet());
+        entries.removeIf(entry -> entry.getValue().pending.get() == 0);
+        entries.sort(Comparator.comparingInt((Map.Entry<String, SessionBacklog> entry) -> entry.getValue().pending.get()).reversed());
+
+        List<Map<String, Object>> top = new ArrayList<>();
+        for (Map.Entry<String, SessionBacklog> entry : entries.subList(0, Math.min(limit, entries.size()))) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("sessionId", entry.getKey());
+            item.put("pendingMessages", entry.getValue().pending.get());
+            item.put("writeInProgressMs", entry.getValue().writeInProgressMillis());
+            top.add(item);
+        }
+        return top;
+    }
+
+    private static final class SessionBacklog {
+
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile long writeStartedAt;
+        private volatile WebSocketSession session;
+
+        private WebSocketSession track(WebSocketSession delegate) {
+            this.session = new WebSocketSessionDecorator(delegate) {
+                @Override
+                public void sendMessage(WebSocketMessage<?> message) throws IOException {
+                    writeStartedAt = System.nanoTime();
+                    try {
+                        super.sendMessage(message);
+                    } finally {
+                        writeStartedAt = 0;
+                        pending.updateAndGet(count -> count > 0 ? count - 1 : 0);
+                    }
+                }
+            };
+            return this.session;
+        }
+
+        private long writeInProgressMillis() {
+            long startedAt = writeStartedAt;
+            return startedAt == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        }
+    }
+}
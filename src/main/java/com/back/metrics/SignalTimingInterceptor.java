@@ -0,0 +1,79 @@
+package com.back.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.annotation.support.SimpAnnotationMethodMessageHandler;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// clientInboundChannel 인터셉터 - 시그널 수신부터 처리 완료까지 시간 측정
+// preSend는 WebSocket 수신 스레드에서, before/afterMessageHandled는 inbound 실행 스레드에서 호출됨
+@Component
+@RequiredArgsConstructor
+public class SignalTimingInterceptor implements ExecutorChannelInterceptor {
+
+    static final String RECEIVED_AT_HEADER = "webrtc.receivedAt";
+
+    // 메트릭 태그 카디널리티 제한 - 알 수 없는 목적지는 other
+    private static final Map<String, String> SIGNAL_TYPES = Map.of(
+            "/app/room/join", "join",
+            "/app/room/leave", "leave",
+            "/app/room/resume", "resume",
+            "/app/webrtc/offer", "offer",
+            "/app/webrtc/answer", "answer",
+            "/app/webrtc/ice-candidate", "ice-candidate",
+            "/app/webrtc/connected", "connected",
+            "/app/stats/report", "rtc-stats"
+    );
+
+    private final SignalingMetrics signalingMetrics;
+
+    private final ThreadLocal<Long> handleStartedAt = new ThreadLocal<>();
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, SimpMessageHeaderAccessor.class);
+
+        // 수신 직후 헤더가 아직 변경 가능한 상태일 때만 기록 (UserPrincipalInterceptor와 같은 방식)
+        if (accessor != null && accessor.isMutable() && accessor.getMessageType() == SimpMessageType.MESSAGE) {
+            accessor.setHeader(RECEIVED_AT_HEADER, System.nanoTime());
+        }
+
+        return message;
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        if (handler instanceof SimpAnnotationMethodMessageHandler) {
+            handleStartedAt.set(System.nanoTime());
+        }
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        if (!(handler instanceof SimpAnnotationMethodMessageHandler)) {
+            return;
+        }
+
+        Long startedAt = handleStartedAt.get();
+        handleStartedAt.remove();
+
+        Object receivedAt = message.getHeaders().get(RECEIVED_AT_HEADER);
+        if (startedAt == null || !(receivedAt instanceof Long received)) {
+            return;
+        }
+
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        String signalType = destination != null ? SIGNAL_TYPES.getOrDefault(destination, "other") : "other";
+
+        signalingMetrics.recordDispatch(signalType, startedAt - received, System.nanoTime() - received);
+    }
+}
@@ -0,0 +1,115 @@
+package com.back.metrics;
+
+import com.back.service.RoomService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+// 방/세션/브로커 상태 게이지 (스크레이프 시점에 값 조회)
+// 브로커 채널 실행기의 executor.* 기본 지표는 Spring Boot가 ThreadPoolTaskExecutor 빈마다 자동 등록함
+@Component
+@RequiredArgsConstructor
+public class SignalingMeterBinder implements MeterBinder {
+
+    // 쓰기 한 건이 이 시간 이상 걸리면 느린 세션으로 집계
+    private static final long SLOW_WRITE_MILLIS = 1000;
+
+    // STOMP 브로커 설정이 등록하는 채널 실행기 빈
+    private static final Map<String, String> CHANNEL_EXECUTORS = Map.of(
+            "inbound", "clientInboundChannelExecutor",
+            "outbound", "clientOutboundChannelExecutor",
+            "broker", "brokerChannelExecutor"
+    );
+
+    private final RoomService roomService;
+    private final SessionBacklogTracker sessionBacklogTracker;
+    private final ListableBeanFactory beanFactory;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("webrtc.rooms.active", roomService, RoomService::getRoomCount)
+                .description("활성 방 수")
+                .register(registry);
+
+        Gauge.builder("webrtc.participants", roomService, RoomService::getParticipantCount)
+                .description("방에 참여 중인 사용자 수")
+                .register(registry);
+
+        Gauge.builder("webrtc.websocket.sessions", this, binder -> binder.webSocketStats(SubProtocolWebSocketHandler.Stats::getTotalSessions))
+                .description("열려 있는 WebSocket/SockJS 세션 수")
+                .register(registry);
+
+        Gauge.builder("webrtc.websocket.sessions.limit.exceeded", this, binder -> binder.webSocketStats(SubProtocolWebSocketHandler.Stats::getLimitExceededSessions))
+                .description("전송 시간/버퍼 한도 초과로 닫힌 세션 누적 수")
+                .register(registry);
+
+        Gauge.builder("webrtc.websocket.sessions.transport.errors", this, binder -> binder.webSocketStats(SubProtocolWebSocketHandler.Stats::getTransportErrorSessions))
+                .description("전송 오류로 닫힌 세션 누적 수")
+                .register(registry);
+
+        Gauge.builder("webrtc.session.send.backlog.total", sessionBacklogTracker, SessionBacklogTracker::getTotalPending)
+                .description("전체 세션의 미전송 메시지 합계")
+                .register(registry);
+
+        Gauge.builder("webrtc.session.send.backlog.max", sessionBacklogTracker, SessionBacklogTracker::getMaxPending)
+                .description("세션별 미전송 메시지 수 최대값")
+                .register(registry);
+
+        Gauge.builder("webrtc.session.send.slow", sessionBacklogTracker, tracker -> tracker.getSlowSessionCount(SLOW_WRITE_MILLIS))
+                .description("소켓 쓰기가 1초 이상 걸리고 있는 세션 수")
+                .register(registry);
+
+        CHANNEL_EXECUTORS.forEach((channel, beanName) -> {
+            Gauge.builder("webrtc.broker.executor.queued", this, binder -> binder.executorStat(beanName, executor ->
+                            executor.getThreadPoolExecutor().getQueue().size()))
+                    .description("브로커 채널 실행기 대기 큐 길이")
+                    .tag("channel", channel)
+                    .register(registry);
+
+            Gauge.builder("webrtc.broker.executor.saturation", this, binder -> binder.executorStat(beanName, executor ->
+                            (double) executor.getActiveCount() / executor.getMaxPoolSize()))
+                    .description("브로커 채널 실행기 사용률 (active / max)")
+                    .tag("channel", channel)
+                    .register(registry);
+        });
+    }
+
+    private double webSocketStats(ToDoubleFunction<SubProtocolWebSocketHandler.Stats> stat) {
+        if (!beanFactory.containsBean("subProtocolWebSocketHandler")) {
+            return Double.NaN;
+        }
+
+        WebSocketHandler handler = WebSocketHandlerDecorator.unwrap(
+                beanFactory.getBean("subProtocolWebSocketHandler", WebSocketHandler.class));
+
+        return handler instanceof SubProtocolWebSocketHandler subProtocolHandler
+                ? stat.applyAsDouble(subProtocolHandler.getStats())
+                : Double.NaN;
+    }
+
+    // virtual 실행 모드에서는 풀이 없으므로 NaN
+    private double executorStat(String beanName, ToDoubleFunction<ThreadPoolTaskExecutor> stat) {
+        if (!beanFactory.containsBean(beanName)) {
+            return Double.NaN;
+        }
+
+        try {
+            return beanFactory.getBean(beanName) instanceof ThreadPoolTaskExecutor executor
+                    ? stat.applyAsDouble(executor)
+                    : Double.NaN;
+        } catch (IllegalStateException e) {
+            // 아직 초기화 전
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.back.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// 시그널링 핫패스 계측 (/actuator/prometheus 로 노출)
+// - webrtc.signal.dispatch: 프레임 수신 ~ @MessageMapping 처리 완료 (브로커 전달 포함)
+// - webrtc.signal.queue.wait: 프레임 수신 ~ inbound 스레드가 처리 시작하기까지 대기
+// - webrtc.signal.rejected: 유효성 검증 실패 (reason 태그)
+// - webrtc.room.size: 입장 직후 방 인원
+// - webrtc.signal.throttled: 속도 제한으로 버린 프레임 (kind=join|signal, scope=session|room|global)
+// - webrtc.session.evicted: 느린 소비자로 강제 종료한 세션 (reason 태그)
+// - webrtc.negotiation.offers: offer 처리 결과 (outcome=relayed|deferred|glare-rejected|held-released)
+// - webrtc.negotiation.time: 피어 쌍의 첫 offer 시도 ~ 첫 answer 중계
+// - webrtc.setup.time: 피어 쌍이 같은 방에 모인 시점 ~ 단계별 첫 도달 (phase=offer|answer|candidate|connected, roomSize 태그)
+@Component
+public class SignalingMetrics {
+
+    private static final int MAX_SETUP_ROOM_SIZE = 16;
+
+    // webrtc.setup.time phase 태그 (진행 순서)
+    public static final List<String> SETUP_PHASES = List.of("offer", "answer", "candidate", "connected");
+
+    private final MeterRegistry meterRegistry;
+
+    // 태그 값이 고정된 집합이라 미터를 캐시해 두고 핫패스에서 레지스트리 조회를 피함
+    private final Map<String, Timer> dispatchTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> queueWaitTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> rejectedCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> throttledCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> evictedCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> offerCounters = new ConcurrentHashMap<>();
+    private final Map<String, Timer> setupTimers = new ConcurrentHashMap<>();
+
+    private final DistributionSummary roomSizeOnJoin;
+    private final Timer negotiationTime;
+
+    public SignalingMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.roomSizeOnJoin = DistributionSummary.builder("webrtc.room.size")
+                .description("입장 직후 방 참여자 수")
+                .serviceLevelObjectives(1, 2, 3, 4, 5, 6, 8, 10)
+                .register(meterRegistry);
+        this.negotiationTime = Timer.builder("webrtc.negotiation.time")
+                .description("피어 쌍의 첫 offer 시도부터 첫 answer 중계까지 시간")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry);
+    }
+
+    public void recordDispatch(String signalType, long queueWaitNanos, long totalNanos) {
+        queueWaitTimers.computeIfAbsent(signalType, type -> timer("webrtc.signal.queue.wait", type,
+                        "시그널 프레임 수신 후 inbound 스레드 처리 시작까지 대기 시간"))
+                .record(queueWaitNanos, TimeUnit.NANOSECONDS);
+
+        dispatchTimers.computeIfAbsent(signalType, type -> timer("webrtc.signal.dispatch", type,
+                        "시그널 프레임 수신부터 중계 처리 완료까지 시간"))
+                .record(totalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRejected(String reason) {
+        rejectedCounters.computeIfAbsent(reason, r -> Counter.builder("webrtc.signal.rejected")
+                        .description("유효성 검증에서 거부된 시그널 수")
+                        .tag("reason", r)
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    public void recordThrottled(String kind, String scope) {
+        throttledCounters.computeIfAbsent(kind + '|' + scope, key -> Counter.builder("webrtc.signal.throttled")
+                        .description("속도 제한으로 처리하지 않은 프레임 수")
+                        .tag("kind", kind)
+                        .tag("scope", scope)
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    public void recordEvicted(String reason) {
+        evictedCounters.computeIfAbsent(reason, r -> Counter.builder("webrtc.session.evicted")
+                        .description("전송 적체로 강제 종료한 세션 수")
+                        .tag("reason", r)
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    public void recordOffer(String outcome) {
+        offerCounters.computeIfAbsent(outcome, o -> Counter.builder("webrtc.negotiation.offers")
+                        .description("offer 처리 결과별 수 (glare 방지)")
+                        .tag("outcome", o)
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    public void recordNegotiation(long nanos) {
+        negotiationTime.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    // 방 인원 태그는 MAX_SETUP_ROOM_SIZE 이상을 하나로 묶음
+    public void recordSetupPhase(String phase, int roomSize, long nanos) {
+        int sizeTag = Math.min(roomSize, MAX_SETUP_ROOM_SIZE);
+        setupTimers.computeIfAbsent(phase + '|' + sizeTag, key -> Timer.builder("webrtc.setup.time")
+                        .description("피어 쌍이 같은 방에 모인 뒤 협상 단계별 첫 도달까지 시간")
+                        .tag("phase", phase)
+                        .tag("roomSize", String.valueOf(sizeTag))
+                        .publishPercentiles(0.5, 0.9, 0.99)
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(Duration.ofMillis(1))
+                        .maximumExpectedValue(Duration.ofSeconds(60))
+                        .register(meterRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    // 방 인원별 -> 단계별 최근 백분위 (/api/webrtc/setup-times)
+    public Map<Integer, Map<String, Object>> getSetupTimes() {
+        Map<Integer, Map<String, Object>> bySize = new TreeMap<>();
+        setupTimers.forEach((key, timer) -> {
+            int separator = key.indexOf('|');
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("count", snapshot.count());
+            for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                summary.put("p" + Math.round(percentile.percentile() * 100) + "Ms",
+                        Math.round(percentile.value(TimeUnit.MILLISECONDS) * 10) / 10.0);
+            }
+            summary.put("maxMs", Math.round(snapshot.max(TimeUnit.MILLISECONDS) * 10) / 10.0);
+
+            int size = Integer.parseInt(key.substring(separator + 1));
+            bySize.computeIfAbsent(size, s -> new TreeMap<>(Comparator.comparingInt(SETUP_PHASES::indexOf)))
+                    .put(key.substring(0, separator), summary);
+        });
+        return bySize;
+    }
+
+    public void recordJoin(int roomSize) {
+        roomSizeOnJoin.record(roomSize);
+    }
+
+    private Timer timer(String name, String signalType, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .tag("type", signalType)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(5))
+                .register(meterRegistry);
+    }
+}
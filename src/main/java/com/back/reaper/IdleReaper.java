@@ -0,0 +1,382 @@
+package com.back.reaper;
+
+import com.back.cluster.ClusterCoordinator;
+import com.back.config.SignalingScheduler;
+import com.back.config.WebSocketEventListener;
+import com.back.dto.RoomPage;
+import com.back.dto.RoomSummary;
+import com.back.dto.SignalMessage;
+import com.back.dto.SignalPayloads;
+import com.back.service.RoomEventSink;
+import com.back.service.RoomService;
+import com.back.service.SessionResumeService;
+import com.back.service.SignalRouter;
+import com.back.trace.SignalTrace;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// 놓친 연결 해제로 남은 참여자 / 버려진 방 정리
+// 사용자·방마다 마지막 활동 시각만 갱신하고 (inbound 메시지마다 필드 쓰기 한 번), 타이머는 TimingWheel 하나에 등록.
+// 타이머가 만료되면 그때 마지막 활동을 보고 남은 시간만큼 다시 등록 (활동할 때마다 타이머를 옮기지 않음).
+// - 사용자: user-idle-seconds 동안 활동이 없고 살아 있는 세션도 없으면 (이 노드 접속 또는 다른 노드 접속) 퇴장 처리
+// - 방: room-idle-seconds 동안 활동이 없고 살아 있는 참여자가 없거나, 생성 후 room-max-age-seconds가 지나면 닫음
+// 남은 참여자에게는 user-disconnected(reason) / room-closed로 알림.
+// 세션 재개 유예(resume.grace-seconds)와 재시작 복구 유예(journal.restore-grace-seconds)보다 길게 설정
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdleReaper implements RoomEventSink, ChannelInterceptor {
+
+    private static final String IDLE_TIMEOUT = "idle-timeout";
+    private static final String ROOM_EXPIRED = "room-expired";
+
+    private final RoomService roomService;
+    private final ClusterCoordinator clusterCoordinator;
+    private final SignalTrace signalTrace;
+    private final SignalingScheduler signalingScheduler;
+    // 아래는 브로커 설정(이 인터셉터를 등록하는 쪽)에 의존하므로 지연 조회
+    private final ObjectProvider<SimpUserRegistry> userRegistryProvider;
+    private final ObjectProvider<SignalRouter> signalRouterProvider;
+    private final ObjectProvider<SessionResumeService> sessionResumeServiceProvider;
+    private final ObjectProvider<WebSocketEventListener> eventListenerProvider;
+
+    @Value("${app.webrtc.reaper.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.webrtc.reaper.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${app.webrtc.reaper.user-idle-seconds:120}")
+    private long userIdleSeconds;
+
+    @Value("${app.webrtc.reaper.room-idle-seconds:600}")
+    private long roomIdleSeconds;
+
+    // 0이면 제한 없음
+    @Value("${app.webrtc.reaper.room-max-age-seconds:0}")
+    private long roomMaxAgeSeconds;
+
+    private final Map<String, Entry> users = new ConcurrentHashMap<>();
+    private final Map<String, Entry> rooms = new ConcurrentHashMap<>();
+
+    // 등록/취소 요청 - tick 작업이 휠에 반영 (휠은 tick 작업에서만 접근)
+    private final Queue<Entry> pending = new ConcurrentLinkedQueue<>();
+
+    private TimingWheel<Entry> wheel;
+    private ScheduledFuture<?> tickTask;
+
+    // tick마다 갱신하는 시각 (활동 기록 시 시스템 시계를 읽지 않도록)
+    private volatile long clock = System.currentTimeMillis();
+    private volatile int timers;
+
+    private final LongAdder deferred = new LongAdder();
+    private final LongAdder expiredUsers = new LongAdder();
+    private final LongAdder closedRooms = new LongAdder();
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+
+        wheel = new TimingWheel<>(tickMs, clock);
+        roomService.addEventSink(this);
+
+        // 고정 지연 주기라 tick은 겹쳐 실행되지 않음 (휠은 한 번에 한 tick만 만짐)
+        tickTask = signalingScheduler.scheduleWithFixedDelay("idle-reaper", this::tick, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (tickTask != null) {
+            tickTask.cancel(false);
+        }
+    }
+
+    // 기동 전에 생긴 방/참여자 (재시작 복구분) 등록
+    @EventListener(ApplicationReadyEvent.class)
+    void trackExisting() {
+        if (!enabled) {
+            return;
+        }
+
+        RoomPage page = null;
+        do {
+            page = roomService.listRooms(page != null ? page.nextCursor() : null, 1000);
+            for (RoomSummary summary : page.rooms()) {
+                Entry room = trackRoom(summary.roomId(), summary.createdAt());
+                for (String userId : summary.participants()) {
+                    Entry user = new Entry(userId, room, clock);
+                    if (users.putIfAbsent(userId, user) == null) {
+                        pending.add(user);
+                    }
+                }
+            }
+        } while (page.nextCursor() != null);
+    }
+
+    // --- 활동 기록 (clientInboundChannel) ---
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (enabled) {
+            Principal principal = SimpMessageHeaderAccessor.getUser(message.getHeaders());
+            if (principal != null) {
+                touch(principal.getName());
+            }
+        }
+        return message;
+    }
+
+    public void touch(String userId) {
+        Entry user = users.get(userId);
+        if (user != null) {
+            long now = clock;
+            user.lastActivity = now;
+            user.room.lastActivity = now;
+        }
+    }
+
+    // --- RoomService 이벤트 (Room 모니터 안 - 맵/큐 갱신만) ---
+
+    @Override
+    public void joined(String roomId, String userId, LocalDateTime roomCreatedAt) {
+        Entry room = trackRoom(roomId, roomCreatedAt);
+        if (room.removed) {
+            // 방금 닫힌 방 ID로 다시 입장
+            rooms.remove(roomId, room);
+            room = trackRoom(roomId, roomCreatedAt);
+        }
+        room.lastActivity = clock;
+
+        Entry user = new Entry(userId, room, clock);
+        Entry previous = users.put(userId, user);
+        if (previous != null) {
+            release(previous);
+        }
+        pending.add(user);
+    }
+
+    @Override
+    public void left(String roomId, String userId) {
+        Entry user = users.get(userId);
+        // 이동은 새 방 입장이 먼저 기록되므로 이전 방 퇴장으로 새 항목을 지우지 않음
+        if (user != null && user.room.id.equals(roomId) && users.remove(userId, user)) {
+            release(user);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("userIdleSeconds", userIdleSeconds);
+        stats.put("roomIdleSeconds", roomIdleSeconds);
+        stats.put("roomMaxAgeSeconds", roomMaxAgeSeconds);
+        stats.put("trackedUsers", users.size());
+        stats.put("trackedRooms", rooms.size());
+        stats.put("timers", timers);
+        stats.put("deferred", deferred.sum());
+        stats.put("expiredUsers", expiredUsers.sum());
+        stats.put("closedRooms", closedRooms.sum());
+        return stats;
+    }
+
+    private Entry trackRoom(String roomId, LocalDateTime createdAt) {
+        return rooms.computeIfAbsent(roomId, id -> {
+            Entry room = new Entry(id, null, clock);
+            room.createdAtMillis = createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            pending.add(room);
+            return room;
+        });
+    }
+
+    private void release(Entry entry) {
+        entry.removed = true;
+        pending.add(entry);
+    }
+
+    // --- tick 작업 ---
+
+    private void tick() {
+        long now = System.currentTimeMillis();
+        clock = now;
+
+        Entry entry;
+        while ((entry = pending.poll()) != null) {
+            if (entry.removed) {
+                wheel.cancel(entry.timer);
+            } else if (entry.timer == null) {
+                entry.timer = wheel.schedule(entry, deadline(entry));
+            }
+        }
+
+        wheel.advance(now, timer -> check(timer, now));
+        timers = wheel.size();
+    }
+
+    private long deadline(Entry entry) {
+        if (entry.isUser()) {
+            return entry.lastActivity + userIdleSeconds * 1000;
+        }
+
+        long idleDeadline = entry.lastActivity + roomIdleSeconds * 1000;
+        return roomMaxAgeSeconds > 0
+                ? Math.min(idleDeadline, entry.createdAtMillis + roomMaxAgeSeconds * 1000)
+                : idleDeadline;
+    }
+
+    private void check(TimingWheel.Timer<Entry> timer, long now) {
+        Entry entry = timer.value();
+        if (entry.removed) {
+            return;
+        }
+        if (entry.isUser()) {
+            checkUser(entry, timer, now);
+        } else {
+            checkRoom(entry, timer, now);
+        }
+    }
+
+    private void checkUser(Entry user, TimingWheel.Timer<Entry> timer, long now) {
+        // 그 사이 활동 - 남은 시간만큼 다시 등록
+        long deadline = deadline(user);
+        if (deadline > now) {
+            wheel.reschedule(timer, deadline);
+            deferred.increment();
+            return;
+        }
+
+        String roomId = user.room.id;
+        if (!roomId.equals(roomService.getUserRoom(user.id))) {
+            // 이벤트 없이 정리된 경우 (정상적으로는 발생하지 않음)
+            if (users.remove(user.id, user)) {
+                user.removed = true;
+            }
+            return;
+        }
+
+        if (isLive(user.id)) {
+            // 연결은 살아 있고 조용할 뿐 (통화 중) - 다음 주기에 다시 확인
+            user.lastActivity = now;
+            wheel.reschedule(timer, deadline(user));
+            deferred.increment();
+            return;
+        }
+
+        if (users.remove(user.id, user)) {
+            user.removed = true;
+            expiredUsers.increment();
+            log.info("유휴 참여자 퇴장 처리 - User: {}, Room: {}", user.id, roomId);
+            expireUser(user.id, roomId, IDLE_TIMEOUT);
+        }
+    }
+
+    private void checkRoom(Entry room, TimingWheel.Timer<Entry> timer, long now) {
+        String roomId = room.id;
+        if (!roomService.isRoomExists(roomId)) {
+            rooms.remove(roomId, room);
+            // 그 사이 같은 ID로 다시 만들어졌으면 계속 추적
+            if (!roomService.isRoomExists(roomId) || rooms.putIfAbsent(roomId, room) != null) {
+                room.removed = true;
+                return;
+            }
+        }
+
+        if (roomMaxAgeSeconds > 0 && room.createdAtMillis + roomMaxAgeSeconds * 1000 <= now) {
+            closeRoom(room, ROOM_EXPIRED);
+            return;
+        }
+
+        long deadline = deadline(room);
+        if (deadline > now) {
+            wheel.reschedule(timer, deadline);
+            deferred.increment();
+            return;
+        }
+
+        List<String> participants = roomService.getRoomParticipants(roomId);
+        if (participants.stream().anyMatch(this::isLive)) {
+            room.lastActivity = now;
+            wheel.reschedule(timer, deadline(room));
+            deferred.increment();
+            return;
+        }
+
+        // 살아 있는 참여자가 없는 방 (연결 해제를 모두 놓친 경우)
+        closeRoom(room, IDLE_TIMEOUT);
+    }
+
+    private void closeRoom(Entry room, String reason) {
+        rooms.remove(room.id, room);
+        room.removed = true;
+        closedRooms.increment();
+
+        List<String> participants = roomService.getRoomParticipants(room.id);
+        log.info("방 닫기 - Room: {}, Reason: {}, Participants: {}", room.id, reason, participants.size());
+
+        SignalMessage closedMessage = SignalMessage.builder()
+                .type("room-closed")
+                .data(new SignalPayloads.RoomClosed(room.id, reason))
+                .build();
+        signalRouterProvider.getObject().broadcastToRoom(room.id, closedMessage);
+        signalTrace.record("room-closed", room.id, null, null, reason);
+
+        participants.forEach(userId -> expireUser(userId, room.id, reason));
+    }
+
+    private void expireUser(String userId, String roomId, String reason) {
+        sessionResumeServiceProvider.getObject().release(userId);
+        eventListenerProvider.getObject().disconnectUser(userId, roomId, reason);
+    }
+
+    // 이 노드에 STOMP 세션이 있거나 다른 노드에 접속한 참여자
+    private boolean isLive(String userId) {
+        return userRegistryProvider.getObject().getUser(userId) != null
+                || clusterCoordinator.isRemoteUser(userId);
+    }
+
+    // 사용자 또는 방 (room == null 이면 방)
+    private static final class Entry {
+        final String id;
+        final Entry room;
+        volatile long lastActivity;
+        volatile boolean removed;
+        long createdAtMillis;
+        TimingWheel.Timer<Entry> timer;  // tick 작업 전용
+
+        Entry(String id, Entry room, long lastActivity) {
+            this.id = id;
+            this.room = room;
+            this.lastActivity = lastActivity;
+        }
+
+        boolean isUser() {
+            return room != null;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.back.reaper;
+
+import java.util.function.Consumer;
+
+// 계층형 타이밍 휠 (64칸 x 4단 - tick 1초면 1단 64초, 2단 약 68분, 3단 약 73시간, 4단 약 194일)
+// 타이머는 칸마다 이중 연결 리스트로 매달려 있어 등록/취소 모두 O(1), 타이머당 객체 하나(Timer)만 사용.
+// 상위 단의 칸은 하위 단이 한 바퀴 돌 때 한 번 풀어서 다시 배치 (cascade).
+// 스레드 안전하지 않음 - 한 번에 한 스레드에서만 사용 (IdleReaper의 tick 작업, 고정 지연 주기라 겹쳐 실행되지 않음)
+public final class TimingWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+    // [단][칸] 원형 리스트의 머리 (빈 칸은 자기 자신을 가리킴)
+    private final Timer<T>[][] slots;
+
+    // 처리를 마친 마지막 tick
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+        this.slots = new Timer[LEVELS][SLOTS];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                Timer<T> head = new Timer<>(null);
+                head.prev = head;
+                head.next = head;
+                slots[level][slot] = head;
+            }
+        }
+    }
+
+    // deadline(밀리초)에 만료될 타이머 등록. 이미 지난 시각이면 다음 tick에 만료
+    public Timer<T> schedule(T value, long deadlineMillis) {
+        Timer<T> timer = new Timer<>(value);
+        timer.tick = Math.max(deadlineMillis / tickMillis, currentTick + 1);
+        place(timer);
+        size++;
+        return timer;
+    }
+
+    // 같은 타이머 객체를 새 deadline으로 다시 등록 (만료 콜백 안에서 호출 가능)
+    public void reschedule(Timer<T> timer, long deadlineMillis) {
+        if (timer.isScheduled()) {
+            unlink(timer);
+        } else {
+            size++;
+        }
+        timer.tick = Math.max(deadlineMillis / tickMillis, currentTick + 1);
+        place(timer);
+    }
+
+    // 등록된 타이머면 제거하고 true
+    public boolean cancel(Timer<T> timer) {
+        if (timer == null || !timer.isScheduled()) {
+            return false;
+        }
+        unlink(timer);
+        size--;
+        return true;
+    }
+
+    // now까지 지난 tick을 처리하며 만료된 값을 onExpire로 전달. 만료 수 반환
+    public int advance(long nowMillis, Consumer<Timer<T>> onExpire) {
+        long targetTick = nowMillis / tickMillis;
+        int expired = 0;
+
+        while (currentTick < targetTick) {
+            long tick = ++currentTick;
+
+            // 하위 단이 한 바퀴를 돈 단부터 위에서 아래로 풀어서 다시 배치
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((tick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    cascade(level, (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK));
+                }
+            }
+
+            Timer<T> head = slots[0][(int) (tick & SLOT_MASK)];
+            while (head.next != head) {
+                Timer<T> timer = head.next;
+                unlink(timer);
+                size--;
+                expired++;
+                onExpire.accept(timer);
+            }
+        }
+        return expired;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void cascade(int level, int slot) {
+        Timer<T> head = slots[level][slot];
+        Timer<T> timer = head.next;
+        head.prev = head;
+        head.next = head;
+
+        while (timer != head) {
+            Timer<T> next = timer.next;
+            place(timer);
+            timer = next;
+        }
+    }
+
+    private void place(Timer<T> timer) {
+        long delta = timer.tick - currentTick;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+
+        // 최상위 단 범위를 넘으면 가장 먼 칸에 두고 cascade 때 다시 계산
+        long tick = level == LEVELS - 1 && delta >= 1L << (SLOT_BITS * LEVELS)
+                ? currentTick + (1L << (SLOT_BITS * LEVELS)) - 1
+                : timer.tick;
+        Timer<T> head = slots[level][(int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK)];
+
+        timer.prev = head.prev;
+        timer.next = head;
+        head.prev.next = timer;
+        head.prev = timer;
+    }
+
+    private static <T> void unlink(Timer<T> timer) {
+        timer.prev.next = timer.next;
+        timer.next.prev = timer.prev;
+        timer.prev = null;
+        timer.next = null;
+    }
+
+    // 휠에 매달리는 타이머 (리스트 노드 겸용)
+    public static final class Timer<T> {
+        private final T value;
+        private long tick;
+        private Timer<T> prev;
+        private Timer<T> next;
+
+        private Timer(T value) {
+            this.value = value;
+        }
+
+        public T value() {
+            return value;
+        }
+
+        public boolean isScheduled() {
+            return next != null;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.back.sdp;
+
+import com.back.metrics.SignalingMetrics;
+import com.back.service.RoomEventSink;
+import com.back.service.RoomService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// offer/answer 중계 전 SDP 검사
+// 형식 오류/한도 초과는 전달하지 않고 거절, 방 정책(기본값: app.webrtc.sdp.codecs / blocked-extensions)이 있으면 코덱/확장 정리.
+// 방별 정책은 REST로 지정 (클러스터 모드에서는 방 담당 노드에서), 방이 닫히면 해제
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SdpGuard implements RoomEventSink {
+
+    private final SignalingMetrics signalingMetrics;
+    private final RoomService roomService;
+
+    @Value("${app.webrtc.sdp.enabled:true}")
+    private boolean enabled;
+
+    // Chrome offer(오디오+비디오) 약 6KB 기준 여유
+    @Value("${app.webrtc.sdp.max-length:32768}")
+    private int maxLength;
+
+    @Value("${app.webrtc.sdp.max-line-length:1024}")
+    private int maxLineLength;
+
+    @Value("${app.webrtc.sdp.max-media-sections:32}")
+    private int maxMediaSections;
+
+    // 기본 정책 - 비어 있으면 정리하지 않음
+    @Value("${app.webrtc.sdp.codecs:}")
+    private List<String> defaultCodecs;
+
+    @Value("${app.webrtc.sdp.blocked-extensions:}")
+    private List<String> defaultBlockedExtensions;
+
+    @Value("${app.webrtc.sdp.max-room-policies:10000}")
+    private int maxRoomPolicies;
+
+    private SdpParser parser;
+    private SdpPolicy defaultPolicy;
+
+    private final Map<String, SdpPolicy> roomPolicies = new ConcurrentHashMap<>();
+
+    private final LongAdder inspected = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder trimmed = new LongAdder();
+    private final LongAdder removedCodecs = new LongAdder();
+    private final LongAdder removedExtensions = new LongAdder();
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        parser = new SdpParser(maxLength, maxLineLength, maxMediaSections);
+        defaultPolicy = SdpPolicy.of(defaultCodecs, defaultBlockedExtensions);
+        roomService.addEventSink(this);
+    }
+
+    public SdpResult inspect(String roomId, String sdp) {
+        if (!enabled) {
+            return SdpResult.accepted(sdp);
+        }
+
+        SdpResult result = parser.process(sdp, getPolicy(roomId));
+        inspected.increment();
+
+        if (result.isRejected()) {
+            rejected.increment();
+            signalingMetrics.recordRejected("sdp-" + result.rejectReason());
+            return result;
+        }
+
+        bytesIn.add(sdp.length());
+        bytesOut.add(result.sdp().length());
+        if (result.isTrimmed()) {
+            trimmed.increment();
+            removedCodecs.add(result.removedCodecs());
+            removedExtensions.add(result.removedExtensions());
+        }
+        return result;
+    }
+
+    public SdpPolicy getPolicy(String roomId) {
+        SdpPolicy policy = roomId != null ? roomPolicies.get(roomId) : null;
+        return policy != null ? policy : defaultPolicy;
+    }
+
+    // 방 정책 지정 (빈 정책이면 해제). 방 수 한도를 넘으면 false
+    public boolean setRoomPolicy(String roomId, SdpPolicy policy) {
+        if (policy == SdpPolicy.NONE) {
+            roomPolicies.remove(roomId);
+            return true;
+        }
+        if (roomPolicies.size() >= maxRoomPolicies && !roomPolicies.containsKey(roomId)) {
+            return false;
+        }
+
+        roomPolicies.put(roomId, policy);
+        log.info("SDP 정책 지정 - Room: {}, Codecs: {}, Blocked extensions: {}",
+                roomId, policy.getCodecs(), policy.getBlockedExtensions());
+        return true;
+    }
+
+    public void clearRoomPolicy(String roomId) {
+        roomPolicies.remove(roomId);
+    }
+
+    @Override
+    public void joined(String roomId, String userId, LocalDateTime roomCreatedAt) {
+    }
+
+    @Override
+    public void left(String roomId, String userId) {
+    }
+
+    // 마지막 참여자가 나간 방의 정책 해제 (같은 ID로 다시 열린 방은 기본 정책부터 시작)
+    @Override
+    public void closed(String roomId) {
+        if (roomPolicies.remove(roomId) != null) {
+            log.debug("SDP 정책 해제 (방 종료) - Room: {}", roomId);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long in = bytesIn.sum();
+        stats.put("enabled", enabled);
+        stats.put("defaultPolicy", defaultPolicy);
+        stats.put("roomPolicies", roomPolicies.size());
+        stats.put("inspected", inspected.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("trimmed", trimmed.sum());
+        stats.put("removedCodecs", removedCodecs.sum());
+        stats.put("removedExtensions", removedExtensions.sum());
+        stats.put("savedRatio", in > 0 ? Math.round((1 - (double) bytesOut.sum() / in) * 1000) / 1000.0 : 0.0);
+        return stats;
+    }
+}
@@ -0,0 +1,352 @@
+package com.back.sdp;
+
+// SDP(RFC 8866) 검증 + 정책에 따른 코덱/확장 정리
+// 줄 단위로 나누지 않고 인덱스로만 훑음 - 검증은 할당 없음, 정리는 결과 StringBuilder 하나와 섹션별 비트셋만 사용
+// 페이로드 타입은 0~127이라 long 두 개짜리 비트셋으로 표시
+public final class SdpParser {
+
+    public static final String MISSING = "missing";
+    public static final String TOO_LARGE = "too-large";
+    public static final String LINE_TOO_LONG = "line-too-long";
+    public static final String TOO_MANY_MEDIA = "too-many-media";
+    public static final String MALFORMED = "malformed";
+    public static final String NO_MEDIA = "no-media";
+
+    private static final String RTPMAP = "a=rtpmap:";
+    private static final String FMTP = "a=fmtp:";
+    private static final String RTCP_FB = "a=rtcp-fb:";
+    private static final String EXTMAP = "a=extmap:";
+    private static final String APT = "apt=";
+
+    private final int maxLength;
+    private final int maxLineLength;
+    private final int maxMediaSections;
+
+    public SdpParser(int maxLength, int maxLineLength, int maxMediaSections) {
+        this.maxLength = maxLength;
+        this.maxLineLength = maxLineLength;
+        this.maxMediaSections = maxMediaSections;
+    }
+
+    // 검증 후 정책이 있으면 정리. 바뀐 게 없으면 원본 문자열을 그대로 돌려줌
+    public SdpResult process(String sdp, SdpPolicy policy) {
+        String reason = validate(sdp);
+        if (reason != null) {
+            return SdpResult.rejected(reason);
+        }
+        if (policy == null || !policy.isTrimming()) {
+            return SdpResult.accepted(sdp);
+        }
+        return trim(sdp, policy);
+    }
+
+    // 거절 사유, 정상이면 null
+    public String validate(String sdp) {
+        if (sdp == null || sdp.isEmpty()) {
+            return MISSING;
+        }
+
+        int length = sdp.length();
+        if (length > maxLength) {
+            return TOO_LARGE;
+        }
+        if (!sdp.startsWith("v=0")) {
+            return MALFORMED;
+        }
+
+        boolean origin = false;
+        boolean sessionName = false;
+        boolean timing = false;
+        int mediaSections = 0;
+
+        int start = 0;
+        while (start < length) {
+            // 줄 끝 찾기 + 제어 문자 검사 (CR은 LF 앞에서만 허용)
+            int end = start;
+            while (end < length) {
+                char c = sdp.charAt(end);
+                if (c == '\n') {
+                    break;
+                }
+                if (c < 0x20 && c != '\t' && !(c == '\r' && end + 1 < length && sdp.charAt(end + 1) == '\n')) {
+                    return MALFORMED;
+                }
+                end++;
+            }
+
+            int contentEnd = contentEnd(sdp, start, end);
+            int lineLength = contentEnd - start;
+            if (lineLength > maxLineLength) {
+                return LINE_TOO_LONG;
+            }
+            if (lineLength < 2 || sdp.charAt(start + 1) != '=') {
+                return MALFORMED;
+            }
+
+            char type = sdp.charAt(start);
+            if (type < 'a' || type > 'z') {
+                return MALFORMED;
+            }
+
+            switch (type) {
+                case 'o' -> origin = true;
+                case 's' -> sessionName = true;
+                case 't' -> timing = true;
+                case 'm' -> {
+                    if (++mediaSections > maxMediaSections) {
+                        return TOO_MANY_MEDIA;
+                    }
+                    // 세션 필수 줄 뒤에 와야 하고, <media> <port> <proto> <fmt ...> 형식
+                    if (!origin || !sessionName || !timing || countTokens(sdp, start + 2, contentEnd) < 4) {
+                        return MALFORMED;
+                    }
+                }
+                default -> {
+                }
+            }
+
+            start = end + 1;
+        }
+
+        if (!origin || !sessionName || !timing) {
+            return MALFORMED;
+        }
+        return mediaSections == 0 ? NO_MEDIA : null;
+    }
+
+    // 검증을 통과한 SDP만 들어옴
+    private SdpResult trim(String sdp, SdpPolicy policy) {
+        int length = sdp.length();
+        StringBuilder out = new StringBuilder(length);
+        long[] kept = new long[2];
+        long[] rtx = new long[2];
+
+        int removedCodecs = 0;
+        int removedExtensions = 0;
+        boolean trimmingSection = false;
+
+        int start = 0;
+        while (start < length) {
+            int end = lineEnd(sdp, start);
+            int contentEnd = contentEnd(sdp, start, end);
+
+            if (sdp.startsWith("m=", start)) {
+                int next = sdp.indexOf("\nm=", end);
+                int sectionEnd = next < 0 ? length : next + 1;
+
+                trimmingSection = collectPayloads(sdp, start, contentEnd, end + 1, sectionEnd, policy, kept, rtx);
+                if (trimmingSection) {
+                    removedCodecs += appendMediaLine(out, sdp, start, contentEnd, kept);
+                } else {
+                    appendLine(out, sdp, start, contentEnd);
+                }
+            } else if (sdp.startsWith(EXTMAP, start) && isBlockedExtension(sdp, start, contentEnd, policy)) {
+                removedExtensions++;
+            } else if (!trimmingSection || !isRemovedPayloadLine(sdp, start, contentEnd, kept)) {
+                appendLine(out, sdp, start, contentEnd);
+            }
+
+            start = end + 1;
+        }
+
+        if (removedCodecs == 0 && removedExtensions == 0) {
+            return SdpResult.accepted(sdp);
+        }
+        return new SdpResult(out.toString(), null, removedCodecs, removedExtensions);
+    }
+
+    // 미디어 섹션에서 남길 페이로드 타입 표시. 코덱을 정리하지 않는 섹션이면 false
+    // rtx는 apt 대상이 남을 때만 유지, 남는 코덱이 없으면 섹션을 건드리지 않음 (협상이 깨지지 않도록)
+    private static boolean collectPayloads(String sdp, int mLineStart, int mLineEnd, int bodyStart, int bodyEnd,
+                                           SdpPolicy policy, long[] kept, long[] rtx) {
+        if (policy.codecNames.length == 0) {
+            return false;
+        }
+
+        // RTP 미디어만 (데이터 채널 섹션 제외)
+        int proto = sdp.indexOf("RTP/", mLineStart);
+        if (proto < 0 || proto >= mLineEnd) {
+            return false;
+        }
+
+        kept[0] = kept[1] = 0;
+        rtx[0] = rtx[1] = 0;
+
+        // a=rtpmap:<pt> <name>/<clock>[/<channels>]
+        for (int start = bodyStart; start < bodyEnd; ) {
+            int end = lineEnd(sdp, start);
+            int contentEnd = contentEnd(sdp, start, end);
+            if (sdp.startsWith(RTPMAP, start)) {
+                int ptStart = start + RTPMAP.length();
+                int space = indexOf(sdp, ' ', ptStart, contentEnd);
+                int payloadType = parsePayloadType(sdp, ptStart, space);
+                if (payloadType >= 0 && space < contentEnd) {
+                    int nameEnd = indexOf(sdp, '/', space + 1, contentEnd);
+                    if (nameEnd - space - 1 == 3 && sdp.regionMatches(true, space + 1, "rtx", 0, 3)) {
+                        set(rtx, payloadType);
+                    } else if (policy.allowsCodec(sdp, space + 1, nameEnd)) {
+                        set(kept, payloadType);
+                    }
+                }
+            }
+            start = end + 1;
+        }
+
+        // a=fmtp:<rtx pt> apt=<pt>
+        if ((rtx[0] | rtx[1]) != 0) {
+            for (int start = bodyStart; start < bodyEnd; ) {
+                int end = lineEnd(sdp, start);
+                int contentEnd = contentEnd(sdp, start, end);
+                if (sdp.startsWith(FMTP, start)) {
+                    int ptStart = start + FMTP.length();
+                    int space = indexOf(sdp, ' ', ptStart, contentEnd);
+                    int payloadType = parsePayloadType(sdp, ptStart, space);
+                    if (payloadType >= 0 && has(rtx, payloadType)) {
+                        int apt = sdp.indexOf(APT, space);
+                        if (apt >= 0 && apt < contentEnd) {
+                            int aptStart = apt + APT.length();
+                            int aptEnd = aptStart;
+                            while (aptEnd < contentEnd && Character.isDigit(sdp.charAt(aptEnd))) {
+                                aptEnd++;
+                            }
+                            int target = parsePayloadType(sdp, aptStart, aptEnd);
+                            if (target >= 0 && has(kept, target)) {
+                                set(kept, payloadType);
+                            }
+                        }
+                    }
+                }
+                start = end + 1;
+            }
+        }
+
+        return (kept[0] | kept[1]) != 0;
+    }
+
+    // m=<media> <port> <proto> 뒤의 페이로드 목록에서 남는 것만 기록. 제거한 수 반환
+    private static int appendMediaLine(StringBuilder out, String sdp, int start, int contentEnd, long[] kept) {
+        int headerEnd = contentEnd;
+        int spaces = 0;
+        for (int i = start; i < contentEnd; i++) {
+            if (sdp.charAt(i) == ' ' && ++spaces == 3) {
+                headerEnd = i;
+                break;
+            }
+        }
+        out.append(sdp, start, headerEnd);
+
+        int removed = 0;
+        int i = headerEnd;
+        while (i < contentEnd) {
+            while (i < contentEnd && sdp.charAt(i) == ' ') {
+                i++;
+            }
+            int tokenStart = i;
+            while (i < contentEnd && sdp.charAt(i) != ' ') {
+                i++;
+            }
+            if (tokenStart == i) {
+                break;
+            }
+
+            int payloadType = parsePayloadType(sdp, tokenStart, i);
+            if (payloadType < 0 || has(kept, payloadType)) {
+                out.append(' ').append(sdp, tokenStart, i);
+            } else {
+                removed++;
+            }
+        }
+        out.append("\r\n");
+        return removed;
+    }
+
+    // 제거된 페이로드 타입의 rtpmap/fmtp/rtcp-fb 줄 (rtcp-fb:* 는 유지)
+    private static boolean isRemovedPayloadLine(String sdp, int start, int contentEnd, long[] kept) {
+        int ptStart;
+        if (sdp.startsWith(RTPMAP, start)) {
+            ptStart = start + RTPMAP.length();
+        } else if (sdp.startsWith(FMTP, start)) {
+            ptStart = start + FMTP.length();
+        } else if (sdp.startsWith(RTCP_FB, start)) {
+            ptStart = start + RTCP_FB.length();
+        } else {
+            return false;
+        }
+
+        int payloadType = parsePayloadType(sdp, ptStart, indexOf(sdp, ' ', ptStart, contentEnd));
+        return payloadType >= 0 && !has(kept, payloadType);
+    }
+
+    // a=extmap:<id>[/<direction>] <uri> [<attributes>]
+    private static boolean isBlockedExtension(String sdp, int start, int contentEnd, SdpPolicy policy) {
+        if (policy.blockedUris.length == 0) {
+            return false;
+        }
+        int space = indexOf(sdp, ' ', start + EXTMAP.length(), contentEnd);
+        if (space >= contentEnd) {
+            return false;
+        }
+        int uriEnd = indexOf(sdp, ' ', space + 1, contentEnd);
+        return policy.blocksExtension(sdp, space + 1, uriEnd);
+    }
+
+    private static void appendLine(StringBuilder out, String sdp, int start, int contentEnd) {
+        out.append(sdp, start, contentEnd).append("\r\n");
+    }
+
+    private static int lineEnd(String sdp, int start) {
+        int end = sdp.indexOf('\n', start);
+        return end < 0 ? sdp.length() : end;
+    }
+
+    private static int contentEnd(String sdp, int start, int end) {
+        return end > start && sdp.charAt(end - 1) == '\r' ? end - 1 : end;
+    }
+
+    // [from, to) 안에서 ch 위치, 없으면 to
+    private static int indexOf(String sdp, char ch, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (sdp.charAt(i) == ch) {
+                return i;
+            }
+        }
+        return to;
+    }
+
+    private static int countTokens(String sdp, int from, int to) {
+        int tokens = 0;
+        boolean inToken = false;
+        for (int i = from; i < to; i++) {
+            boolean space = sdp.charAt(i) == ' ';
+            if (!space && !inToken) {
+                tokens++;
+            }
+            inToken = !space;
+        }
+        return tokens;
+    }
+
+    // 0~127 페이로드 타입, 아니면 -1
+    private static int parsePayloadType(String sdp, int from, int to) {
+        if (to <= from || to - from > 3) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = sdp.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value <= 127 ? value : -1;
+    }
+
+    private static boolean has(long[] bits, int payloadType) {
+        return (bits[payloadType >>> 6] & (1L << (payloadType & 63))) != 0;
+    }
+
+    private static void set(long[] bits, int payloadType) {
+        bits[payloadType >>> 6] |= 1L << (payloadType & 63);
+    }
+}
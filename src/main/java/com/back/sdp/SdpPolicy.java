@@ -0,0 +1,77 @@
+package com.back.sdp;
+
+import java.util.List;
+import java.util.Locale;
+
+// 방별 SDP 정리 정책
+// - codecs: 남길 코덱 이름 (opus, vp8 등, 대소문자 무시) - 비어 있으면 코덱은 그대로. rtx는 대상 코덱이 남을 때만 유지
+// - blockedExtensions: 제거할 RTP 헤더 확장 URI (a=extmap)
+public final class SdpPolicy {
+
+    public static final SdpPolicy NONE = new SdpPolicy(List.of(), List.of());
+
+    private final List<String> codecs;
+    private final List<String> blockedExtensions;
+
+    // 핫패스 비교용
+    final String[] codecNames;
+    final String[] blockedUris;
+
+    private SdpPolicy(List<String> codecs, List<String> blockedExtensions) {
+        this.codecs = codecs;
+        this.blockedExtensions = blockedExtensions;
+        this.codecNames = codecs.toArray(String[]::new);
+        this.blockedUris = blockedExtensions.toArray(String[]::new);
+    }
+
+    public static SdpPolicy of(List<String> codecs, List<String> blockedExtensions) {
+        List<String> normalizedCodecs = codecs == null ? List.of() : codecs.stream()
+                .filter(codec -> codec != null && !codec.isBlank())
+                .map(codec -> codec.trim().toLowerCase(Locale.ROOT))
+                .distinct()
+                .toList();
+        List<String> normalizedExtensions = blockedExtensions == null ? List.of() : blockedExtensions.stream()
+                .filter(uri -> uri != null && !uri.isBlank())
+                .map(String::trim)
+                .distinct()
+                .toList();
+
+        if (normalizedCodecs.isEmpty() && normalizedExtensions.isEmpty()) {
+            return NONE;
+        }
+        return new SdpPolicy(normalizedCodecs, normalizedExtensions);
+    }
+
+    public List<String> getCodecs() {
+        return codecs;
+    }
+
+    public List<String> getBlockedExtensions() {
+        return blockedExtensions;
+    }
+
+    boolean isTrimming() {
+        return codecNames.length > 0 || blockedUris.length > 0;
+    }
+
+    // sdp[start, end) 가 허용 코덱 이름인지 (부분 문자열을 만들지 않고 비교)
+    boolean allowsCodec(String sdp, int start, int end) {
+        int length = end - start;
+        for (String codec : codecNames) {
+            if (codec.length() == length && sdp.regionMatches(true, start, codec, 0, length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean blocksExtension(String sdp, int start, int end) {
+        int length = end - start;
+        for (String uri : blockedUris) {
+            if (uri.length() == length && sdp.regionMatches(start, uri, 0, length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,21 @@
+package com.back.sdp;
+
+// SdpParser 처리 결과 - 거절이면 rejectReason, 아니면 전달할 sdp (정리했으면 바뀐 문자열)
+public record SdpResult(String sdp, String rejectReason, int removedCodecs, int removedExtensions) {
+
+    static SdpResult accepted(String sdp) {
+        return new SdpResult(sdp, null, 0, 0);
+    }
+
+    static SdpResult rejected(String reason) {
+        return new SdpResult(null, reason, 0, 0);
+    }
+
+    public boolean isRejected() {
+        return rejectReason != null;
+    }
+
+    public boolean isTrimmed() {
+        return removedCodecs > 0 || removedExtensions > 0;
+    }
+}
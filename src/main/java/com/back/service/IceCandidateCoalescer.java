@@ -0,0 +1,242 @@
+package com.back.service;
+
+import com.back.config.SignalingScheduler;
+import com.back.dto.IceCandidateMessage;
+import com.back.dto.SignalMessage;
+import com.back.dto.SignalPayloads;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// ICE candidate 묶음 전송기
+// (from, to) 쌍별로 window-ms 동안 candidate를 모아 중복을 제거하고 ice-candidates 한 건으로 전달
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IceCandidateCoalescer {
+
+    private final SignalRouter signalRouter;
+    private final SignalingScheduler signalingScheduler;
+
+    @Value("${app.webrtc.ice-coalescing.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.webrtc.ice-coalescing.window-ms:30}")
+    private long windowMs;
+
+    @Value("${app.webrtc.ice-coalescing.max-batch:32}")
+    private int maxBatch;
+
+    private final Map<PeerPair, PairState> pairs = new ConcurrentHashMap<>();
+
+    // 튜닝용 카운터
+    private final LongAdder framesReceived = new LongAdder();
+    private final LongAdder duplicatesDropped = new LongAdder();
+    private final LongAdder batchesSent = new LongAdder();
+    private final LongAdder candidatesSent = new LongAdder();
+    private final LongAdder totalAddedDelayMs = new LongAdder();
+    private final AtomicLong maxAddedDelayMs = new AtomicLong();
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+
+        log.info("✅ ICE candidate 묶음 전송 활성화 - Window: {}ms, Max batch: {}", windowMs, maxBatch);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // candidate 접수. 비활성화 상태면 false를 반환하고 호출자가 즉시 중계
+    public boolean submit(IceCandidateMessage candidate) {
+        if (!enabled) {
+            return false;
+        }
+
+        framesReceived.increment();
+
+        PeerPair key = PeerPair.directed(candidate.getFromUserId(), candidate.getToUserId());
+        PairState state = pairs.computeIfAbsent(key,
+                k -> new PairState(candidate.getFromUserId(), candidate.getToUserId()));
+
+        Batch batch = null;
+
+        synchronized (state) {
+            state.roomId = candidate.getRoomId();
+
+            String value = candidate.getCandidate();
+            if (value == null || value.isBlank()) {
+                // end-of-candidates: 대기 없이 즉시 전송
+                batch = state.drain();
+            } else if (!state.seen.add(value + '|' + candidate.getSdpMid() + '|' + candidate.getSdpMLineIndex())) {
+                duplicatesDropped.increment();
+            } else {
+                state.buffer.add(new SignalPayloads.Candidate(value, candidate.getSdpMid(), candidate.getSdpMLineIndex()));
+
+                if (state.buffer.size() >= maxBatch) {
+                    batch = state.drain();
+                } else if (state.buffer.size() == 1) {
+                    state.firstBufferedAt = System.currentTimeMillis();
+                    state.flushTask = signalingScheduler.schedule(() -> flush(key), windowMs, TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+
+        if (batch != null) {
+            send(batch);
+        }
+
+        return true;
+    }
+
+    // 재협상(offer) 시 해당 쌍의 중복 판정 기록 초기화
+    public void resetPair(String fromUserId, String toUserId) {
+        if (!enabled) {
+            return;
+        }
+
+        // 버퍼에 남은 candidate는 그대로 전송되도록 유지
+        clearSeen(pairs.get(PeerPair.directed(fromUserId, toUserId)));
+        clearSeen(pairs.get(PeerPair.directed(toUserId, fromUserId)));
+    }
+
+    // 퇴장한 사용자가 포함된 쌍 정리
+    public void removeUser(String userId) {
+        if (!enabled) {
+            return;
+        }
+
+        pairs.entrySet().removeIf(entry -> {
+            if (entry.getKey().contains(userId)) {
+                discard(entry.getValue());
+                return true;
+            }
+            return false;
+        });
+    }
+
+    public Map<String, Object> getStats() {
+        long received = framesReceived.sum();
+        long batches = batchesSent.sum();
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("windowMs", windowMs);
+        stats.put("framesReceived", received);
+        stats.put("batchesSent", batches);
+        stats.put("candidatesSent", candidatesSent.sum());
+        stats.put("duplicatesDropped", duplicatesDropped.sum());
+        stats.put("framesSaved", received - batches);
+        stats.put("avgAddedDelayMs", batches > 0 ? (double) totalAddedDelayMs.sum() / batches : 0.0);
+        stats.put("maxAddedDelayMs", maxAddedDelayMs.get());
+        stats.put("pendingPairs", pairs.size());
+        return stats;
+    }
+
+    private void flush(PeerPair key) {
+        PairState state = pairs.get(key);
+        if (state == null) {
+            return;
+        }
+
+        Batch batch;
+        synchronized (state) {
+            batch = state.drain();
+        }
+
+        if (batch != null) {
+            send(batch);
+        }
+    }
+
+    private void send(Batch batch) {
+        long delay = System.currentTimeMillis() - batch.firstBufferedAt;
+        batchesSent.increment();
+        candidatesSent.add(batch.candidates.size());
+        totalAddedDelayMs.add(delay);
+        maxAddedDelayMs.accumulateAndGet(delay, Math::max);
+
+        SignalMessage signalMessage = SignalMessage.builder()
+                .type("webrtc-signal")
+                .fromUserId(batch.fromUserId)
+                .data(SignalPayloads.IceCandidates.of(batch.toUserId, batch.candidates))
+                .build();
+
+        try {
+            signalRouter.sendSignal(batch.roomId, batch.toUserId, signalMessage);
+            log.debug("ICE Candidate 묶음 중계 - From: {} To: {}, Count: {}, Delay: {}ms",
+                    batch.fromUserId, batch.toUserId, batch.candidates.size(), delay);
+        } catch (Exception e) {
+            log.error("ICE Candidate 묶음 중계 실패 - From: {} To: {}, Error: {}",
+                    batch.fromUserId, batch.toUserId, e.getMessage());
+        }
+    }
+
+    private void clearSeen(PairState state) {
+        if (state == null) {
+            return;
+        }
+
+        synchronized (state) {
+            state.seen.clear();
+        }
+    }
+
+    private void discard(PairState state) {
+        if (state == null) {
+            return;
+        }
+
+        synchronized (state) {
+            if (state.flushTask != null) {
+                state.flushTask.cancel(false);
+            }
+            state.buffer.clear();
+        }
+    }
+
+    private record Batch(String roomId, String fromUserId, String toUserId,
+                         List<SignalPayloads.Candidate> candidates, long firstBufferedAt) {
+    }
+
+    private static final class PairState {
+        private final String fromUserId;
+        private final String toUserId;
+        private final List<SignalPayloads.Candidate> buffer = new ArrayList<>();
+        private final Set<String> seen = new HashSet<>();
+        private String roomId;
+        private long firstBufferedAt;
+        private ScheduledFuture<?> flushTask;
+
+        private PairState(String fromUserId, String toUserId) {
+            this.fromUserId = fromUserId;
+            this.toUserId = toUserId;
+        }
+
+        // 버퍼를 비우고 전송할 묶음 반환 (비어있으면 null)
+        private Batch drain() {
+            if (flushTask != null) {
+                flushTask.cancel(false);
+                flushTask = null;
+            }
+
+            if (buffer.isEmpty()) {
+                return null;
+            }
+
+            Batch batch = new Batch(roomId, fromUserId, toUserId, new ArrayList<>(buffer), firstBufferedAt);
+            buffer.clear();
+            return batch;
+        }
+    }
+}
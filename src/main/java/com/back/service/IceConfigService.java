@@ -0,0 +1,194 @@
+package com.back.service;
+
+import com.back.config.IceServerConfig;
+import com.back.dto.IceServer;
+import com.back.ice.EmbeddedIceServer;
+import com.back.ice.TurnRestCredentials;
+import com.back.ice.TurnRestCredentials.TurnCredential;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// 클라이언트 RTCPeerConnection용 ICE 서버 설정
+// 입장 화면마다 요청되므로 직렬화된 JSON을 (rotation 구간, 사용자/방) 단위로 캐시하고
+// 자격 증명이 바뀌는 rotation 시점에만 캐시를 통째로 교체
+// 같은 캐시 항목을 REST 응답(직렬화 JSON)과 입장 응답(room-state의 iceServers)이 함께 사용
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IceConfigService {
+
+    private static final int MAX_IDENTITY_LENGTH = 64;
+
+    private final EmbeddedIceServer embeddedIceServer;
+    private final TurnRestCredentials turnRestCredentials;
+    private final ObjectMapper objectMapper;
+
+    // 항상 알려줄 외부 STUN 서버
+    @Value("${app.ice.stun-urls:}")
+    private List<String> stunUrls;
+
+    // 같은 secret을 쓰는 외부 TURN 서버 (coturn use-auth-secret 등)
+    @Value("${app.ice.turn-urls:}")
+    private List<String> turnUrls;
+
+    // 공용 STUN - 내장/외부 서버 설정과 관계없이 항상 포함 (srflx candidate 확보)
+    // 예전 키 app.ice.fallback-stun-urls도 읽음
+    @Value("${app.ice.public-stun-urls:${app.ice.fallback-stun-urls:stun:stun.l.google.com:19302,stun:stun1.l.google.com:19302,stun:stun2.l.google.com:19302}}")
+    private List<String> publicStunUrls;
+
+    // rotation 구간 안에서 캐시할 최대 응답 수 (넘으면 캐시 없이 매번 직렬화)
+    @Value("${app.ice.max-cached-responses:10000}")
+    private int maxCachedResponses;
+
+    private volatile ResponseCache cache = new ResponseCache(-1);
+
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LongAdder rotations = new LongAdder();
+
+    // 직렬화된 IceServerConfig JSON (호출자는 수정하지 말 것)
+    public byte[] getIceServersJson(String userId, String roomId) {
+        return resolve(userId, roomId).json();
+    }
+
+    // 입장 응답에 넣을 ICE 서버 목록 (REST 응답과 같은 자격 증명)
+    public List<IceServer> getIceServers(String userId, String roomId) {
+        return resolve(userId, roomId).iceServers();
+    }
+
+    private CachedConfig resolve(String userId, String roomId) {
+        long epoch = turnRestCredentials.currentEpoch();
+        ResponseCache current = cache;
+        if (current.epoch != epoch) {
+            current = rotate(epoch);
+        }
+
+        // TURN이 없으면 자격 증명도 없으니 모두 같은 응답
+        String identity = hasTurn() ? identity(userId, roomId) : "";
+
+        CachedConfig response = current.responses.get(identity);
+        if (response != null) {
+            cacheHits.increment();
+            return response;
+        }
+
+        cacheMisses.increment();
+        List<IceServer> iceServers = List.copyOf(buildIceServers(identity, epoch));
+        response = new CachedConfig(iceServers, serialize(iceServers));
+        if (current.responses.size() < maxCachedResponses) {
+            CachedConfig existing = current.responses.putIfAbsent(identity, response);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        return response;
+    }
+
+    // 다음 자격 증명 교체까지 남은 초 (클라이언트 캐시 기간)
+    public long getMaxAgeSeconds() {
+        return turnRestCredentials.secondsUntilRotation();
+    }
+
+    public Map<String, Object> getStats() {
+        ResponseCache current = cache;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("epoch", current.epoch);
+        stats.put("cachedResponses", current.responses.size());
+        stats.put("cacheHits", cacheHits.sum());
+        stats.put("cacheMisses", cacheMisses.sum());
+        stats.put("rotations", rotations.sum());
+        return stats;
+    }
+
+    private synchronized ResponseCache rotate(long epoch) {
+        if (cache.epoch != epoch) {
+            cache = new ResponseCache(epoch);
+            rotations.increment();
+            log.debug("ICE 자격 증명 교체 - Epoch: {}", epoch);
+        }
+        return cache;
+    }
+
+    private List<IceServer> buildIceServers(String identity, long epoch) {
+        List<IceServer> iceServers = new ArrayList<>();
+
+        Set<String> stun = new LinkedHashSet<>(embeddedIceServer.getStunUrls());
+        stun.addAll(nonBlank(stunUrls));
+        stun.addAll(nonBlank(publicStunUrls));
+        Set<String> turn = new LinkedHashSet<>(embeddedIceServer.getTurnUrls());
+        turn.addAll(nonBlank(turnUrls));
+
+        for (String url : stun) {
+            iceServers.add(IceServer.builder()
+                    .urls(url)
+                    .build());
+        }
+
+        if (!turn.isEmpty()) {
+            TurnCredential credential = turnRestCredentials.mint(identity, epoch);
+            for (String url : turn) {
+                iceServers.add(IceServer.builder()
+                        .urls(url)
+                        .username(credential.username())
+                        .credential(credential.credential())
+                        .build());
+            }
+        }
+
+        return iceServers;
+    }
+
+    private boolean hasTurn() {
+        return embeddedIceServer.isAdvertised() || !nonBlank(turnUrls).isEmpty();
+    }
+
+    private byte[] serialize(List<IceServer> iceServers) {
+        try {
+            return objectMapper.writeValueAsBytes(IceServerConfig.builder()
+                    .iceServers(iceServers)
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("ICE 서버 설정 직렬화 실패", e);
+        }
+    }
+
+    // TURN username에 들어갈 식별자 ("userId@roomId", 길이 제한)
+    private static String identity(String userId, String roomId) {
+        String user = userId == null || userId.isBlank() ? "anonymous" : truncate(userId);
+        return roomId == null || roomId.isBlank() ? user : user + "@" + truncate(roomId);
+    }
+
+    private static String truncate(String value) {
+        return value.length() > MAX_IDENTITY_LENGTH ? value.substring(0, MAX_IDENTITY_LENGTH) : value;
+    }
+
+    private static List<String> nonBlank(List<String> urls) {
+        return urls == null ? List.of() : urls.stream().filter(url -> !url.isBlank()).map(String::trim).toList();
+    }
+
+    // iceServers 원소(IceServer)도 캐시와 공유하므로 수정하지 말 것
+    private record CachedConfig(List<IceServer> iceServers, byte[] json) {
+    }
+
+    private static final class ResponseCache {
+        final long epoch;
+        final Map<String, CachedConfig> responses = new ConcurrentHashMap<>();
+
+        ResponseCache(long epoch) {
+            this.epoch = epoch;
+        }
+    }
+}
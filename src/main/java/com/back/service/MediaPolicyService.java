@@ -0,0 +1,184 @@
+package com.back.service;
+
+import com.back.dto.SignalMessage;
+import com.back.dto.SignalPayloads.MediaPolicy;
+import com.back.service.RtcStatsService.UplinkQuality;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// 메시 통화 송신 품질 정책
+// 참여자마다 업링크 예산을 (N-1)개 피어 연결로 나눠 해상도/프레임률/비트레이트를 정하고,
+// 예산이 최소 영상 비트레이트에 못 미치면 오디오만 보내도록 함.
+// 방 인원이 바뀌거나 보고된 품질(RTT/손실)이 나빠지면 다시 계산해 바뀐 사용자에게만 media-policy 시그널 전송
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MediaPolicyService {
+
+    private final RoomService roomService;
+    private final RtcStatsService rtcStatsService;
+    private final SignalRouter signalRouter;
+
+    @Value("${app.webrtc.media-policy.enabled:true}")
+    private boolean enabled;
+
+    // 클라이언트 한 명이 쓸 수 있는 총 업링크 (kbps)
+    @Value("${app.webrtc.media-policy.uplink-budget-kbps:2500}")
+    private int uplinkBudgetKbps;
+
+    // 피어 연결당 오디오 몫 (kbps)
+    @Value("${app.webrtc.media-policy.audio-kbps:48}")
+    private int audioKbps;
+
+    // 이보다 낮은 영상 예산이면 오디오만
+    @Value("${app.webrtc.media-policy.min-video-kbps:150}")
+    private int minVideoKbps;
+
+    // 품질 저하 판단 기준 (최근 window 구간)
+    @Value("${app.webrtc.media-policy.degraded-rtt-ms:300}")
+    private double degradedRttMs;
+
+    @Value("${app.webrtc.media-policy.degraded-loss-percent:5}")
+    private double degradedLossPercent;
+
+    @Value("${app.webrtc.media-policy.quality-window-seconds:15}")
+    private long qualityWindowSeconds;
+
+    // 영상 예산(kbps) -> 해상도/프레임률 단계 (높은 단계부터)
+    private static final List<Tier> TIERS = List.of(
+            new Tier(1200, 1280, 720, 30),
+            new Tier(600, 960, 540, 30),
+            new Tier(300, 640, 360, 24),
+            new Tier(0, 320, 180, 15)
+    );
+
+    // 마지막으로 보낸 정책 (같은 정책 재전송 방지)
+    private final Map<String, MediaPolicy> currentPolicies = new ConcurrentHashMap<>();
+
+    private final LongAdder policiesSent = new LongAdder();
+    private final LongAdder audioOnlyPolicies = new LongAdder();
+
+    // 입장/퇴장/연결 해제 후 호출 - 방 전체 재계산
+    public void onRoomChanged(String roomId, String departedUserId) {
+        if (departedUserId != null) {
+            currentPolicies.remove(departedUserId);
+        }
+        if (!enabled) {
+            return;
+        }
+
+        for (String userId : roomService.getRoomParticipants(roomId)) {
+            push(roomId, userId);
+        }
+    }
+
+    // 통계 보고 후 호출 - 보고자 본인과, 손실을 보고받은 상대들의 정책 재계산
+    public void onStatsReported(String roomId, String userId) {
+        if (!enabled || !roomId.equals(roomService.getUserRoom(userId))) {
+            return;
+        }
+
+        for (String participant : roomService.getRoomParticipants(roomId)) {
+            push(roomId, participant);
+        }
+    }
+
+    // 현재 적용할 정책 (전송 없이 계산만)
+    public MediaPolicy getPolicy(String roomId, String userId) {
+        return computePolicy(roomId, userId, roomService.getRoomParticipants(roomId).size());
+    }
+
+    // 입장 응답(room-state)에 넣을 정책 - 보낸 것으로 기록해 뒤이은 재계산에서 같은 정책을 다시 보내지 않음
+    public MediaPolicy bootstrapPolicy(String roomId, String userId) {
+        if (!enabled) {
+            return null;
+        }
+
+        MediaPolicy policy = getPolicy(roomId, userId);
+        currentPolicies.put(userId, policy);
+        return policy;
+    }
+
+    public Map<String, Object> getStats() {
+        return Map.of(
+                "enabled", enabled,
+                "uplinkBudgetKbps", uplinkBudgetKbps,
+                "trackedUsers", currentPolicies.size(),
+                "policiesSent", policiesSent.sum(),
+                "audioOnlyPolicies", audioOnlyPolicies.sum()
+        );
+    }
+
+    private void push(String roomId, String userId) {
+        MediaPolicy policy = getPolicy(roomId, userId);
+        MediaPolicy previous = currentPolicies.put(userId, policy);
+        if (policy.equals(previous)) {
+            return;
+        }
+
+        SignalMessage message = SignalMessage.builder()
+                .type("media-policy")
+                .toUserId(userId)
+                .data(policy)
+                .build();
+
+        signalRouter.sendToUser(userId, "/queue/webrtc", message);
+
+        policiesSent.increment();
+        if (policy.audioOnly()) {
+            audioOnlyPolicies.increment();
+        }
+
+        log.debug("미디어 정책 전송 - Room: {}, User: {}, Policy: {}", roomId, userId, policy);
+    }
+
+    MediaPolicy computePolicy(String roomId, String userId, int roomSize) {
+        int peerCount = Math.max(1, roomSize - 1);
+
+        // 품질 저하 시 예산 축소 (기준의 2배를 넘으면 1/4, 넘기만 하면 1/2)
+        UplinkQuality quality = rtcStatsService.getUplinkQuality(roomId, userId, qualityWindowSeconds * 1000);
+        double severity = Math.max(
+                ratio(quality.rttP90Ms(), degradedRttMs),
+                ratio(quality.lossPercent(), degradedLossPercent));
+
+        double factor = 1.0;
+        String reason = "room-size";
+        if (severity >= 2) {
+            factor = 0.25;
+            reason = "quality-severe";
+        } else if (severity >= 1) {
+            factor = 0.5;
+            reason = "quality-degraded";
+        }
+
+        int videoKbpsPerPeer = (int) ((uplinkBudgetKbps * factor - audioKbps * peerCount) / peerCount);
+
+        if (videoKbpsPerPeer < minVideoKbps) {
+            return new MediaPolicy(roomSize, true, null, null, null, null, reason);
+        }
+
+        Tier tier = TIERS.stream()
+                .filter(candidate -> videoKbpsPerPeer >= candidate.minKbps())
+                .findFirst()
+                .orElse(TIERS.get(TIERS.size() - 1));
+
+        // 비트레이트는 50kbps 단위로 내림 (미세 변동으로 정책이 자주 바뀌지 않도록)
+        int maxBitrateKbps = videoKbpsPerPeer / 50 * 50;
+
+        return new MediaPolicy(roomSize, false, maxBitrateKbps, tier.width(), tier.height(), tier.framerate(), reason);
+    }
+
+    private static double ratio(Double value, double threshold) {
+        return value == null || threshold <= 0 ? 0 : value / threshold;
+    }
+
+    private record Tier(int minKbps, int width, int height, int framerate) {
+    }
+}
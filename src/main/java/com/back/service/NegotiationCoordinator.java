@@ -0,0 +1,331 @@
+package com.back.service;
+
+import com.back.config.SignalingScheduler;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// 피어 쌍별 offer 순서 조정 (glare 방지)
+// 쌍마다 먼저 입장한 쪽이 offer를 보냄 (같은 순번이면 userId가 작은 쪽). 클라이언트에는 user-joined/room-state의 offerers로 알림.
+// - 첫 협상: 지정되지 않은 쪽의 offer는 보류하고 지정된 쪽에 negotiation-role(offerer)로 offer 요청
+// - 재협상: 어느 쪽이든 보낼 수 있으나, 상대 offer가 응답 대기 중이면 지정된 쪽만 통과 (다른 쪽은 보류)
+// 보류한 offer(SDP 포함)는 쌍마다 하나만 보관. 지정된 쪽 offer가 중계되거나 보낸 쪽이 상대 offer에 answer하면 버리고,
+// offer-timeout-ms 안에 그렇게 되지 않으면 (상대가 offer를 안 보내거나 응답이 없음) 그대로 전달
+// 입장 순번은 RoomEventSink로 받으므로 Room 모니터 안에서 호출됨 - 방 단위 짧은 락만 사용
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NegotiationCoordinator implements RoomEventSink {
+
+    private final RoomService roomService;
+    private final SignalingScheduler signalingScheduler;
+
+    @Value("${app.webrtc.negotiation.enabled:true}")
+    private boolean enabled;
+
+    // 응답 없는 offer / 보류 후 지정된 쪽 offer를 기다리는 최대 시간
+    @Value("${app.webrtc.negotiation.offer-timeout-ms:10000}")
+    private long offerTimeoutMs;
+
+    private final Map<String, RoomNegotiations> rooms = new ConcurrentHashMap<>();
+
+    // 보류 시간이 지난 offer를 중계하는 쪽 (컨트롤러가 등록)
+    private volatile Consumer<HeldOffer> heldOfferRelay = offer -> { };
+
+    private final LongAdder offersRelayed = new LongAdder();
+    private final LongAdder glareRejected = new LongAdder();
+    private final LongAdder glareOverridden = new LongAdder();
+    private final LongAdder offersDeferred = new LongAdder();
+    private final LongAdder heldOffersReleased = new LongAdder();
+    private final LongAdder heldOffersSuperseded = new LongAdder();
+    private final LongAdder negotiationsCompleted = new LongAdder();
+
+    public enum Decision {
+        // 그대로 중계
+        RELAY,
+        // 상대(지정된 쪽) offer가 응답 대기 중 - 보류하고 보낸 쪽에 answerer 역할 알림
+        REJECT_GLARE,
+        // 첫 협상을 지정된 쪽이 시작하도록 보류 - 지정된 쪽에 offerer 역할 알림
+        DEFER
+    }
+
+    // offerer: 이 쌍에서 offer를 보내기로 정해진 사용자 (REJECT_GLARE/DEFER 알림 대상)
+    public record OfferResult(Decision decision, String offerer) {
+    }
+
+    // 보류 중인 offer (sdp는 SdpGuard를 거친 값)
+    public record HeldOffer(String roomId, String fromUserId, String toUserId, String sdp) {
+    }
+
+    @PostConstruct
+    void start() {
+        if (enabled) {
+            roomService.addEventSink(this);
+        }
+    }
+
+    public void setHeldOfferRelay(Consumer<HeldOffer> relay) {
+        this.heldOfferRelay = relay;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 방 입장 순서대로 정렬된 participants에서 userId보다 먼저 들어온 참여자 (userId에게 offer를 보낼 쪽)
+    public static List<String> offerersFor(List<String> participants, String userId) {
+        int index = participants.indexOf(userId);
+        return new ArrayList<>(index >= 0 ? participants.subList(0, index) : participants);
+    }
+
+    // sdp: RELAY가 아니면 보류해 두었다가 offer-timeout-ms 후에도 역할이 정리되지 않으면 전달
+    public OfferResult onOffer(String roomId, String fromUserId, String toUserId, String sdp) {
+        if (!enabled) {
+            return new OfferResult(Decision.RELAY, fromUserId);
+        }
+
+        // 재시작 복구 직후 등 입장 순번이 없는 방이면 여기서 생성
+        RoomNegotiations room = rooms.computeIfAbsent(roomId, id -> new RoomNegotiations());
+
+        PeerPair key = PeerPair.of(fromUserId, toUserId);
+
+        // 입장 순번을 모르는 쌍이면 참여자 순서를 락 밖에서 조회 (Room 모니터 -> 이 락 순서를 지키기 위해)
+        List<String> participants = null;
+        synchronized (room) {
+            if (!room.pairs.containsKey(key)
+                    && !(room.joinSequence.containsKey(fromUserId) && room.joinSequence.containsKey(toUserId))) {
+                participants = List.of();
+            }
+        }
+        if (participants != null) {
+            participants = roomService.getRoomParticipants(roomId);
+        }
+
+        long now = System.nanoTime();
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(offerTimeoutMs);
+
+        synchronized (room) {
+            Pair pair = room.pairs.get(key);
+            if (pair == null) {
+                pair = new Pair(designate(room, participants, fromUserId, toUserId), now);
+                room.pairs.put(key, pair);
+            }
+
+            // 응답 없이 오래된 offer는 잊음 (상대가 끊겼다 재개한 경우 등)
+            if (pair.pendingFrom != null && now - pair.pendingSince > timeoutNanos) {
+                pair.pendingFrom = null;
+            }
+
+            boolean designated = fromUserId.equals(pair.offerer);
+
+            if (toUserId.equals(pair.pendingFrom)) {
+                if (!designated) {
+                    glareRejected.increment();
+                    hold(roomId, key, pair, new HeldOffer(roomId, fromUserId, toUserId, sdp));
+                    return new OfferResult(Decision.REJECT_GLARE, pair.offerer);
+                }
+                // 지정된 쪽 offer가 우선 - 상대 offer는 응답 없이 대체됨
+                glareOverridden.increment();
+            } else if (!pair.negotiated && !designated
+                    && (pair.deferredAt == 0 || now - pair.deferredAt <= timeoutNanos)) {
+                if (pair.deferredAt == 0) {
+                    pair.deferredAt = now;
+                }
+                offersDeferred.increment();
+                hold(roomId, key, pair, new HeldOffer(roomId, fromUserId, toUserId, sdp));
+                return new OfferResult(Decision.DEFER, pair.offerer);
+            }
+
+            // 새로 중계되는 offer가 보류 중인 offer를 대체
+            if (pair.held != null) {
+                discardHeld(pair);
+            }
+
+            pair.pendingFrom = fromUserId;
+            pair.pendingSince = now;
+            offersRelayed.increment();
+            return new OfferResult(Decision.RELAY, pair.offerer);
+        }
+    }
+
+    // answer 중계 시 호출. 첫 협상이 끝났으면 첫 offer 시도부터 걸린 시간(나노초), 아니면 -1
+    public long onAnswer(String roomId, String fromUserId, String toUserId) {
+        if (!enabled) {
+            return -1;
+        }
+
+        RoomNegotiations room = rooms.get(roomId);
+        if (room == null) {
+            return -1;
+        }
+
+        synchronized (room) {
+            Pair pair = room.pairs.get(PeerPair.of(fromUserId, toUserId));
+            if (pair == null || !toUserId.equals(pair.pendingFrom)) {
+                return -1;
+            }
+
+            // 보류된 offer를 보낸 쪽이 상대 offer에 응답 - 역할이 정리됐으므로 보류분은 버림
+            if (pair.held != null && fromUserId.equals(pair.held.fromUserId())) {
+                discardHeld(pair);
+            }
+
+            pair.pendingFrom = null;
+            if (pair.negotiated) {
+                return -1;
+            }
+            pair.negotiated = true;
+            negotiationsCompleted.increment();
+            return System.nanoTime() - pair.startedAt;
+        }
+    }
+
+    @Override
+    public void joined(String roomId, String userId, LocalDateTime roomCreatedAt) {
+        rooms.compute(roomId, (id, room) -> {
+            RoomNegotiations target = room != null ? room : new RoomNegotiations();
+            synchronized (target) {
+                target.joinSequence.put(userId, target.nextSequence++);
+            }
+            return target;
+        });
+    }
+
+    @Override
+    public void left(String roomId, String userId) {
+        rooms.computeIfPresent(roomId, (id, room) -> {
+            synchronized (room) {
+                room.joinSequence.remove(userId);
+                room.pairs.entrySet().removeIf(entry -> {
+                    if (!entry.getKey().contains(userId)) {
+                        return false;
+                    }
+                    if (entry.getValue().heldRelease != null) {
+                        entry.getValue().heldRelease.cancel(false);
+                    }
+                    return true;
+                });
+                return room.joinSequence.isEmpty() && room.pairs.isEmpty() ? null : room;
+            }
+        });
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("offersRelayed", offersRelayed.sum());
+        stats.put("offersDeferred", offersDeferred.sum());
+        stats.put("glareRejected", glareRejected.sum());
+        stats.put("glareOverridden", glareOverridden.sum());
+        stats.put("heldOffersReleased", heldOffersReleased.sum());
+        stats.put("heldOffersSuperseded", heldOffersSuperseded.sum());
+        stats.put("negotiationsCompleted", negotiationsCompleted.sum());
+        stats.put("trackedRooms", rooms.size());
+        return stats;
+    }
+
+    // room 락 안. 같은 쌍의 이전 보류분은 새 offer로 대체
+    private void hold(String roomId, PeerPair key, Pair pair, HeldOffer offer) {
+        if (pair.held != null) {
+            discardHeld(pair);
+        }
+        pair.held = offer;
+        pair.heldRelease = signalingScheduler.schedule(() -> release(roomId, key, offer), offerTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    // room 락 안
+    private void discardHeld(Pair pair) {
+        pair.heldRelease.cancel(false);
+        pair.held = null;
+        pair.heldRelease = null;
+        heldOffersSuperseded.increment();
+    }
+
+    // 보류 시간이 지나도 역할이 정리되지 않음 - 보류한 offer를 응답 대기 offer로 보고 전달
+    private void release(String roomId, PeerPair key, HeldOffer offer) {
+        RoomNegotiations room = rooms.get(roomId);
+        if (room == null) {
+            return;
+        }
+
+        synchronized (room) {
+            Pair pair = room.pairs.get(key);
+            if (pair == null || pair.held != offer) {
+                return;
+            }
+            pair.held = null;
+            pair.heldRelease = null;
+            pair.pendingFrom = offer.fromUserId();
+            pair.pendingSince = System.nanoTime();
+        }
+
+        heldOffersReleased.increment();
+        try {
+            heldOfferRelay.accept(offer);
+        } catch (Exception e) {
+            log.warn("보류 offer 전달 실패 - From: {} To: {}, Error: {}",
+                    offer.fromUserId(), offer.toUserId(), e.getMessage());
+        }
+    }
+
+    // 먼저 입장한 쪽, 순번을 모르면 (재시작 복구) 방 참여자 순서, 그것도 없으면 userId 순
+    // room 락 안
+    private static String designate(RoomNegotiations room, List<String> participants, String a, String b) {
+        Long sequenceA = room.joinSequence.get(a);
+        Long sequenceB = room.joinSequence.get(b);
+        if (sequenceA != null && sequenceB != null && !sequenceA.equals(sequenceB)) {
+            return sequenceA < sequenceB ? a : b;
+        }
+
+        if (participants != null) {
+            int indexA = participants.indexOf(a);
+            int indexB = participants.indexOf(b);
+            if (indexA >= 0 && indexB >= 0) {
+                return indexA < indexB ? a : b;
+            }
+        }
+
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    // 방 단위 상태 (이 객체의 모니터로 보호)
+    private static final class RoomNegotiations {
+        final Map<String, Long> joinSequence = new HashMap<>();
+        final Map<PeerPair, Pair> pairs = new HashMap<>();
+        long nextSequence;
+    }
+
+    private static final class Pair {
+        final String offerer;
+        // 첫 offer 시도 시각 (첫 협상 소요 시간 측정용)
+        final long startedAt;
+        // 응답 대기 중인 offer를 보낸 쪽
+        String pendingFrom;
+        long pendingSince;
+        // 지정되지 않은 쪽 offer를 처음 보류한 시각
+        long deferredAt;
+        boolean negotiated;
+        // 중계하지 않고 보류 중인 offer와 전달 예약
+        HeldOffer held;
+        ScheduledFuture<?> heldRelease;
+
+        Pair(String offerer, long startedAt) {
+            this.offerer = offerer;
+            this.startedAt = startedAt;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.back.service;
+
+// 피어 쌍 상태 맵의 키
+// of: 방향 없는 쌍 (a-b와 b-a가 같은 키, 협상/연결 준비 추적용), directed: 보내는 쪽 -> 받는 쪽 (candidate 묶음용)
+public record PeerPair(String first, String second) {
+
+    public static PeerPair of(String a, String b) {
+        return a.compareTo(b) <= 0 ? new PeerPair(a, b) : new PeerPair(b, a);
+    }
+
+    public static PeerPair directed(String fromUserId, String toUserId) {
+        return new PeerPair(fromUserId, toUserId);
+    }
+
+    public boolean contains(String userId) {
+        return first.equals(userId) || second.equals(userId);
+    }
+}
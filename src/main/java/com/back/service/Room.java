@@ -0,0 +1,110 @@
+package com.back.service;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// 방 단위 상태 - 각 방이 자체 모니터로 보호되어 방끼리는 서로 블로킹하지 않음
+final class Room {
+
+    @Getter
+    private final String roomId;
+
+    @Getter
+    private final LocalDateTime createdAt;
+
+    private final RoomStats stats;
+
+    // 입장 순서 유지
+    private final Set<String> participants = new LinkedHashSet<>();
+
+    // 마지막 사용자가 나가 레지스트리에서 제거된 방 (재사용 불가)
+    private boolean closed;
+
+    Room(String roomId, RoomStats stats) {
+        this(roomId, LocalDateTime.now(), stats);
+    }
+
+    // 재시작 복구용 (저널에 기록된 생성 시간 유지)
+    Room(String roomId, LocalDateTime createdAt, RoomStats stats) {
+        this.roomId = roomId;
+        this.createdAt = createdAt;
+        this.stats = stats;
+    }
+
+    // 정원 확인과 입장을 한 번에 수행. 닫힌 방이면 null 반환 (호출자가 새 방으로 재시도)
+    // 새로 들어온 경우에만 sink에 기록 (이미 참여 중이면 기록 없음)
+    synchronized List<String> tryJoin(String userId, int maxParticipants, RoomEventSink sink) {
+        if (closed) {
+            return null;
+        }
+
+        if (!participants.contains(userId) && participants.size() >= maxParticipants) {
+            stats.rejectedFull();
+            throw new IllegalStateException("방 인원이 초과되었습니다. (최대 " + maxParticipants + "명)");
+        }
+
+        if (participants.add(userId)) {
+            stats.joined(participants.size());
+            sink.joined(roomId, userId, createdAt);
+        }
+        return new ArrayList<>(participants);
+    }
+
+    // 퇴장 처리. 방이 비면 닫고 남은 인원 0 반환, 참여자가 아니었으면 -1 반환
+    synchronized int leave(String userId, RoomEventSink sink) {
+        if (!participants.remove(userId)) {
+            return -1;
+        }
+        stats.left(participants.size());
+        sink.left(roomId, userId);
+
+        if (participants.isEmpty()) {
+            closed = true;
+            sink.closed(roomId);
+        }
+
+        return participants.size();
+    }
+
+    // 재시작 복구용 - 정원 검사/기록 없이 추가
+    synchronized void restore(String userId) {
+        if (participants.add(userId)) {
+            stats.restored(participants.size());
+        }
+    }
+
+    // 재시작 복구용 - 저널의 퇴장 기록 적용 (퇴장 수/이벤트 없이 분포만 맞춤). 반환값은 leave와 같음
+    synchronized int restoreLeave(String userId) {
+        if (!participants.remove(userId)) {
+            return -1;
+        }
+        stats.unrestored(participants.size());
+
+        if (participants.isEmpty()) {
+            closed = true;
+        }
+
+        return participants.size();
+    }
+
+    synchronized boolean isClosed() {
+        return closed;
+    }
+
+    synchronized int size() {
+        return participants.size();
+    }
+
+    synchronized boolean contains(String userId) {
+        return participants.contains(userId);
+    }
+
+    synchronized List<String> snapshot() {
+        return new ArrayList<>(participants);
+    }
+}
@@ -0,0 +1,61 @@
+package com.back.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 방 입장/퇴장 이벤트 수신 (RoomJournal, IdleReaper, SdpGuard 등)
+// Room 모니터 안에서 호출되므로 같은 방의 이벤트는 참여자 목록과 같은 순서로 전달됨 - 블로킹 작업 금지
+public interface RoomEventSink {
+
+    RoomEventSink NONE = new RoomEventSink() {
+        @Override
+        public void joined(String roomId, String userId, LocalDateTime roomCreatedAt) {
+        }
+
+        @Override
+        public void left(String roomId, String userId) {
+        }
+    };
+
+    void joined(String roomId, String userId, LocalDateTime roomCreatedAt);
+
+    void left(String roomId, String userId);
+
+    // 마지막 참여자가 나가 방이 닫힘 (left 다음에 호출). 방 단위로 쌓아 둔 상태 정리용
+    default void closed(String roomId) {
+    }
+
+    // 등록 순서대로 전달
+    static RoomEventSink of(List<RoomEventSink> sinks) {
+        if (sinks.isEmpty()) {
+            return NONE;
+        }
+        if (sinks.size() == 1) {
+            return sinks.get(0);
+        }
+
+        RoomEventSink[] targets = sinks.toArray(RoomEventSink[]::new);
+        return new RoomEventSink() {
+            @Override
+            public void joined(String roomId, String userId, LocalDateTime roomCreatedAt) {
+                for (RoomEventSink target : targets) {
+                    target.joined(roomId, userId, roomCreatedAt);
+                }
+            }
+
+            @Override
+            public void left(String roomId, String userId) {
+                for (RoomEventSink target : targets) {
+                    target.left(roomId, userId);
+                }
+            }
+
+            @Override
+            public void closed(String roomId) {
+                for (RoomEventSink target : targets) {
+                    target.closed(roomId);
+                }
+            }
+        };
+    }
+}
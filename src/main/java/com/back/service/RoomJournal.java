@@ -0,0 +1,744 @@
+package com.back.service;
+
+import com.back.config.SignalingScheduler;
+import com.back.config.WebSocketEventListener;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+// 방 상태 저널 - 재시작(배포) 후 방/참여자/생성 시간 복구
+// - journal-<세대>.log: 입장/퇴장 기록을 메모리 매핑 파일에 덧붙임 (Room 모니터 안에서 기록, 쓰기는 페이지 캐시까지)
+//   자리를 CAS로 먼저 예약하고 본문 -> crc -> 길이 순서로 써서 길이를 커밋 표시로 사용.
+//   재생은 커밋되지 않은 자리(예약 후 기록 전에 죽은 경우)를 건너뛰고 그 뒤의 완성된 기록을 계속 읽음
+// - room-snapshot.bin: 주기적으로 전체 상태를 압축 저장 (fsync 후 원자적 교체) -> 이전 세대 저널 삭제
+// 기동 시 스냅샷 + 같은 세대 이후 저널을 재생. 스냅샷은 방마다 따로 읽으므로 뒤 세대 저널과 겹칠 수 있지만
+// 입장/퇴장 재생이 집합 연산이라 다시 적용해도 결과가 같음.
+// 프로세스가 죽으면 그 순간 쓰던 기록만 잃음. 전원 장애 시에는 마지막 스냅샷 + 디스크에 내려간 기록까지.
+// 재접속 토큰은 해시(SHA-256)만 함께 기록해 두고, 복구된 사용자가 재시작 전 토큰으로 /app/room/resume을 보내면
+// 한 번 자리를 되찾게 해 줌 (claimRestored). restore-grace-seconds 안에 돌아오지 않으면 연결 끊김과 같이 퇴장 처리.
+// 클러스터 모드에서 다른 노드가 재개하며 바꾼 토큰은 담당 노드 저널에 남지 않음 (그 사용자는 재입장)
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RoomJournal implements RoomEventSink {
+
+    private static final int JOURNAL_MAGIC = 0x524A4E32;   // "RJN2" (길이/crc 프레임)
+    private static final int SNAPSHOT_MAGIC = 0x52534E32;  // "RSN2" (참여자별 토큰 해시)
+    private static final int HEADER_BYTES = 16;            // magic(4) + 세대(8) + 여유(4)
+
+    private static final byte JOIN = 1;
+    private static final byte LEAVE = 2;
+    private static final byte TOKEN = 3;
+    private static final int TOKEN_HASH_BYTES = 32;
+    // 기록 = 길이(4, 정렬 포함 전체) + crc32(4, 본문) + 본문, 8바이트 단위로 정렬 (남는 자리는 0)
+    // 본문 = type(1) + roomId 길이(2) + userId 길이(2) [+ 방 생성 시간(8), 입장만] [+ 토큰 해시(32), 토큰만] + roomId + userId
+    private static final int FRAME_HEADER_BYTES = 8;
+    private static final int RECORD_HEADER_BYTES = 5;
+    private static final int RECORD_ALIGNMENT = 8;
+    private static final int MAX_ID_BYTES = 0xFFFF;
+    private static final int MAX_RECORD_BYTES = align(FRAME_HEADER_BYTES + RECORD_HEADER_BYTES + TOKEN_HASH_BYTES + 2 * MAX_ID_BYTES);
+    // 매핑 하나는 int 범위까지 (FileChannel.map 제한), 여유를 두고 1GB까지
+    private static final int MAX_SEGMENT_SIZE_MB = 1024;
+
+    private static final String SNAPSHOT_FILE = "room-snapshot.bin";
+    private static final String JOURNAL_PREFIX = "journal-";
+    private static final String JOURNAL_SUFFIX = ".log";
+
+    private final RoomService roomService;
+    private final ObjectProvider<WebSocketEventListener> eventListenerProvider;
+    private final SignalingScheduler signalingScheduler;
+
+    @Value("${app.webrtc.journal.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.webrtc.journal.directory:data/journal}")
+    private String directory;
+
+    // 세그먼트(매핑) 크기 - 가득 차면 새 세대로 넘기고 바로 스냅샷 (1 ~ 1024MB)
+    @Value("${app.webrtc.journal.segment-size-mb:64}")
+    private int segmentSizeMb;
+
+    @Value("${app.webrtc.journal.snapshot-interval-seconds:60}")
+    private long snapshotIntervalSeconds;
+
+    @Value("${app.webrtc.journal.restore-grace-seconds:60}")
+    private long restoreGraceSeconds;
+
+    private Path dir;
+    private ScheduledFuture<?> compactionTask;
+    private ScheduledFuture<?> expireTask;
+
+    // 스냅샷 작성은 한 번에 하나 (주기 작업, 세그먼트 교체 직후 요청, 종료 시 마지막 스냅샷이 공용 스케줄러의 여러 스레드에서 겹칠 수 있음)
+    private final Object compactionLock = new Object();
+
+    // 기록은 읽기 락(동시 기록), 세그먼트 교체는 쓰기 락. 쓰기 락을 잡은 채 Room 모니터를 잡는 경로는 없음
+    private final ReentrantReadWriteLock segmentLock = new ReentrantReadWriteLock();
+    private volatile Segment segment;
+    // 마지막 스냅샷 세대 (기동 시 복구 후에는 compactionLock 안에서만 변경)
+    private volatile long snapshotGeneration;
+
+    // 복구 후 아직 돌아오지 않은 사용자 (userId -> roomId)
+    private final Map<String, String> restoredUsers = new ConcurrentHashMap<>();
+
+    // 참여자별 마지막 재접속 토큰 해시 (스냅샷에 함께 저장, 퇴장 시 제거)
+    private final Map<String, ResumeTokenHash> tokenHashes = new ConcurrentHashMap<>();
+
+    private final LongAdder appended = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder rolls = new LongAdder();
+    private final LongAdder snapshots = new LongAdder();
+    private final LongAdder claimed = new LongAdder();
+    private final LongAdder expiredRestored = new LongAdder();
+
+    private volatile RecoveryResult lastRecovery;
+    private volatile long lastSnapshotMillis;
+    private volatile int lastSnapshotRooms;
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        if (segmentSizeMb < 1 || segmentSizeMb > MAX_SEGMENT_SIZE_MB) {
+            throw new IllegalStateException("app.webrtc.journal.segment-size-mb는 1 ~ " + MAX_SEGMENT_SIZE_MB
+                    + " 사이여야 합니다: " + segmentSizeMb);
+        }
+
+        RecoveryResult recovery = recover();
+        lastRecovery = recovery;
+        if (recovery.rooms() > 0) {
+            log.info("✅ 방 상태 복구 - Rooms: {}, Users: {}, Events: {}, Time: {}ms",
+                    recovery.rooms(), recovery.users(), recovery.events(), recovery.millis());
+        }
+
+        // 복구 이후 기록 시작
+        roomService.addEventSink(this);
+
+        compactionTask = signalingScheduler.scheduleWithFixedDelay("room-journal", this::compactQuietly,
+                snapshotIntervalSeconds, TimeUnit.SECONDS);
+        if (!restoredUsers.isEmpty()) {
+            expireTask = signalingScheduler.schedule(this::expireRestored, restoreGraceSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (compactionTask == null) {
+            return;
+        }
+        compactionTask.cancel(false);
+        if (expireTask != null) {
+            expireTask.cancel(false);
+        }
+
+        // 정상 종료 시 스냅샷을 남겨 다음 기동의 재생 분량을 줄임
+        roomService.removeEventSink(this);
+        compactQuietly();
+    }
+
+    // 스냅샷 + 저널 재생 후 새 세대로 시작 (기동 시 한 번)
+    RecoveryResult recover() throws IOException {
+        Files.createDirectories(Path.of(directory));
+        RecoveryResult result = restore();
+
+        roomService.forEachRoom((roomId, createdAt, participants) ->
+                participants.forEach(userId -> restoredUsers.put(userId, roomId)));
+
+        // 재생한 세대 다음부터 기록하고, 복구한 상태를 그 세대의 스냅샷으로 남겨 이전 저널 정리
+        segment = Segment.create(journalPath(result.lastGeneration() + 1), result.lastGeneration() + 1,
+                segmentCapacity());
+        writeSnapshot(segment.generation);
+        return result;
+    }
+
+    // 디스크 상태를 RoomService에 적용 (파일은 건드리지 않음)
+    RecoveryResult restore() throws IOException {
+        long started = System.nanoTime();
+        dir = Path.of(directory);
+        Path snapshotPath = dir.resolve(SNAPSHOT_FILE);
+
+        long baseGeneration = 0;
+        if (Files.exists(snapshotPath)) {
+            baseGeneration = readSnapshot(snapshotPath);
+        }
+
+        long lastGeneration = baseGeneration;
+        ReplayCount count = new ReplayCount();
+        for (Map.Entry<Long, Path> journal : listJournals().entrySet()) {
+            long generation = journal.getKey();
+            if (generation < baseGeneration) {
+                continue;
+            }
+            replay(journal.getValue(), generation, count);
+            lastGeneration = Math.max(lastGeneration, generation);
+        }
+        if (count.uncommitted > 0) {
+            log.warn("저널 재생 중 커밋되지 않은 기록 건너뜀 - Count: {}", count.uncommitted);
+        }
+
+        return new RecoveryResult(roomService.getRoomCount(), roomService.getParticipantCount(), count.events,
+                count.uncommitted, lastGeneration, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // 재시작 전 이 방에 있던 사용자가 그때 받은 재접속 토큰으로 처음 돌아왔으면 true (한 번만)
+    public boolean claimRestored(String userId, String roomId, String resumeToken) {
+        if (restoredUsers.isEmpty() || resumeToken == null || !restoredUsers.containsKey(userId)) {
+            return false;
+        }
+
+        ResumeTokenHash expected = tokenHashes.get(userId);
+        if (expected == null || !expected.roomId().equals(roomId)
+                || !MessageDigest.isEqual(expected.hash(), hash(resumeToken))) {
+            return false;
+        }
+
+        if (!restoredUsers.remove(userId, roomId)) {
+            return false;
+        }
+        claimed.increment();
+        return roomId.equals(roomService.getUserRoom(userId));
+    }
+
+    // 복구된 사용자가 재개 대신 새로 입장함 - 복구 유예 대상에서 제외
+    public void releaseRestored(String userId, String roomId) {
+        if (!restoredUsers.isEmpty()) {
+            restoredUsers.remove(userId, roomId);
+        }
+    }
+
+    // 입장/재개 때 발급한 재접속 토큰 (해시만 기록). 그 사이 방을 나갔으면 무시
+    public void recordResumeToken(String roomId, String userId, String resumeToken) {
+        if (!enabled || resumeToken == null || !roomId.equals(roomService.getUserRoom(userId))) {
+            return;
+        }
+
+        byte[] hash = hash(resumeToken);
+        tokenHashes.put(userId, new ResumeTokenHash(roomId, hash));
+        append(TOKEN, roomId, userId, 0, hash);
+    }
+
+    @Override
+    public void joined(String roomId, String userId, LocalDateTime roomCreatedAt) {
+        append(JOIN, roomId, userId, toNanos(roomCreatedAt), null);
+    }
+
+    @Override
+    public void left(String roomId, String userId) {
+        tokenHashes.computeIfPresent(userId, (key, token) -> token.roomId().equals(roomId) ? null : token);
+        append(LEAVE, roomId, userId, 0, null);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        if (!enabled) {
+            return stats;
+        }
+
+        Segment current = segment;
+        RecoveryResult recovery = lastRecovery;
+        stats.put("directory", dir != null ? dir.toAbsolutePath().toString() : directory);
+        stats.put("generation", current != null ? current.generation : 0);
+        stats.put("segmentUsedBytes", current != null ? current.usedBytes() : 0);
+        stats.put("appended", appended.sum());
+        stats.put("skipped", skipped.sum());
+        stats.put("rolls", rolls.sum());
+        stats.put("snapshots", snapshots.sum());
+        stats.put("lastSnapshotMs", lastSnapshotMillis);
+        stats.put("lastSnapshotRooms", lastSnapshotRooms);
+        stats.put("recovery", recovery);
+        stats.put("restoredPending", restoredUsers.size());
+        stats.put("restoredClaimed", claimed.sum());
+        stats.put("restoredExpired", expiredRestored.sum());
+        return stats;
+    }
+
+    // --- 기록 ---
+
+    private void append(byte type, String roomId, String userId, long createdAt, byte[] tokenHash) {
+        byte[] room = roomId.getBytes(UTF_8);
+        byte[] user = userId.getBytes(UTF_8);
+        if (room.length > MAX_ID_BYTES || user.length > MAX_ID_BYTES) {
+            skipped.increment();
+            return;
+        }
+
+        int length = align(FRAME_HEADER_BYTES + bodyLength(type, room.length, user.length));
+        while (true) {
+            Segment current;
+            Lock lock = segmentLock.readLock();
+            lock.lock();
+            try {
+                current = segment;
+                if (current == null) {
+                    // 종료 중
+                    skipped.increment();
+                    return;
+                }
+                if (current.tryAppend(type, room, user, createdAt, tokenHash, length)) {
+                    appended.increment();
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            // 세그먼트가 가득 참 - 새 세대로 넘기고 스냅샷 예약
+            if (roll(current)) {
+                scheduleCompaction();
+            }
+        }
+    }
+
+    // expected가 아직 현재 세그먼트면 새 세대로 교체하고 true
+    private boolean roll(Segment expected) {
+        Lock lock = segmentLock.writeLock();
+        lock.lock();
+        try {
+            if (segment != expected || expected == null) {
+                return false;
+            }
+            long next = expected.generation + 1;
+            expected.buffer.force();
+            segment = Segment.create(journalPath(next), next, segmentCapacity());
+            rolls.increment();
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("저널 세그먼트 생성 실패", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // --- 스냅샷 ---
+
+    private void scheduleCompaction() {
+        try {
+            signalingScheduler.schedule(this::compactQuietly, 0, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // 종료 중 - stop()에서 스냅샷을 남김
+        }
+    }
+
+    // 기록이 있었으면 새 세대로 넘긴 뒤 현재 상태를 그 세대의 스냅샷으로 저장
+    // 실패해도 저널은 그대로 남아 있으므로 기록만 하고 다음 주기에 다시 시도
+    private void compactQuietly() {
+        synchronized (compactionLock) {
+            try {
+                Segment current = segment;
+                if (current == null) {
+                    return;
+                }
+                if (current.usedBytes() > 0) {
+                    roll(current);
+                }
+
+                long generation = segment.generation;
+                if (generation > snapshotGeneration) {
+                    writeSnapshot(generation);
+                }
+            } catch (Exception e) {
+                log.error("방 상태 스냅샷 실패 - Error: {}", e.getMessage());
+            }
+        }
+    }
+
+    // 형식: magic, 세대, [1, roomId, 생성 시간, 인원, (userId, 토큰 해시 유무, [해시])...]*, 0, 방 수
+    private void writeSnapshot(long generation) throws IOException {
+        long started = System.nanoTime();
+        Path temp = dir.resolve(SNAPSHOT_FILE + ".tmp");
+        AtomicInteger roomCount = new AtomicInteger();
+
+        try (FileOutputStream file = new FileOutputStream(temp.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(generation);
+
+            try {
+                roomService.forEachRoom((roomId, createdAt, participants) -> {
+                    try {
+                        out.writeByte(1);
+                        writeId(out, roomId);
+                        out.writeLong(toNanos(createdAt));
+                        out.writeInt(participants.size());
+                        for (String userId : participants) {
+                            writeId(out, userId);
+                            ResumeTokenHash token = tokenHashes.get(userId);
+                            if (token != null && token.roomId().equals(roomId)) {
+                                out.writeByte(1);
+                                out.write(token.hash());
+                            } else {
+                                out.writeByte(0);
+                            }
+                        }
+                        roomCount.incrementAndGet();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            out.writeByte(0);
+            out.writeInt(roomCount.get());
+            out.flush();
+            file.getFD().sync();
+        }
+
+        Files.move(temp, dir.resolve(SNAPSHOT_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        snapshotGeneration = generation;
+
+        // 스냅샷에 반영된 이전 세대 저널 삭제
+        for (Map.Entry<Long, Path> journal : listJournals().entrySet()) {
+            if (journal.getKey() < generation) {
+                Files.deleteIfExists(journal.getValue());
+            }
+        }
+
+        snapshots.increment();
+        lastSnapshotRooms = roomCount.get();
+        lastSnapshotMillis = (System.nanoTime() - started) / 1_000_000;
+        log.debug("방 상태 스냅샷 - Generation: {}, Rooms: {}, Time: {}ms",
+                generation, roomCount.get(), lastSnapshotMillis);
+    }
+
+    private static void writeId(DataOutputStream out, String id) throws IOException {
+        byte[] bytes = id.getBytes(UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    // --- 복구 ---
+
+    // 스냅샷 세대 반환. 끝 표시/방 수가 맞지 않으면 (쓰다 만 파일) 무시하고 0
+    private long readSnapshot(Path path) throws IOException {
+        MappedByteBuffer buffer = map(path);
+        if (buffer.remaining() < 12 || buffer.getInt() != SNAPSHOT_MAGIC) {
+            log.warn("방 상태 스냅샷 형식 오류 - 무시: {}", path);
+            return 0;
+        }
+        long generation = buffer.getLong();
+
+        byte[] scratch = new byte[MAX_ID_BYTES];
+        List<String> participants = new ArrayList<>();
+        int rooms = 0;
+        try {
+            while (buffer.get() == 1) {
+                String roomId = readId(buffer, scratch);
+                LocalDateTime createdAt = fromNanos(buffer.getLong());
+                int count = buffer.getInt();
+
+                participants.clear();
+                for (int i = 0; i < count; i++) {
+                    String userId = readId(buffer, scratch);
+                    participants.add(userId);
+                    if (buffer.get() == 1) {
+                        byte[] hash = new byte[TOKEN_HASH_BYTES];
+                        buffer.get(hash);
+                        tokenHashes.put(userId, new ResumeTokenHash(roomId, hash));
+                    }
+                }
+                roomService.restoreRoom(roomId, createdAt, participants);
+                rooms++;
+            }
+            if (buffer.getInt() != rooms) {
+                throw new IllegalStateException("방 수 불일치");
+            }
+        } catch (RuntimeException e) {
+            // ATOMIC_MOVE로 교체하므로 정상적으로는 발생하지 않음
+            log.error("방 상태 스냅샷 손상 - 읽은 방까지만 복구: {}", e.getMessage());
+        }
+        return generation;
+    }
+
+    // 커밋된 기록만 재생. 커밋되지 않은 자리를 만나면 다음 커밋된 기록을 찾아 이어서 읽음
+    // (동시 기록은 자리를 먼저 예약하므로 앞 자리가 비어 있어도 뒤 기록은 완성돼 있을 수 있음)
+    private void replay(Path path, long generation, ReplayCount count) throws IOException {
+        MappedByteBuffer buffer = map(path);
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt(0) != JOURNAL_MAGIC
+                || buffer.getLong(4) != generation) {
+            log.warn("저널 형식 오류 - 무시: {}", path);
+            return;
+        }
+
+        byte[] scratch = new byte[MAX_ID_BYTES];
+        int position = HEADER_BYTES;
+        while (position + FRAME_HEADER_BYTES <= buffer.limit()) {
+            int length = committedLength(buffer, position);
+            if (length < 0) {
+                // 기록 끝(0으로 채워진 나머지)이면 -1
+                int next = nextCommitted(buffer, position + RECORD_ALIGNMENT);
+                if (next < 0) {
+                    return;
+                }
+                count.uncommitted++;
+                position = next;
+                continue;
+            }
+
+            apply(buffer, position + FRAME_HEADER_BYTES, scratch);
+            count.events++;
+            position += length;
+        }
+    }
+
+    // position의 기록이 커밋돼 있으면 길이, 아니면 -1 (길이 0, 범위 밖, crc 불일치, 본문 길이 불일치)
+    private static int committedLength(MappedByteBuffer buffer, int position) {
+        int length = buffer.getInt(position);
+        if (length < FRAME_HEADER_BYTES + RECORD_HEADER_BYTES || length > MAX_RECORD_BYTES
+                || length % RECORD_ALIGNMENT != 0 || position + length > buffer.limit()) {
+            return -1;
+        }
+
+        int body = position + FRAME_HEADER_BYTES;
+        if (buffer.getInt(position + 4) != crc(buffer, body, position + length)) {
+            return -1;
+        }
+
+        byte type = buffer.get(body);
+        if (type != JOIN && type != LEAVE && type != TOKEN) {
+            return -1;
+        }
+        int bodyLength = bodyLength(type, Short.toUnsignedInt(buffer.getShort(body + 1)),
+                Short.toUnsignedInt(buffer.getShort(body + 3)));
+        return align(FRAME_HEADER_BYTES + bodyLength) == length ? length : -1;
+    }
+
+    // from부터 정렬 단위로 다음 커밋된 기록 위치, 없으면 -1
+    private static int nextCommitted(MappedByteBuffer buffer, int from) {
+        for (int position = from; position + FRAME_HEADER_BYTES <= buffer.limit(); position += RECORD_ALIGNMENT) {
+            if (buffer.getInt(position) != 0 && committedLength(buffer, position) > 0) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    private void apply(MappedByteBuffer buffer, int body, byte[] scratch) {
+        byte type = buffer.get(body);
+        int roomLength = Short.toUnsignedInt(buffer.getShort(body + 1));
+        int userLength = Short.toUnsignedInt(buffer.getShort(body + 3));
+        int offset = body + RECORD_HEADER_BYTES;
+        long createdAt = 0;
+        byte[] tokenHash = null;
+        if (type == JOIN) {
+            createdAt = buffer.getLong(offset);
+            offset += Long.BYTES;
+        } else if (type == TOKEN) {
+            tokenHash = new byte[TOKEN_HASH_BYTES];
+            buffer.get(offset, tokenHash);
+            offset += TOKEN_HASH_BYTES;
+        }
+
+        buffer.get(offset, scratch, 0, roomLength);
+        String roomId = new String(scratch, 0, roomLength, UTF_8);
+        buffer.get(offset + roomLength, scratch, 0, userLength);
+        String userId = new String(scratch, 0, userLength, UTF_8);
+
+        if (type == JOIN) {
+            // 새 입장이면 이전 토큰은 무효 (입장 뒤 TOKEN 기록이 따라옴)
+            tokenHashes.remove(userId);
+            roomService.restoreJoin(roomId, userId, fromNanos(createdAt));
+        } else if (type == LEAVE) {
+            tokenHashes.computeIfPresent(userId, (key, token) -> token.roomId().equals(roomId) ? null : token);
+            roomService.restoreLeave(roomId, userId);
+        } else {
+            tokenHashes.put(userId, new ResumeTokenHash(roomId, tokenHash));
+        }
+    }
+
+    // 세대순 저널 파일
+    private TreeMap<Long, Path> listJournals() throws IOException {
+        TreeMap<Long, Path> journals = new TreeMap<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            files.forEach(file -> {
+                String name = file.getFileName().toString();
+                if (name.startsWith(JOURNAL_PREFIX) && name.endsWith(JOURNAL_SUFFIX)) {
+                    try {
+                        journals.put(Long.parseLong(name.substring(JOURNAL_PREFIX.length(),
+                                name.length() - JOURNAL_SUFFIX.length())), file);
+                    } catch (NumberFormatException ignored) {
+                        // 다른 파일
+                    }
+                }
+            });
+        }
+        return journals;
+    }
+
+    // 돌아오지 않은 복구 사용자 퇴장 처리 (다른 참여자에게 user-disconnected)
+    private void expireRestored() {
+        try {
+            WebSocketEventListener eventListener = eventListenerProvider.getObject();
+            new ArrayList<>(restoredUsers.entrySet()).forEach(entry -> {
+                if (restoredUsers.remove(entry.getKey(), entry.getValue())
+                        && entry.getValue().equals(roomService.getUserRoom(entry.getKey()))) {
+                    eventListener.disconnectUser(entry.getKey(), entry.getValue());
+                    expiredRestored.increment();
+                }
+            });
+            log.info("복구 후 돌아오지 않은 사용자 정리 - Users: {}", expiredRestored.sum());
+        } catch (Exception e) {
+            log.error("복구 사용자 정리 실패 - Error: {}", e.getMessage());
+        }
+    }
+
+    private int segmentCapacity() {
+        return Math.toIntExact(segmentSizeMb * 1024L * 1024);
+    }
+
+    private Path journalPath(long generation) {
+        return dir.resolve(JOURNAL_PREFIX + generation + JOURNAL_SUFFIX);
+    }
+
+    private static MappedByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private static int bodyLength(byte type, int roomLength, int userLength) {
+        int extra = type == JOIN ? Long.BYTES : type == TOKEN ? TOKEN_HASH_BYTES : 0;
+        return RECORD_HEADER_BYTES + extra + roomLength + userLength;
+    }
+
+    private static byte[] hash(String resumeToken) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(resumeToken.getBytes(UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 사용 불가", e);
+        }
+    }
+
+    private static int align(int length) {
+        return (length + RECORD_ALIGNMENT - 1) & -RECORD_ALIGNMENT;
+    }
+
+    private static int crc(ByteBuffer buffer, int from, int to) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(from, to - from));
+        return (int) crc.getValue();
+    }
+
+    private static String readId(MappedByteBuffer buffer, byte[] scratch) {
+        int length = Short.toUnsignedInt(buffer.getShort());
+        buffer.get(scratch, 0, length);
+        return new String(scratch, 0, length, UTF_8);
+    }
+
+    // LocalDateTime을 그대로 보존 (시간대 변환 없이 UTC 기준 나노초로만 인코딩)
+    private static long toNanos(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + time.getNano();
+    }
+
+    private static LocalDateTime fromNanos(long nanos) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L),
+                (int) Math.floorMod(nanos, 1_000_000_000L), ZoneOffset.UTC);
+    }
+
+    // 메모리 매핑 세그먼트 하나. 기록 위치를 CAS로 예약하고 서로 다른 구간에 동시에 씀
+    private static final class Segment {
+        final long generation;
+        final MappedByteBuffer buffer;
+        private final AtomicInteger position = new AtomicInteger(HEADER_BYTES);
+
+        private Segment(long generation, MappedByteBuffer buffer) {
+            this.generation = generation;
+            this.buffer = buffer;
+        }
+
+        static Segment create(Path path, long generation, int capacity) throws IOException {
+            MappedByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // 매핑이 파일 크기를 늘리며 0으로 채움 (매핑은 채널을 닫아도 유지)
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            }
+            buffer.putInt(0, JOURNAL_MAGIC);
+            buffer.putLong(4, generation);
+            return new Segment(generation, buffer);
+        }
+
+        // 본문과 crc를 먼저 쓰고 길이를 마지막에 써서 커밋 (길이가 0인 자리는 재생에서 건너뜀)
+        boolean tryAppend(byte type, byte[] room, byte[] user, long createdAt, byte[] tokenHash, int length) {
+            int start = position.getAndAdd(length);
+            if (start + length > buffer.capacity()) {
+                return false;
+            }
+
+            int body = start + FRAME_HEADER_BYTES;
+            buffer.put(body, type);
+            buffer.putShort(body + 1, (short) room.length);
+            buffer.putShort(body + 3, (short) user.length);
+            int offset = body + RECORD_HEADER_BYTES;
+            if (type == JOIN) {
+                buffer.putLong(offset, createdAt);
+                offset += Long.BYTES;
+            } else if (type == TOKEN) {
+                buffer.put(offset, tokenHash);
+                offset += TOKEN_HASH_BYTES;
+            }
+            buffer.put(offset, room);
+            buffer.put(offset + room.length, user);
+            buffer.putInt(start + 4, crc(buffer, body, start + length));
+            buffer.putInt(start, length);
+            return true;
+        }
+
+        int usedBytes() {
+            return Math.min(position.get(), buffer.capacity()) - HEADER_BYTES;
+        }
+    }
+
+    private record ResumeTokenHash(String roomId, byte[] hash) {
+    }
+
+    // 재생 집계 (세대별 저널에 걸쳐 누적)
+    private static final class ReplayCount {
+        long events;
+        long uncommitted;
+    }
+
+    // 복구 결과 (/api/webrtc/stats) - uncommitted: 예약만 되고 커밋되지 않아 건너뛴 자리 수
+    public record RecoveryResult(int rooms, int users, long events, long uncommitted, long lastGeneration, long millis) {
+    }
+}
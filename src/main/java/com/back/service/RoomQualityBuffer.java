@@ -0,0 +1,91 @@
+package com.back.service;
+
+import com.back.dto.RtcPeerStats;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 방 하나의 통화 품질 샘플 링 버퍼 (용량 고정, 가장 오래된 샘플부터 덮어씀)
+// 쌍별 직전 누적 카운터를 함께 보관해 전송률/프레임률을 계산
+final class RoomQualityBuffer {
+
+    private final QualitySample[] samples;
+    private int next;
+    private int count;
+
+    // key: fromUserId -> toUserId
+    private final Map<String, Counters> lastCounters = new HashMap<>();
+
+    RoomQualityBuffer(int capacity) {
+        this.samples = new QualitySample[capacity];
+    }
+
+    synchronized void add(String fromUserId, RtcPeerStats stats, long now) {
+        String pairKey = fromUserId + "->" + stats.getPeerId();
+        Counters current = new Counters(now, stats.getBytesSent(), stats.getBytesReceived(),
+                stats.getPacketsReceived(), stats.getPacketsLost(), stats.getVideoFramesDecoded());
+        Counters previous = lastCounters.put(pairKey, current);
+
+        double sendKbps = Double.NaN;
+        double receiveKbps = Double.NaN;
+        double fps = Double.NaN;
+        double lossPercent = Double.NaN;
+
+        // 첫 샘플이거나 카운터가 줄었으면 (재연결) 전송률은 알 수 없음
+        if (previous != null && current.isAfter(previous)) {
+            double seconds = (now - previous.timestamp) / 1000.0;
+            sendKbps = (current.bytesSent - previous.bytesSent) * 8 / 1000.0 / seconds;
+            receiveKbps = (current.bytesReceived - previous.bytesReceived) * 8 / 1000.0 / seconds;
+            fps = (current.framesDecoded - previous.framesDecoded) / seconds;
+
+            long received = current.packetsReceived - previous.packetsReceived;
+            long lost = current.packetsLost - previous.packetsLost;
+            if (received + lost > 0) {
+                lossPercent = lost * 100.0 / (received + lost);
+            }
+        }
+
+        double rttMs = stats.getRoundTripTime() > 0 ? stats.getRoundTripTime() * 1000 : Double.NaN;
+
+        samples[next] = new QualitySample(now, fromUserId, stats.getPeerId(), rttMs, sendKbps, receiveKbps, fps, lossPercent);
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+    }
+
+    // 퇴장한 사용자의 직전 카운터 정리 (샘플은 링 버퍼에서 자연히 밀려남)
+    synchronized void removeUser(String userId) {
+        lastCounters.keySet().removeIf(key -> key.startsWith(userId + "->") || key.endsWith("->" + userId));
+    }
+
+    // sinceMillis 이후 샘플 (오래된 순)
+    synchronized List<QualitySample> since(long sinceMillis) {
+        List<QualitySample> result = new ArrayList<>(count);
+        int start = (next - count + samples.length) % samples.length;
+        for (int i = 0; i < count; i++) {
+            QualitySample sample = samples[(start + i) % samples.length];
+            if (sample.timestamp() >= sinceMillis) {
+                result.add(sample);
+            }
+        }
+        return result;
+    }
+
+    record QualitySample(long timestamp, String fromUserId, String toUserId,
+                         double rttMs, double sendKbps, double receiveKbps, double fps, double lossPercent) {
+    }
+
+    private record Counters(long timestamp, long bytesSent, long bytesReceived,
+                            long packetsReceived, long packetsLost, long framesDecoded) {
+
+        boolean isAfter(Counters previous) {
+            return timestamp > previous.timestamp
+                    && bytesSent >= previous.bytesSent
+                    && bytesReceived >= previous.bytesReceived
+                    && packetsReceived >= previous.packetsReceived
+                    && packetsLost >= previous.packetsLost
+                    && framesDecoded >= previous.framesDecoded;
+        }
+    }
+}
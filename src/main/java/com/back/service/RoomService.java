@@ -1,6 +1,8 @@
 package com.back.service;
 
+import com.back.dto.RoomPage;
 import com.back.dto.RoomStateMessage;
+import com.back.dto.RoomSummary;
 import com.back.dto.UserStateMessage;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,6 +11,9 @@ import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 @Slf4j
@@ -17,77 +22,187 @@ public class RoomService {
     @Value("${app.webrtc.max-participants:6}")
     private int maxParticipants;
 
-    // 방별 사용자 목록 (roomId -> Set<userId>)
-    private final Map<String, Set<String>> roomParticipants = new ConcurrentHashMap<>();
+    // 방별 상태 (roomId -> Room: 참여자 목록 + 생성 시간)
+    // 각 Room이 자체 락을 가지므로 서로 다른 방의 입장/퇴장은 병렬로 처리됨
+    private final Map<String, Room> rooms = new ConcurrentHashMap<>();
+
+    // 방 목록 페이지 조회용 정렬 색인 (방 생성/정리 때만 갱신, rooms 맵의 같은 키 락 안에서 함께 변경)
+    private final NavigableSet<String> roomIndex = new ConcurrentSkipListSet<>();
+
+    // 입장/퇴장 때 갱신되는 통계
+    private final RoomStats roomStats = new RoomStats();
 
     // 사용자별 방 정보 (userId -> roomId)
+    // 같은 사용자에 대한 입장/이동/퇴장은 compute()로 직렬화됨
     private final Map<String, String> userRoomMapping = new ConcurrentHashMap<>();
 
-    // 방별 생성 시간
-    private final Map<String, LocalDateTime> roomCreationTime = new ConcurrentHashMap<>();
+    // 입장/퇴장 이벤트 수신자 (RoomJournal은 복구를 마친 뒤 연결)
+    private final List<RoomEventSink> eventSinks = new CopyOnWriteArrayList<>();
+    private volatile RoomEventSink eventSink = RoomEventSink.NONE;
 
     // 사용자를 방에 추가
-    public synchronized List<String> addUserToRoom(String roomId, String userId) {
-        log.info("사용자 방 입장 시도 - Room: {}, User: {}", roomId, userId);
-
-        // 이미 다른 방에 있는 경우 기존 방에서 제거
-        String existingRoom = userRoomMapping.get(userId);
-        if (existingRoom != null && !existingRoom.equals(roomId)) {
-            removeUserFromRoom(existingRoom, userId);
-            log.info("사용자가 기존 방에서 이동 - From: {}, To: {}", existingRoom, roomId);
-        }
+    // 락 순서: userRoomMapping(사용자) -> Room(방) -> rooms 맵. 역순으로 잡는 경로는 없음
+    public List<String> addUserToRoom(String roomId, String userId) {
+        log.debug("사용자 방 입장 시도 - Room: {}, User: {}", roomId, userId);
 
-        // 방 참여자 수 체크
-        Set<String> participants = roomParticipants.computeIfAbsent(roomId, k -> ConcurrentHashMap.newKeySet());
+        AtomicReference<List<String>> joined = new AtomicReference<>();
 
-        if (participants.size() >= maxParticipants && !participants.contains(userId)) {
-            log.warn("방 인원 초과 - Room: {}, Current: {}, Max: {}", roomId, participants.size(), maxParticipants);
-            throw new IllegalStateException("방 인원이 초과되었습니다. (최대 " + maxParticipants + "명)");
-        }
+        userRoomMapping.compute(userId, (key, existingRoom) -> {
+            // 대상 방 정원을 먼저 확보 - 가득 찼으면 예외로 매핑이 그대로 유지되어 기존 방에 남음
+            joined.set(joinRoom(roomId, userId));
 
-        // 방이 새로 생성되는 경우
-        if (participants.isEmpty()) {
-            roomCreationTime.put(roomId, LocalDateTime.now());
-            log.info("새 방 생성 - Room: {}", roomId);
-        }
+            // 이미 다른 방에 있는 경우 기존 방에서 제거
+            if (existingRoom != null && !existingRoom.equals(roomId)) {
+                leaveRoom(existingRoom, userId);
+                log.debug("사용자가 기존 방에서 이동 - From: {}, To: {}", existingRoom, roomId);
+            }
 
-        // 사용자 추가
-        participants.add(userId);
-        userRoomMapping.put(userId, roomId);
+            return roomId;
+        });
 
-        List<String> participantList = new ArrayList<>(participants);
+        List<String> participantList = joined.get();
 
-        log.info("사용자 방 입장 완료 - Room: {}, User: {}, Total: {}/{}",
-                roomId, userId, participants.size(), maxParticipants);
+        log.debug("사용자 방 입장 완료 - Room: {}, User: {}, Total: {}/{}",
+                roomId, userId, participantList.size(), maxParticipants);
 
         return participantList;
     }
 
     // 사용자를 방에서 제거
-    public synchronized void removeUserFromRoom(String roomId, String userId) {
-        log.info("사용자 방 퇴장 시도 - Room: {}, User: {}", roomId, userId);
-
-        Set<String> participants = roomParticipants.get(roomId);
-        if (participants != null) {
-            participants.remove(userId);
-            userRoomMapping.remove(userId);
-
-            // 방이 비어있으면 정리
-            if (participants.isEmpty()) {
-                roomParticipants.remove(roomId);
-                roomCreationTime.remove(roomId);
-                log.info("빈 방 정리 - Room: {}", roomId);
+    public void removeUserFromRoom(String roomId, String userId) {
+        log.debug("사용자 방 퇴장 시도 - Room: {}, User: {}", roomId, userId);
+
+        userRoomMapping.compute(userId, (key, currentRoom) -> {
+            int remaining = leaveRoom(roomId, userId);
+            if (remaining >= 0) {
+                log.debug("사용자 방 퇴장 완료 - Room: {}, User: {}, Remaining: {}", roomId, userId, remaining);
+            }
+
+            // 그 사이 다른 방으로 이동했다면 매핑 유지
+            return roomId.equals(currentRoom) ? null : currentRoom;
+        });
+    }
+
+    // 방 정원 확보 + 입장. 동시에 닫힌 방을 잡았으면 새 방으로 재시도
+    private List<String> joinRoom(String roomId, String userId) {
+        while (true) {
+            Room room = rooms.computeIfAbsent(roomId, id -> {
+                log.debug("새 방 생성 - Room: {}", id);
+                roomIndex.add(id);
+                return new Room(id, roomStats);
+            });
+
+            try {
+                List<String> participants = room.tryJoin(userId, maxParticipants, eventSink);
+                if (participants != null) {
+                    return participants;
+                }
+            } catch (IllegalStateException e) {
+                log.warn("방 인원 초과 - Room: {}, Current: {}, Max: {}", roomId, room.size(), maxParticipants);
+                throw e;
+            }
+
+            // 마지막 사용자가 나가며 닫힌 방 - 아직 맵에 남아 있다면 정리 후 재시도
+            removeRoom(roomId, room);
+        }
+    }
+
+    // 방에서 퇴장. 남은 인원 반환 (참여자가 아니었으면 -1)
+    private int leaveRoom(String roomId, String userId) {
+        Room room = rooms.get(roomId);
+        if (room == null) {
+            return -1;
+        }
+
+        int remaining = room.leave(userId, eventSink);
+
+        // 방이 비어있으면 정리
+        if (remaining == 0) {
+            removeRoom(roomId, room);
+            log.debug("빈 방 정리 - Room: {}", roomId);
+        }
+
+        return remaining;
+    }
+
+    // 같은 방 객체일 때만 맵과 색인에서 제거 (그 사이 같은 ID로 새로 만들어진 방은 유지)
+    private void removeRoom(String roomId, Room room) {
+        rooms.computeIfPresent(roomId, (id, current) -> {
+            if (current != room) {
+                return current;
             }
+            roomIndex.remove(id);
+            return null;
+        });
+    }
+
+    public synchronized void addEventSink(RoomEventSink sink) {
+        eventSinks.add(sink);
+        eventSink = RoomEventSink.of(eventSinks);
+    }
+
+    public synchronized void removeEventSink(RoomEventSink sink) {
+        eventSinks.remove(sink);
+        eventSink = RoomEventSink.of(eventSinks);
+    }
+
+    // --- 재시작 복구 (RoomJournal 전용, 요청 처리 시작 전 단일 스레드에서 호출) ---
+    // 정원은 검사하지 않음 (재시작 사이에 max-participants가 줄었어도 기존 참여자는 유지)
 
-            log.info("사용자 방 퇴장 완료 - Room: {}, User: {}, Remaining: {}",
-                    roomId, userId, participants.size());
+    // 스냅샷의 방 하나
+    void restoreRoom(String roomId, LocalDateTime createdAt, List<String> participants) {
+        Room room = new Room(roomId, createdAt, roomStats);
+        for (String userId : participants) {
+            room.restore(userId);
+            userRoomMapping.put(userId, roomId);
         }
+        rooms.put(roomId, room);
+        roomIndex.add(roomId);
+    }
+
+    // 저널의 입장 기록. 이동은 새 방 입장 -> 기존 방 퇴장 순서로 기록되어 있음
+    void restoreJoin(String roomId, String userId, LocalDateTime createdAt) {
+        rooms.computeIfAbsent(roomId, id -> {
+            roomIndex.add(id);
+            return new Room(id, createdAt, roomStats);
+        }).restore(userId);
+        userRoomMapping.put(userId, roomId);
+    }
+
+    // 저널의 퇴장 기록. 스냅샷 이후 기록과 겹쳐도 결과가 같도록 없는 참여자는 무시
+    void restoreLeave(String roomId, String userId) {
+        Room room = rooms.get(roomId);
+        if (room != null && room.restoreLeave(userId) == 0) {
+            removeRoom(roomId, room);
+        }
+        userRoomMapping.remove(userId, roomId);
+    }
+
+    // 스냅샷 작성용 - 방별로 일관된 참여자 목록 (방 사이에는 시점이 다를 수 있음)
+    void forEachRoom(RoomVisitor visitor) {
+        rooms.forEach((roomId, room) -> {
+            List<String> participants = room.snapshot();
+            if (!participants.isEmpty()) {
+                visitor.visit(roomId, room.getCreatedAt(), participants);
+            }
+        });
+    }
+
+    @FunctionalInterface
+    interface RoomVisitor {
+        void visit(String roomId, LocalDateTime createdAt, List<String> participants);
+    }
+
+    // 방 인원 (목록 복사 없이)
+    public int getRoomSize(String roomId) {
+        Room room = rooms.get(roomId);
+        return room != null ? room.size() : 0;
     }
 
     // 방 참여자 목록 조회
     public List<String> getRoomParticipants(String roomId) {
-        Set<String> participants = roomParticipants.get(roomId);
-        return participants != null ? new ArrayList<>(participants) : new ArrayList<>();
+        Room room = rooms.get(roomId);
+        return room != null ? room.snapshot() : new ArrayList<>();
     }
 
     // 사용자가 속한 방 조회
@@ -95,14 +210,20 @@ public class RoomService {
         return userRoomMapping.get(userId);
     }
 
+    // 방 생성 시간 조회
+    public LocalDateTime getRoomCreationTime(String roomId) {
+        Room room = rooms.get(roomId);
+        return room != null ? room.getCreatedAt() : null;
+    }
+
     // 방 상태 정보 조회
     public RoomStateMessage getRoomState(String roomId) {
-        Set<String> participants = roomParticipants.get(roomId);
+        List<String> participants = getRoomParticipants(roomId);
 
         return RoomStateMessage.builder()
                 .roomId(roomId)
-                .participantCount(participants != null ? participants.size() : 0)
-                .participants(participants != null ? new ArrayList<>(participants) : new ArrayList<>())
+                .participantCount(participants.size())
+                .participants(participants)
                 .timestamp(LocalDateTime.now())
                 .build();
     }
@@ -119,35 +240,77 @@ public class RoomService {
 
     // 방 존재 여부 확인
     public boolean isRoomExists(String roomId) {
-        return roomParticipants.containsKey(roomId);
+        return rooms.containsKey(roomId);
     }
 
-    // 방 참여 가능 여부 확인
+    // 방 참여 가능 여부 확인 (참고용 - 실제 정원 확보는 addUserToRoom에서 원자적으로 수행)
     public boolean canJoinRoom(String roomId) {
-        Set<String> participants = roomParticipants.get(roomId);
-        return participants == null || participants.size() < maxParticipants;
+        Room room = rooms.get(roomId);
+        return room == null || room.size() < maxParticipants;
+    }
+
+    public int getMaxParticipants() {
+        return maxParticipants;
+    }
+
+    // 활성 방 수 / 참여자 수 (메트릭 게이지용, O(1))
+    public int getRoomCount() {
+        return rooms.size();
+    }
+
+    public int getParticipantCount() {
+        return userRoomMapping.size();
     }
 
-    // 모든 방 정보 조회
+    // 모든 방 정보 조회 (전체 복사 - 방이 많으면 listRooms로 나눠 읽을 것)
     public Map<String, Set<String>> getAllRooms() {
-        return new HashMap<>(roomParticipants);
+        Map<String, Set<String>> allRooms = new HashMap<>();
+        rooms.forEach((roomId, room) -> {
+            List<String> participants = room.snapshot();
+            if (!participants.isEmpty()) {
+                allRooms.put(roomId, new LinkedHashSet<>(participants));
+            }
+        });
+        return allRooms;
     }
 
-    // 통계 정보 조회
+    // 방 목록 한 페이지 (방 ID 순, after 다음부터 최대 limit개)
+    // 전체를 복사하지 않고 색인을 따라가며 방마다 그 시점의 참여자 목록을 담음 (페이지 사이에 생기거나 사라진 방은 반영될 수도 있음)
+    public RoomPage listRooms(String after, int limit) {
+        NavigableSet<String> roomIds = after != null ? roomIndex.tailSet(after, false) : roomIndex;
+        List<RoomSummary> page = new ArrayList<>(Math.min(limit, 1024));
+        String last = null;
+
+        for (String roomId : roomIds) {
+            if (page.size() >= limit) {
+                return new RoomPage(page, last);
+            }
+            last = roomId;
+
+            Room room = rooms.get(roomId);
+            if (room == null) {
+                continue;
+            }
+            List<String> participants = room.snapshot();
+            if (!participants.isEmpty()) {
+                page.add(new RoomSummary(roomId, participants.size(), participants, room.getCreatedAt()));
+            }
+        }
+
+        return new RoomPage(page, null);
+    }
+
+    // 통계 정보 조회 (누적 카운터만 읽음 - 방 수와 무관)
     public Map<String, Object> getRoomStats() {
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalRooms", roomParticipants.size());
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("totalRooms", rooms.size());
         stats.put("totalUsers", userRoomMapping.size());
         stats.put("maxParticipants", maxParticipants);
 
         // 방별 참여자 수 분포
-        Map<Integer, Integer> participantDistribution = new HashMap<>();
-        roomParticipants.values().forEach(participants -> {
-            int size = participants.size();
-            participantDistribution.merge(size, 1, Integer::sum);
-        });
-        stats.put("participantDistribution", participantDistribution);
+        stats.put("participantDistribution", roomStats.distribution());
+        roomStats.putCounters(stats);
 
         return stats;
     }
-}
\ No newline at end of file
+}
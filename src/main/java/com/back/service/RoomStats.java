@@ -0,0 +1,89 @@
+package com.back.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// 방 통계 누적 (입장/퇴장 시 Room 모니터 안에서 갱신)
+// 인원별 방 수를 변화분(n-1 -> n)으로만 갱신하므로 조회 비용은 방 수와 무관 (/api/webrtc/stats 폴링용)
+final class RoomStats {
+
+    // 이 인원 이상인 방은 마지막 칸에 함께 집계
+    static final int MAX_TRACKED_SIZE = 64;
+
+    // index = 참여자 수 (0번 칸은 사용하지 않음 - 빈 방은 바로 정리됨)
+    private final LongAdder[] roomsBySize = new LongAdder[MAX_TRACKED_SIZE + 1];
+
+    private final LongAdder joins = new LongAdder();
+    private final LongAdder leaves = new LongAdder();
+    private final LongAdder roomsOpened = new LongAdder();
+    private final LongAdder roomsClosed = new LongAdder();
+    private final LongAdder fullRejections = new LongAdder();
+
+    RoomStats() {
+        for (int i = 0; i < roomsBySize.length; i++) {
+            roomsBySize[i] = new LongAdder();
+        }
+    }
+
+    // 입장 후 인원 size
+    void joined(int size) {
+        joins.increment();
+        if (size == 1) {
+            roomsOpened.increment();
+        }
+        resized(size - 1, size);
+    }
+
+    // 퇴장 후 인원 size
+    void left(int size) {
+        leaves.increment();
+        if (size == 0) {
+            roomsClosed.increment();
+        }
+        resized(size + 1, size);
+    }
+
+    // 재시작 복구 - 분포만 맞추고 입장 수에는 넣지 않음
+    void restored(int size) {
+        resized(size - 1, size);
+    }
+
+    // 재시작 복구 중 퇴장 기록 재생 - 분포만 맞추고 퇴장 수/닫힌 방 수에는 넣지 않음
+    void unrestored(int size) {
+        resized(size + 1, size);
+    }
+
+    void rejectedFull() {
+        fullRejections.increment();
+    }
+
+    private void resized(int from, int to) {
+        if (from > 0) {
+            roomsBySize[Math.min(from, MAX_TRACKED_SIZE)].decrement();
+        }
+        if (to > 0) {
+            roomsBySize[Math.min(to, MAX_TRACKED_SIZE)].increment();
+        }
+    }
+
+    // 인원 -> 방 수 (0인 칸 제외)
+    Map<Integer, Long> distribution() {
+        Map<Integer, Long> distribution = new LinkedHashMap<>();
+        for (int size = 1; size < roomsBySize.length; size++) {
+            long count = roomsBySize[size].sum();
+            if (count > 0) {
+                distribution.put(size, count);
+            }
+        }
+        return distribution;
+    }
+
+    void putCounters(Map<String, Object> stats) {
+        stats.put("joins", joins.sum());
+        stats.put("leaves", leaves.sum());
+        stats.put("roomsOpened", roomsOpened.sum());
+        stats.put("roomsClosed", roomsClosed.sum());
+        stats.put("fullRejections", fullRejections.sum());
+    }
+}
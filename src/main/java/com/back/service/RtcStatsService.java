@@ -0,0 +1,201 @@
+package com.back.service;
+
+import com.back.dto.RtcPeerStats;
+import com.back.dto.RtcStatsReport;
+import com.back.service.RoomQualityBuffer.QualitySample;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+
+// 클라이언트 RTC 통계 수집/집계
+// 방마다 고정 크기 링 버퍼에 샘플을 보관하고, 조회 시 최근 window 구간으로 방/쌍별 품질을 계산
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RtcStatsService {
+
+    private final RoomService roomService;
+
+    // 방별 보관 샘플 수 (6명 x 5피어 x 5초 주기 기준 약 1.5분)
+    @Value("${app.webrtc.rtc-stats.ring-size:512}")
+    private int ringSize;
+
+    // 집계 구간
+    @Value("${app.webrtc.rtc-stats.window-seconds:60}")
+    private long windowSeconds;
+
+    private final Map<String, RoomQualityBuffer> buffers = new ConcurrentHashMap<>();
+
+    private final LongAdder samplesAccepted = new LongAdder();
+    private final LongAdder reportsRejected = new LongAdder();
+
+    // 통계 샘플 접수 - 보고자와 상대 피어가 모두 해당 방 참여자일 때만 저장
+    public boolean ingest(RtcStatsReport report) {
+        String roomId = report.getRoomId();
+        String userId = report.getUserId();
+
+        if (roomId == null || userId == null || report.getPeers() == null
+                || !roomId.equals(roomService.getUserRoom(userId))) {
+            reportsRejected.increment();
+            return false;
+        }
+
+        long now = System.currentTimeMillis();
+        RoomQualityBuffer buffer = buffers.computeIfAbsent(roomId, id -> new RoomQualityBuffer(ringSize));
+
+        int accepted = 0;
+        for (RtcPeerStats peer : report.getPeers()) {
+            if (accepted >= roomService.getMaxParticipants()) {
+                break;
+            }
+            if (peer.getPeerId() == null || peer.getPeerId().equals(userId)
+                    || !roomId.equals(roomService.getUserRoom(peer.getPeerId()))) {
+                continue;
+            }
+
+            buffer.add(userId, peer, now);
+            accepted++;
+        }
+        samplesAccepted.add(accepted);
+
+        // 검증 직후 방이 닫혔다면 방금 만든 버퍼 제거
+        if (!roomService.isRoomExists(roomId)) {
+            buffers.remove(roomId, buffer);
+        }
+
+        return true;
+    }
+
+    // 사용자 퇴장 시 정리 - 방이 닫혔으면 버퍼째 제거
+    public void removeUser(String roomId, String userId) {
+        if (roomId == null) {
+            return;
+        }
+
+        if (!roomService.isRoomExists(roomId)) {
+            buffers.remove(roomId);
+            return;
+        }
+
+        RoomQualityBuffer buffer = buffers.get(roomId);
+        if (buffer != null) {
+            buffer.removeUser(userId);
+        }
+    }
+
+    // 방 품질 집계 (샘플이 없으면 null)
+    public Map<String, Object> getRoomQuality(String roomId) {
+        RoomQualityBuffer buffer = buffers.get(roomId);
+        if (buffer == null) {
+            return null;
+        }
+
+        List<QualitySample> samples = buffer.since(System.currentTimeMillis() - windowSeconds * 1000);
+
+        Map<String, List<QualitySample>> byPair = new TreeMap<>();
+        for (QualitySample sample : samples) {
+            byPair.computeIfAbsent(sample.fromUserId() + "->" + sample.toUserId(), key -> new ArrayList<>()).add(sample);
+        }
+
+        List<Map<String, Object>> pairs = new ArrayList<>();
+        byPair.forEach((key, pairSamples) -> {
+            Map<String, Object> pair = new LinkedHashMap<>();
+            pair.put("fromUserId", pairSamples.get(0).fromUserId());
+            pair.put("toUserId", pairSamples.get(0).toUserId());
+            pair.putAll(aggregate(pairSamples));
+            pairs.add(pair);
+        });
+
+        Map<String, Object> quality = new LinkedHashMap<>();
+        quality.put("roomId", roomId);
+        quality.put("windowSeconds", windowSeconds);
+        quality.put("room", aggregate(samples));
+        quality.put("pairs", pairs);
+        return quality;
+    }
+
+    // 사용자 송신 경로 품질 (MediaPolicyService용)
+    // RTT는 본인이 보고한 쌍, 손실률은 상대가 본인 스트림을 받으며 보고한 쌍에서 계산
+    public UplinkQuality getUplinkQuality(String roomId, String userId, long windowMillis) {
+        RoomQualityBuffer buffer = buffers.get(roomId);
+        if (buffer == null) {
+            return UplinkQuality.EMPTY;
+        }
+
+        List<QualitySample> samples = buffer.since(System.currentTimeMillis() - windowMillis);
+        List<QualitySample> sent = new ArrayList<>();
+        List<QualitySample> received = new ArrayList<>();
+        for (QualitySample sample : samples) {
+            if (userId.equals(sample.fromUserId())) {
+                sent.add(sample);
+            } else if (userId.equals(sample.toUserId())) {
+                received.add(sample);
+            }
+        }
+
+        return new UplinkQuality(sent.size() + received.size(),
+                percentile(values(sent, QualitySample::rttMs), 90),
+                average(values(received, QualitySample::lossPercent)));
+    }
+
+    public record UplinkQuality(int samples, Double rttP90Ms, Double lossPercent) {
+        static final UplinkQuality EMPTY = new UplinkQuality(0, null, null);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("trackedRooms", buffers.size());
+        stats.put("samplesAccepted", samplesAccepted.sum());
+        stats.put("reportsRejected", reportsRejected.sum());
+        return stats;
+    }
+
+    private static Map<String, Object> aggregate(List<QualitySample> samples) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("samples", samples.size());
+
+        double[] rtt = values(samples, QualitySample::rttMs);
+        Map<String, Object> rttMs = new LinkedHashMap<>();
+        rttMs.put("p50", percentile(rtt, 50));
+        rttMs.put("p90", percentile(rtt, 90));
+        rttMs.put("p99", percentile(rtt, 99));
+        result.put("rttMs", rttMs);
+
+        result.put("sendKbps", average(values(samples, QualitySample::sendKbps)));
+        result.put("receiveKbps", average(values(samples, QualitySample::receiveKbps)));
+        result.put("fps", average(values(samples, QualitySample::fps)));
+        result.put("lossPercent", average(values(samples, QualitySample::lossPercent)));
+        return result;
+    }
+
+    // 측정값이 있는 샘플만 (NaN 제외), 정렬된 배열
+    private static double[] values(List<QualitySample> samples, ToDoubleFunction<QualitySample> metric) {
+        return samples.stream()
+                .mapToDouble(metric)
+                .filter(value -> !Double.isNaN(value))
+                .sorted()
+                .toArray();
+    }
+
+    private static Double percentile(double[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return null;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return round(sorted[Math.max(0, Math.min(index, sorted.length - 1))]);
+    }
+
+    private static Double average(double[] values) {
+        return values.length == 0 ? null : round(Arrays.stream(values).average().orElse(0));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+}
@@ -0,0 +1,271 @@
+package com.back.service;
+
+import com.back.config.SignalingScheduler;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// 짧은 연결 끊김 후 세션 재개
+// 연결이 끊기면 grace-seconds 동안 방 자리를 유지하고 그 사용자에게 가는 시그널은 UserMailbox에 보관.
+// 그 안에 새 세션이 재접속 토큰으로 /app/room/resume을 보내면 자리를 되찾고 보관분을 순서대로 전달
+// -> 다른 참여자들은 user-disconnected를 받지 않으므로 피어 연결을 다시 만들지 않음.
+// 접속 노드 기준으로 동작 (클러스터 모드에서는 유예가 끝날 때 담당 노드로 퇴장 전달)
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SessionResumeService {
+
+    private final UserMailbox userMailbox;
+    private final SignalRouter signalRouter;
+    private final SignalingScheduler signalingScheduler;
+
+    @Value("${app.webrtc.resume.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.webrtc.resume.grace-seconds:15}")
+    private long graceSeconds;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // userId -> 현재 세션 (입장 시 등록, 퇴장/유예 만료 시 제거)
+    private final Map<String, UserSession> sessions = new ConcurrentHashMap<>();
+
+    private final LongAdder suspended = new LongAdder();
+    private final LongAdder resumed = new LongAdder();
+    private final LongAdder resumeFailures = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder staleDisconnects = new LongAdder();
+
+    // 종료 중에는 유예 만료(퇴장 처리)를 실행하지 않음
+    @PreDestroy
+    void stop() {
+        sessions.values().forEach(session -> {
+            synchronized (session) {
+                if (session.expiry != null) {
+                    session.expiry.cancel(false);
+                }
+            }
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 입장 시 세션 등록 + 재접속 토큰 발급 (비활성화면 null)
+    // 유예 중인 사용자가 토큰 없이 새로 입장하면 유예를 끝내고 보관분은 버림
+    public String register(String userId, String roomId, String sessionId) {
+        if (!enabled) {
+            return null;
+        }
+
+        UserSession session = new UserSession(userId, roomId, sessionId, newToken());
+        UserSession previous = sessions.put(userId, session);
+        if (previous != null) {
+            cancelSuspension(previous);
+        }
+        return session.token;
+    }
+
+    // 명시적 퇴장
+    public void release(String userId) {
+        UserSession session = sessions.remove(userId);
+        if (session != null) {
+            cancelSuspension(session);
+        }
+    }
+
+    // 이미 다른 세션으로 재접속한 사용자의 이전 세션 끊김 (늦게 도착한 disconnect) - 무시해야 함
+    public boolean isStaleDisconnect(String userId, String sessionId) {
+        UserSession session = sessions.get(userId);
+        if (session == null || sessionId == null) {
+            return false;
+        }
+
+        synchronized (session) {
+            if (!sessionId.equals(session.sessionId)) {
+                staleDisconnects.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    // 연결 끊김 -> 유예 시작. 유예를 시작했으면 true, 아니면 false (호출자가 바로 퇴장 처리)
+    // onExpire: 유예 안에 재개하지 못했을 때 실행할 퇴장 처리
+    public boolean suspend(String userId, String sessionId, Runnable onExpire) {
+        if (!enabled) {
+            return false;
+        }
+
+        UserSession session = sessions.get(userId);
+        if (session == null) {
+            return false;
+        }
+
+        synchronized (session) {
+            if (!session.sessionId.equals(sessionId) || session.expiry != null) {
+                return false;
+            }
+
+            userMailbox.open(userId);
+            session.onExpire = onExpire;
+            session.expiry = signalingScheduler.schedule(() -> expire(session), graceSeconds, TimeUnit.SECONDS);
+        }
+
+        suspended.increment();
+        log.debug("세션 재개 대기 - User: {}, Room: {}, Grace: {}s", userId, session.roomId, graceSeconds);
+        return true;
+    }
+
+    // 재접속한 세션이 자리 되찾기. 성공하면 새 토큰과 전달한 보관 메시지 수, 실패하면 사유
+    public ResumeResult resume(String userId, String roomId, String token, String sessionId) {
+        UserSession session = userId != null ? sessions.get(userId) : null;
+        if (session == null || token == null || !session.roomId.equals(roomId)) {
+            resumeFailures.increment();
+            return ResumeResult.failed("unknown-session");
+        }
+
+        Runnable onExpire;
+        String nextToken = newToken();
+        synchronized (session) {
+            if (!MessageDigest.isEqual(session.token.getBytes(StandardCharsets.UTF_8),
+                    token.getBytes(StandardCharsets.UTF_8))) {
+                resumeFailures.increment();
+                return ResumeResult.failed("unknown-session");
+            }
+
+            if (session.expiry == null) {
+                // 아직 이전 세션의 끊김이 도착하지 않음 - 세션만 교체하면 이후 도착하는 끊김은 무시됨
+                session.sessionId = sessionId;
+                session.token = nextToken;
+                resumed.increment();
+                return ResumeResult.resumed(nextToken, 0);
+            }
+
+            if (!session.expiry.cancel(false)) {
+                // 만료 처리가 이미 시작됨
+                resumeFailures.increment();
+                return ResumeResult.failed("expired");
+            }
+
+            session.expiry = null;
+            session.sessionId = sessionId;
+            session.token = nextToken;
+            onExpire = session.onExpire;
+            session.onExpire = null;
+        }
+
+        int delivered = userMailbox.close(userId, signalRouter::deliverBuffered);
+        if (delivered < 0) {
+            // 보관함이 넘쳐 시그널이 유실됨 - 자리를 유지해도 협상이 어긋나므로 퇴장 처리 후 새로 입장하게 함
+            sessions.remove(userId, session);
+            resumeFailures.increment();
+            onExpire.run();
+            return ResumeResult.failed("mailbox-overflow");
+        }
+
+        resumed.increment();
+        log.debug("세션 재개 - User: {}, Room: {}, Buffered: {}", userId, roomId, delivered);
+        return ResumeResult.resumed(nextToken, delivered);
+    }
+
+    // 서버 재시작으로 세션 정보가 사라진 복구 참여자 (RoomJournal.claimRestored 확인 후) - 새 세션으로 등록하고 재개로 처리
+    public ResumeResult adopt(String userId, String roomId, String sessionId) {
+        String token = register(userId, roomId, sessionId);
+        resumed.increment();
+        return ResumeResult.resumed(token, 0);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("graceSeconds", graceSeconds);
+        stats.put("sessions", sessions.size());
+        stats.put("suspendedNow", userMailbox.getOpenCount());
+        stats.put("suspended", suspended.sum());
+        stats.put("resumed", resumed.sum());
+        stats.put("resumeFailures", resumeFailures.sum());
+        stats.put("expired", expired.sum());
+        stats.put("staleDisconnects", staleDisconnects.sum());
+        stats.put("bufferedSignals", userMailbox.getBufferedCount());
+        stats.put("mailboxOverflows", userMailbox.getOverflowCount());
+        return stats;
+    }
+
+    private void expire(UserSession session) {
+        Runnable onExpire;
+        synchronized (session) {
+            if (session.expiry == null) {
+                return;
+            }
+            session.expiry = null;
+            onExpire = session.onExpire;
+            session.onExpire = null;
+        }
+
+        sessions.remove(session.userId, session);
+        userMailbox.discard(session.userId);
+        expired.increment();
+
+        log.debug("세션 재개 유예 만료 - User: {}, Room: {}", session.userId, session.roomId);
+        onExpire.run();
+    }
+
+    private void cancelSuspension(UserSession session) {
+        synchronized (session) {
+            if (session.expiry != null) {
+                session.expiry.cancel(false);
+                session.expiry = null;
+                session.onExpire = null;
+                userMailbox.discard(session.userId);
+            }
+        }
+    }
+
+    private static String newToken() {
+        byte[] bytes = new byte[18];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static final class UserSession {
+        final String userId;
+        final String roomId;
+        String sessionId;
+        String token;
+        ScheduledFuture<?> expiry;  // null이 아니면 유예 중
+        Runnable onExpire;
+
+        UserSession(String userId, String roomId, String sessionId, String token) {
+            this.userId = userId;
+            this.roomId = roomId;
+            this.sessionId = sessionId;
+            this.token = token;
+        }
+    }
+
+    // resumeToken/bufferedSignals는 성공 시에만, reason은 실패 시에만
+    public record ResumeResult(boolean resumed, String resumeToken, int bufferedSignals, String reason) {
+        static ResumeResult resumed(String resumeToken, int bufferedSignals) {
+            return new ResumeResult(true, resumeToken, bufferedSignals, null);
+        }
+
+        static ResumeResult failed(String reason) {
+            return new ResumeResult(false, null, 0, reason);
+        }
+    }
+}
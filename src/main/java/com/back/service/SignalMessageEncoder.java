@@ -0,0 +1,26 @@
+package com.back.service;
+
+import com.back.dto.SignalMessage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Component;
+
+// SignalMessage JSON 직렬화 (ObjectWriter 재사용)
+@Component
+public class SignalMessageEncoder {
+
+    private final ObjectWriter writer;
+
+    public SignalMessageEncoder(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writerFor(SignalMessage.class);
+    }
+
+    public byte[] encode(SignalMessage message) {
+        try {
+            return writer.writeValueAsBytes(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("시그널 메시지 직렬화 실패: " + message.getType(), e);
+        }
+    }
+}
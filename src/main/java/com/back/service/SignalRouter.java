@@ -0,0 +1,127 @@
+package com.back.service;
+
+import com.back.cluster.ClusterCoordinator;
+import com.back.dto.SignalMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.Collection;
+
+// 메시지는 한 번만 JSON으로 직렬화하고, 같은 byte[]를 모든 수신 세션에 그대로 전달
+// (SimpMessagingTemplate 메시지 컨버터를 거치지 않음)
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SignalRouter { // 시그널 메시지 전달 경로 (사용자 큐 / 방 토픽)
+
+    private static final String ROOM_TOPIC_PREFIX = "/topic/room/";
+    private static final String USER_PREFIX = "/user/";
+    private static final String USER_SIGNAL_QUEUE = "/queue/webrtc";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SignalMessageEncoder encoder;
+    private final ClusterCoordinator clusterCoordinator;
+    private final UserMailbox userMailbox;
+
+    // 구 클라이언트 호환용: 방 토픽으로도 시그널 브로드캐스트
+    @Value("${app.webrtc.signaling.legacy-broadcast:false}")
+    private boolean legacyBroadcast;
+
+    // 1:1 WebRTC 시그널 (offer/answer/ice-candidate) 전송
+    public void sendSignal(String roomId, String toUserId, SignalMessage message) {
+        byte[] payload = encoder.encode(message);
+
+        sendBytesToUser(toUserId, USER_SIGNAL_QUEUE, payload);
+
+        if (legacyBroadcast) {
+            sendBytesToRoom(roomId, payload);
+        }
+    }
+
+    // 방 전체 알림 (user-joined, user-left 등)
+    public void broadcastToRoom(String roomId, SignalMessage message) {
+        sendBytesToRoom(roomId, encoder.encode(message));
+    }
+
+    // 특정 사용자 큐로 전송 (room-state, error 등)
+    public void sendToUser(String userId, String destination, SignalMessage message) {
+        sendBytesToUser(userId, destination, encoder.encode(message));
+    }
+
+    // 여러 사용자 큐로 같은 메시지 전송 - 직렬화는 한 번만 수행
+    public void sendToUsers(Collection<String> userIds, String destination, SignalMessage message) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        byte[] payload = encoder.encode(message);
+        for (String userId : userIds) {
+            sendBytesToUser(userId, destination, payload);
+        }
+    }
+
+    // 다른 클러스터 노드에서 전달받은 메시지를 로컬 세션으로 전송
+    public void deliverLocal(String destination, byte[] payload) {
+        if (destination.startsWith(USER_PREFIX)) {
+            int end = destination.indexOf('/', USER_PREFIX.length());
+            if (end > 0 && userMailbox.offer(
+                    destination.substring(USER_PREFIX.length(), end).replace("%2F", "/"), destination, payload)) {
+                return;
+            }
+        }
+
+        sendBytes(destination, payload);
+    }
+
+    // 재접속 대기 중 보관했던 메시지 전송 (목적지는 이미 사용자 목적지로 변환된 상태)
+    void deliverBuffered(String destination, byte[] payload) {
+        sendBytes(destination, payload);
+    }
+
+    public boolean isLegacyBroadcast() {
+        return legacyBroadcast;
+    }
+
+    private void sendBytesToUser(String userId, String destination, byte[] payload) {
+        // convertAndSendToUser와 동일한 사용자 이름 인코딩
+        String userDestination = USER_PREFIX + userId.replace("/", "%2F") + destination;
+
+        // 클러스터 모드: 다른 노드에 접속한 사용자면 해당 노드로 전달
+        if (clusterCoordinator.deliverRemote(userId, userDestination, payload)) {
+            return;
+        }
+
+        // 연결이 잠깐 끊긴 사용자면 재접속까지 보관
+        if (userMailbox.offer(userId, userDestination, payload)) {
+            return;
+        }
+
+        sendBytes(userDestination, payload);
+    }
+
+    private void sendBytesToRoom(String roomId, byte[] payload) {
+        String destination = ROOM_TOPIC_PREFIX + roomId;
+        sendBytes(destination, payload);
+        clusterCoordinator.broadcastRemote(roomId, destination, payload);
+    }
+
+    private void sendBytes(String destination, byte[] payload) {
+        messagingTemplate.send(destination, toMessage(payload));
+    }
+
+    // 수신자마다 헤더는 새로 만들고 페이로드 버퍼는 공유
+    private static Message<byte[]> toMessage(byte[] payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+    }
+}
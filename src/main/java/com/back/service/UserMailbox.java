@@ -0,0 +1,113 @@
+package com.back.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+// 재접속 대기 중인 사용자에게 가는 사용자 큐 메시지 임시 보관함
+// SessionResumeService가 열고 닫으며, SignalRouter는 열린 보관함이 있으면 세션 대신 여기에 넣음.
+// 사용자별 capacity를 넘으면 보관분을 버리고 넘침 표시 (재개 시 재협상 필요로 처리)
+@Service
+public class UserMailbox {
+
+    @Value("${app.webrtc.resume.mailbox-size:64}")
+    private int capacity;
+
+    private final Map<String, Box> boxes = new ConcurrentHashMap<>();
+
+    private final LongAdder buffered = new LongAdder();
+    private final LongAdder overflows = new LongAdder();
+
+    void open(String userId) {
+        boxes.put(userId, new Box());
+    }
+
+    // 보관함이 열려 있으면 보관(또는 넘침으로 폐기)하고 true, 아니면 false - 호출자가 바로 전송
+    public boolean offer(String userId, String destination, byte[] payload) {
+        Box box = boxes.get(userId);
+        if (box == null) {
+            return false;
+        }
+
+        synchronized (box) {
+            if (box.closed) {
+                return false;
+            }
+            if (box.overflowed) {
+                return true;
+            }
+            if (box.messages.size() >= capacity) {
+                box.overflowed = true;
+                box.messages.clear();
+                overflows.increment();
+                return true;
+            }
+            box.messages.add(new Pending(destination, payload));
+            buffered.increment();
+            return true;
+        }
+    }
+
+    // 보관분을 순서대로 sink로 넘기고 닫음. 전달 중 들어온 메시지는 전달이 끝난 뒤 바로 전송되므로 순서 유지
+    // 반환: 전달한 수, 넘쳤으면 -1, 보관함이 없으면 0
+    int close(String userId, BiConsumer<String, byte[]> sink) {
+        Box box = boxes.get(userId);
+        if (box == null) {
+            return 0;
+        }
+
+        try {
+            synchronized (box) {
+                box.closed = true;
+                if (box.overflowed) {
+                    return -1;
+                }
+                int count = box.messages.size();
+                for (Pending pending : box.messages) {
+                    sink.accept(pending.destination(), pending.payload());
+                }
+                box.messages.clear();
+                return count;
+            }
+        } finally {
+            boxes.remove(userId, box);
+        }
+    }
+
+    // 재개 없이 만료/퇴장
+    void discard(String userId) {
+        Box box = boxes.remove(userId);
+        if (box != null) {
+            synchronized (box) {
+                box.closed = true;
+                box.messages.clear();
+            }
+        }
+    }
+
+    int getOpenCount() {
+        return boxes.size();
+    }
+
+    long getBufferedCount() {
+        return buffered.sum();
+    }
+
+    long getOverflowCount() {
+        return overflows.sum();
+    }
+
+    private static final class Box {
+        final ArrayDeque<Pending> messages = new ArrayDeque<>();
+        boolean overflowed;
+        boolean closed;
+    }
+
+    private record Pending(String destination, byte[] payload) {
+    }
+}
@@ -0,0 +1,70 @@
+package com.back.trace;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+// 다중 생산자 / 단일 소비자 링 버퍼 (락 없음)
+// 생산자는 순번을 getAndIncrement로 예약하고 해당 칸에 이벤트를 넣기만 함 - 가득 차도 기다리지 않고 가장 오래된 칸을 덮어씀.
+// 소비자는 칸에 든 이벤트의 순번으로 아직 안 채워진 칸 / 덮어써진 칸을 구분
+final class EventRing {
+
+    private final AtomicReferenceArray<SignalEvent> slots;
+    private final int mask;
+    private final AtomicLong nextSequence = new AtomicLong();
+
+    // 소비자 전용
+    private long readSequence;
+    private volatile long overwritten;
+
+    EventRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    long nextSequence() {
+        return nextSequence.getAndIncrement();
+    }
+
+    // nextSequence()로 받은 순번의 이벤트
+    void publish(SignalEvent event) {
+        slots.setRelease((int) (event.sequence() & mask), event);
+    }
+
+    // 순서대로 최대 max개 전달. 아직 채워지지 않은 칸을 만나면 멈춤 (다음 호출에서 이어서)
+    int drain(Consumer<SignalEvent> consumer, int max) {
+        int drained = 0;
+        while (drained < max) {
+            SignalEvent event = slots.getAcquire((int) (readSequence & mask));
+            if (event == null || event.sequence() < readSequence) {
+                return drained;
+            }
+
+            if (event.sequence() > readSequence) {
+                // 생산자가 한 바퀴 앞질러 덮어씀 - 아직 남아 있을 수 있는 가장 오래된 순번으로 건너뜀
+                long oldest = Math.max(readSequence + 1, nextSequence.get() - slots.length());
+                overwritten += oldest - readSequence;
+                readSequence = oldest;
+                continue;
+            }
+
+            consumer.accept(event);
+            readSequence++;
+            drained++;
+        }
+        return drained;
+    }
+
+    long published() {
+        return nextSequence.get();
+    }
+
+    long overwritten() {
+        return overwritten;
+    }
+
+    int capacity() {
+        return slots.length();
+    }
+}
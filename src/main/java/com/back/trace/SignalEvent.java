@@ -0,0 +1,23 @@
+package com.back.trace;
+
+// 시그널링 이벤트 하나 (방 타임라인 조회 응답에 그대로 사용)
+// sequence: 노드 안 기록 순서, detail: 이벤트별 부가 정보 (SDP 길이, candidate 종류, 사유 등)
+public record SignalEvent(long sequence, long timestamp, String type, String roomId,
+                          String fromUserId, String toUserId, String detail) {
+
+    // 한 사용자 또는 두 사용자 사이 이벤트인지 (peerId가 null이면 userId가 관련된 모든 이벤트)
+    boolean involves(String userId, String peerId) {
+        if (userId == null) {
+            return true;
+        }
+        if (peerId == null) {
+            return userId.equals(fromUserId) || userId.equals(toUserId);
+        }
+        return sentBy(userId, peerId) || sentBy(peerId, userId);
+    }
+
+    // 방 단위 이벤트(입장/퇴장 등, toUserId 없음)는 보낸 사람만 맞으면 포함
+    private boolean sentBy(String userId, String peerId) {
+        return userId.equals(fromUserId) && (toUserId == null || peerId.equals(toUserId));
+    }
+}
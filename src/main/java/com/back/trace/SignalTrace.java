@@ -0,0 +1,207 @@
+package com.back.trace;
+
+import com.back.config.SignalingScheduler;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// 시그널링 이벤트 기록 (입장/퇴장/offer/answer/candidate/거절 등)
+// 핸들러는 링 버퍼에 이벤트 객체 하나를 넣기만 하고, 공용 스케줄러(SignalingScheduler)에서 주기적으로 꺼내 방별 타임라인(최근 events-per-room개)에 쌓음.
+// 방 단위 샘플링 (sample-rate, 방 ID 해시 기준이라 한 방은 전부 기록되거나 전부 빠짐) + REST로 특정 방 강제 기록.
+// 조회: GET /api/webrtc/rooms/{roomId}/timeline (클러스터 모드에서는 방 담당 노드 기준)
+// log-events를 켜면 같은 스레드에서 signal-events 로거로 한 줄씩 출력 (핸들러 스레드에서는 로깅하지 않음)
+@Component
+@RequiredArgsConstructor
+public class SignalTrace {
+
+    private static final Logger EVENT_LOG = LoggerFactory.getLogger("signal-events");
+
+    private static final int DRAIN_BATCH = 4096;
+
+    private final SignalingScheduler signalingScheduler;
+
+    @Value("${app.webrtc.trace.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.webrtc.trace.ring-size:65536}")
+    private int ringSize;
+
+    // 0.0 ~ 1.0 (방 비율)
+    @Value("${app.webrtc.trace.sample-rate:1.0}")
+    private double sampleRate;
+
+    @Value("${app.webrtc.trace.max-rooms:1000}")
+    private int maxRooms;
+
+    @Value("${app.webrtc.trace.events-per-room:512}")
+    private int eventsPerRoom;
+
+    @Value("${app.webrtc.trace.drain-interval-ms:100}")
+    private long drainIntervalMs;
+
+    @Value("${app.webrtc.trace.log-events:false}")
+    private boolean logEvents;
+
+    private EventRing ring;
+    private int sampleThreshold;
+    private ScheduledFuture<?> drainTask;
+
+    // 샘플링과 무관하게 기록할 방
+    private final Set<String> forcedRooms = ConcurrentHashMap.newKeySet();
+
+    // roomId -> 최근 이벤트 (접근 순서 - max-rooms를 넘으면 가장 오래 갱신되지 않은 방부터 버림)
+    private final Map<String, ArrayDeque<SignalEvent>> timelines = new LinkedHashMap<>(256, 0.75f, true);
+
+    private final LongAdder unsampled = new LongAdder();
+    private volatile long evictedRooms;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+
+        ring = new EventRing(ringSize);
+        sampleThreshold = (int) Math.round(Math.max(0.0, Math.min(1.0, sampleRate)) * 10_000);
+
+        drainTask = signalingScheduler.scheduleWithFixedDelay("signal-trace", this::drain,
+                drainIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (drainTask != null) {
+            drainTask.cancel(false);
+        }
+    }
+
+    // 핸들러 스레드에서 호출 - 샘플링 판정 + 링 버퍼에 넣기만 함
+    public void record(String type, String roomId, String fromUserId, String toUserId, String detail) {
+        if (!enabled || roomId == null) {
+            return;
+        }
+        if (!isSampled(roomId)) {
+            unsampled.increment();
+            return;
+        }
+
+        long sequence = ring.nextSequence();
+        ring.publish(new SignalEvent(sequence, System.currentTimeMillis(), type, roomId, fromUserId, toUserId, detail));
+    }
+
+    public boolean isSampled(String roomId) {
+        if (sampleThreshold >= 10_000 || forcedRooms.contains(roomId)) {
+            return true;
+        }
+        return Math.floorMod(roomId.hashCode(), 10_000) < sampleThreshold;
+    }
+
+    // 방 강제 기록 지정/해제
+    public void setForced(String roomId, boolean forced) {
+        if (forced) {
+            forcedRooms.add(roomId);
+        } else {
+            forcedRooms.remove(roomId);
+        }
+    }
+
+    // 방 타임라인 (오래된 것부터, 최근 limit개). userId/peerId로 한 사용자 또는 두 사용자 사이만 거름
+    public List<SignalEvent> getTimeline(String roomId, String userId, String peerId, int limit) {
+        List<SignalEvent> events = new ArrayList<>();
+        if (!enabled) {
+            return events;
+        }
+
+        synchronized (timelines) {
+            ArrayDeque<SignalEvent> timeline = timelines.get(roomId);
+            if (timeline == null) {
+                return events;
+            }
+            Iterator<SignalEvent> newestFirst = timeline.descendingIterator();
+            while (newestFirst.hasNext() && events.size() < limit) {
+                SignalEvent event = newestFirst.next();
+                if (event.involves(userId, peerId)) {
+                    events.add(event);
+                }
+            }
+        }
+
+        Collections.reverse(events);
+        return events;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        if (!enabled) {
+            return stats;
+        }
+
+        int rooms;
+        synchronized (timelines) {
+            rooms = timelines.size();
+        }
+        stats.put("sampleRate", sampleRate);
+        stats.put("ringSize", ring.capacity());
+        stats.put("recorded", ring.published());
+        stats.put("unsampled", unsampled.sum());
+        stats.put("overwritten", ring.overwritten());
+        stats.put("rooms", rooms);
+        stats.put("evictedRooms", evictedRooms);
+        stats.put("forcedRooms", forcedRooms.size());
+        return stats;
+    }
+
+    // --- 기록 스레드 ---
+
+    private void drain() {
+        int drained;
+        do {
+            synchronized (timelines) {
+                drained = ring.drain(this::append, DRAIN_BATCH);
+            }
+        } while (drained == DRAIN_BATCH);
+    }
+
+    // timelines 락 안
+    private void append(SignalEvent event) {
+        ArrayDeque<SignalEvent> timeline = timelines.get(event.roomId());
+        if (timeline == null) {
+            if (timelines.size() >= maxRooms) {
+                Iterator<String> eldest = timelines.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+                evictedRooms++;
+            }
+            timeline = new ArrayDeque<>();
+            timelines.put(event.roomId(), timeline);
+        }
+
+        if (timeline.size() >= eventsPerRoom) {
+            timeline.removeFirst();
+        }
+        timeline.addLast(event);
+
+        if (logEvents) {
+            EVENT_LOG.info("{} room={} from={} to={} {}", event.type(), event.roomId(),
+                    event.fromUserId(), event.toUserId(), event.detail() != null ? event.detail() : "");
+        }
+    }
+}
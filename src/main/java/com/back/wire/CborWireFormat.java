@@ -0,0 +1,206 @@
+package com.back.wire;
+
+import com.back.metrics.SessionBacklogTracker;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+// 세션별 바이너리(CBOR) 시그널 프레임
+// CONNECT 헤더 signal-format: cbor 를 보낸 순수 WebSocket 세션(SockJS 제외)은
+// - 수신: application/octet-stream 본문을 CBOR로 읽음 (application/cbor로 바꿔 converter()가 역직렬화)
+// - 발신: SignalRouter가 만든 JSON 바이트를 CBOR로 바꿔 바이너리 프레임으로 전송
+// STOMP는 content-type이 application/octet-stream일 때만 바이너리 프레임을 쓰므로 CBOR 프레임은 그 타입으로 나감.
+// JSON 프레임은 application/json 그대로라 클라이언트는 content-type으로 구분
+@Component
+@Slf4j
+public class CborWireFormat {
+
+    public static final String FORMAT_HEADER = "signal-format";
+    public static final MimeType APPLICATION_CBOR = new MimeType("application", "cbor");
+
+    private final SessionBacklogTracker sessionBacklogTracker;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final CBORFactory cborFactory = new CBORFactory();
+
+    @Value("${app.websocket.compression.cbor:true}")
+    private boolean enabled;
+
+    private final Set<String> cborSessions = ConcurrentHashMap.newKeySet();
+
+    // 방 브로드캐스트는 같은 byte[]가 수신 세션마다 들어오므로 직전 변환 결과를 재사용
+    private final AtomicReference<Transcoded> lastTranscoded = new AtomicReference<>();
+
+    private final LongAdder transcodedFrames = new LongAdder();
+    private final LongAdder jsonBytes = new LongAdder();
+    private final LongAdder cborBytes = new LongAdder();
+    private final LongAdder rejectedNegotiations = new LongAdder();
+
+    private final ChannelInterceptor inbound = new ChannelInterceptor() {
+        @Override
+        public Message<?> preSend(Message<?> message, MessageChannel channel) {
+            return onInbound(message);
+        }
+    };
+
+    private final ChannelInterceptor outbound = new ChannelInterceptor() {
+        @Override
+        public Message<?> preSend(Message<?> message, MessageChannel channel) {
+            return onOutbound(message);
+        }
+    };
+
+    public CborWireFormat(SessionBacklogTracker sessionBacklogTracker) {
+        this.sessionBacklogTracker = sessionBacklogTracker;
+    }
+
+    // clientInboundChannel용 - CONNECT 협상, DISCONNECT 정리, 바이너리 본문 타입 지정
+    public ChannelInterceptor inbound() {
+        return inbound;
+    }
+
+    // clientOutboundChannel용 - JSON -> CBOR 변환
+    public ChannelInterceptor outbound() {
+        return outbound;
+    }
+
+    // @MessageMapping 페이로드 역직렬화 (application/cbor만 처리, 그 외는 기본 JSON 컨버터)
+    public MessageConverter converter() {
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter(APPLICATION_CBOR);
+        converter.setObjectMapper(new CBORMapper());
+        converter.setStrictContentTypeMatch(true);
+        return converter;
+    }
+
+    public boolean isCborSession(String sessionId) {
+        return sessionId != null && cborSessions.contains(sessionId);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long json = jsonBytes.sum();
+        long cbor = cborBytes.sum();
+        stats.put("enabled", enabled);
+        stats.put("cborSessions", cborSessions.size());
+        stats.put("rejectedNegotiations", rejectedNegotiations.sum());
+        stats.put("transcodedFrames", transcodedFrames.sum());
+        stats.put("jsonBytes", json);
+        stats.put("cborBytes", cbor);
+        stats.put("savedRatio", json > 0 ? Math.round((1 - (double) cbor / json) * 1000) / 1000.0 : 0.0);
+        return stats;
+    }
+
+    // JSON 바이트를 트리로 만들지 않고 토큰 단위로 CBOR에 복사
+    public byte[] transcode(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length);
+        try (JsonParser parser = jsonFactory.createParser(json);
+             CBORGenerator generator = cborFactory.createGenerator(out)) {
+            parser.nextToken();
+            generator.copyCurrentStructure(parser);
+        } catch (IOException e) {
+            throw new IllegalStateException("CBOR 변환 실패", e);
+        }
+        return out.toByteArray();
+    }
+
+    private Message<?> onInbound(Message<?> message) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+
+        String sessionId = accessor.getSessionId();
+        switch (accessor.getCommand()) {
+            case CONNECT, STOMP -> negotiate(accessor, sessionId);
+            case DISCONNECT -> cborSessions.remove(sessionId);
+            case SEND -> {
+                // 바이너리 본문은 application/cbor로 표시해 converter()가 받도록 함 (헤더가 아직 변경 가능할 때만)
+                if (accessor.isMutable() && isCborSession(sessionId)
+                        && MimeTypeUtils.APPLICATION_OCTET_STREAM.equalsTypeAndSubtype(accessor.getContentType())) {
+                    accessor.setContentType(APPLICATION_CBOR);
+                }
+            }
+            default -> {
+            }
+        }
+        return message;
+    }
+
+    private void negotiate(StompHeaderAccessor accessor, String sessionId) {
+        if (!"cbor".equalsIgnoreCase(accessor.getFirstNativeHeader(FORMAT_HEADER)) || sessionId == null) {
+            return;
+        }
+
+        // SockJS 프레임은 텍스트만 가능 - JSON 유지
+        if (!enabled || !sessionBacklogTracker.isNativeWebSocket(sessionId)) {
+            rejectedNegotiations.increment();
+            log.debug("CBOR 협상 거절 - Session: {}", sessionId);
+            return;
+        }
+
+        cborSessions.add(sessionId);
+        log.debug("CBOR 프레임 사용 - Session: {}", sessionId);
+    }
+
+    private Message<?> onOutbound(Message<?> message) {
+        if (cborSessions.isEmpty() || !(message.getPayload() instanceof byte[] payload) || payload.length == 0
+                || !isCborSession(SimpMessageHeaderAccessor.getSessionId(message.getHeaders()))) {
+            return message;
+        }
+
+        // 수신 세션마다 헤더 사본을 만들어 content-type만 바꿈
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        if (accessor.getMessageType() != SimpMessageType.MESSAGE
+                || !MimeTypeUtils.APPLICATION_JSON.equalsTypeAndSubtype(accessor.getContentType())) {
+            return message;
+        }
+
+        byte[] encoded = transcodeShared(payload);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+        return MessageBuilder.createMessage(encoded, accessor.getMessageHeaders());
+    }
+
+    private byte[] transcodeShared(byte[] json) {
+        Transcoded last = lastTranscoded.get();
+        if (last != null && last.json == json) {
+            return last.cbor;
+        }
+
+        byte[] cbor = transcode(json);
+        lastTranscoded.set(new Transcoded(json, cbor));
+
+        transcodedFrames.increment();
+        jsonBytes.add(json.length);
+        cborBytes.add(cbor.length);
+        return cbor;
+    }
+
+    private record Transcoded(byte[] json, byte[] cbor) {
+    }
+}
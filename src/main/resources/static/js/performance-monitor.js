@@ -6,6 +6,10 @@ class PerformanceMonitor {
         this.lastNetworkStats = { bytesReceived: 0, bytesSent: 0 };
         this.connectionStates = new Map();
         this.performanceHistory = [];
+
+        // 서버로 RTC 통계 전송 주기
+        this.statsReportIntervalMs = 5000;
+        this.lastStatsReportAt = 0;
     }
 
     // 모니터링 시작
@@ -82,6 +86,9 @@ class PerformanceMonitor {
         try {
             const stats = await window.webrtcClient.getConnectionStats();
 
+            // 피어별 통계를 주기적으로 서버에 보고
+            this.reportStatsToServer(stats);
+
             let totalBytesReceived = 0;
             let totalBytesSent = 0;
             let totalRoundTripTime = 0;
@@ -110,6 +117,16 @@ class PerformanceMonitor {
         }
     }
 
+    // 서버 품질 집계용 통계 전송 (statsReportIntervalMs 간격)
+    reportStatsToServer(stats) {
+        const now = Date.now();
+        if (now - this.lastStatsReportAt < this.statsReportIntervalMs) return;
+        if (!window.wsClient || !window.wsClient.isConnected()) return;
+
+        this.lastStatsReportAt = now;
+        window.wsClient.sendRtcStats(stats);
+    }
+
     // 메모리 사용량 측정
     getMemoryUsage() {
         if ('memory' in performance) {
@@ -440,14 +457,12 @@ async function joinRoom() {
     try {
         log(`🚀 방 입장 시작 - Room: ${roomId}, User: ${userId}`);
 
-        // ICE 서버 설정 로드
-        await window.webrtcClient.loadIceServers();
-
-        // 로컬 미디어 설정
-        await window.webrtcClient.setupLocalMedia();
-
-        // WebSocket 연결
-        await window.wsClient.connect(userId, roomId);
+        // 로컬 미디어 설정과 WebSocket 연결을 동시에 진행
+        // ICE 서버 설정/참여자/offer 담당/미디어 정책은 입장 응답(room-state)으로 한 번에 받음
+        await Promise.all([
+            window.webrtcClient.setupLocalMedia(),
+            window.wsClient.connect(userId, roomId)
+        ]);
 
         // 방 입장 요청
         window.wsClient.joinRoom(userId, roomId);
@@ -5,12 +5,14 @@ class WebRTCClient {
         this.iceServers = [];
         this.isAudioEnabled = true;
         this.isVideoEnabled = true;
+        this.mediaPolicy = null; // 서버가 보낸 송신 제약 (media-policy)
     }
 
-    // ICE 서버 설정 로드
-    async loadIceServers() {
+    // ICE 서버 설정 로드 (TURN 자격 증명은 사용자/방 단위로 발급됨)
+    async loadIceServers(userId, roomId) {
         try {
-            const response = await fetch('/api/webrtc/ice-servers');
+            const params = new URLSearchParams({ userId, roomId });
+            const response = await fetch(`/api/webrtc/ice-servers?${params}`);
             const config = await response.json();
             this.iceServers = config.iceServers;
             log(`✅ ICE 서버 설정 로드 완료 - ${this.iceServers.length}개 서버`);
@@ -24,6 +26,20 @@ class WebRTCClient {
         }
     }
 
+    // room-state에 함께 온 ICE 설정/미디어 정책 적용 (없으면 구버전 서버 - REST로 조회)
+    applyJoinBundle(bundle, userId, roomId) {
+        if (Array.isArray(bundle.iceServers) && bundle.iceServers.length > 0) {
+            this.iceServers = bundle.iceServers;
+            log(`✅ ICE 서버 설정 수신 - ${this.iceServers.length}개 서버`);
+        } else if (this.iceServers.length === 0) {
+            this.loadIceServers(userId, roomId);
+        }
+
+        if (bundle.mediaPolicy) {
+            this.applyMediaPolicy(bundle.mediaPolicy);
+        }
+    }
+
     // 로컬 미디어 스트림 획득
     async setupLocalMedia() {
         try {
@@ -92,6 +108,48 @@ class WebRTCClient {
         this.removePeerVideo(userId);
     }
 
+    // 세션 재개 후 참여자 목록 맞추기 (끊긴 동안 놓친 입장/퇴장 반영)
+    // participants는 입장 순서 - 나보다 늦게 들어온 사용자에게만 offer (먼저 입장한 쪽이 offer를 보내는 규칙)
+    reconcileParticipants(participants, selfUserId) {
+        for (const userId of Array.from(this.peerConnections.keys())) {
+            if (!participants.includes(userId)) {
+                this.handleUserLeft(userId);
+            }
+        }
+
+        const selfIndex = participants.indexOf(selfUserId);
+        participants
+            .filter((userId, index) => index > selfIndex && !this.peerConnections.has(userId))
+            .forEach(userId => this.handleUserJoined(userId));
+    }
+
+    // 서버가 정한 협상 역할 (negotiation-role)
+    // offerer: 상대가 보낸 첫 offer가 보류됨 - 내가 offer를 보냄
+    // answerer: 내 offer는 보류됨 - 상대 offer가 오면 handleOffer가 기존 연결을 대체
+    //           (상대가 offer-timeout-ms 안에 offer하지 않으면 보류된 offer가 전달되고 answer가 돌아옴)
+    handleNegotiationRole({ peerUserId, role, reason }) {
+        log(`🤝 협상 역할 - ${peerUserId}: ${role} (${reason})`);
+
+        if (role !== 'offerer') return;
+
+        const pc = this.peerConnections.get(peerUserId);
+        if (pc && pc.signalingState === 'have-local-offer') {
+            return; // 이미 보낸 offer가 응답 대기 중
+        }
+        if (pc) {
+            pc.close();
+            this.peerConnections.delete(peerUserId);
+        }
+        this.handleUserJoined(peerUserId);
+    }
+
+    // 모든 피어 연결 종료 (세션 재개 실패 후 새로 입장할 때)
+    closeAllPeers() {
+        for (const userId of Array.from(this.peerConnections.keys())) {
+            this.handleUserLeft(userId);
+        }
+    }
+
     // 시그널링 메시지 처리
     async handleSignalingMessage(message) {
         const { type, fromUserId, data } = message;
@@ -244,9 +302,8 @@ class WebRTCClient {
 
         // ICE candidate 이벤트
         pc.onicecandidate = (event) => {
-            if (event.candidate) {
-                window.wsClient.sendIceCandidate(userId, event.candidate);
-            }
+            // event.candidate === null 은 수집 완료 (end-of-candidates)
+            window.wsClient.sendIceCandidate(userId, event.candidate);
         };
 
         // 원격 스트림 처리
@@ -259,6 +316,16 @@ class WebRTCClient {
         pc.onconnectionstatechange = () => {
             log(`🔗 연결 상태 변경 - ${userId}: ${pc.connectionState}`);
 
+            if (pc.connectionState === 'connected') {
+                // 서버가 쌍별 첫 연결 시각만 기록 (재연결 시 다시 보내도 무시됨)
+                window.wsClient.sendPeerConnected(userId);
+
+                // 연결 후에야 sender 인코딩 파라미터 설정 가능
+                if (this.mediaPolicy) {
+                    this.applyPolicyToConnection(userId, pc);
+                }
+            }
+
             if (pc.connectionState === 'failed') {
                 log(`❌ 연결 실패 - ${userId}`);
                 // 재연결 시도 로직 추가 가능
@@ -286,6 +353,56 @@ class WebRTCClient {
         return pc;
     }
 
+    // 서버 미디어 정책 적용 - 모든 피어 연결의 영상 sender 인코딩 제한
+    async applyMediaPolicy(policy) {
+        this.mediaPolicy = policy;
+
+        if (policy.audioOnly) {
+            log(`📉 미디어 정책 - 오디오 전용 (인원 ${policy.roomSize}명, ${policy.reason})`);
+        } else {
+            log(`📉 미디어 정책 - ${policy.maxWidth}x${policy.maxHeight}@${policy.maxFramerate}fps, ${policy.maxBitrateKbps}kbps (인원 ${policy.roomSize}명, ${policy.reason})`);
+        }
+
+        for (const [userId, pc] of this.peerConnections) {
+            if (pc.connectionState === 'connected') {
+                await this.applyPolicyToConnection(userId, pc);
+            }
+        }
+    }
+
+    async applyPolicyToConnection(userId, pc) {
+        const policy = this.mediaPolicy;
+
+        for (const sender of pc.getSenders()) {
+            if (!sender.track || sender.track.kind !== 'video') continue;
+
+            try {
+                const params = sender.getParameters();
+                if (!params.encodings || params.encodings.length === 0) {
+                    params.encodings = [{}];
+                }
+
+                const encoding = params.encodings[0];
+                encoding.active = !policy.audioOnly;
+
+                if (!policy.audioOnly) {
+                    encoding.maxBitrate = policy.maxBitrateKbps * 1000;
+                    encoding.maxFramerate = policy.maxFramerate;
+
+                    // 캡처 해상도 대비 축소 비율
+                    const height = sender.track.getSettings().height;
+                    encoding.scaleResolutionDownBy = height && height > policy.maxHeight
+                        ? height / policy.maxHeight
+                        : 1;
+                }
+
+                await sender.setParameters(params);
+            } catch (error) {
+                log(`⚠️ 미디어 정책 적용 실패 - ${userId}: ${error.message}`);
+            }
+        }
+    }
+
     // 피어 비디오 추가
     addPeerVideo(userId, stream) {
         let videoContainer = document.getElementById(`video-${userId}`);
@@ -427,6 +544,7 @@ class WebRTCClient {
             bytesSent: 0,
             packetsReceived: 0,
             packetsSent: 0,
+            packetsLost: 0,
             roundTripTime: 0,
             videoFramesDecoded: 0,
             videoFramesEncoded: 0
@@ -436,6 +554,7 @@ class WebRTCClient {
             if (report.type === 'inbound-rtp') {
                 parsed.bytesReceived += report.bytesReceived || 0;
                 parsed.packetsReceived += report.packetsReceived || 0;
+                parsed.packetsLost += report.packetsLost || 0;
                 if (report.mediaType === 'video') {
                     parsed.videoFramesDecoded += report.framesDecoded || 0;
                 }
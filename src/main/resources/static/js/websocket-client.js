@@ -6,43 +6,80 @@ class WebSocketClient {
         this.currentRoomId = null;
         this.reconnectAttempts = 0;
         this.maxReconnectAttempts = 5;
+        this.resumeToken = null; // room-state로 받은 재접속 토큰 (짧은 끊김 후 자리 되찾기)
+        this.resuming = false;
+        this.sockJsFallback = false; // 순수 WebSocket 연결이 한 번도 안 되면 SockJS(/ws)로 전환
+        this.everConnected = false;
     }
 
     // WebSocket 연결
     async connect(userId, roomId) {
         return new Promise((resolve, reject) => {
             try {
-                // SockJS 연결 생성 (상대 경로 사용)
-                const socket = new SockJS('/ws');
-                this.stompClient = Stomp.over(socket);
-
-                // 디버그 로그 비활성화 (운영 환경용)
-                this.stompClient.debug = null;
+                // 기본: 순수 WebSocket(/ws-native) + @stomp/stompjs, ?wire=cbor면 바이너리(CBOR) 시그널 프레임
+                // ?transport=sockjs 이거나 순수 WebSocket이 막힌 환경: SockJS(/ws) + JSON
+                // permessage-deflate는 두 경로 모두 브라우저와 서버가 자동 협상
+                const useNative = this.isNativeWebSocketAvailable();
+                const useCbor = useNative && WebSocketClient.isCborRequested();
+                if (useNative) {
+                    const scheme = location.protocol === 'https:' ? 'wss' : 'ws';
+                    this.stompClient = StompJs.Stomp.over(() => new WebSocket(`${scheme}://${location.host}/ws-native`));
+                    this.stompClient.reconnectDelay = 0; // 재연결은 handleConnectionError가 담당
+                    this.stompClient.debug = () => {};
+                } else {
+                    // SockJS 연결 생성 (상대 경로 사용)
+                    const socket = new SockJS('/ws');
+                    this.stompClient = Stomp.over(socket);
+
+                    // 디버그 로그 비활성화 (운영 환경용)
+                    this.stompClient.debug = null;
+                }
 
                 // 연결 헤더에 사용자 정보 추가
                 const connectHeaders = {
                     'userId': userId,
                     'roomId': roomId
                 };
+                if (useCbor) {
+                    connectHeaders['signal-format'] = 'cbor';
+                }
+
+                const onError = (error) => {
+                    log('❌ WebSocket 연결 실패: ' + error);
+                    this.connected = false;
+                    if (useNative && !this.everConnected && !this.sockJsFallback) {
+                        // 프록시/방화벽이 업그레이드를 막는 환경 - 이후 재연결은 SockJS로
+                        this.sockJsFallback = true;
+                        log('↩️ 순수 WebSocket 연결 불가 - SockJS로 전환');
+                    }
+                    this.handleConnectionError(error);
+                    reject(error);
+                };
+                if (useNative) {
+                    // @stomp/stompjs는 소켓 종료를 에러 콜백으로 알리지 않음
+                    this.stompClient.onWebSocketClose = () => onError('WebSocket 연결 종료');
+                }
 
                 // 연결 시도
                 this.stompClient.connect(connectHeaders,
                     (frame) => {
-                        log('✅ WebSocket 연결 성공: ' + frame);
+                        log(`✅ WebSocket 연결 성공 (${useNative ? 'websocket' : 'sockjs'}): ` + frame);
                         this.connected = true;
+                        this.everConnected = true;
                         this.currentUserId = userId;
                         this.currentRoomId = roomId;
                         this.reconnectAttempts = 0;
 
                         this.setupSubscriptions();
+
+                        // 끊겼다 다시 붙은 경우 - 새로 입장하지 않고 기존 자리 재개 (피어 연결 유지)
+                        if (this.resuming) {
+                            this.resuming = false;
+                            this.resumeSession();
+                        }
                         resolve();
                     },
-                    (error) => {
-                        log('❌ WebSocket 연결 실패: ' + error);
-                        this.connected = false;
-                        this.handleConnectionError(error);
-                        reject(error);
-                    }
+                    onError
                 );
 
             } catch (error) {
@@ -52,6 +89,25 @@ class WebSocketClient {
         });
     }
 
+    isNativeWebSocketAvailable() {
+        return !this.sockJsFallback
+            && new URLSearchParams(location.search).get('transport') !== 'sockjs'
+            && typeof WebSocket !== 'undefined'
+            && typeof StompJs !== 'undefined';
+    }
+
+    static isCborRequested() {
+        return new URLSearchParams(location.search).get('wire') === 'cbor';
+    }
+
+    // 바이너리 프레임(application/octet-stream)은 CBOR, 그 외는 JSON
+    static decodeBody(message) {
+        if (message.isBinaryBody) {
+            return decodeCbor(message.binaryBody);
+        }
+        return JSON.parse(message.body);
+    }
+
     // 구독 설정
     setupSubscriptions() {
         if (!this.stompClient || !this.connected) return;
@@ -60,30 +116,41 @@ class WebSocketClient {
             // this 컨텍스트를 보존하기 위해 변수에 저장
             const self = this;
 
-            // 개인 WebRTC 메시지 구독
+            // 개인 WebRTC 메시지 구독 (offer/answer/ice-candidate는 이 큐로만 전달됨)
             this.stompClient.subscribe('/user/queue/webrtc', function(message) {
-                const data = JSON.parse(message.body);
-                log(`📨 WebRTC 메시지 수신: ${data.type} from ${data.fromUserId}`);
-                self.handleWebRTCMessage(data);
+                const data = WebSocketClient.decodeBody(message);
+                if (data.type === 'webrtc-signal') {
+                    self.handleWebRTCSignal(data);
+                } else if (data.type === 'media-policy') {
+                    if (window.webrtcClient) {
+                        window.webrtcClient.applyMediaPolicy(data.data);
+                    }
+                } else if (data.type === 'negotiation-role') {
+                    if (window.webrtcClient) {
+                        window.webrtcClient.handleNegotiationRole(data.data);
+                    }
+                } else {
+                    self.handleWebRTCMessage(data);
+                }
             });
 
             // 개인 룸 메시지 구독
             this.stompClient.subscribe('/user/queue/room', function(message) {
-                const data = JSON.parse(message.body);
+                const data = WebSocketClient.decodeBody(message);
                 log(`📨 룸 메시지 수신: ${data.type}`);
                 self.handleRoomMessage(data);
             });
 
             // 에러 메시지 구독
             this.stompClient.subscribe('/user/queue/error', function(message) {
-                const data = JSON.parse(message.body);
+                const data = WebSocketClient.decodeBody(message);
                 self.handleErrorMessage(data);
             });
 
             // 방 토픽 구독
             if (this.currentRoomId) {
                 this.stompClient.subscribe(`/topic/room/${this.currentRoomId}`, function(message) {
-                    const data = JSON.parse(message.body);
+                    const data = WebSocketClient.decodeBody(message);
                     log(`📺 룸 토픽 메시지: ${data.type} from ${data.fromUserId}`);
                     self.handleRoomTopicMessage(data);
                 });
@@ -118,8 +185,26 @@ class WebSocketClient {
         }
     }
 
+    // 세션 재개 요청 (서버 유예 시간 안에 재접속한 경우)
+    resumeSession() {
+        try {
+            const resumeRequest = {
+                userId: this.currentUserId,
+                roomId: this.currentRoomId,
+                resumeToken: this.resumeToken
+            };
+
+            this.stompClient.send('/app/room/resume', {}, JSON.stringify(resumeRequest));
+            log(`📤 세션 재개 요청 전송 - Room: ${this.currentRoomId}, User: ${this.currentUserId}`);
+
+        } catch (error) {
+            log('❌ 세션 재개 요청 실패: ' + error.message);
+        }
+    }
+
     // 방 퇴장 요청
     leaveRoom() {
+        this.resumeToken = null;
         if (!this.stompClient || !this.connected) return;
 
         try {
@@ -177,6 +262,7 @@ class WebSocketClient {
     }
 
     // ICE Candidate 전송
+    // candidate가 null이면 end-of-candidates 표시로 전송 (서버 묶음 전송 즉시 flush)
     sendIceCandidate(toUserId, candidate) {
         if (!this.stompClient || !this.connected) return;
 
@@ -184,9 +270,9 @@ class WebSocketClient {
             const candidateMessage = {
                 fromUserId: this.currentUserId,
                 toUserId: toUserId,
-                candidate: candidate.candidate,
-                sdpMid: candidate.sdpMid,
-                sdpMLineIndex: candidate.sdpMLineIndex,
+                candidate: candidate ? candidate.candidate : '',
+                sdpMid: candidate ? candidate.sdpMid : null,
+                sdpMLineIndex: candidate ? candidate.sdpMLineIndex : null,
                 roomId: this.currentRoomId
             };
 
@@ -198,6 +284,55 @@ class WebSocketClient {
         }
     }
 
+    // 피어 연결 완료 알림 (서버의 통화 연결 준비 시간 측정)
+    sendPeerConnected(toUserId) {
+        if (!this.stompClient || !this.connected) return;
+
+        try {
+            const connectedMessage = {
+                fromUserId: this.currentUserId,
+                toUserId: toUserId,
+                roomId: this.currentRoomId
+            };
+
+            this.stompClient.send('/app/webrtc/connected', {}, JSON.stringify(connectedMessage));
+
+        } catch (error) {
+            log('❌ 연결 완료 알림 전송 실패: ' + error.message);
+        }
+    }
+
+    // RTC 통계 샘플 전송 (서버에서 방/쌍별 품질 집계)
+    sendRtcStats(peerStats) {
+        if (!this.stompClient || !this.connected) return;
+
+        try {
+            const peers = Object.entries(peerStats).map(([peerId, stats]) => ({
+                peerId: peerId,
+                roundTripTime: stats.roundTripTime,
+                bytesSent: stats.bytesSent,
+                bytesReceived: stats.bytesReceived,
+                packetsReceived: stats.packetsReceived,
+                packetsLost: stats.packetsLost,
+                videoFramesDecoded: stats.videoFramesDecoded,
+                videoFramesEncoded: stats.videoFramesEncoded
+            }));
+
+            if (peers.length === 0) return;
+
+            const report = {
+                userId: this.currentUserId,
+                roomId: this.currentRoomId,
+                peers: peers
+            };
+
+            this.stompClient.send('/app/stats/report', {}, JSON.stringify(report));
+
+        } catch (error) {
+            log('❌ RTC 통계 전송 실패: ' + error.message);
+        }
+    }
+
     // WebRTC 메시지 처리
     handleWebRTCMessage(message) {
         log(`📨 WebRTC 메시지 수신: ${message.type} from ${message.fromUserId}`);
@@ -215,6 +350,12 @@ class WebSocketClient {
             case 'room-state':
                 this.handleRoomState(message.data);
                 break;
+            case 'session-resumed':
+                this.handleSessionResumed(message.data);
+                break;
+            case 'resume-failed':
+                this.handleResumeFailed(message.data);
+                break;
             default:
                 log(`⚠️ 알 수 없는 룸 메시지: ${message.type}`);
         }
@@ -233,19 +374,23 @@ class WebSocketClient {
             case 'user-disconnected':
                 this.handleUserLeft(message);
                 break;
+            case 'room-closed':
+                // 서버가 방을 닫음 (최대 유지 시간 초과 등) - 이어서 오는 참여자 퇴장 알림보다 먼저 정리
+                log(`🚪 방이 닫혔습니다 (${data.reason})`);
+                leaveRoom();
+                break;
             case 'webrtc-signal':
-                // WebRTC 시그널 메시지 처리
-                this.handleWebRTCSignal(message);
+                // 서버 legacy-broadcast 모드에서만 수신됨 - 개인 큐로 이미 받으므로 무시
                 break;
             default:
                 log(`⚠️ 알 수 없는 토픽 메시지: ${type}`);
         }
     }
 
-    // WebRTC 시그널 메시지 처리 (새로 추가)
+    // WebRTC 시그널 메시지 처리
     handleWebRTCSignal(message) {
         const { fromUserId, data } = message;
-        const { signalType, targetUserId, sdp, candidate, sdpMid, sdpMLineIndex } = data;
+        const { signalType, targetUserId, sdp, candidate, sdpMid, sdpMLineIndex, candidates } = data;
 
         // 나에게 온 메시지인지 확인
         if (targetUserId !== this.currentUserId) {
@@ -297,6 +442,18 @@ class WebSocketClient {
                     };
                     break;
 
+                case 'ice-candidates':
+                    // 서버에서 묶어 보낸 candidate 목록은 개별 메시지로 풀어서 전달
+                    candidates.forEach(item => {
+                        window.webrtcClient.handleSignalingMessage({
+                            type: 'ice-candidate',
+                            fromUserId: fromUserId,
+                            toUserId: targetUserId,
+                            data: item
+                        });
+                    });
+                    return;
+
                 default:
                     log(`⚠️ 알 수 없는 WebRTC 시그널 타입: ${signalType}`);
                     return;
@@ -323,7 +480,9 @@ class WebSocketClient {
             // 다른 사용자가 입장한 경우
             updateParticipants(data.participants);
 
-            if (window.webrtcClient) {
+            // 서버가 지정한 offerer(먼저 입장한 참여자)만 offer - 동시에 입장해도 양쪽이 offer를 보내지 않음
+            const offerers = data.offerers || data.participants;
+            if (window.webrtcClient && offerers.includes(this.currentUserId)) {
                 window.webrtcClient.handleUserJoined(fromUserId);
             }
         }
@@ -344,10 +503,43 @@ class WebSocketClient {
 
     // 룸 상태 처리
     handleRoomState(data) {
-        const { participants, roomId, yourUserId } = data;
+        const { participants, roomId, yourUserId, resumeToken } = data;
 
+        this.resumeToken = resumeToken || null;
         log(`📊 룸 상태 업데이트 - Room: ${roomId}, 참여자: ${participants.length}명`);
         updateParticipants(participants);
+
+        // 입장 응답에 ICE 설정/미디어 정책이 함께 옴 (별도 REST 조회 불필요)
+        if (window.webrtcClient) {
+            window.webrtcClient.applyJoinBundle(data, yourUserId, roomId);
+        }
+    }
+
+    // 세션 재개 성공 - 끊긴 동안 보관된 시그널은 이미 개인 큐로 전달됨
+    handleSessionResumed(data) {
+        const { participants, resumeToken, bufferedSignals } = data;
+
+        this.resumeToken = resumeToken;
+        log(`♻️ 세션 재개 완료 - 보관 시그널 ${bufferedSignals}건`);
+        updateConnectionStatus(true);
+
+        if (participants) {
+            updateParticipants(participants);
+            if (window.webrtcClient) {
+                window.webrtcClient.reconcileParticipants(participants, this.currentUserId);
+            }
+        }
+    }
+
+    // 세션 재개 실패 (유예 만료 등) - 피어 연결을 정리하고 새로 입장
+    handleResumeFailed(data) {
+        log(`⚠️ 세션 재개 실패 (${data.reason}) - 새로 입장합니다`);
+
+        this.resumeToken = null;
+        if (window.webrtcClient) {
+            window.webrtcClient.closeAllPeers();
+        }
+        this.joinRoom(this.currentUserId, this.currentRoomId);
     }
 
     // 에러 메시지 처리
@@ -355,6 +547,14 @@ class WebSocketClient {
         const { data } = message;
         const { error } = data;
 
+        // 입장 속도 제한 - 서버가 알려준 시점 뒤에 재시도 (동시에 몰리지 않도록 약간의 지터)
+        if (error.code === 'JOIN_RATE_LIMITED' && this.currentUserId && this.currentRoomId) {
+            const delay = (error.retryAfterMs || 1000) + Math.floor(Math.random() * 250);
+            log(`⏳ 입장 요청 제한 - ${delay}ms 후 재시도`);
+            setTimeout(() => this.joinRoom(this.currentUserId, this.currentRoomId), delay);
+            return;
+        }
+
         log(`❌ 서버 에러: ${error.message} (${error.code})`);
         alert(`에러: ${error.message}`);
     }
@@ -371,7 +571,9 @@ class WebSocketClient {
 
             setTimeout(() => {
                 if (this.currentUserId && this.currentRoomId) {
-                    this.connect(this.currentUserId, this.currentRoomId);
+                    this.resuming = this.resumeToken !== null;
+                    this.connect(this.currentUserId, this.currentRoomId)
+                        .catch(() => {}); // 실패 시 handleConnectionError에서 다시 시도
                 }
             }, delay);
         } else {
@@ -396,6 +598,7 @@ class WebSocketClient {
         this.connected = false;
         this.currentUserId = null;
         this.currentRoomId = null;
+        this.resumeToken = null;
         this.stompClient = null;
     }
 
@@ -431,6 +634,92 @@ function log(message) {
 }
 
 // UI 업데이트 함수들
+// 서버가 보내는 CBOR(RFC 8949) 최소 디코더 - map/array/문자열/정수/실수/bool/null
+// Jackson CBOR은 객체를 길이 미정(indefinite) map으로 씀
+function decodeCbor(bytes) {
+    const view = new DataView(bytes.buffer, bytes.byteOffset, bytes.byteLength);
+    const textDecoder = new TextDecoder();
+    let offset = 0;
+
+    const readLength = (info) => {
+        if (info < 24) return info;
+        if (info === 24) return view.getUint8(offset++);
+        if (info === 25) { const v = view.getUint16(offset); offset += 2; return v; }
+        if (info === 26) { const v = view.getUint32(offset); offset += 4; return v; }
+        if (info === 27) { const v = Number(view.getBigUint64(offset)); offset += 8; return v; }
+        if (info === 31) return -1; // 길이 미정
+        throw new Error('CBOR 길이 형식 오류: ' + info);
+    };
+
+    const isBreak = () => view.getUint8(offset) === 0xff && (offset++, true);
+
+    const readItem = () => {
+        const initial = view.getUint8(offset++);
+        const major = initial >> 5;
+        const info = initial & 0x1f;
+
+        switch (major) {
+            case 0: return readLength(info);
+            case 1: return -1 - readLength(info);
+            case 2:
+            case 3: {
+                const length = readLength(info);
+                if (length < 0) {
+                    // 길이 미정 문자열 - 조각을 이어 붙임
+                    let chunks = major === 3 ? '' : [];
+                    while (!isBreak()) {
+                        const chunk = readItem();
+                        chunks = major === 3 ? chunks + chunk : chunks.concat(Array.from(chunk));
+                    }
+                    return major === 3 ? chunks : new Uint8Array(chunks);
+                }
+                const chunk = bytes.subarray(offset, offset + length);
+                offset += length;
+                return major === 3 ? textDecoder.decode(chunk) : chunk;
+            }
+            case 4: {
+                const length = readLength(info);
+                const array = [];
+                while (length < 0 ? !isBreak() : array.length < length) {
+                    array.push(readItem());
+                }
+                return array;
+            }
+            case 5: {
+                const length = readLength(info);
+                const object = {};
+                for (let i = 0; length < 0 ? !isBreak() : i < length; i++) {
+                    const key = readItem();
+                    object[key] = readItem();
+                }
+                return object;
+            }
+            case 6:
+                readLength(info); // 태그는 무시하고 값만 사용
+                return readItem();
+            default:
+                if (info === 20) return false;
+                if (info === 21) return true;
+                if (info === 22 || info === 23) return null;
+                if (info === 25) { const v = view.getFloat16 ? view.getFloat16(offset) : decodeHalf(view.getUint16(offset)); offset += 2; return v; }
+                if (info === 26) { const v = view.getFloat32(offset); offset += 4; return v; }
+                if (info === 27) { const v = view.getFloat64(offset); offset += 8; return v; }
+                throw new Error('CBOR 형식 오류: ' + initial);
+        }
+    };
+
+    return readItem();
+}
+
+function decodeHalf(half) {
+    const exponent = (half >> 10) & 0x1f;
+    const fraction = half & 0x3ff;
+    const sign = half & 0x8000 ? -1 : 1;
+    if (exponent === 0) return sign * Math.pow(2, -14) * (fraction / 1024);
+    if (exponent === 31) return fraction ? NaN : sign * Infinity;
+    return sign * Math.pow(2, exponent - 15) * (1 + fraction / 1024);
+}
+
 function updateConnectionStatus(connected) {
     const statusEl = document.getElementById('connectionStatus');
     const leaveBtn = document.getElementById('leaveBtn');
@@ -0,0 +1,153 @@
+package com.back.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ClusterBusTest {
+
+    private static final String SECRET = "test-cluster-secret-0123456789";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<ClusterBus> buses = new ArrayList<>();
+
+    @AfterEach
+    void closeBuses() {
+        buses.forEach(ClusterBus::close);
+    }
+
+    @Test
+    void deliversFramesInOrderBetweenNodes() throws Exception {
+        BlockingQueue<ClusterEnvelope> received = new LinkedBlockingQueue<>();
+        Map<String, ClusterNode> peersOfA = new ConcurrentHashMap<>();
+        ClusterBus a = start("node-a", peersOfA, SECRET, envelope -> { });
+        ClusterBus b = start("node-b", new ConcurrentHashMap<>(), SECRET, received::add);
+        peersOfA.put("node-b", loopback("node-b", b));
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(a.send("node-b", deliver("node-a", "/queue/" + i))).isTrue();
+        }
+
+        for (int i = 0; i < 100; i++) {
+            ClusterEnvelope envelope = received.poll(5, TimeUnit.SECONDS);
+            assertThat(envelope).isNotNull();
+            assertThat(envelope.getOriginNodeId()).isEqualTo("node-a");
+            assertThat(envelope.getDestination()).isEqualTo("/queue/" + i);
+        }
+    }
+
+    @Test
+    void forwardsJoinToRingOwnerAndRoutesReplyBack() throws Exception {
+        BlockingQueue<ClusterEnvelope> atOrigin = new LinkedBlockingQueue<>();
+        Map<String, ClusterNode> peersOfA = new ConcurrentHashMap<>();
+        Map<String, ClusterNode> peersOfB = new ConcurrentHashMap<>();
+        ClusterBus a = start("node-a", peersOfA, SECRET, atOrigin::add);
+
+        // 담당 노드: 전달된 입장을 받으면 room-state 전달 후 입장 결과 응답 (ClusterCoordinator와 같은 순서)
+        ClusterBus[] owner = new ClusterBus[1];
+        owner[0] = start("node-b", peersOfB, SECRET, envelope -> {
+            if (envelope.getType() == ClusterMessageType.JOIN) {
+                owner[0].send(envelope.getOriginNodeId(), deliver("node-b", "/user/" + envelope.getUserId() + "/queue/room"));
+                owner[0].send(envelope.getOriginNodeId(), ClusterEnvelope.builder()
+                        .type(ClusterMessageType.JOIN_ACCEPTED)
+                        .originNodeId("node-b")
+                        .roomId(envelope.getRoomId())
+                        .userId(envelope.getUserId())
+                        .build());
+            }
+        });
+        peersOfA.put("node-b", loopback("node-b", owner[0]));
+        peersOfB.put("node-a", loopback("node-a", a));
+
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("node-a", "node-b"), 128);
+        String roomId = roomOwnedBy(ring, "node-b");
+
+        assertThat(a.send(ring.nodeFor(roomId), ClusterEnvelope.builder()
+                .type(ClusterMessageType.JOIN)
+                .originNodeId("node-a")
+                .roomId(roomId)
+                .userId("alice")
+                .body("{}")
+                .build())).isTrue();
+
+        ClusterEnvelope roomState = atOrigin.poll(5, TimeUnit.SECONDS);
+        ClusterEnvelope result = atOrigin.poll(5, TimeUnit.SECONDS);
+        assertThat(roomState.getType()).isEqualTo(ClusterMessageType.DELIVER);
+        assertThat(roomState.getDestination()).isEqualTo("/user/alice/queue/room");
+        assertThat(result.getType()).isEqualTo(ClusterMessageType.JOIN_ACCEPTED);
+        assertThat(result.getRoomId()).isEqualTo(roomId);
+        assertThat(result.getUserId()).isEqualTo("alice");
+    }
+
+    @Test
+    void dropsFramesSignedWithAnotherSecret() throws Exception {
+        BlockingQueue<ClusterEnvelope> received = new LinkedBlockingQueue<>();
+        Map<String, ClusterNode> peersOfIntruder = new ConcurrentHashMap<>();
+        ClusterBus intruder = start("intruder", peersOfIntruder, "some-other-secret-0123456789", envelope -> { });
+        ClusterBus b = start("node-b", new ConcurrentHashMap<>(), SECRET, received::add);
+        peersOfIntruder.put("node-b", loopback("node-b", b));
+
+        intruder.send("node-b", deliver("node-a", "/queue/forged"));
+
+        assertThat(received.poll(500, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void unknownNodeIsNotSent() throws Exception {
+        ClusterBus a = start("node-a", new ConcurrentHashMap<>(), SECRET, envelope -> { });
+
+        assertThat(a.send("node-x", deliver("node-a", "/queue/room"))).isFalse();
+    }
+
+    @Test
+    void rejectsShortSecret() {
+        ClusterNode node = new ClusterNode("node-a", "127.0.0.1", 0);
+
+        assertThatThrownBy(() -> new ClusterBus(node, Map.of(), objectMapper, "short", envelope -> { }))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ClusterBus(node, Map.of(), objectMapper, null, envelope -> { }))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private ClusterBus start(String nodeId, Map<String, ClusterNode> peers, String secret,
+                             Consumer<ClusterEnvelope> handler) throws IOException {
+        ClusterBus bus = new ClusterBus(new ClusterNode(nodeId, "127.0.0.1", 0), peers, objectMapper, secret, handler);
+        buses.add(bus);
+        bus.start();
+        return bus;
+    }
+
+    private static String roomOwnedBy(ConsistentHashRing ring, String nodeId) {
+        for (int i = 0; ; i++) {
+            if (ring.nodeFor("room-" + i).equals(nodeId)) {
+                return "room-" + i;
+            }
+        }
+    }
+
+    private static ClusterNode loopback(String nodeId, ClusterBus bus) {
+        return new ClusterNode(nodeId, "127.0.0.1", bus.getLocalPort());
+    }
+
+    private static ClusterEnvelope deliver(String originNodeId, String destination) {
+        return ClusterEnvelope.builder()
+                .type(ClusterMessageType.DELIVER)
+                .originNodeId(originNodeId)
+                .destination(destination)
+                .payload(new byte[]{1, 2, 3})
+                .build();
+    }
+}
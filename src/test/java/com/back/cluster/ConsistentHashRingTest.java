@@ -0,0 +1,60 @@
+package com.back.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConsistentHashRingTest {
+
+    @Test
+    void sameRoomMapsToSameNodeOnEveryRing() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("node-1", "node-2", "node-3"), 128);
+        ConsistentHashRing other = new ConsistentHashRing(List.of("node-3", "node-1", "node-2"), 128);
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(other.nodeFor("room-" + i)).isEqualTo(ring.nodeFor("room-" + i));
+        }
+    }
+
+    @Test
+    void spreadsRoomsAcrossNodes() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("node-1", "node-2", "node-3"), 128);
+
+        Map<String, Integer> owned = new HashMap<>();
+        for (int i = 0; i < 30_000; i++) {
+            owned.merge(ring.nodeFor("room-" + i), 1, Integer::sum);
+        }
+
+        assertThat(owned.keySet()).containsExactlyInAnyOrder("node-1", "node-2", "node-3");
+        owned.values().forEach(count -> assertThat(count).isBetween(7_000, 13_000));
+    }
+
+    @Test
+    void addingNodeMovesRoomsOnlyToNewNode() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("node-1", "node-2", "node-3"), 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("node-1", "node-2", "node-3", "node-4"), 128);
+
+        int moved = 0;
+        for (int i = 0; i < 10_000; i++) {
+            String previous = before.nodeFor("room-" + i);
+            String current = after.nodeFor("room-" + i);
+            if (!previous.equals(current)) {
+                assertThat(current).isEqualTo("node-4");
+                moved++;
+            }
+        }
+
+        assertThat(moved).isBetween(1_500, 3_500);
+    }
+
+    @Test
+    void requiresAtLeastOneNode() {
+        assertThatThrownBy(() -> new ConsistentHashRing(List.of(), 128))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,166 @@
+package com.back.controller;
+
+import com.back.cluster.ClusterCoordinator;
+import com.back.config.SignalingScheduler;
+import com.back.config.StompPrincipal;
+import com.back.dto.IceCandidateMessage;
+import com.back.dto.LeaveRoomRequest;
+import com.back.dto.OfferMessage;
+import com.back.dto.SignalMessage;
+import com.back.dto.SignalPayloads;
+import com.back.metrics.ConnectionSetupTracker;
+import com.back.metrics.SignalingMetrics;
+import com.back.sdp.SdpGuard;
+import com.back.service.IceCandidateCoalescer;
+import com.back.service.NegotiationCoordinator;
+import com.back.service.RoomService;
+import com.back.service.SignalRouter;
+import com.back.trace.SignalTrace;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 시그널은 대상 사용자 큐로만, 발신자는 CONNECT 때 바인딩된 Principal 기준
+class WebRTCControllerTest {
+
+    private static final String SDP = "v=0\r\no=- 1 1 IN IP4 0.0.0.0\r\ns=-\r\nt=0 0\r\n";
+
+    private final RoomService roomService = roomService();
+    private final RecordingSignalRouter signalRouter = new RecordingSignalRouter();
+    private final WebRTCController controller = controller(roomService, signalRouter);
+
+    @BeforeEach
+    void setUp() {
+        roomService.addUserToRoom("room-1", "alice");
+        roomService.addUserToRoom("room-1", "bob");
+        roomService.addUserToRoom("room-1", "carol");
+    }
+
+    @Test
+    void offerIsRoutedOnlyToTargetUser() {
+        controller.handleOffer(new OfferMessage("alice", "bob", SDP, "room-1"), principal("alice"));
+
+        assertThat(signalRouter.sent).hasSize(1);
+        Sent sent = signalRouter.sent.get(0);
+        assertThat(sent.userId()).isEqualTo("bob");
+        assertThat(sent.destination()).isEqualTo("/queue/webrtc");
+        assertThat(sent.message().getFromUserId()).isEqualTo("alice");
+        assertThat(sent.message().getData()).isInstanceOf(SignalPayloads.Offer.class);
+    }
+
+    @Test
+    void offerSentAsAnotherUserIsRejected() {
+        controller.handleOffer(new OfferMessage("alice", "bob", SDP, "room-1"), principal("carol"));
+
+        assertSenderMismatchSentOnlyTo("carol");
+    }
+
+    @Test
+    void iceCandidateSentAsAnotherUserIsRejected() {
+        controller.handleIceCandidate(new IceCandidateMessage("alice", "bob",
+                "candidate:1 1 udp 2122260223 192.168.0.10 49203 typ host", "0", 0, "room-1"), principal("carol"));
+
+        assertSenderMismatchSentOnlyTo("carol");
+    }
+
+    @Test
+    void leaveSentAsAnotherUserKeepsThatUserInRoom() {
+        controller.handleLeaveRoom(new LeaveRoomRequest("bob", "room-1"), headerAccessor("session-c", "carol"));
+
+        assertThat(roomService.getUserRoom("bob")).isEqualTo("room-1");
+        assertSenderMismatchSentOnlyTo("carol");
+    }
+
+    @Test
+    void signalWithoutPrincipalIsDropped() {
+        controller.handleOffer(new OfferMessage("alice", "bob", SDP, "room-1"), null);
+
+        assertThat(signalRouter.sent).isEmpty();
+    }
+
+    private void assertSenderMismatchSentOnlyTo(String userId) {
+        assertThat(signalRouter.sent).hasSize(1);
+        Sent sent = signalRouter.sent.get(0);
+        assertThat(sent.userId()).isEqualTo(userId);
+        assertThat(sent.destination()).isEqualTo("/queue/error");
+        assertThat(((SignalPayloads.ErrorPayload) sent.message().getData()).error().getCode())
+                .isEqualTo("SENDER_MISMATCH");
+    }
+
+    private static Principal principal(String userId) {
+        return new StompPrincipal(userId);
+    }
+
+    private static SimpMessageHeaderAccessor headerAccessor(String sessionId, String userId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create();
+        accessor.setSessionId(sessionId);
+        accessor.setUser(principal(userId));
+        accessor.setSessionAttributes(new HashMap<>());
+        return accessor;
+    }
+
+    private static RoomService roomService() {
+        RoomService roomService = new RoomService();
+        ReflectionTestUtils.setField(roomService, "maxParticipants", 6);
+        return roomService;
+    }
+
+    // 오프라인 경로만 사용 - 클러스터/SDP 검사/협상 순서/candidate 묶음/이벤트 기록은 기본값(비활성)
+    private static WebRTCController controller(RoomService roomService, SignalRouter signalRouter) {
+        SignalingMetrics signalingMetrics = new SignalingMetrics(new SimpleMeterRegistry());
+        SignalingScheduler signalingScheduler = new SignalingScheduler();
+        return new WebRTCController(
+                signalRouter,
+                roomService,
+                new IceCandidateCoalescer(signalRouter, signalingScheduler),
+                new ClusterCoordinator(roomService, null, null, null, null),
+                signalingMetrics,
+                null,
+                null,
+                null,
+                new SdpGuard(signalingMetrics, roomService),
+                null,
+                new SignalTrace(signalingScheduler),
+                new NegotiationCoordinator(roomService, signalingScheduler),
+                new ConnectionSetupTracker(roomService, signalingMetrics),
+                null,
+                null);
+    }
+
+    private record Sent(String userId, String destination, SignalMessage message) {
+    }
+
+    // 전송 대신 기록 (사용자 큐 / 방 토픽)
+    private static final class RecordingSignalRouter extends SignalRouter {
+
+        private final List<Sent> sent = new ArrayList<>();
+
+        RecordingSignalRouter() {
+            super(null, null, null, null);
+        }
+
+        @Override
+        public void sendSignal(String roomId, String toUserId, SignalMessage message) {
+            sent.add(new Sent(toUserId, "/queue/webrtc", message));
+        }
+
+        @Override
+        public void sendToUser(String userId, String destination, SignalMessage message) {
+            sent.add(new Sent(userId, destination, message));
+        }
+
+        @Override
+        public void broadcastToRoom(String roomId, SignalMessage message) {
+            sent.add(new Sent(null, "/topic/room/" + roomId, message));
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.back.ice;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StunMessageTest {
+
+    private static final byte[] TRANSACTION_ID = "0123456789ab".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] KEY = StunMessage.longTermKey("alice", "test", "secret");
+
+    @Test
+    void parsesWhatBuilderEncodes() throws Exception {
+        InetSocketAddress v4 = new InetSocketAddress(InetAddress.getByName("203.0.114.7"), 50_000);
+        InetSocketAddress v6 = new InetSocketAddress(InetAddress.getByName("2001:4860::1"), 3478);
+
+        StunMessage message = parse(new StunMessageBuilder(Stun.ALLOCATE, TRANSACTION_ID)
+                .uint32(Stun.ATTR_REQUESTED_TRANSPORT, (long) Stun.TRANSPORT_UDP << 24)
+                .uint32(Stun.ATTR_LIFETIME, 600)
+                .string(Stun.ATTR_USERNAME, "alice")
+                .xorAddress(Stun.ATTR_XOR_PEER_ADDRESS, v4)
+                .xorAddress(Stun.ATTR_XOR_PEER_ADDRESS, v6)
+                .build(null));
+
+        assertThat(message).isNotNull();
+        assertThat(message.getType()).isEqualTo(Stun.ALLOCATE);
+        assertThat(message.isRequest()).isTrue();
+        assertThat(message.getTransactionId()).isEqualTo(TRANSACTION_ID);
+        assertThat(message.requestedTransport()).isEqualTo(Stun.TRANSPORT_UDP);
+        assertThat(message.uint32(Stun.ATTR_LIFETIME)).isEqualTo(600);
+        assertThat(message.string(Stun.ATTR_USERNAME)).isEqualTo("alice");
+        assertThat(message.xorAddress(Stun.ATTR_XOR_PEER_ADDRESS)).isEqualTo(v4);
+        assertThat(message.xorAddresses(Stun.ATTR_XOR_PEER_ADDRESS)).containsExactly(v4, v6);
+        assertThat(message.uint32(Stun.ATTR_REALM)).isEqualTo(-1);
+    }
+
+    @Test
+    void responseClassAndMethodAreSplit() {
+        StunMessage message = parse(new StunMessageBuilder(Stun.CHANNEL_BIND | Stun.ERROR_RESPONSE, TRANSACTION_ID)
+                .errorCode(Stun.ERROR_FORBIDDEN, "Forbidden")
+                .build(null));
+
+        assertThat(message.isRequest()).isFalse();
+        assertThat(message.getMethod()).isEqualTo(Stun.CHANNEL_BIND);
+        assertThat(errorCode(message)).isEqualTo(Stun.ERROR_FORBIDDEN);
+    }
+
+    @Test
+    void rejectsMalformedPackets() {
+        byte[] valid = bytes(new StunMessageBuilder(Stun.BINDING, TRANSACTION_ID).build(null));
+
+        assertThat(StunMessage.parse(ByteBuffer.wrap(valid, 0, Stun.HEADER_LENGTH - 1))).isNull();
+
+        byte[] badCookie = valid.clone();
+        badCookie[4] ^= 0x01;
+        assertThat(StunMessage.parse(ByteBuffer.wrap(badCookie))).isNull();
+
+        byte[] truncated = valid.clone();
+        ByteBuffer.wrap(truncated).putShort(2, (short) (valid.length));  // 본문 길이가 패킷보다 김
+        assertThat(StunMessage.parse(ByteBuffer.wrap(truncated))).isNull();
+
+        byte[] oddLength = valid.clone();
+        ByteBuffer.wrap(oddLength).putShort(2, (short) 2);
+        assertThat(StunMessage.parse(ByteBuffer.wrap(oddLength))).isNull();
+    }
+
+    @Test
+    void verifiesMessageIntegrity() {
+        byte[] packet = bytes(new StunMessageBuilder(Stun.REFRESH, TRANSACTION_ID)
+                .string(Stun.ATTR_USERNAME, "alice")
+                .uint32(Stun.ATTR_LIFETIME, 0)
+                .build(KEY));
+
+        assertThat(parse(packet).verifyIntegrity(KEY)).isTrue();
+        assertThat(parse(packet).verifyIntegrity(StunMessage.longTermKey("alice", "test", "wrong"))).isFalse();
+        assertThat(parse(packet).verifyIntegrity(null)).isFalse();
+
+        byte[] tampered = packet.clone();
+        tampered[Stun.HEADER_LENGTH + 4] ^= 0x20;  // USERNAME 첫 글자
+        assertThat(parse(tampered).verifyIntegrity(KEY)).isFalse();
+    }
+
+    @Test
+    void messageWithoutIntegrityFailsVerification() {
+        StunMessage message = parse(new StunMessageBuilder(Stun.REFRESH, TRANSACTION_ID)
+                .string(Stun.ATTR_USERNAME, "alice")
+                .build(null));
+
+        assertThat(message.has(Stun.ATTR_MESSAGE_INTEGRITY)).isFalse();
+        assertThat(message.verifyIntegrity(KEY)).isFalse();
+    }
+
+    @Test
+    void ignoresAttributesAfterMessageIntegrity() {
+        ByteBuffer signed = new StunMessageBuilder(Stun.REFRESH, TRANSACTION_ID)
+                .string(Stun.ATTR_USERNAME, "alice")
+                .build(KEY);
+        byte[] packet = bytes(signed);
+
+        // FINGERPRINT 자리에 LIFETIME을 끼워 넣어도 무결성 범위 밖이므로 보이지 않아야 함
+        ByteBuffer.wrap(packet).putShort(packet.length - 8, (short) Stun.ATTR_LIFETIME);
+        StunMessage message = parse(packet);
+
+        assertThat(message.verifyIntegrity(KEY)).isTrue();
+        assertThat(message.uint32(Stun.ATTR_LIFETIME)).isEqualTo(-1);
+    }
+
+    @Test
+    void verifiesFingerprint() {
+        byte[] packet = bytes(new StunMessageBuilder(Stun.BINDING, TRANSACTION_ID)
+                .string(Stun.ATTR_SOFTWARE, "test")
+                .build(null));
+        assertThat(parse(packet).hasValidFingerprint()).isTrue();
+
+        byte[] tampered = packet.clone();
+        tampered[Stun.HEADER_LENGTH + 4] ^= 0x01;
+        assertThat(parse(tampered).hasValidFingerprint()).isFalse();
+
+        byte[] wrongCrc = packet.clone();
+        wrongCrc[wrongCrc.length - 1] ^= 0x01;
+        assertThat(parse(wrongCrc).hasValidFingerprint()).isFalse();
+    }
+
+    @Test
+    void fingerprintIsOptional() {
+        byte[] packet = new byte[Stun.HEADER_LENGTH];
+        ByteBuffer.wrap(packet).putShort((short) Stun.BINDING).putShort((short) 0).putInt(Stun.MAGIC_COOKIE).put(TRANSACTION_ID);
+
+        StunMessage message = parse(packet);
+        assertThat(message).isNotNull();
+        assertThat(message.hasValidFingerprint()).isTrue();
+    }
+
+    static int errorCode(StunMessage message) {
+        byte[] value = message.bytes(Stun.ATTR_ERROR_CODE);
+        return value == null ? -1 : (value[2] & 0x07) * 100 + (value[3] & 0xFF);
+    }
+
+    static byte[] bytes(ByteBuffer message) {
+        byte[] bytes = new byte[message.remaining()];
+        message.get(bytes);
+        return bytes;
+    }
+
+    private static StunMessage parse(ByteBuffer message) {
+        return parse(bytes(message));
+    }
+
+    private static StunMessage parse(byte[] packet) {
+        return StunMessage.parse(ByteBuffer.wrap(packet));
+    }
+}
@@ -0,0 +1,76 @@
+package com.back.ice;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TurnPeerPolicyTest {
+
+    @Test
+    void rejectsSpecialPurposeRanges() {
+        TurnPeerPolicy policy = TurnPeerPolicy.publicOnly();
+
+        for (String address : List.of(
+                "0.0.0.0", "127.0.0.1", "127.255.255.254",
+                "10.0.0.1", "172.16.0.1", "172.31.255.255", "192.168.1.1",
+                "169.254.169.254", "100.64.0.1", "100.127.255.255",
+                "224.0.0.1", "239.255.255.250", "255.255.255.255",
+                "::", "::1", "fe80::1", "fd00::1", "ff02::1", "64:ff9b::a00:1",
+                "::ffff:10.0.0.1", "::ffff:127.0.0.1")) {
+            assertThat(policy.isAllowed(address(address))).as(address).isFalse();
+        }
+    }
+
+    @Test
+    void allowsPublicAddresses() {
+        TurnPeerPolicy policy = TurnPeerPolicy.publicOnly();
+
+        for (String address : List.of(
+                "8.8.8.8", "1.1.1.1", "172.32.0.1", "100.128.0.1", "192.169.0.1",
+                "2001:4860:4860::8888", "2606:4700::1111")) {
+            assertThat(policy.isAllowed(address(address))).as(address).isTrue();
+        }
+    }
+
+    @Test
+    void allowListOverridesSpecialPurposeRanges() {
+        TurnPeerPolicy policy = TurnPeerPolicy.allowing(List.of("10.20.0.0/16", " ::1 ", ""));
+
+        assertThat(policy.isAllowed(address("10.20.3.4"))).isTrue();
+        assertThat(policy.isAllowed(address("::1"))).isTrue();
+        assertThat(policy.isAllowed(address("10.21.0.1"))).isFalse();
+        assertThat(policy.isAllowed(address("127.0.0.1"))).isFalse();
+        assertThat(policy.isAllowed(address("8.8.8.8"))).isTrue();
+    }
+
+    @Test
+    void matchesPrefixesThatAreNotByteAligned() {
+        TurnPeerPolicy policy = TurnPeerPolicy.allowing(List.of("100.64.0.0/11"));
+
+        assertThat(policy.isAllowed(address("100.95.255.255"))).isTrue();
+        assertThat(policy.isAllowed(address("100.96.0.1"))).isFalse();
+    }
+
+    @Test
+    void rejectsInvalidCidrs() {
+        assertThatThrownBy(() -> TurnPeerPolicy.allowing(List.of("10.0.0.0/33")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TurnPeerPolicy.allowing(List.of("10.0.0.0/x")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TurnPeerPolicy.allowing(List.of("internal.example.com/24")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static InetAddress address(String literal) {
+        try {
+            return InetAddress.getByName(literal);
+        } catch (UnknownHostException e) {
+            throw new IllegalArgumentException(literal, e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.back.ice;
+
+import com.back.ice.TurnRestCredentials.TurnCredential;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TurnRestCredentialsTest {
+
+    private static final String SECRET = "north";
+    private static final String REALM = "webrtc-poc";
+
+    private final TurnRestCredentials credentials = new TurnRestCredentials();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(credentials, "secret", SECRET);
+        ReflectionTestUtils.setField(credentials, "ttlSeconds", 3600L);
+        ReflectionTestUtils.setField(credentials, "rotationSeconds", 600L);
+        credentials.init();
+    }
+
+    @Test
+    void mintMatchesCoturnRestApiVector() {
+        // coturn use-auth-secret 문서의 계산과 같은 값:
+        // echo -n "1760000400:alice@room-1" | openssl dgst -binary -sha1 -hmac north | openssl base64
+        TurnCredential credential = credentials.mint("alice@room-1", 2_933_327L);
+
+        assertThat(credential.expiresAt()).isEqualTo(1_760_000_400L);
+        assertThat(credential.username()).isEqualTo("1760000400:alice@room-1");
+        assertThat(credential.credential()).isEqualTo("oAJyK4WVTwPw1EJ//wV8jIKg/2s=");
+    }
+
+    @Test
+    void longTermKeyIsMd5OfUsernameRealmAndCredential() throws Exception {
+        TurnCredential credential = credentials.mint("alice@room-1", credentials.currentEpoch());
+
+        byte[] expected = MessageDigest.getInstance("MD5").digest(
+                (credential.username() + ":" + REALM + ":" + credential.credential()).getBytes(StandardCharsets.UTF_8));
+        assertThat(credentials.longTermKey(credential.username(), REALM)).isEqualTo(expected);
+    }
+
+    @Test
+    void longTermKeyMatchesOpensslVector() {
+        // 위 자격 증명의 장기 키 (RFC 5389 15.4):
+        // echo -n "1760000400:alice@room-1:webrtc-poc:oAJyK4WVTwPw1EJ//wV8jIKg/2s=" | openssl dgst -md5
+        assertThat(HexFormat.of().formatHex(StunMessage.longTermKey(
+                "1760000400:alice@room-1", REALM, "oAJyK4WVTwPw1EJ//wV8jIKg/2s=")))
+                .isEqualTo("844bcaf3341e46e6a12e39d1f9e4bb4c");
+    }
+
+    @Test
+    void expiredUsernameIsRejected() {
+        long expiredAt = System.currentTimeMillis() / 1000 - 1;
+
+        assertThat(credentials.longTermKey(expiredAt + ":alice@room-1", REALM)).isNull();
+        assertThat(credentials.longTermKey("1000:alice@room-1", REALM)).isNull();
+        assertThat(credentials.longTermKey((expiredAt + 60) + ":alice@room-1", REALM)).isNotNull();
+    }
+
+    @Test
+    void malformedUsernameIsRejected() {
+        assertThat(credentials.longTermKey("alice@room-1", REALM)).isNull();
+        assertThat(credentials.longTermKey(":alice@room-1", REALM)).isNull();
+        assertThat(credentials.longTermKey("soon:alice@room-1", REALM)).isNull();
+        assertThat(credentials.longTermKey("17600x0400:alice@room-1", REALM)).isNull();
+        assertThat(credentials.longTermKey("", REALM)).isNull();
+    }
+}
@@ -0,0 +1,176 @@
+package com.back.ice;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 루프백에서 TurnServer를 띄워 릴레이 대상 제한 확인 (클라이언트 소켓은 루프백, 상대 주소만 바꿔 가며 요청)
+class TurnServerTest {
+
+    private static final String REALM = "test";
+    private static final String USERNAME = "alice";
+    private static final String PASSWORD = "secret";
+    private static final byte[] KEY = StunMessage.longTermKey(USERNAME, REALM, PASSWORD);
+
+    private final InetAddress loopback = InetAddress.getLoopbackAddress();
+
+    private TurnServer server;
+    private DatagramSocket client;
+    private InetSocketAddress serverAddress;
+    private String nonce;
+
+    @AfterEach
+    void tearDown() {
+        if (client != null) {
+            client.close();
+        }
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    void createPermissionToPrivateAddressIsForbidden() throws IOException {
+        startAndAllocate(TurnPeerPolicy.publicOnly());
+
+        for (String peer : List.of("10.0.0.1", "127.0.0.1", "169.254.169.254", "100.64.0.1", "224.0.0.1")) {
+            StunMessage response = authenticatedRequest(builder(Stun.CREATE_PERMISSION)
+                    .xorAddress(Stun.ATTR_XOR_PEER_ADDRESS, new InetSocketAddress(peer, 9)));
+
+            assertThat(response.getType()).as(peer).isEqualTo(Stun.CREATE_PERMISSION | Stun.ERROR_RESPONSE);
+            assertThat(StunMessageTest.errorCode(response)).as(peer).isEqualTo(Stun.ERROR_FORBIDDEN);
+        }
+        assertThat(server.getStats().get("forbiddenPeers")).isEqualTo(5L);
+    }
+
+    @Test
+    void createPermissionIsAllOrNothing() throws IOException {
+        startAndAllocate(TurnPeerPolicy.publicOnly());
+
+        StunMessage response = authenticatedRequest(builder(Stun.CREATE_PERMISSION)
+                .xorAddress(Stun.ATTR_XOR_PEER_ADDRESS, new InetSocketAddress("8.8.8.8", 9))
+                .xorAddress(Stun.ATTR_XOR_PEER_ADDRESS, new InetSocketAddress("192.168.0.1", 9)));
+        assertThat(StunMessageTest.errorCode(response)).isEqualTo(Stun.ERROR_FORBIDDEN);
+
+        StunMessage allowed = authenticatedRequest(builder(Stun.CREATE_PERMISSION)
+                .xorAddress(Stun.ATTR_XOR_PEER_ADDRESS, new InetSocketAddress("8.8.8.8", 9)));
+        assertThat(allowed.getType()).isEqualTo(Stun.CREATE_PERMISSION | Stun.SUCCESS_RESPONSE);
+    }
+
+    @Test
+    void channelBindToLoopbackIsForbiddenByDefault() throws IOException {
+        startAndAllocate(TurnPeerPolicy.publicOnly());
+
+        StunMessage response = authenticatedRequest(builder(Stun.CHANNEL_BIND)
+                .uint32(Stun.ATTR_CHANNEL_NUMBER, 0x4000L << 16)
+                .xorAddress(Stun.ATTR_XOR_PEER_ADDRESS, new InetSocketAddress(loopback, 9)));
+
+        assertThat(response.getType()).isEqualTo(Stun.CHANNEL_BIND | Stun.ERROR_RESPONSE);
+        assertThat(StunMessageTest.errorCode(response)).isEqualTo(Stun.ERROR_FORBIDDEN);
+    }
+
+    @Test
+    void sendIndicationToUnpermittedPeerIsDropped() throws IOException {
+        startAndAllocate(TurnPeerPolicy.publicOnly());
+
+        try (DatagramSocket peer = socket()) {
+            send(new StunMessageBuilder(Stun.SEND_INDICATION, transactionId())
+                    .xorAddress(Stun.ATTR_XOR_PEER_ADDRESS, new InetSocketAddress(loopback, peer.getLocalPort()))
+                    .bytes(Stun.ATTR_DATA, new byte[]{1, 2, 3})
+                    .build(null));
+
+            peer.setSoTimeout(300);
+            assertThatThrownBy(() -> peer.receive(new DatagramPacket(new byte[64], 64)))
+                    .isInstanceOf(SocketTimeoutException.class);
+        }
+    }
+
+    @Test
+    void allowListedPeerIsRelayed() throws IOException {
+        startAndAllocate(TurnPeerPolicy.allowing(List.of("127.0.0.0/8", "::1")));
+
+        try (DatagramSocket peer = socket()) {
+            StunMessage bound = authenticatedRequest(builder(Stun.CHANNEL_BIND)
+                    .uint32(Stun.ATTR_CHANNEL_NUMBER, 0x4000L << 16)
+                    .xorAddress(Stun.ATTR_XOR_PEER_ADDRESS, new InetSocketAddress(loopback, peer.getLocalPort())));
+            assertThat(bound.getType()).isEqualTo(Stun.CHANNEL_BIND | Stun.SUCCESS_RESPONSE);
+
+            byte[] channelData = new byte[Stun.CHANNEL_DATA_HEADER_LENGTH + 3];
+            ByteBuffer.wrap(channelData).putShort((short) 0x4000).putShort((short) 3).put(new byte[]{7, 8, 9});
+            client.send(new DatagramPacket(channelData, channelData.length, serverAddress));
+
+            DatagramPacket received = new DatagramPacket(new byte[64], 64);
+            peer.receive(received);
+            assertThat(received.getLength()).isEqualTo(3);
+            assertThat(received.getData()[0]).isEqualTo((byte) 7);
+        }
+    }
+
+    private void startAndAllocate(TurnPeerPolicy policy) throws IOException {
+        server = new TurnServer(new InetSocketAddress(loopback, 0), loopback, REALM,
+                TurnCredentialStore.fixed(USERNAME, PASSWORD), policy, 4);
+        server.start();
+        serverAddress = new InetSocketAddress(loopback, server.getPort());
+        client = socket();
+
+        StunMessage challenge = request(builder(Stun.ALLOCATE)
+                .uint32(Stun.ATTR_REQUESTED_TRANSPORT, (long) Stun.TRANSPORT_UDP << 24)
+                .build(null));
+        assertThat(StunMessageTest.errorCode(challenge)).isEqualTo(Stun.ERROR_UNAUTHORIZED);
+        nonce = challenge.string(Stun.ATTR_NONCE);
+
+        StunMessage allocated = authenticatedRequest(builder(Stun.ALLOCATE)
+                .uint32(Stun.ATTR_REQUESTED_TRANSPORT, (long) Stun.TRANSPORT_UDP << 24));
+        assertThat(allocated.getType()).isEqualTo(Stun.ALLOCATE | Stun.SUCCESS_RESPONSE);
+    }
+
+    private static StunMessageBuilder builder(int method) {
+        return new StunMessageBuilder(method, transactionId());
+    }
+
+    // 장기 자격 증명 속성 + MESSAGE-INTEGRITY를 붙여 전송
+    private StunMessage authenticatedRequest(StunMessageBuilder builder) throws IOException {
+        return request(builder
+                .string(Stun.ATTR_USERNAME, USERNAME)
+                .string(Stun.ATTR_REALM, REALM)
+                .string(Stun.ATTR_NONCE, nonce)
+                .build(KEY));
+    }
+
+    private StunMessage request(ByteBuffer message) throws IOException {
+        send(message);
+
+        DatagramPacket response = new DatagramPacket(new byte[2048], 2048);
+        client.receive(response);
+        return StunMessage.parse(ByteBuffer.wrap(response.getData(), 0, response.getLength()));
+    }
+
+    private void send(ByteBuffer message) throws IOException {
+        byte[] bytes = StunMessageTest.bytes(message);
+        client.send(new DatagramPacket(bytes, bytes.length, serverAddress));
+    }
+
+    private DatagramSocket socket() throws IOException {
+        DatagramSocket socket = new DatagramSocket(new InetSocketAddress(loopback, 0));
+        socket.setSoTimeout(2000);
+        return socket;
+    }
+
+    private static byte[] transactionId() {
+        byte[] transactionId = new byte[12];
+        ThreadLocalRandom.current().nextBytes(transactionId);
+        return transactionId;
+    }
+}
@@ -0,0 +1,175 @@
+package com.back.limit;
+
+import com.back.metrics.SignalingMetrics;
+import com.back.service.RoomService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SignalRateLimiterTest {
+
+    private final RoomService roomService = roomService();
+    private final SignalRateLimiter limiter = limiter(roomService);
+
+    @Test
+    void roomBucketFollowsMembershipNotConnectHeader() {
+        roomService.addUserToRoom("room-1", "alice");
+
+        // CONNECT 헤더로 room-1을 주장한 비참여자 - room-1 버킷을 쓰지 않음
+        for (int i = 0; i < 20; i++) {
+            assertThat(limiter.preSend(offer("session-m" + i, "mallory", "room-1"), null)).isNotNull();
+        }
+        assertThat(limiter.getStats()).containsEntry("trackedRooms", 0);
+
+        // 실제 참여자는 방 버킷 (burst 5) 적용
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.preSend(offer("session-a" + i, "alice", null), null)).isNotNull();
+        }
+        assertThat(limiter.preSend(offer("session-a9", "alice", null), null)).isNull();
+    }
+
+    @Test
+    void roomRejectionDoesNotSpendSessionToken() {
+        roomService.addUserToRoom("room-1", "alice");
+        roomService.addUserToRoom("room-1", "bob");
+
+        // bob이 방 버킷을 모두 씀
+        for (int i = 0; i < 5; i++) {
+            limiter.preSend(offer("session-b" + i, "bob", null), null);
+        }
+
+        // alice는 방 한도에 걸리지만 세션 토큰(burst 10)은 그대로 남아야 함
+        for (int i = 0; i < 20; i++) {
+            assertThat(limiter.preSend(offer("session-a", "alice", null), null)).isNull();
+        }
+        roomService.removeUserFromRoom("room-1", "alice");
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.preSend(offer("session-a", "alice", null), null)).isNotNull();
+        }
+        assertThat(limiter.preSend(offer("session-a", "alice", null), null)).isNull();
+    }
+
+    @Test
+    void globalJoinRejectionDoesNotSpendSessionToken() {
+        ReflectionTestUtils.setField(limiter, "joinBurstGlobal", 1.0);
+        assertThat(limiter.preSend(join("session-x"), null)).isNotNull();
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.preSend(join("session-a"), null)).isNull();
+        }
+        ReflectionTestUtils.setField(limiter, "globalJoins", new TokenBucket(1, 100, System.nanoTime()));
+
+        // 세션 burst(3)는 전부 남아 있음
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.preSend(join("session-a"), null)).isNotNull();
+        }
+        assertThat(limiter.preSend(join("session-a"), null)).isNull();
+    }
+
+    @Test
+    void roomJoinLimitUsesRequestedRoomAndIsDroppedWhenRoomCloses() {
+        for (int i = 0; i < 2; i++) {
+            assertThat(limiter.admitRoomJoin("room-1", null, "session-" + i)).isTrue();
+        }
+        assertThat(limiter.admitRoomJoin("room-1", null, "session-2")).isFalse();
+        assertThat(limiter.admitRoomJoin("room-2", null, "session-2")).isTrue();
+
+        roomService.addUserToRoom("room-1", "alice");
+        roomService.removeUserFromRoom("room-1", "alice");
+
+        assertThat(limiter.admitRoomJoin("room-1", null, "session-3")).isTrue();
+    }
+
+    @Test
+    void roomJoinRejectionRefundsSessionAndGlobalTokens() {
+        ReflectionTestUtils.setField(limiter, "joinBurstGlobal", 4.0);
+
+        // 방 입장 burst(2)를 다른 세션이 모두 씀
+        for (int i = 0; i < 2; i++) {
+            assertThat(limiter.preSend(join("session-x" + i), null)).isNotNull();
+            assertThat(limiter.admitRoomJoin("room-1", null, "session-x" + i)).isTrue();
+        }
+
+        // 방 한도에 걸린 입장은 세션/전체 토큰을 남김
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.preSend(join("session-a"), null)).isNotNull();
+            assertThat(limiter.admitRoomJoin("room-1", null, "session-a")).isFalse();
+        }
+
+        // 세션 burst(3) 중 전체 버킷에 남은 2개까지 다른 방으로 입장 가능
+        for (int i = 0; i < 2; i++) {
+            assertThat(limiter.preSend(join("session-a"), null)).isNotNull();
+            assertThat(limiter.admitRoomJoin("room-2", null, "session-a")).isTrue();
+        }
+        assertThat(limiter.preSend(join("session-a"), null)).isNull();
+    }
+
+    @Test
+    void fullRoomRefundKeepsRoomJoinTokens() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.admitRoomJoin("room-1", null, "session-" + i)).isTrue();
+            limiter.refundRoomJoin("room-1");
+        }
+
+        // 정원 초과로 돌려준 토큰만큼 자리가 나면 입장 가능 (방 입장 burst 2)
+        assertThat(limiter.admitRoomJoin("room-1", null, "session-a")).isTrue();
+        assertThat(limiter.admitRoomJoin("room-1", null, "session-b")).isTrue();
+        assertThat(limiter.admitRoomJoin("room-1", null, "session-c")).isFalse();
+    }
+
+    private static Message<byte[]> offer(String sessionId, String userId, String connectRoomId) {
+        Map<String, Object> attributes = new HashMap<>();
+        if (connectRoomId != null) {
+            attributes.put("roomId", connectRoomId);
+        }
+        return message(sessionId, "/app/webrtc/offer", () -> userId, attributes);
+    }
+
+    private static Message<byte[]> join(String sessionId) {
+        return message(sessionId, "/app/room/join", null, new HashMap<>());
+    }
+
+    private static Message<byte[]> message(String sessionId, String destination, Principal user,
+                                           Map<String, Object> attributes) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setDestination(destination);
+        accessor.setUser(user);
+        accessor.setSessionAttributes(attributes);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static RoomService roomService() {
+        RoomService roomService = new RoomService();
+        ReflectionTestUtils.setField(roomService, "maxParticipants", 6);
+        return roomService;
+    }
+
+    // 세션 시그널 burst 10, 방 시그널 burst 5, 세션 입장 burst 3, 방 입장 burst 2 (충전은 사실상 없음)
+    private static SignalRateLimiter limiter(RoomService roomService) {
+        SignalRateLimiter limiter = new SignalRateLimiter(new SignalingMetrics(new SimpleMeterRegistry()), roomService, null);
+        ReflectionTestUtils.setField(limiter, "enabled", true);
+        ReflectionTestUtils.setField(limiter, "signalRatePerSession", 0.001);
+        ReflectionTestUtils.setField(limiter, "signalBurstPerSession", 10.0);
+        ReflectionTestUtils.setField(limiter, "signalRatePerRoom", 0.001);
+        ReflectionTestUtils.setField(limiter, "signalBurstPerRoom", 5.0);
+        ReflectionTestUtils.setField(limiter, "joinRatePerSession", 0.001);
+        ReflectionTestUtils.setField(limiter, "joinBurstPerSession", 3.0);
+        ReflectionTestUtils.setField(limiter, "joinRatePerRoom", 0.001);
+        ReflectionTestUtils.setField(limiter, "joinBurstPerRoom", 2.0);
+        ReflectionTestUtils.setField(limiter, "joinRateGlobal", 0.001);
+        ReflectionTestUtils.setField(limiter, "joinBurstGlobal", 100.0);
+        limiter.init();
+        return limiter;
+    }
+}
@@ -0,0 +1,92 @@
+package com.back.limit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void allowsBurstThenReportsWaitUntilNextToken() {
+        TokenBucket bucket = new TokenBucket(2, 3, 0);
+
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+
+        // 초당 2개 -> 다음 토큰까지 500ms
+        assertThat(bucket.tryAcquire(0)).isEqualTo(500L);
+        assertThat(bucket.tryAcquire(200 * MS)).isEqualTo(300L);
+    }
+
+    @Test
+    void refillsAtConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(10, 1, 0);
+        assertThat(bucket.tryAcquire(0)).isZero();
+
+        assertThat(bucket.tryAcquire(99 * MS)).isGreaterThan(0);
+        assertThat(bucket.tryAcquire(100 * MS)).isZero();
+        assertThat(bucket.tryAcquire(150 * MS)).isEqualTo(50L);
+        assertThat(bucket.tryAcquire(200 * MS)).isZero();
+    }
+
+    @Test
+    void refillIsCappedAtBurst() {
+        TokenBucket bucket = new TokenBucket(100, 2, 0);
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+
+        // 한참 쉬어도 burst(2)까지만 모임
+        long later = 60_000 * MS;
+        assertThat(bucket.tryAcquire(later)).isZero();
+        assertThat(bucket.tryAcquire(later)).isZero();
+        assertThat(bucket.tryAcquire(later)).isGreaterThan(0);
+    }
+
+    @Test
+    void ignoresClockGoingBackwards() {
+        TokenBucket bucket = new TokenBucket(1, 1, 1_000 * MS);
+        assertThat(bucket.tryAcquire(1_000 * MS)).isZero();
+
+        assertThat(bucket.tryAcquire(0)).isGreaterThan(0);
+        assertThat(bucket.tryAcquire(2_000 * MS)).isZero();
+    }
+
+    @Test
+    void refundReturnsTokenUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(1, 2, 0);
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+
+        bucket.refund();
+        assertThat(bucket.tryAcquire(0)).isZero();
+
+        bucket.refund();
+        bucket.refund();
+        bucket.refund();
+        assertThat(bucket.isFull(0)).isTrue();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isGreaterThan(0);
+    }
+
+    @Test
+    void isFullOnceRefilled() {
+        TokenBucket bucket = new TokenBucket(4, 2, 0);
+        assertThat(bucket.isFull(0)).isTrue();
+
+        bucket.tryAcquire(0);
+        assertThat(bucket.isFull(100 * MS)).isFalse();
+        assertThat(bucket.isFull(250 * MS)).isTrue();
+    }
+
+    @Test
+    void zeroRateNeverRefills() {
+        TokenBucket bucket = new TokenBucket(0, 1, 0);
+        assertThat(bucket.tryAcquire(0)).isZero();
+
+        assertThat(bucket.tryAcquire(3_600_000 * MS)).isEqualTo(Long.MAX_VALUE);
+    }
+}
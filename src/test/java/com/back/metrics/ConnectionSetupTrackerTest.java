@@ -0,0 +1,143 @@
+package com.back.metrics;
+
+import com.back.metrics.ConnectionSetupTracker.Phase;
+import com.back.service.RoomService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConnectionSetupTrackerTest {
+
+    private final RoomService roomService = new RoomService();
+    private final SignalingMetrics signalingMetrics = new SignalingMetrics(new SimpleMeterRegistry());
+    private final ConnectionSetupTracker tracker = new ConnectionSetupTracker(roomService, signalingMetrics);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(roomService, "maxParticipants", 32);
+        ReflectionTestUtils.setField(tracker, "enabled", true);
+        tracker.start();
+    }
+
+    @Test
+    void eachPhaseIsRecordedOncePerPair() {
+        join("room-1", "alice", "bob");
+
+        tracker.record("room-1", "alice", "bob", Phase.OFFER);
+        tracker.record("room-1", "alice", "bob", Phase.OFFER);
+        tracker.record("room-1", "bob", "alice", Phase.ANSWER);
+        // 쌍은 방향 구분 없음 - 어느 쪽의 candidate든 첫 번째만
+        tracker.record("room-1", "alice", "bob", Phase.CANDIDATE);
+        tracker.record("room-1", "bob", "alice", Phase.CANDIDATE);
+        tracker.record("room-1", "bob", "alice", Phase.CONNECTED);
+        tracker.record("room-1", "alice", "bob", Phase.CONNECTED);
+
+        Map<String, Object> phases = signalingMetrics.getSetupTimes().get(2);
+        assertThat(List.copyOf(phases.keySet())).containsExactly("offer", "answer", "candidate", "connected");
+        for (String phase : phases.keySet()) {
+            assertThat(summary(phases, phase)).containsEntry("count", 1L);
+        }
+        assertThat(tracker.getStats()).containsEntry("pairsConnected", 1L);
+    }
+
+    @Test
+    void phasesAreTrackedPerPair() {
+        join("room-1", "alice", "bob", "carol");
+
+        tracker.record("room-1", "alice", "bob", Phase.OFFER);
+        tracker.record("room-1", "alice", "carol", Phase.OFFER);
+        tracker.record("room-1", "bob", "carol", Phase.OFFER);
+
+        Map<String, Object> phases = signalingMetrics.getSetupTimes().get(3);
+        assertThat(List.copyOf(phases.keySet())).containsExactly("offer");
+        assertThat(summary(phases, "offer")).containsEntry("count", 3L);
+    }
+
+    @Test
+    void roomSizeTagIsCappedAt16() {
+        for (int i = 0; i < 20; i++) {
+            roomService.addUserToRoom("room-1", "user-" + i);
+        }
+
+        tracker.record("room-1", "user-0", "user-1", Phase.OFFER);
+        signalingMetrics.recordSetupPhase("offer", 16, TimeUnit.MILLISECONDS.toNanos(5));
+        signalingMetrics.recordSetupPhase("offer", 64, TimeUnit.MILLISECONDS.toNanos(5));
+
+        Map<Integer, Map<String, Object>> setupTimes = signalingMetrics.getSetupTimes();
+        assertThat(List.copyOf(setupTimes.keySet())).containsExactly(16);
+        assertThat(summary(setupTimes.get(16), "offer")).containsEntry("count", 3L);
+
+        // 상한 아래는 인원별로 따로
+        signalingMetrics.recordSetupPhase("offer", 15, TimeUnit.MILLISECONDS.toNanos(5));
+        assertThat(List.copyOf(signalingMetrics.getSetupTimes().keySet())).containsExactly(15, 16);
+    }
+
+    @Test
+    void abandonedSetupIsNotRecordedAsConnected() {
+        join("room-1", "alice", "bob", "carol");
+        tracker.record("room-1", "alice", "bob", Phase.OFFER);
+        tracker.record("room-1", "bob", "alice", Phase.ANSWER);
+
+        roomService.removeUserFromRoom("room-1", "bob");
+
+        // 나간 뒤 늦게 도착한 연결 알림은 기록하지 않음
+        tracker.record("room-1", "alice", "bob", Phase.CONNECTED);
+
+        Map<String, Object> phases = signalingMetrics.getSetupTimes().get(3);
+        assertThat(phases).doesNotContainKey("connected");
+        assertThat(tracker.getStats())
+                .containsEntry("pairsConnected", 0L)
+                .containsEntry("pairsAbandoned", 1L);
+    }
+
+    @Test
+    void rejoinStartsANewSetup() {
+        join("room-1", "alice", "bob");
+        tracker.record("room-1", "alice", "bob", Phase.OFFER);
+        roomService.removeUserFromRoom("room-1", "bob");
+        roomService.addUserToRoom("room-1", "bob");
+
+        tracker.record("room-1", "alice", "bob", Phase.OFFER);
+
+        assertThat(summary(signalingMetrics.getSetupTimes().get(2), "offer")).containsEntry("count", 2L);
+        assertThat(tracker.getStats()).containsEntry("pairsAbandoned", 1L);
+    }
+
+    @Test
+    void pairsWithoutKnownJoinTimeAreIgnored() {
+        join("room-1", "alice");
+
+        // 입장 기록이 없는 방 / 방에 없는 사용자
+        tracker.record("room-2", "alice", "bob", Phase.OFFER);
+        tracker.record("room-1", "alice", "mallory", Phase.OFFER);
+
+        assertThat(signalingMetrics.getSetupTimes()).isEmpty();
+    }
+
+    @Test
+    void lastLeaveDropsRoomState() {
+        join("room-1", "alice", "bob");
+        roomService.removeUserFromRoom("room-1", "alice");
+        roomService.removeUserFromRoom("room-1", "bob");
+
+        assertThat(tracker.getStats()).containsEntry("trackedRooms", 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> summary(Map<String, Object> phases, String phase) {
+        return (Map<String, Object>) phases.get(phase);
+    }
+
+    private void join(String roomId, String... userIds) {
+        for (String userId : userIds) {
+            roomService.addUserToRoom(roomId, userId);
+        }
+    }
+}
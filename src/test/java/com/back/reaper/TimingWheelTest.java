@@ -0,0 +1,126 @@
+package com.back.reaper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    private static final long TICK_MS = 1000;
+
+    @Test
+    void expiresOnDeadlineTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK_MS, 0);
+        List<String> expired = new ArrayList<>();
+        wheel.schedule("a", 5_000);
+
+        assertThat(wheel.advance(4_999, timer -> expired.add(timer.value()))).isEqualTo(0);
+        assertThat(wheel.advance(5_000, timer -> expired.add(timer.value()))).isEqualTo(1);
+        assertThat(expired).containsExactly("a");
+        assertThat(wheel.size()).isEqualTo(0);
+    }
+
+    @Test
+    void pastDeadlineExpiresOnNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK_MS, 10_000);
+        wheel.schedule("late", 3_000);
+
+        assertThat(wheel.advance(11_000, timer -> { })).isEqualTo(1);
+    }
+
+    @Test
+    void cascadesFromEveryLevelOnExactTick() {
+        // 1단(64칸) 안, 2단(64^2), 3단(64^3), 4단(64^4) 범위 각각, 시작 시각이 칸 경계가 아닌 경우 포함
+        long start = 37 * TICK_MS;
+        long[] deadlines = {start + 10 * TICK_MS, start + 100 * TICK_MS, start + 5_000 * TICK_MS,
+                start + 300_000 * TICK_MS, start + 64 * TICK_MS, start + 4_096 * TICK_MS};
+        TimingWheel<Long> wheel = new TimingWheel<>(TICK_MS, start);
+        for (long deadline : deadlines) {
+            wheel.schedule(deadline, deadline);
+        }
+
+        List<Long> expiredAt = new ArrayList<>();
+        List<Long> values = new ArrayList<>();
+        for (long now = start + TICK_MS; now <= start + 300_000 * TICK_MS; now += TICK_MS) {
+            long tickNow = now;
+            wheel.advance(now, timer -> {
+                expiredAt.add(tickNow);
+                values.add(timer.value());
+            });
+        }
+
+        assertThat(values).containsExactly(start + 10 * TICK_MS, start + 64 * TICK_MS, start + 100 * TICK_MS,
+                start + 4_096 * TICK_MS, start + 5_000 * TICK_MS, start + 300_000 * TICK_MS);
+        assertThat(expiredAt).isEqualTo(values);
+        assertThat(wheel.size()).isEqualTo(0);
+    }
+
+    @Test
+    void deadlineBeyondTopLevelIsPlacedAgainOnCascade() {
+        // 4단 범위(64^4 tick)를 넘는 타이머 - 가장 먼 칸에 두었다가 cascade 때 다시 계산
+        TimingWheel<String> wheel = new TimingWheel<>(1, 0);
+        long deadline = (1L << 24) + 1_000;
+        wheel.schedule("far", deadline);
+
+        assertThat(wheel.advance(deadline - 1, timer -> { })).isEqualTo(0);
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(deadline, timer -> { })).isEqualTo(1);
+    }
+
+    @Test
+    void cancelledTimerNeverExpires() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK_MS, 0);
+        TimingWheel.Timer<String> kept = wheel.schedule("kept", 5_000);
+        TimingWheel.Timer<String> cancelled = wheel.schedule("cancelled", 5_000);
+
+        assertThat(wheel.cancel(cancelled)).isTrue();
+        assertThat(wheel.cancel(cancelled)).isFalse();
+        assertThat(wheel.cancel(null)).isFalse();
+        assertThat(wheel.size()).isEqualTo(1);
+
+        List<String> expired = new ArrayList<>();
+        wheel.advance(10_000, timer -> expired.add(timer.value()));
+
+        assertThat(expired).containsExactly("kept");
+        assertThat(kept.isScheduled()).isFalse();
+        assertThat(wheel.cancel(kept)).isFalse();
+    }
+
+    @Test
+    void timerCancelledAfterCascadeNeverExpires() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK_MS, 0);
+        TimingWheel.Timer<String> timer = wheel.schedule("upper", 200_000);
+
+        // 상위 단에서 1단으로 내려온 뒤 취소
+        wheel.advance(192_000, t -> { });
+        assertThat(timer.isScheduled()).isTrue();
+        assertThat(wheel.cancel(timer)).isTrue();
+
+        assertThat(wheel.advance(300_000, t -> { })).isEqualTo(0);
+        assertThat(wheel.size()).isEqualTo(0);
+    }
+
+    @Test
+    void rescheduleFromCallbackMovesDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK_MS, 0);
+        wheel.schedule("activity", 5_000);
+
+        // 만료 시 활동이 있었다면 새 deadline으로 다시 등록 (IdleReaper와 같은 사용)
+        List<Long> expiredAt = new ArrayList<>();
+        for (long now = TICK_MS; now <= 20_000; now += TICK_MS) {
+            long tickNow = now;
+            wheel.advance(now, timer -> {
+                expiredAt.add(tickNow);
+                if (expiredAt.size() == 1) {
+                    wheel.reschedule(timer, tickNow + 8_000);
+                }
+            });
+        }
+
+        assertThat(expiredAt).containsExactly(5_000L, 13_000L);
+        assertThat(wheel.size()).isEqualTo(0);
+    }
+}
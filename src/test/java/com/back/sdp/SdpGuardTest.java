@@ -0,0 +1,84 @@
+package com.back.sdp;
+
+import com.back.metrics.SignalingMetrics;
+import com.back.service.RoomService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SdpGuardTest {
+
+    private static final SdpPolicy OPUS_ONLY = SdpPolicy.of(List.of("opus"), List.of());
+
+    private final RoomService roomService = roomService();
+    private final SdpGuard guard = guard(roomService, 2);
+
+    @Test
+    void clearsRoomPolicyWhenLastParticipantLeaves() {
+        roomService.addUserToRoom("room-1", "alice");
+        roomService.addUserToRoom("room-1", "bob");
+        assertThat(guard.setRoomPolicy("room-1", OPUS_ONLY)).isTrue();
+
+        roomService.removeUserFromRoom("room-1", "alice");
+        assertThat(guard.getPolicy("room-1")).isSameAs(OPUS_ONLY);
+
+        roomService.removeUserFromRoom("room-1", "bob");
+        assertThat(guard.getPolicy("room-1")).isSameAs(SdpPolicy.NONE);
+        assertThat(guard.getStats()).containsEntry("roomPolicies", 0);
+    }
+
+    @Test
+    void keepsPolicySetBeforeFirstJoin() {
+        assertThat(guard.setRoomPolicy("room-1", OPUS_ONLY)).isTrue();
+
+        roomService.addUserToRoom("room-1", "alice");
+
+        assertThat(guard.getPolicy("room-1")).isSameAs(OPUS_ONLY);
+    }
+
+    @Test
+    void closedRoomsFreeSlotsForNewPolicies() {
+        roomService.addUserToRoom("room-1", "alice");
+        assertThat(guard.setRoomPolicy("room-1", OPUS_ONLY)).isTrue();
+        assertThat(guard.setRoomPolicy("room-2", OPUS_ONLY)).isTrue();
+        assertThat(guard.setRoomPolicy("room-3", OPUS_ONLY)).isFalse();
+
+        roomService.removeUserFromRoom("room-1", "alice");
+
+        assertThat(guard.setRoomPolicy("room-3", OPUS_ONLY)).isTrue();
+    }
+
+    @Test
+    void appliesRoomPolicyOnlyToThatRoom() {
+        guard.setRoomPolicy("room-1", OPUS_ONLY);
+        String sdp = "v=0\r\no=- 1 1 IN IP4 0.0.0.0\r\ns=-\r\nt=0 0\r\n"
+                + "m=audio 9 UDP/TLS/RTP/SAVPF 111 0\r\na=rtpmap:111 opus/48000/2\r\na=rtpmap:0 PCMU/8000\r\n";
+
+        assertThat(guard.inspect("room-1", sdp).removedCodecs()).isEqualTo(1);
+        assertThat(guard.inspect("room-2", sdp).sdp()).isSameAs(sdp);
+        assertThat(guard.inspect("room-2", "v=1").rejectReason()).isEqualTo(SdpParser.MALFORMED);
+    }
+
+    private static RoomService roomService() {
+        RoomService roomService = new RoomService();
+        ReflectionTestUtils.setField(roomService, "maxParticipants", 6);
+        return roomService;
+    }
+
+    private static SdpGuard guard(RoomService roomService, int maxRoomPolicies) {
+        SdpGuard guard = new SdpGuard(new SignalingMetrics(new SimpleMeterRegistry()), roomService);
+        ReflectionTestUtils.setField(guard, "enabled", true);
+        ReflectionTestUtils.setField(guard, "maxLength", 32768);
+        ReflectionTestUtils.setField(guard, "maxLineLength", 1024);
+        ReflectionTestUtils.setField(guard, "maxMediaSections", 32);
+        ReflectionTestUtils.setField(guard, "defaultCodecs", List.of());
+        ReflectionTestUtils.setField(guard, "defaultBlockedExtensions", List.of());
+        ReflectionTestUtils.setField(guard, "maxRoomPolicies", maxRoomPolicies);
+        guard.init();
+        return guard;
+    }
+}
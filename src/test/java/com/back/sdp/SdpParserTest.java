@@ -0,0 +1,166 @@
+package com.back.sdp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SdpParserTest {
+
+    private static final String OFFER = String.join("\r\n",
+            "v=0",
+            "o=- 4611731400430051336 2 IN IP4 127.0.0.1",
+            "s=-",
+            "t=0 0",
+            "a=group:BUNDLE 0 1 2",
+            "m=audio 9 UDP/TLS/RTP/SAVPF 111 0",
+            "c=IN IP4 0.0.0.0",
+            "a=mid:0",
+            "a=extmap:1 urn:ietf:params:rtp-hdrext:ssrc-audio-level",
+            "a=rtpmap:111 opus/48000/2",
+            "a=rtcp-fb:111 transport-cc",
+            "a=fmtp:111 minptime=10;useinbandfec=1",
+            "a=rtpmap:0 PCMU/8000",
+            "m=video 9 UDP/TLS/RTP/SAVPF 96 97 102 103",
+            "c=IN IP4 0.0.0.0",
+            "a=mid:1",
+            "a=extmap:2 http://www.webrtc.org/experiments/rtp-hdrext/abs-send-time",
+            "a=rtcp-fb:* nack",
+            "a=rtpmap:96 VP8/90000",
+            "a=rtcp-fb:96 goog-remb",
+            "a=rtpmap:97 rtx/90000",
+            "a=fmtp:97 apt=96",
+            "a=rtpmap:102 H264/90000",
+            "a=rtcp-fb:102 nack pli",
+            "a=fmtp:102 level-asymmetry-allowed=1;packetization-mode=1;profile-level-id=42001f",
+            "a=rtpmap:103 rtx/90000",
+            "a=fmtp:103 apt=102",
+            "m=application 9 UDP/DTLS/SCTP webrtc-datachannel",
+            "c=IN IP4 0.0.0.0",
+            "a=mid:2",
+            "a=sctp-port:5000",
+            "");
+
+    private final SdpParser parser = new SdpParser(32768, 1024, 32);
+
+    @Test
+    void passesOfferThroughWithoutPolicy() {
+        SdpResult result = parser.process(OFFER, SdpPolicy.NONE);
+
+        assertThat(result.isRejected()).isFalse();
+        assertThat(result.isTrimmed()).isFalse();
+        assertThat(result.sdp()).isSameAs(OFFER);
+    }
+
+    @Test
+    void rejectsMalformedOrOversizedSdp() {
+        assertThat(parser.validate(null)).isEqualTo(SdpParser.MISSING);
+        assertThat(parser.validate("")).isEqualTo(SdpParser.MISSING);
+        assertThat(parser.validate("o=- 1 1 IN IP4 0.0.0.0\r\nv=0\r\n")).isEqualTo(SdpParser.MALFORMED);
+        assertThat(parser.validate(OFFER.replace("s=-", "s=\u0000"))).isEqualTo(SdpParser.MALFORMED);
+        assertThat(parser.validate(OFFER.replace("a=mid:0", "mid:0"))).isEqualTo(SdpParser.MALFORMED);
+        assertThat(parser.validate(OFFER.replace("a=mid:0", "A=mid:0"))).isEqualTo(SdpParser.MALFORMED);
+        assertThat(parser.validate(OFFER.replace("m=audio 9 UDP/TLS/RTP/SAVPF 111 0", "m=audio 9"))).isEqualTo(SdpParser.MALFORMED);
+        assertThat(parser.validate(OFFER.replace("t=0 0\r\n", ""))).isEqualTo(SdpParser.MALFORMED);
+        assertThat(parser.validate("v=0\r\no=- 1 1 IN IP4 0.0.0.0\r\ns=-\r\nt=0 0\r\n")).isEqualTo(SdpParser.NO_MEDIA);
+
+        assertThat(new SdpParser(OFFER.length() - 1, 1024, 32).validate(OFFER)).isEqualTo(SdpParser.TOO_LARGE);
+        assertThat(new SdpParser(32768, 40, 32).validate(OFFER)).isEqualTo(SdpParser.LINE_TOO_LONG);
+        assertThat(new SdpParser(32768, 1024, 2).validate(OFFER)).isEqualTo(SdpParser.TOO_MANY_MEDIA);
+    }
+
+    @Test
+    void acceptsBareLineFeeds() {
+        assertThat(parser.validate(OFFER.replace("\r\n", "\n"))).isNull();
+    }
+
+    @Test
+    void keepsOnlyAllowedCodecsAndTheirRtx() {
+        SdpResult result = parser.process(OFFER, SdpPolicy.of(List.of("opus", "vp8"), List.of()));
+
+        assertThat(result.removedCodecs()).isEqualTo(3);  // PCMU, H264, H264 rtx
+        assertThat(result.sdp())
+                .contains("m=audio 9 UDP/TLS/RTP/SAVPF 111\r\n")
+                .contains("m=video 9 UDP/TLS/RTP/SAVPF 96 97\r\n")
+                .contains("a=rtpmap:111 opus/48000/2", "a=rtcp-fb:111 transport-cc", "a=fmtp:111 minptime=10;useinbandfec=1")
+                .contains("a=rtpmap:96 VP8/90000", "a=rtpmap:97 rtx/90000", "a=fmtp:97 apt=96")
+                .contains("a=rtcp-fb:* nack")
+                .doesNotContain("a=rtpmap:0 ", "a=rtpmap:102 ", "a=rtcp-fb:102 ", "a=fmtp:102 ")
+                .doesNotContain("a=rtpmap:103 ", "a=fmtp:103 ");
+        assertThat(parser.validate(result.sdp())).isNull();
+    }
+
+    @Test
+    void dropsRtxWhoseTargetIsRemoved() {
+        SdpResult result = parser.process(OFFER, SdpPolicy.of(List.of("opus", "h264"), List.of()));
+
+        assertThat(result.sdp())
+                .contains("m=video 9 UDP/TLS/RTP/SAVPF 102 103\r\n")
+                .doesNotContain("a=rtpmap:96 ", "a=rtpmap:97 ", "a=fmtp:97 ");
+    }
+
+    @Test
+    void leavesSectionUntouchedWhenNoCodecWouldRemain() {
+        SdpResult result = parser.process(OFFER, SdpPolicy.of(List.of("opus"), List.of()));
+
+        // 비디오 섹션에는 허용 코덱이 없음 -> 협상이 깨지지 않도록 그대로 둠, 오디오만 정리
+        assertThat(result.removedCodecs()).isEqualTo(1);
+        assertThat(result.sdp())
+                .contains("m=video 9 UDP/TLS/RTP/SAVPF 96 97 102 103\r\n")
+                .contains("a=rtpmap:102 H264/90000");
+    }
+
+    @Test
+    void leavesDataChannelSectionAlone() {
+        SdpResult result = parser.process(OFFER, SdpPolicy.of(List.of("opus", "vp8"), List.of()));
+
+        assertThat(result.sdp())
+                .contains("m=application 9 UDP/DTLS/SCTP webrtc-datachannel\r\n")
+                .contains("a=sctp-port:5000");
+    }
+
+    @Test
+    void ignoresPayloadTypesOutsideRtpRange() {
+        String sdp = OFFER
+                .replace("m=audio 9 UDP/TLS/RTP/SAVPF 111 0", "m=audio 9 UDP/TLS/RTP/SAVPF 111 0 200")
+                .replace("a=rtpmap:0 PCMU/8000", "a=rtpmap:0 PCMU/8000\r\na=rtpmap:200 opus/48000/2");
+
+        SdpResult result = parser.process(sdp, SdpPolicy.of(List.of("opus", "vp8"), List.of()));
+
+        // 128 이상은 페이로드 타입으로 보지 않음 - 허용 목록에 들지 않고 제거 대상도 아님
+        assertThat(result.sdp())
+                .contains("m=audio 9 UDP/TLS/RTP/SAVPF 111 200\r\n")
+                .contains("a=rtpmap:200 opus/48000/2");
+    }
+
+    @Test
+    void removesBlockedExtensions() {
+        SdpResult result = parser.process(OFFER, SdpPolicy.of(List.of(),
+                List.of("http://www.webrtc.org/experiments/rtp-hdrext/abs-send-time")));
+
+        assertThat(result.removedCodecs()).isZero();
+        assertThat(result.removedExtensions()).isEqualTo(1);
+        assertThat(result.sdp())
+                .doesNotContain("abs-send-time")
+                .contains("a=extmap:1 urn:ietf:params:rtp-hdrext:ssrc-audio-level")
+                .contains("a=rtpmap:102 H264/90000");
+    }
+
+    @Test
+    void returnsOriginalWhenPolicyRemovesNothing() {
+        SdpResult result = parser.process(OFFER, SdpPolicy.of(List.of("OPUS", "pcmu", "vp8", "h264"), List.of()));
+
+        assertThat(result.isTrimmed()).isFalse();
+        assertThat(result.sdp()).isSameAs(OFFER);
+    }
+
+    @Test
+    void normalizesPolicy() {
+        SdpPolicy policy = SdpPolicy.of(List.of(" Opus ", "opus", "", "VP8"), List.of(" urn:x ", "urn:x"));
+
+        assertThat(policy.getCodecs()).containsExactly("opus", "vp8");
+        assertThat(policy.getBlockedExtensions()).containsExactly("urn:x");
+        assertThat(SdpPolicy.of(List.of(" "), null)).isSameAs(SdpPolicy.NONE);
+    }
+}
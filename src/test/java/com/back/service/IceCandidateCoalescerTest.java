@@ -0,0 +1,142 @@
+package com.back.service;
+
+import com.back.config.SignalingScheduler;
+import com.back.dto.IceCandidateMessage;
+import com.back.dto.SignalMessage;
+import com.back.dto.SignalPayloads;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 묶음 타이머 대신 end-of-candidates(빈 candidate)로 바로 내보내 확인 (window는 테스트 중 만료되지 않을 만큼 길게)
+class IceCandidateCoalescerTest {
+
+    private static final String HOST = "candidate:1 1 udp 2122260223 192.168.0.10 49203 typ host";
+    private static final String SRFLX = "candidate:2 1 udp 1686052607 203.0.113.7 49203 typ srflx";
+
+    private final RecordingSignalRouter signalRouter = new RecordingSignalRouter();
+    private final IceCandidateCoalescer coalescer = new IceCandidateCoalescer(signalRouter, new SignalingScheduler());
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(coalescer, "enabled", true);
+        ReflectionTestUtils.setField(coalescer, "windowMs", 60_000L);
+        ReflectionTestUtils.setField(coalescer, "maxBatch", 32);
+    }
+
+    @Test
+    void duplicateCandidatesAreSuppressed() {
+        submit("alice", "bob", HOST, "0", 0);
+        submit("alice", "bob", HOST, "0", 0);
+        submit("alice", "bob", SRFLX, "0", 0);
+        // 같은 candidate라도 다른 m-line이면 별개
+        submit("alice", "bob", HOST, "1", 1);
+        endOfCandidates("alice", "bob");
+
+        assertThat(signalRouter.batches).hasSize(1);
+        assertThat(signalRouter.batches.get(0).candidates()).containsExactly(
+                new SignalPayloads.Candidate(HOST, "0", 0),
+                new SignalPayloads.Candidate(SRFLX, "0", 0),
+                new SignalPayloads.Candidate(HOST, "1", 1));
+        assertThat(coalescer.getStats()).containsEntry("duplicatesDropped", 1L);
+
+        // 이미 보낸 candidate도 같은 협상 안에서는 다시 보내지 않음
+        submit("alice", "bob", SRFLX, "0", 0);
+        endOfCandidates("alice", "bob");
+        assertThat(signalRouter.batches).hasSize(1);
+    }
+
+    @Test
+    void newOfferResetsSeenCandidates() {
+        submit("alice", "bob", HOST, "0", 0);
+        endOfCandidates("alice", "bob");
+
+        // 새 offer(ICE restart 포함)를 중계할 때마다 resetPair - 같은 candidate가 다시 나와도 전달
+        coalescer.resetPair("alice", "bob");
+        submit("alice", "bob", HOST, "0", 0);
+        endOfCandidates("alice", "bob");
+
+        assertThat(signalRouter.batches).hasSize(2);
+        assertThat(signalRouter.batches.get(1).candidates()).containsExactly(new SignalPayloads.Candidate(HOST, "0", 0));
+    }
+
+    @Test
+    void resetClearsBothDirectionsOfThePair() {
+        submit("alice", "bob", HOST, "0", 0);
+        submit("bob", "alice", SRFLX, "0", 0);
+        endOfCandidates("alice", "bob");
+        endOfCandidates("bob", "alice");
+
+        // bob의 재협상 offer (bob -> alice) - 응답하는 alice 쪽 candidate도 새로 수집됨
+        coalescer.resetPair("bob", "alice");
+        submit("alice", "bob", HOST, "0", 0);
+        submit("bob", "alice", SRFLX, "0", 0);
+        endOfCandidates("alice", "bob");
+        endOfCandidates("bob", "alice");
+
+        assertThat(signalRouter.batches).hasSize(4);
+    }
+
+    @Test
+    void directionsOfAPairDoNotCollide() {
+        // 같은 문자열이 양방향으로 오더라도 (from, to) 방향별로 따로 판정하고 따로 묶음
+        submit("alice", "bob", HOST, "0", 0);
+        submit("bob", "alice", HOST, "0", 0);
+        endOfCandidates("alice", "bob");
+        endOfCandidates("bob", "alice");
+
+        assertThat(signalRouter.batches).hasSize(2);
+        Batch toBob = signalRouter.batches.get(0);
+        Batch toAlice = signalRouter.batches.get(1);
+        assertThat(toBob.toUserId()).isEqualTo("bob");
+        assertThat(toBob.fromUserId()).isEqualTo("alice");
+        assertThat(toAlice.toUserId()).isEqualTo("alice");
+        assertThat(toAlice.fromUserId()).isEqualTo("bob");
+        assertThat(toAlice.candidates()).containsExactly(new SignalPayloads.Candidate(HOST, "0", 0));
+        assertThat(coalescer.getStats()).containsEntry("duplicatesDropped", 0L);
+    }
+
+    @Test
+    void fullBatchIsSentWithoutWaiting() {
+        ReflectionTestUtils.setField(coalescer, "maxBatch", 2);
+
+        submit("alice", "bob", HOST, "0", 0);
+        submit("alice", "bob", SRFLX, "0", 0);
+
+        assertThat(signalRouter.batches).hasSize(1);
+        assertThat(signalRouter.batches.get(0).candidates()).hasSize(2);
+    }
+
+    private void submit(String from, String to, String candidate, String sdpMid, Integer sdpMLineIndex) {
+        assertThat(coalescer.submit(new IceCandidateMessage(from, to, candidate, sdpMid, sdpMLineIndex, "room-1"))).isTrue();
+    }
+
+    private void endOfCandidates(String from, String to) {
+        submit(from, to, "", null, null);
+    }
+
+    private record Batch(String fromUserId, String toUserId, List<SignalPayloads.Candidate> candidates) {
+    }
+
+    // 묶음 전송만 기록
+    private static final class RecordingSignalRouter extends SignalRouter {
+
+        private final List<Batch> batches = new CopyOnWriteArrayList<>();
+
+        RecordingSignalRouter() {
+            super(null, null, null, null);
+        }
+
+        @Override
+        public void sendSignal(String roomId, String toUserId, SignalMessage message) {
+            SignalPayloads.IceCandidates data = (SignalPayloads.IceCandidates) message.getData();
+            assertThat(data.targetUserId()).isEqualTo(toUserId);
+            batches.add(new Batch(message.getFromUserId(), toUserId, data.candidates()));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.back.service;
+
+import com.back.dto.IceServer;
+import com.back.ice.EmbeddedIceServer;
+import com.back.ice.TurnRestCredentials;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 응답 캐시는 rotation 구간 단위 - 같은 구간에서는 같은 직렬화 결과, 구간이 바뀌면 캐시째 교체
+class IceConfigServiceTest {
+
+    private final EpochControlledCredentials credentials = new EpochControlledCredentials();
+    private final IceConfigService iceConfigService =
+            new IceConfigService(new EmbeddedIceServer(credentials), credentials, new ObjectMapper());
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(credentials, "secretKey", "north".getBytes(StandardCharsets.UTF_8));
+        ReflectionTestUtils.setField(credentials, "ttlSeconds", 3600L);
+        ReflectionTestUtils.setField(credentials, "rotationSeconds", 600L);
+        credentials.epoch = 2_933_327L;
+
+        ReflectionTestUtils.setField(iceConfigService, "stunUrls", List.of());
+        ReflectionTestUtils.setField(iceConfigService, "turnUrls", List.of("turn:turn.example.com:3478"));
+        ReflectionTestUtils.setField(iceConfigService, "publicStunUrls", List.of("stun:stun.l.google.com:19302"));
+        ReflectionTestUtils.setField(iceConfigService, "maxCachedResponses", 100);
+    }
+
+    @Test
+    void sameEpochAndIdentityReusesCachedResponse() {
+        byte[] first = iceConfigService.getIceServersJson("alice", "room-1");
+        byte[] second = iceConfigService.getIceServersJson("alice", "room-1");
+
+        assertThat(second).isSameAs(first);
+        assertThat(iceConfigService.getStats())
+                .containsEntry("cacheHits", 1L)
+                .containsEntry("cacheMisses", 1L)
+                .containsEntry("cachedResponses", 1);
+
+        // 입장 응답도 같은 자격 증명
+        IceServer turn = iceConfigService.getIceServers("alice", "room-1").get(1);
+        assertThat(turn.getUrls()).isEqualTo("turn:turn.example.com:3478");
+        assertThat(turn.getUsername()).isEqualTo("1760000400:alice@room-1");
+        assertThat(turn.getCredential()).isEqualTo("oAJyK4WVTwPw1EJ//wV8jIKg/2s=");
+    }
+
+    @Test
+    void identitiesGetSeparateCredentials() {
+        IceServer alice = iceConfigService.getIceServers("alice", "room-1").get(1);
+        IceServer bob = iceConfigService.getIceServers("bob", "room-1").get(1);
+
+        assertThat(bob.getUsername()).isEqualTo("1760000400:bob@room-1");
+        assertThat(bob.getCredential()).isNotEqualTo(alice.getCredential());
+        assertThat(iceConfigService.getStats()).containsEntry("cachedResponses", 2);
+    }
+
+    @Test
+    void cacheIsReplacedOnEpochRotation() {
+        byte[] before = iceConfigService.getIceServersJson("alice", "room-1");
+        iceConfigService.getIceServersJson("bob", "room-1");
+
+        credentials.epoch++;
+        byte[] after = iceConfigService.getIceServersJson("alice", "room-1");
+
+        assertThat(after).isNotSameAs(before);
+        assertThat(new String(after, StandardCharsets.UTF_8)).contains("1760001000:alice@room-1").doesNotContain("1760000400");
+        assertThat(iceConfigService.getStats())
+                .containsEntry("epoch", 2_933_328L)
+                .containsEntry("cachedResponses", 1)
+                .containsEntry("rotations", 2L);
+    }
+
+    @Test
+    void withoutTurnEveryoneSharesOneResponse() {
+        ReflectionTestUtils.setField(iceConfigService, "turnUrls", List.of());
+
+        byte[] alice = iceConfigService.getIceServersJson("alice", "room-1");
+        byte[] bob = iceConfigService.getIceServersJson("bob", "room-2");
+
+        assertThat(bob).isSameAs(alice);
+        assertThat(iceConfigService.getIceServers("carol", null).stream().map(IceServer::getUrls).toList())
+                .containsExactly("stun:stun.l.google.com:19302");
+    }
+
+    // rotation 구간을 시계 대신 테스트에서 지정
+    private static final class EpochControlledCredentials extends TurnRestCredentials {
+
+        private long epoch;
+
+        @Override
+        public long currentEpoch() {
+            return epoch;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.back.service;
+
+import com.back.config.SignalingScheduler;
+import com.back.service.NegotiationCoordinator.Decision;
+import com.back.service.NegotiationCoordinator.HeldOffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NegotiationCoordinatorTest {
+
+    private static final long OFFER_TIMEOUT_MS = 200;
+
+    private final RoomService roomService = new RoomService();
+    private final NegotiationCoordinator coordinator = new NegotiationCoordinator(roomService, new SignalingScheduler());
+    private final BlockingQueue<HeldOffer> released = new LinkedBlockingQueue<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(roomService, "maxParticipants", 6);
+        ReflectionTestUtils.setField(coordinator, "enabled", true);
+        ReflectionTestUtils.setField(coordinator, "offerTimeoutMs", OFFER_TIMEOUT_MS);
+        coordinator.start();
+        coordinator.setHeldOfferRelay(released::add);
+
+        // alice가 먼저 입장 - alice -> bob 방향이 지정된 offer
+        roomService.addUserToRoom("room-1", "alice");
+        roomService.addUserToRoom("room-1", "bob");
+    }
+
+    @Test
+    void deferredOfferIsDeliveredWhenDesignatedPeerNeverOffers() throws Exception {
+        assertThat(coordinator.onOffer("room-1", "bob", "alice", "sdp-bob").decision()).isEqualTo(Decision.DEFER);
+
+        HeldOffer offer = released.poll(5, TimeUnit.SECONDS);
+        assertThat(offer).isEqualTo(new HeldOffer("room-1", "bob", "alice", "sdp-bob"));
+
+        // 전달된 offer에 대한 answer로 첫 협상 완료
+        assertThat(coordinator.onAnswer("room-1", "alice", "bob")).isGreaterThanOrEqualTo(0L);
+        assertThat(coordinator.getStats()).containsEntry("heldOffersReleased", 1L);
+    }
+
+    @Test
+    void deferredOfferIsDroppedWhenDesignatedPeerOffers() throws Exception {
+        assertThat(coordinator.onOffer("room-1", "bob", "alice", "sdp-bob").decision()).isEqualTo(Decision.DEFER);
+        assertThat(coordinator.onOffer("room-1", "alice", "bob", "sdp-alice").decision()).isEqualTo(Decision.RELAY);
+
+        assertThat(released.poll(OFFER_TIMEOUT_MS * 3, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(coordinator.getStats()).containsEntry("heldOffersSuperseded", 1L);
+    }
+
+    @Test
+    void glareOfferIsDroppedOnceSenderAnswers() throws Exception {
+        assertThat(coordinator.onOffer("room-1", "alice", "bob", "sdp-alice").decision()).isEqualTo(Decision.RELAY);
+        assertThat(coordinator.onOffer("room-1", "bob", "alice", "sdp-bob").decision()).isEqualTo(Decision.REJECT_GLARE);
+
+        assertThat(coordinator.onAnswer("room-1", "bob", "alice")).isGreaterThanOrEqualTo(0L);
+
+        assertThat(released.poll(OFFER_TIMEOUT_MS * 3, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void glareOfferIsDeliveredWhenDesignatedOfferIsNeverAnswered() throws Exception {
+        coordinator.onOffer("room-1", "alice", "bob", "sdp-alice");
+        coordinator.onOffer("room-1", "bob", "alice", "sdp-bob");
+
+        assertThat(released.poll(5, TimeUnit.SECONDS)).isEqualTo(new HeldOffer("room-1", "bob", "alice", "sdp-bob"));
+    }
+
+    @Test
+    void heldOfferIsDroppedWhenPeerLeaves() throws Exception {
+        coordinator.onOffer("room-1", "bob", "alice", "sdp-bob");
+        roomService.removeUserFromRoom("room-1", "alice");
+
+        assertThat(released.poll(OFFER_TIMEOUT_MS * 3, TimeUnit.MILLISECONDS)).isNull();
+    }
+}
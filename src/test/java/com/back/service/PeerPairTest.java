@@ -0,0 +1,29 @@
+package com.back.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PeerPairTest {
+
+    @Test
+    void unorderedPairIgnoresDirection() {
+        assertThat(PeerPair.of("bob", "alice")).isEqualTo(PeerPair.of("alice", "bob"));
+        assertThat(PeerPair.of("bob", "alice").first()).isEqualTo("alice");
+    }
+
+    @Test
+    void directedPairKeepsDirection() {
+        assertThat(PeerPair.directed("bob", "alice")).isNotEqualTo(PeerPair.directed("alice", "bob"));
+    }
+
+    @Test
+    void containsEitherMemberOnly() {
+        PeerPair pair = PeerPair.of("alice", "bob");
+
+        assertThat(pair.contains("alice")).isTrue();
+        assertThat(pair.contains("bob")).isTrue();
+        assertThat(pair.contains("al")).isFalse();
+        assertThat(pair.contains("alice\nbob")).isFalse();
+    }
+}
@@ -0,0 +1,205 @@
+package com.back.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 스냅샷 없이 저널만 남은 채 종료된 경우의 재생 (stop() 없이 새 RoomService로 restore)
+class RoomJournalTest {
+
+    private static final int HEADER_BYTES = 16;
+
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("room-journal-test");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void restoresJoinsAndLeavesFromJournal() throws IOException {
+        RoomService roomService = roomService();
+        recording(roomService);
+
+        roomService.addUserToRoom("room-1", "alice");
+        roomService.addUserToRoom("room-1", "bob");
+        roomService.addUserToRoom("room-2", "carol");
+        roomService.removeUserFromRoom("room-1", "alice");
+        roomService.removeUserFromRoom("room-2", "carol");
+
+        RoomService restarted = roomService();
+        RoomJournal.RecoveryResult result = journal(restarted).restore();
+
+        assertThat(result.events()).isEqualTo(5);
+        assertThat(result.uncommitted()).isEqualTo(0);
+        assertThat(restarted.getRoomParticipants("room-1")).containsExactly("bob");
+        assertThat(restarted.isRoomExists("room-2")).isFalse();
+        assertThat(restarted.getRoomCreationTime("room-1")).isEqualTo(roomService.getRoomCreationTime("room-1"));
+    }
+
+    @Test
+    void replayDoesNotCountAsLiveJoinsOrLeaves() throws IOException {
+        RoomService roomService = roomService();
+        recording(roomService);
+
+        roomService.addUserToRoom("room-1", "alice");
+        roomService.addUserToRoom("room-1", "bob");
+        roomService.removeUserFromRoom("room-1", "alice");
+
+        RoomService restarted = roomService();
+        journal(restarted).restore();
+
+        assertThat(restarted.getRoomStats().get("joins")).isEqualTo(0L);
+        assertThat(restarted.getRoomStats().get("leaves")).isEqualTo(0L);
+        assertThat(restarted.getRoomStats().get("roomsClosed")).isEqualTo(0L);
+        assertThat(restarted.getRoomStats().get("participantDistribution")).isEqualTo(Map.of(1, 1L));
+    }
+
+    @Test
+    void skipsReservedButUnwrittenRecord() throws IOException {
+        RoomService roomService = roomService();
+        recording(roomService);
+
+        roomService.addUserToRoom("room-1", "alice");
+        roomService.addUserToRoom("room-1", "bob");
+        roomService.addUserToRoom("room-2", "carol");
+
+        // 첫 기록이 자리만 예약되고 쓰이지 않은 상태 (기록 도중 프로세스 종료)
+        overwriteFirstRecord(length -> ByteBuffer.allocate(length));
+
+        RoomService restarted = roomService();
+        RoomJournal.RecoveryResult result = journal(restarted).restore();
+
+        assertThat(result.uncommitted()).isEqualTo(1);
+        assertThat(result.events()).isEqualTo(2);
+        assertThat(restarted.getRoomParticipants("room-1")).containsExactly("bob");
+        assertThat(restarted.getRoomParticipants("room-2")).containsExactly("carol");
+    }
+
+    @Test
+    void skipsTornRecord() throws IOException {
+        RoomService roomService = roomService();
+        recording(roomService);
+
+        roomService.addUserToRoom("room-1", "alice");
+        roomService.addUserToRoom("room-1", "bob");
+
+        // 길이는 커밋됐지만 본문 일부가 디스크에 내려가지 않은 상태
+        overwriteFirstRecord(length -> {
+            ByteBuffer torn = ByteBuffer.allocate(length);
+            torn.putInt(0, length);
+            return torn;
+        });
+
+        RoomService restarted = roomService();
+        RoomJournal.RecoveryResult result = journal(restarted).restore();
+
+        assertThat(result.uncommitted()).isEqualTo(1);
+        assertThat(restarted.getRoomParticipants("room-1")).containsExactly("bob");
+    }
+
+    @Test
+    void restoredUserMustPresentLastResumeToken() throws IOException {
+        RoomService roomService = roomService();
+        RoomJournal journal = recording(roomService);
+
+        roomService.addUserToRoom("room-1", "alice");
+        journal.recordResumeToken("room-1", "alice", "token-1");
+        journal.recordResumeToken("room-1", "alice", "token-2");  // 재개하며 교체
+        roomService.addUserToRoom("room-1", "bob");
+
+        RoomJournal restored = journal(roomService());
+        restored.recover();
+
+        assertThat(restored.claimRestored("alice", "room-1", null)).isFalse();
+        assertThat(restored.claimRestored("alice", "room-1", "token-1")).isFalse();
+        assertThat(restored.claimRestored("alice", "room-2", "token-2")).isFalse();
+        assertThat(restored.claimRestored("bob", "room-1", "token-2")).isFalse();  // 토큰 기록 없음
+        assertThat(restored.claimRestored("alice", "room-1", "token-2")).isTrue();
+        assertThat(restored.claimRestored("alice", "room-1", "token-2")).isFalse();  // 한 번만
+    }
+
+    @Test
+    void resumeTokenHashSurvivesSnapshot() throws IOException {
+        RoomService roomService = roomService();
+        RoomJournal journal = recording(roomService);
+
+        roomService.addUserToRoom("room-1", "alice");
+        journal.recordResumeToken("room-1", "alice", "token-1");
+
+        // 첫 재시작이 복구 상태를 스냅샷으로 남기고 이전 저널을 지움 -> 두 번째 재시작은 스냅샷만 읽음
+        journal(roomService()).recover();
+        RoomJournal restored = journal(roomService());
+        restored.recover();
+
+        assertThat(restored.claimRestored("alice", "room-1", "token-1")).isTrue();
+    }
+
+    @Test
+    void leaveDropsResumeToken() throws IOException {
+        RoomService roomService = roomService();
+        RoomJournal journal = recording(roomService);
+
+        roomService.addUserToRoom("room-1", "alice");
+        journal.recordResumeToken("room-1", "alice", "token-1");
+        roomService.removeUserFromRoom("room-1", "alice");
+        roomService.addUserToRoom("room-1", "alice");  // 토큰 기록 전에 종료
+
+        RoomJournal restored = journal(roomService());
+        restored.recover();
+
+        assertThat(restored.claimRestored("alice", "room-1", "token-1")).isFalse();
+    }
+
+    private RoomService roomService() {
+        RoomService roomService = new RoomService();
+        ReflectionTestUtils.setField(roomService, "maxParticipants", 6);
+        return roomService;
+    }
+
+    // 빈 상태로 복구를 마치고 기록 시작 (스케줄러 없이)
+    private RoomJournal recording(RoomService roomService) throws IOException {
+        RoomJournal journal = journal(roomService);
+        journal.recover();
+        roomService.addEventSink(journal);
+        return journal;
+    }
+
+    private RoomJournal journal(RoomService roomService) {
+        RoomJournal journal = new RoomJournal(roomService, null, null);
+        ReflectionTestUtils.setField(journal, "enabled", true);
+        ReflectionTestUtils.setField(journal, "directory", directory.toString());
+        ReflectionTestUtils.setField(journal, "segmentSizeMb", 1);
+        return journal;
+    }
+
+    private void overwriteFirstRecord(IntFunction<ByteBuffer> replacement) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory.resolve("journal-1.log"),
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer length = ByteBuffer.allocate(4);
+            channel.read(length, HEADER_BYTES);
+            channel.write(replacement.apply(length.flip().getInt()), HEADER_BYTES);
+        }
+    }
+}
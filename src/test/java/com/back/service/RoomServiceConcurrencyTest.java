@@ -0,0 +1,170 @@
+package com.back.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 방별 모니터로 바꾼 입장/퇴장 경로의 동시성 - 정원 초과 입장과 닫힌 방 재사용이 없어야 함
+class RoomServiceConcurrencyTest {
+
+    private static final int MAX_PARTICIPANTS = 6;
+    private static final int THREADS = 24;
+
+    private final RoomService roomService = new RoomService();
+    private final OccupancySink sink = new OccupancySink();
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(roomService, "maxParticipants", MAX_PARTICIPANTS);
+        roomService.addEventSink(sink);
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void parallelJoinsFillRoomExactlyToCapacity() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            String userId = "user-" + i;
+            results.add(executor.submit(() -> {
+                start.await();
+                return tryJoin("room-1", userId);
+            }));
+        }
+        start.countDown();
+
+        int admitted = 0;
+        for (Future<Boolean> result : results) {
+            admitted += result.get(10, TimeUnit.SECONDS) ? 1 : 0;
+        }
+
+        assertThat(admitted).isEqualTo(MAX_PARTICIPANTS);
+        assertThat(roomService.getRoomSize("room-1")).isEqualTo(MAX_PARTICIPANTS);
+        assertThat(roomService.getParticipantCount()).isEqualTo(MAX_PARTICIPANTS);
+        for (String userId : roomService.getRoomParticipants("room-1")) {
+            assertThat(roomService.getUserRoom(userId)).isEqualTo("room-1");
+        }
+        assertThat(sink.maxOccupancy("room-1")).isEqualTo(MAX_PARTICIPANTS);
+    }
+
+    @Test
+    void parallelJoinAndLeaveNeverOverfillsAndClosesEmptyRooms() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            String userId = "user-" + i;
+            results.add(executor.submit(() -> {
+                start.await();
+                for (int round = 0; round < 500; round++) {
+                    // 방 두 개를 오가며 입장/이동/퇴장 - 이동은 기존 방 퇴장까지 한 번에 일어남
+                    String roomId = "room-" + (round % 2);
+                    if (tryJoin(roomId, userId) && round % 3 == 0) {
+                        roomService.removeUserFromRoom(roomId, userId);
+                    }
+                }
+                String current = roomService.getUserRoom(userId);
+                if (current != null) {
+                    roomService.removeUserFromRoom(current, userId);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+
+        for (Future<?> result : results) {
+            result.get(30, TimeUnit.SECONDS);
+        }
+
+        assertThat(sink.violations).isEmpty();
+        assertThat(sink.maxOccupancy("room-0")).isLessThanOrEqualTo(MAX_PARTICIPANTS);
+        assertThat(sink.maxOccupancy("room-1")).isLessThanOrEqualTo(MAX_PARTICIPANTS);
+        assertThat(sink.closed.sum()).isPositive();
+
+        // 모두 나간 뒤에는 방도 매핑도 남지 않음
+        assertThat(roomService.getRoomCount()).isZero();
+        assertThat(roomService.getParticipantCount()).isZero();
+        assertThat(roomService.isRoomExists("room-0")).isFalse();
+        assertThat(roomService.isRoomExists("room-1")).isFalse();
+        assertThat(sink.occupancy("room-0")).isZero();
+        assertThat(sink.occupancy("room-1")).isZero();
+    }
+
+    private boolean tryJoin(String roomId, String userId) {
+        try {
+            roomService.addUserToRoom(roomId, userId);
+            return true;
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+
+    // 방 모니터 안에서 호출되므로 같은 방 이벤트는 순서대로 들어옴 - 그 순서로 인원을 다시 세어 검사
+    private static final class OccupancySink implements RoomEventSink {
+
+        private final Map<String, AtomicInteger> occupancy = new ConcurrentHashMap<>();
+        private final Map<String, AtomicInteger> maxOccupancy = new ConcurrentHashMap<>();
+        private final List<String> violations = new CopyOnWriteArrayList<>();
+        private final LongAdder closed = new LongAdder();
+
+        @Override
+        public void joined(String roomId, String userId, LocalDateTime roomCreatedAt) {
+            int size = counter(occupancy, roomId).incrementAndGet();
+            counter(maxOccupancy, roomId).accumulateAndGet(size, Math::max);
+            if (size > MAX_PARTICIPANTS) {
+                violations.add("정원 초과 - " + roomId + ": " + size);
+            }
+        }
+
+        @Override
+        public void left(String roomId, String userId) {
+            int size = counter(occupancy, roomId).decrementAndGet();
+            if (size < 0) {
+                violations.add("음수 인원 - " + roomId + ": " + size);
+            }
+        }
+
+        @Override
+        public void closed(String roomId) {
+            closed.increment();
+            int size = counter(occupancy, roomId).get();
+            if (size != 0) {
+                violations.add("비지 않은 방 닫힘 - " + roomId + ": " + size);
+            }
+        }
+
+        int occupancy(String roomId) {
+            return counter(occupancy, roomId).get();
+        }
+
+        int maxOccupancy(String roomId) {
+            return counter(maxOccupancy, roomId).get();
+        }
+
+        private static AtomicInteger counter(Map<String, AtomicInteger> counters, String roomId) {
+            return counters.computeIfAbsent(roomId, id -> new AtomicInteger());
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.back.service;
+
+import com.back.dto.RoomPage;
+import com.back.dto.RoomSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoomServiceTest {
+
+    private final RoomService roomService = new RoomService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(roomService, "maxParticipants", 100);
+    }
+
+    @Test
+    void pagesFollowRoomIdOrderAndEndWithNullCursor() {
+        createRooms("room-1", "room-2", "room-3", "room-4", "room-5");
+
+        RoomPage first = roomService.listRooms(null, 2);
+        RoomPage second = roomService.listRooms(first.nextCursor(), 2);
+        RoomPage last = roomService.listRooms(second.nextCursor(), 2);
+
+        assertThat(roomIds(first)).containsExactly("room-1", "room-2");
+        assertThat(first.nextCursor()).isEqualTo("room-2");
+        assertThat(roomIds(second)).containsExactly("room-3", "room-4");
+        assertThat(second.nextCursor()).isEqualTo("room-4");
+        assertThat(roomIds(last)).containsExactly("room-5");
+        assertThat(last.nextCursor()).isNull();
+    }
+
+    @Test
+    void pageEndingExactlyOnLastRoomHasNoCursor() {
+        createRooms("room-1", "room-2", "room-3", "room-4");
+
+        RoomPage first = roomService.listRooms(null, 2);
+        RoomPage second = roomService.listRooms(first.nextCursor(), 2);
+
+        assertThat(roomIds(second)).containsExactly("room-3", "room-4");
+        assertThat(second.nextCursor()).isNull();
+
+        // 전체가 한 페이지에 들어가는 경우, 커서가 마지막 방 이후인 경우
+        assertThat(roomService.listRooms(null, 4).nextCursor()).isNull();
+        RoomPage afterLast = roomService.listRooms("room-4", 2);
+        assertThat(afterLast.rooms()).isEmpty();
+        assertThat(afterLast.nextCursor()).isNull();
+    }
+
+    @Test
+    void cursorIsExclusiveAndNeedNotBeAnExistingRoom() {
+        createRooms("room-1", "room-2", "room-3");
+
+        assertThat(roomIds(roomService.listRooms("room-1", 10))).containsExactly("room-2", "room-3");
+        // 방 ID 사이 값 - 그보다 큰 방부터
+        assertThat(roomIds(roomService.listRooms("room-1a", 10))).containsExactly("room-2", "room-3");
+    }
+
+    @Test
+    void roomsChangedBetweenPagesAreSeenOnlyAfterTheCursor() {
+        createRooms("room-2", "room-4", "room-6", "room-8");
+
+        RoomPage first = roomService.listRooms(null, 2);
+        assertThat(roomIds(first)).containsExactly("room-2", "room-4");
+
+        // 페이지 사이: 커서 앞에 생긴 방은 빠지고, 커서 뒤에 생긴 방은 나옴
+        // 커서로 쓴 방 자체가 닫혀도 다음 페이지는 그 ID 이후부터
+        roomService.addUserToRoom("room-1", "late-1");
+        roomService.addUserToRoom("room-5", "late-5");
+        roomService.removeUserFromRoom("room-4", "user-room-4");
+        roomService.removeUserFromRoom("room-8", "user-room-8");
+
+        RoomPage second = roomService.listRooms(first.nextCursor(), 2);
+        assertThat(roomIds(second)).containsExactly("room-5", "room-6");
+        assertThat(second.nextCursor()).isNull();
+
+        // 다 읽는 동안 같은 방이 두 번 나오지 않음
+        List<String> all = new ArrayList<>();
+        String cursor = null;
+        do {
+            RoomPage page = roomService.listRooms(cursor, 1);
+            all.addAll(roomIds(page));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        assertThat(all).containsExactly("room-1", "room-2", "room-5", "room-6");
+    }
+
+    @Test
+    void summaryCarriesParticipantsInJoinOrder() {
+        roomService.addUserToRoom("room-1", "alice");
+        roomService.addUserToRoom("room-1", "bob");
+
+        RoomSummary summary = roomService.listRooms(null, 10).rooms().get(0);
+
+        assertThat(summary.participantCount()).isEqualTo(2);
+        assertThat(summary.participants()).containsExactly("alice", "bob");
+        assertThat(summary.createdAt()).isNotNull();
+    }
+
+    @Test
+    void roomsOfAtLeastMaxTrackedSizeShareTheOverflowBucket() {
+        fill("room-a", RoomStats.MAX_TRACKED_SIZE);
+        fill("room-b", RoomStats.MAX_TRACKED_SIZE + 6);
+        fill("room-c", 3);
+
+        assertThat(distribution()).containsExactly(Map.entry(3, 1L), Map.entry(RoomStats.MAX_TRACKED_SIZE, 2L));
+
+        // 넘친 칸에서 한 명씩 빠져도 64 이상이면 같은 칸에 남음
+        for (int i = RoomStats.MAX_TRACKED_SIZE + 5; i >= RoomStats.MAX_TRACKED_SIZE; i--) {
+            roomService.removeUserFromRoom("room-b", "room-b-" + i);
+        }
+        assertThat(roomService.getRoomSize("room-b")).isEqualTo(RoomStats.MAX_TRACKED_SIZE);
+        assertThat(distribution()).containsEntry(RoomStats.MAX_TRACKED_SIZE, 2L);
+
+        roomService.removeUserFromRoom("room-b", "room-b-" + (RoomStats.MAX_TRACKED_SIZE - 1));
+        assertThat(distribution()).containsExactly(
+                Map.entry(3, 1L),
+                Map.entry(RoomStats.MAX_TRACKED_SIZE - 1, 1L),
+                Map.entry(RoomStats.MAX_TRACKED_SIZE, 1L));
+    }
+
+    @Test
+    void emptiedRoomsLeaveNoBucketBehind() {
+        fill("room-a", 2);
+        roomService.removeUserFromRoom("room-a", "room-a-0");
+        roomService.removeUserFromRoom("room-a", "room-a-1");
+
+        assertThat(distribution()).isEmpty();
+        assertThat(roomService.getRoomStats())
+                .containsEntry("joins", 2L)
+                .containsEntry("leaves", 2L)
+                .containsEntry("roomsOpened", 1L)
+                .containsEntry("roomsClosed", 1L);
+    }
+
+    private void createRooms(String... roomIds) {
+        for (String roomId : roomIds) {
+            roomService.addUserToRoom(roomId, "user-" + roomId);
+        }
+    }
+
+    private void fill(String roomId, int size) {
+        for (int i = 0; i < size; i++) {
+            roomService.addUserToRoom(roomId, roomId + "-" + i);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Integer, Long> distribution() {
+        return (Map<Integer, Long>) roomService.getRoomStats().get("participantDistribution");
+    }
+
+    private static List<String> roomIds(RoomPage page) {
+        return page.rooms().stream().map(RoomSummary::roomId).toList();
+    }
+}
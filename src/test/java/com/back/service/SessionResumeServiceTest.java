@@ -0,0 +1,124 @@
+package com.back.service;
+
+import com.back.config.SignalingScheduler;
+import com.back.service.SessionResumeService.ResumeResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 유예 안의 재개는 보관 시그널을 순서대로 넘기고, 토큰이 틀리거나 유예가 지나거나 보관함이 넘치면 재개하지 않음
+class SessionResumeServiceTest {
+
+    private static final String QUEUE = "/user/alice/queue/webrtc";
+
+    private final UserMailbox userMailbox = new UserMailbox();
+    private final RecordingSignalRouter signalRouter = new RecordingSignalRouter(userMailbox);
+    private final SessionResumeService resumeService =
+            new SessionResumeService(userMailbox, signalRouter, new SignalingScheduler());
+    private final CountDownLatch expired = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(userMailbox, "capacity", 4);
+        ReflectionTestUtils.setField(resumeService, "enabled", true);
+        ReflectionTestUtils.setField(resumeService, "graceSeconds", 15L);
+    }
+
+    @Test
+    void resumeWithinGraceDeliversBufferedSignalsInOrder() {
+        String token = resumeService.register("alice", "room-1", "session-1");
+        assertThat(resumeService.suspend("alice", "session-1", expired::countDown)).isTrue();
+
+        userMailbox.offer("alice", QUEUE, "offer".getBytes());
+        userMailbox.offer("alice", QUEUE, "candidate-1".getBytes());
+        userMailbox.offer("alice", QUEUE, "candidate-2".getBytes());
+
+        ResumeResult result = resumeService.resume("alice", "room-1", token, "session-2");
+
+        assertThat(result.resumed()).isTrue();
+        assertThat(result.bufferedSignals()).isEqualTo(3);
+        assertThat(result.resumeToken()).isNotNull().isNotEqualTo(token);
+        assertThat(signalRouter.delivered).containsExactly("offer", "candidate-1", "candidate-2");
+        assertThat(expired.getCount()).isEqualTo(1);
+
+        // 재개 후 도착한 이전 세션의 끊김은 무시
+        assertThat(resumeService.isStaleDisconnect("alice", "session-1")).isTrue();
+    }
+
+    @Test
+    void wrongTokenKeepsSuspension() {
+        String token = resumeService.register("alice", "room-1", "session-1");
+        resumeService.suspend("alice", "session-1", expired::countDown);
+        userMailbox.offer("alice", QUEUE, "offer".getBytes());
+
+        ResumeResult wrong = resumeService.resume("alice", "room-1", "not-the-token", "session-2");
+        assertThat(wrong.resumed()).isFalse();
+        assertThat(wrong.reason()).isEqualTo("unknown-session");
+        assertThat(signalRouter.delivered).isEmpty();
+
+        // 다른 방 이름으로도 불가
+        assertThat(resumeService.resume("alice", "room-2", token, "session-2").resumed()).isFalse();
+
+        // 틀린 시도 뒤에도 원래 토큰으로는 재개
+        ResumeResult result = resumeService.resume("alice", "room-1", token, "session-2");
+        assertThat(result.resumed()).isTrue();
+        assertThat(signalRouter.delivered).containsExactly("offer");
+    }
+
+    @Test
+    void suspensionExpiresAfterGrace() throws Exception {
+        ReflectionTestUtils.setField(resumeService, "graceSeconds", 1L);
+        String token = resumeService.register("alice", "room-1", "session-1");
+        resumeService.suspend("alice", "session-1", expired::countDown);
+        userMailbox.offer("alice", QUEUE, "offer".getBytes());
+
+        assertThat(expired.await(5, TimeUnit.SECONDS)).isTrue();
+
+        ResumeResult result = resumeService.resume("alice", "room-1", token, "session-2");
+        assertThat(result.resumed()).isFalse();
+        assertThat(result.reason()).isEqualTo("unknown-session");
+        assertThat(signalRouter.delivered).isEmpty();
+        assertThat(userMailbox.getOpenCount()).isZero();
+        assertThat(resumeService.getStats()).containsEntry("expired", 1L);
+    }
+
+    @Test
+    void mailboxOverflowFailsResumeAndLeavesRoom() {
+        String token = resumeService.register("alice", "room-1", "session-1");
+        resumeService.suspend("alice", "session-1", expired::countDown);
+        for (int i = 0; i < 5; i++) {
+            userMailbox.offer("alice", QUEUE, ("candidate-" + i).getBytes());
+        }
+
+        ResumeResult result = resumeService.resume("alice", "room-1", token, "session-2");
+
+        assertThat(result.resumed()).isFalse();
+        assertThat(result.reason()).isEqualTo("mailbox-overflow");
+        assertThat(signalRouter.delivered).isEmpty();
+        // 유예 만료와 같은 퇴장 처리를 바로 실행
+        assertThat(expired.getCount()).isZero();
+        assertThat(resumeService.resume("alice", "room-1", token, "session-3").resumed()).isFalse();
+    }
+
+    // 보관분 전달만 기록 (메시지 템플릿 없이)
+    private static final class RecordingSignalRouter extends SignalRouter {
+
+        private final List<String> delivered = new CopyOnWriteArrayList<>();
+
+        RecordingSignalRouter(UserMailbox userMailbox) {
+            super(null, null, null, userMailbox);
+        }
+
+        @Override
+        void deliverBuffered(String destination, byte[] payload) {
+            delivered.add(new String(payload));
+        }
+    }
+}
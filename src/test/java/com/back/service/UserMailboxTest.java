@@ -0,0 +1,81 @@
+package com.back.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserMailboxTest {
+
+    private static final int CAPACITY = 3;
+
+    private final UserMailbox mailbox = new UserMailbox();
+    private final List<String> delivered = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(mailbox, "capacity", CAPACITY);
+    }
+
+    @Test
+    void offerWithoutOpenBoxIsSentDirectly() {
+        assertThat(mailbox.offer("alice", "/user/alice/queue/webrtc", payload("offer"))).isFalse();
+        assertThat(mailbox.getBufferedCount()).isZero();
+    }
+
+    @Test
+    void closeDrainsInOfferOrder() {
+        mailbox.open("alice");
+        assertThat(mailbox.offer("alice", "/user/alice/queue/webrtc", payload("offer"))).isTrue();
+        assertThat(mailbox.offer("alice", "/user/alice/queue/webrtc", payload("candidate-1"))).isTrue();
+        assertThat(mailbox.offer("alice", "/user/alice/queue/room", payload("media-policy"))).isTrue();
+
+        assertThat(mailbox.close("alice", this::record)).isEqualTo(3);
+        assertThat(delivered).containsExactly(
+                "/user/alice/queue/webrtc offer",
+                "/user/alice/queue/webrtc candidate-1",
+                "/user/alice/queue/room media-policy");
+        assertThat(mailbox.getOpenCount()).isZero();
+
+        // 닫힌 뒤에는 다시 바로 전송
+        assertThat(mailbox.offer("alice", "/user/alice/queue/webrtc", payload("candidate-2"))).isFalse();
+    }
+
+    @Test
+    void overflowDropsBufferedMessagesAndReportsOnClose() {
+        mailbox.open("alice");
+        for (int i = 0; i <= CAPACITY; i++) {
+            // 넘친 뒤에도 보관함이 받은 것으로 처리 (유실 - 세션으로 보내지 않음)
+            assertThat(mailbox.offer("alice", "/user/alice/queue/webrtc", payload("candidate-" + i))).isTrue();
+        }
+        assertThat(mailbox.offer("alice", "/user/alice/queue/webrtc", payload("late"))).isTrue();
+
+        assertThat(mailbox.close("alice", this::record)).isEqualTo(-1);
+        assertThat(delivered).isEmpty();
+        assertThat(mailbox.getOverflowCount()).isEqualTo(1);
+    }
+
+    @Test
+    void discardDropsBufferedMessages() {
+        mailbox.open("alice");
+        mailbox.offer("alice", "/user/alice/queue/webrtc", payload("offer"));
+
+        mailbox.discard("alice");
+
+        assertThat(mailbox.close("alice", this::record)).isZero();
+        assertThat(delivered).isEmpty();
+        assertThat(mailbox.offer("alice", "/user/alice/queue/webrtc", payload("answer"))).isFalse();
+    }
+
+    private void record(String destination, byte[] payload) {
+        delivered.add(destination + " " + new String(payload));
+    }
+
+    private static byte[] payload(String text) {
+        return text.getBytes();
+    }
+}
@@ -0,0 +1,142 @@
+package com.back.wire;
+
+import com.back.dto.ErrorMessage;
+import com.back.dto.IceServer;
+import com.back.dto.OfferMessage;
+import com.back.dto.SignalMessage;
+import com.back.dto.SignalPayloads;
+import com.back.service.SignalMessageEncoder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// JSON -> CBOR 변환은 필드/값을 그대로 옮기고, 깨진 CBOR 본문은 핸들러로 넘어가지 않아야 함
+class CborWireFormatTest {
+
+    private static final long TIMESTAMP = 1_760_000_000_000L;
+    private static final String SDP = "v=0\r\no=- 1 1 IN IP4 0.0.0.0\r\ns=-\r\nt=0 0\r\n";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final CBORMapper cborMapper = new CBORMapper();
+    private final SignalMessageEncoder encoder = new SignalMessageEncoder(objectMapper);
+    private final CborWireFormat wireFormat = new CborWireFormat(null);
+
+    @Test
+    void everyPayloadTypeSurvivesJsonToCborRoundTrip() throws Exception {
+        List<Object> payloads = payloads();
+
+        for (Object payload : payloads) {
+            byte[] json = encoder.encode(message(payload));
+
+            byte[] cbor = wireFormat.transcode(json);
+
+            JsonNode expected = objectMapper.readTree(json);
+            JsonNode decoded = cborMapper.readTree(cbor);
+            assertThat(decoded).as(payload.getClass().getSimpleName()).isEqualTo(expected);
+            assertThat(objectMapper.writeValueAsString(decoded)).isEqualTo(new String(json, StandardCharsets.UTF_8));
+        }
+
+        // 새 페이로드 타입이 추가되면 여기에도 추가 (Candidate는 IceCandidates의 구성 요소)
+        Set<Class<?>> covered = payloads.stream().map(Object::getClass).collect(Collectors.toSet());
+        Set<Class<?>> declared = Arrays.stream(SignalPayloads.class.getDeclaredClasses())
+                .filter(Class::isRecord)
+                .filter(type -> type != SignalPayloads.Candidate.class)
+                .collect(Collectors.toSet());
+        assertThat(covered).isEqualTo(declared);
+    }
+
+    @Test
+    void inboundCborFrameIsReadIntoRequest() throws Exception {
+        OfferMessage offer = new OfferMessage("alice", "bob", SDP, "room-1");
+
+        Object converted = wireFormat.converter().fromMessage(cborFrame(cborMapper.writeValueAsBytes(offer)), OfferMessage.class);
+
+        assertThat(converted).isEqualTo(offer);
+    }
+
+    @Test
+    void truncatedCborFrameIsRejected() throws Exception {
+        byte[] cbor = cborMapper.writeValueAsBytes(new OfferMessage("alice", "bob", SDP, "room-1"));
+        byte[] truncated = Arrays.copyOf(cbor, cbor.length / 2);
+        MessageConverter converter = wireFormat.converter();
+
+        assertThatThrownBy(() -> converter.fromMessage(cborFrame(truncated), OfferMessage.class))
+                .isInstanceOf(MessageConversionException.class);
+    }
+
+    @Test
+    void garbageCborFrameIsRejected() {
+        // 0xFF(break)는 길이 미정 항목 밖에서 올 수 없음
+        byte[] garbage = {(byte) 0xFF, (byte) 0xFF, 0x00, 0x01};
+        MessageConverter converter = wireFormat.converter();
+
+        assertThatThrownBy(() -> converter.fromMessage(cborFrame(garbage), OfferMessage.class))
+                .isInstanceOf(MessageConversionException.class);
+    }
+
+    @Test
+    void malformedJsonIsNotTranscoded() {
+        byte[] json = "{\"type\":\"offer\",\"data\":{".getBytes();
+
+        assertThatThrownBy(() -> wireFormat.transcode(json)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static Message<byte[]> cborFrame(byte[] payload) {
+        return MessageBuilder.withPayload(payload)
+                .setHeader(MessageHeaders.CONTENT_TYPE, CborWireFormat.APPLICATION_CBOR)
+                .build();
+    }
+
+    private static SignalMessage message(Object payload) {
+        return SignalMessage.builder()
+                .type(payload.getClass().getSimpleName())
+                .fromUserId("alice")
+                .toUserId("bob")
+                .data(payload)
+                .timestamp(TIMESTAMP)
+                .build();
+    }
+
+    private static List<Object> payloads() {
+        List<String> participants = List.of("alice", "bob", "carol");
+        SignalPayloads.MediaPolicy video = new SignalPayloads.MediaPolicy(3, false, 1200, 1280, 720, 30, "budget");
+        SignalPayloads.MediaPolicy audioOnly = new SignalPayloads.MediaPolicy(6, true, null, null, null, null, "degraded");
+        List<IceServer> iceServers = List.of(
+                new IceServer("stun:stun.l.google.com:19302", null, null),
+                new IceServer("turn:turn.example.com:3478", "1760003600:alice@room-1", "c2VjcmV0"));
+
+        return List.of(
+                SignalPayloads.Offer.of("bob", SDP),
+                SignalPayloads.Answer.of("alice", SDP),
+                SignalPayloads.IceCandidate.of("bob", "candidate:1 1 udp 2122260223 192.168.0.10 49203 typ host", "0", 0),
+                SignalPayloads.IceCandidates.of("bob", List.of(
+                        new SignalPayloads.Candidate("candidate:1 1 udp 2122260223 192.168.0.10 49203 typ host", "0", 0),
+                        new SignalPayloads.Candidate("candidate:2 1 udp 1686052607 203.0.113.7 49203 typ srflx", null, null))),
+                new SignalPayloads.UserJoined(participants, "carol", "Mozilla/5.0", List.of("alice", "bob")),
+                new SignalPayloads.UserLeft("carol"),
+                new SignalPayloads.UserDisconnected("carol", "connection-lost"),
+                new SignalPayloads.RoomState(participants, "room-1", "carol", "resume-token", List.of("alice", "bob"),
+                        iceServers, video, List.of("opus", "vp8"), 6),
+                new SignalPayloads.SessionResumed("room-1", participants, "next-token", 4),
+                new SignalPayloads.ResumeFailed("room-1", "expired"),
+                new SignalPayloads.RoomClosed("room-1", "idle-timeout"),
+                new SignalPayloads.ErrorPayload(ErrorMessage.of("error", "방 인원이 가득 찼습니다.", "ROOM_FULL"), "session-1"),
+                new SignalPayloads.NegotiationRole("alice", "answerer", "glare"),
+                audioOnly);
+    }
+}